@@ -0,0 +1,57 @@
+-- Migração da tabela access_points (uma linha larga por observação) para o modelo normalizado:
+-- dimensão access_point + fato ap_observation
+-- Executar após setup.sql (que cria as novas tabelas) com a aplicação parada.
+-- O script é idempotente: pode ser executado novamente se for interrompido.
+
+USE hotspot_detector;
+
+-- MAC textual -> BIGINT (mesma conversão de MacAddressCodec.pack)
+-- Linhas com MAC inválido (ex.: 'N/A') não são migradas
+
+-- 0. interface_name só existe em bancos atualizados pelo Hibernate (hbm2ddl update); bancos
+--    criados pelo setup.sql original não têm a coluna
+ALTER TABLE access_points ADD COLUMN IF NOT EXISTS interface_name VARCHAR(16) NULL;
+
+-- 1. Dimensão: atributos da observação mais recente de cada MAC
+INSERT INTO access_point (id, ssid, security, frequency, beacon_interval, interface_name, first_seen, updated_at)
+SELECT 
+    CONV(REPLACE(UPPER(ap.mac_address), ':', ''), 16, 10),
+    ap.ssid,
+    ap.wps_wpa_version,
+    ap.frequency,
+    ap.beacon_interval,
+    ap.interface_name,
+    latest.first_seen,
+    latest.last_seen
+FROM access_points ap
+INNER JOIN (
+    SELECT UPPER(mac_address) AS mac, MIN(scan_time) AS first_seen, MAX(scan_time) AS last_seen, MAX(id) AS last_id
+    FROM access_points
+    WHERE mac_address REGEXP '^([0-9A-Fa-f]{2}:){5}[0-9A-Fa-f]{2}$'
+    GROUP BY UPPER(mac_address)
+) latest ON ap.id = latest.last_id
+ON DUPLICATE KEY UPDATE
+    first_seen = LEAST(first_seen, VALUES(first_seen));
+
+-- 2. Observações (repetir a migração mantém as linhas já migradas; outros erros interrompem)
+INSERT INTO ap_observation (ap_id, scan_time, signal_dbm, quality, channel)
+SELECT 
+    CONV(REPLACE(UPPER(mac_address), ':', ''), 16, 10),
+    scan_time,
+    GREATEST(-128, LEAST(127, signal_level)),
+    GREATEST(0, LEAST(100, ROUND(link_quality))),
+    channel
+FROM access_points
+WHERE mac_address REGEXP '^([0-9A-Fa-f]{2}:){5}[0-9A-Fa-f]{2}$'
+ON DUPLICATE KEY UPDATE scan_time = ap_observation.scan_time;
+
+-- 3. Conferência: as contagens devem coincidir (exceto MACs inválidos e leituras duplicadas no mesmo instante)
+SELECT 
+    (SELECT COUNT(*) FROM access_points) AS linhas_antigas,
+    (SELECT COUNT(*) FROM ap_observation) AS observacoes,
+    (SELECT COUNT(*) FROM access_point) AS access_points_unicos;
+
+-- 4. Após conferir, renomear a tabela antiga (e removê-la quando não for mais necessária)
+-- RENAME TABLE access_points TO access_points_legacy;
+-- DROP SEQUENCE IF EXISTS access_points_seq;
+-- DROP TABLE access_points_legacy;
@@ -0,0 +1,60 @@
+-- Converte uma tabela ap_observation existente (sem particionamento) para RANGE COLUMNS(scan_time)
+-- Executar uma vez, com a aplicação parada. A operação reescreve a tabela inteira; em tabelas
+-- grandes, executar em janela de manutenção.
+--
+-- O histórico é distribuído em partições mensais até o início do período atual, seguido da
+-- partição do período atual e de pfuture, que fica vazia. Assim a manutenção de partições
+-- (persistence.partitioning.enabled: true) separa pfuture sem copiar linhas e a retenção remove
+-- o histórico mês a mês.
+
+USE hotspot_detector;
+
+-- Granularidade configurada em persistence.partitioning.granularity: 'daily' ou 'monthly'
+SET @granularity = 'daily';
+
+DELIMITER //
+CREATE OR REPLACE PROCEDURE PartitionObservations(IN granularity VARCHAR(8))
+BEGIN
+    DECLARE current_start DATE;
+    DECLARE current_end DATE;
+    DECLARE period_start DATE;
+    DECLARE period_end DATE;
+    DECLARE definitions TEXT DEFAULT '';
+    
+    IF granularity = 'monthly' THEN
+        SET current_start = DATE_FORMAT(CURDATE(), '%Y-%m-01');
+        SET current_end = DATE_ADD(current_start, INTERVAL 1 MONTH);
+    ELSE
+        SET current_start = CURDATE();
+        SET current_end = DATE_ADD(current_start, INTERVAL 1 DAY);
+    END IF;
+    
+    -- Histórico: uma partição por mês (a primeira começa no mês da observação mais antiga)
+    SELECT LEAST(COALESCE(DATE_FORMAT(MIN(scan_time), '%Y-%m-01'), current_start), current_start)
+    INTO period_start
+    FROM ap_observation;
+    
+    WHILE period_start < current_start DO
+        SET period_end = LEAST(DATE_ADD(period_start, INTERVAL 1 MONTH), current_start);
+        SET definitions = CONCAT(definitions, 'PARTITION p', DATE_FORMAT(period_start, '%Y%m%d'),
+                                 ' VALUES LESS THAN (''', period_end, '''), ');
+        SET period_start = period_end;
+    END WHILE;
+    
+    SET @ddl = CONCAT('ALTER TABLE ap_observation PARTITION BY RANGE COLUMNS(scan_time) (', definitions,
+                      'PARTITION p', DATE_FORMAT(current_start, '%Y%m%d'), ' VALUES LESS THAN (''', current_end, '''), ',
+                      'PARTITION pfuture VALUES LESS THAN (MAXVALUE))');
+    PREPARE partition_table FROM @ddl;
+    EXECUTE partition_table;
+    DEALLOCATE PREPARE partition_table;
+END //
+DELIMITER ;
+
+CALL PartitionObservations(@granularity);
+DROP PROCEDURE PartitionObservations;
+
+-- Conferência: pfuture deve estar vazia (exceto observações com horário futuro)
+SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS
+FROM information_schema.PARTITIONS
+WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'ap_observation'
+ORDER BY PARTITION_ORDINAL_POSITION;
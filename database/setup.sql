@@ -18,74 +18,166 @@ GRANT ALL PRIVILEGES ON hotspot_detector.* TO 'hotspot_user'@'localhost';
 GRANT ALL PRIVILEGES ON hotspot_detector.* TO 'hotspot_user'@'%';
 FLUSH PRIVILEGES;
 
--- Criar tabela access_points (será criada automaticamente pelo Hibernate, mas aqui está a estrutura)
--- Esta tabela segue o formato da imagem fornecida
-CREATE TABLE IF NOT EXISTS access_points (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+-- Dimensão de Access Points: uma linha por BSSID, chave = MAC compactado em 48 bits
+-- (criada automaticamente pelo Hibernate, mas aqui está a estrutura)
+CREATE TABLE IF NOT EXISTS access_point (
+    id BIGINT PRIMARY KEY COMMENT 'MAC AP compactado (AA:BB:CC:DD:EE:FF -> 0xAABBCCDDEEFF)',
     ssid VARCHAR(100) COMMENT 'Nome da Rede (SSID)',
-    mac_address VARCHAR(17) NOT NULL COMMENT 'MAC AP',
-    link_quality DECIMAL(5,2) COMMENT 'Qualidade do Link (%)',
-    signal_level INT COMMENT 'Nível de Sinal (dBm)',
-    channel INT COMMENT 'Canal (Primary Channel)',
-    frequency DECIMAL(6,3) COMMENT 'Frequência (GHz)',
-    last_beacon INT COMMENT 'Last beacon (ms)',
+    security VARCHAR(50) COMMENT 'WPS/WPA Version',
+    frequency DOUBLE COMMENT 'Frequência (GHz)',
     beacon_interval INT COMMENT 'Beacon Interval (TUs)',
-    wps_wpa_version VARCHAR(50) COMMENT 'WPS/WPA Version',
-    scan_time DATETIME NOT NULL COMMENT 'Timestamp do escaneamento',
-    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    updated_at DATETIME ON UPDATE CURRENT_TIMESTAMP,
+    interface_name VARCHAR(16) COMMENT 'Última interface Wi-Fi que detectou o AP',
+    first_seen DATETIME NOT NULL COMMENT 'Primeira observação',
+    updated_at DATETIME(3) NOT NULL COMMENT 'Escaneamento que definiu os atributos atuais',
     
-    -- Índices para otimizar consultas
-    INDEX idx_ssid (ssid),
-    INDEX idx_mac_address (mac_address),
-    INDEX idx_scan_time (scan_time),
-    INDEX idx_link_quality (link_quality),
-    INDEX idx_signal_level (signal_level),
-    INDEX idx_channel (channel),
-    INDEX idx_created_at (created_at)
+    INDEX idx_ap_ssid (ssid)
 ) ENGINE=InnoDB 
   CHARACTER SET utf8mb4 
   COLLATE utf8mb4_unicode_ci
-  COMMENT='Tabela para armazenar dados dos Access Points Wi-Fi detectados';
+  COMMENT='Access Points Wi-Fi detectados (atributos que raramente mudam)';
+
+-- Fato de observações: uma linha estreita (~20 bytes) por AP por escaneamento
+CREATE TABLE IF NOT EXISTS ap_observation (
+    ap_id BIGINT NOT NULL COMMENT 'access_point.id',
+    scan_time DATETIME(3) NOT NULL COMMENT 'Timestamp do escaneamento',
+    signal_dbm TINYINT COMMENT 'Nível de Sinal (dBm)',
+    quality TINYINT COMMENT 'Qualidade do Link (%)',
+    channel SMALLINT COMMENT 'Canal (Primary Channel)',
+    
+    PRIMARY KEY (ap_id, scan_time),
+    INDEX idx_obs_scan_time (scan_time)
+) ENGINE=InnoDB 
+  COMMENT='Observações dos Access Points a cada escaneamento'
+  -- Partições por período criadas pela aplicação (persistence.partitioning) a partir de pfuture
+  PARTITION BY RANGE COLUMNS(scan_time) (
+      PARTITION pfuture VALUES LESS THAN (MAXVALUE)
+  );
+
+-- Agregados por Access Point (persistence.rollup): 1 minuto, 15 minutos e 1 hora
+-- Média = soma / amostras; trocas de canal contadas no bucket em que o novo canal aparece
+CREATE TABLE IF NOT EXISTS ap_rollup_1m (
+    ap_id BIGINT NOT NULL COMMENT 'access_point.id',
+    bucket_start DATETIME(6) NOT NULL COMMENT 'Início do bucket',
+    samples INT NOT NULL COMMENT 'Quantidade de observações',
+    signal_min TINYINT,
+    signal_max TINYINT,
+    signal_sum INT,
+    quality_sum INT,
+    channel_first SMALLINT,
+    channel_last SMALLINT,
+    channel_changes SMALLINT,
+    
+    PRIMARY KEY (ap_id, bucket_start),
+    INDEX idx_rollup_1m_bucket (bucket_start)
+) ENGINE=InnoDB COMMENT='Agregado de observações em buckets de 1 minuto';
+
+CREATE TABLE IF NOT EXISTS ap_rollup_15m LIKE ap_rollup_1m;
+CREATE TABLE IF NOT EXISTS ap_rollup_1h LIKE ap_rollup_1m;
+
+-- Marca d'água de cada nível: buckets anteriores já foram calculados pelo job de agregação
+CREATE TABLE IF NOT EXISTS ap_rollup_watermark (
+    level_name VARCHAR(8) NOT NULL PRIMARY KEY,
+    watermark DATETIME(3) NOT NULL
+) ENGINE=InnoDB;
+
+-- Bancos com a tabela antiga access_points: executar database/migrate-normalized-schema.sql
+
+-- Converte o id da dimensão de volta para o MAC textual
+DELIMITER //
+CREATE OR REPLACE FUNCTION MacFromId(ap_id BIGINT) RETURNS CHAR(17) DETERMINISTIC
+BEGIN
+    DECLARE digits CHAR(12) DEFAULT LPAD(HEX(ap_id), 12, '0');
+    RETURN CONCAT_WS(':', SUBSTR(digits, 1, 2), SUBSTR(digits, 3, 2), SUBSTR(digits, 5, 2),
+                          SUBSTR(digits, 7, 2), SUBSTR(digits, 9, 2), SUBSTR(digits, 11, 2));
+END //
+DELIMITER ;
 
 -- Criar view para dados mais recentes por MAC Address
 CREATE OR REPLACE VIEW latest_access_points AS
-SELECT ap.*
-FROM access_points ap
+SELECT 
+    d.id AS ap_id,
+    MacFromId(d.id) AS mac_address,
+    d.ssid,
+    o.quality AS link_quality,
+    o.signal_dbm AS signal_level,
+    o.channel,
+    d.frequency,
+    d.beacon_interval,
+    d.security AS wps_wpa_version,
+    d.interface_name,
+    o.scan_time
+FROM access_point d
 INNER JOIN (
-    SELECT mac_address, MAX(scan_time) as max_scan_time
-    FROM access_points
-    GROUP BY mac_address
-) latest ON ap.mac_address = latest.mac_address 
-         AND ap.scan_time = latest.max_scan_time
-ORDER BY ap.link_quality DESC, ap.signal_level DESC;
+    SELECT ap_id, MAX(scan_time) as max_scan_time
+    FROM ap_observation
+    GROUP BY ap_id
+) latest ON latest.ap_id = d.id
+INNER JOIN ap_observation o ON o.ap_id = latest.ap_id 
+                           AND o.scan_time = latest.max_scan_time
+ORDER BY o.quality DESC, o.signal_dbm DESC;
 
 -- Criar view para estatísticas
 CREATE OR REPLACE VIEW access_points_stats AS
 SELECT 
     COUNT(*) as total_records,
-    COUNT(DISTINCT mac_address) as unique_access_points,
-    AVG(link_quality) as avg_link_quality,
+    COUNT(DISTINCT ap_id) as unique_access_points,
+    AVG(quality) as avg_link_quality,
     MAX(scan_time) as last_scan_time,
     MIN(scan_time) as first_scan_time,
     COUNT(DISTINCT DATE(scan_time)) as scan_days
-FROM access_points;
+FROM ap_observation;
 
 -- Criar procedure para limpeza de dados antigos
+-- Com partições por período remove partições inteiras (sem DELETE linha a linha); sem elas
+-- (tabela sem particionamento ou apenas com pfuture, o padrão com persistence.partitioning
+-- desativado) recorre ao DELETE
 DELIMITER //
 CREATE OR REPLACE PROCEDURE CleanupOldData(IN retention_days INT)
 BEGIN
     DECLARE deleted_count INT DEFAULT 0;
     DECLARE cutoff_date DATETIME;
+    DECLARE bounded_partitions INT DEFAULT 0;
+    DECLARE last_position INT;
+    DECLARE expired_partitions TEXT;
     
-    SET cutoff_date = DATE_SUB(NOW(), INTERVAL retention_days DAY);
+    SET cutoff_date = DATE_SUB(CURDATE(), INTERVAL retention_days DAY);
     
-    DELETE FROM access_points 
-    WHERE scan_time < cutoff_date;
+    SELECT SUM(PARTITION_DESCRIPTION <> 'MAXVALUE'), MAX(PARTITION_ORDINAL_POSITION)
+    INTO bounded_partitions, last_position
+    FROM information_schema.PARTITIONS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'ap_observation' AND PARTITION_NAME IS NOT NULL;
     
-    SET deleted_count = ROW_COUNT();
+    IF COALESCE(bounded_partitions, 0) > 0 THEN
+        -- Partições cujo limite superior já passou do corte (mantém pfuture e a última partição com período)
+        SELECT GROUP_CONCAT(PARTITION_NAME ORDER BY PARTITION_ORDINAL_POSITION), COUNT(*)
+        INTO expired_partitions, deleted_count
+        FROM information_schema.PARTITIONS
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'ap_observation'
+          AND PARTITION_DESCRIPTION <> 'MAXVALUE'
+          AND PARTITION_ORDINAL_POSITION < last_position - 1
+          AND CAST(REPLACE(PARTITION_DESCRIPTION, '''', '') AS DATETIME) <= cutoff_date;
+        
+        IF expired_partitions IS NOT NULL THEN
+            SET @ddl = CONCAT('ALTER TABLE ap_observation DROP PARTITION ', expired_partitions);
+            PREPARE drop_partitions FROM @ddl;
+            EXECUTE drop_partitions;
+            DEALLOCATE PREPARE drop_partitions;
+        END IF;
+        
+        SELECT CONCAT('Removidas ', deleted_count, ' partições anteriores a ', cutoff_date) as result;
+    ELSE
+        DELETE FROM ap_observation 
+        WHERE scan_time < cutoff_date;
+        
+        SET deleted_count = ROW_COUNT();
+        
+        SELECT CONCAT('Removidos ', deleted_count, ' registros anteriores a ', cutoff_date) as result;
+    END IF;
     
-    SELECT CONCAT('Removidos ', deleted_count, ' registros anteriores a ', cutoff_date) as result;
+    -- Remove da dimensão os APs que ficaram sem observações
+    DELETE d FROM access_point d
+    LEFT JOIN ap_observation o ON o.ap_id = d.id
+    WHERE o.ap_id IS NULL;
 END //
 DELIMITER ;
 
@@ -139,14 +231,19 @@ END //
 DELIMITER ;
 
 -- Inserir dados de exemplo (opcional)
--- INSERT INTO access_points (ssid, mac_address, link_quality, signal_level, channel, frequency, last_beacon, beacon_interval, wps_wpa_version, scan_time)
+-- INSERT INTO access_point (id, ssid, security, frequency, beacon_interval, first_seen, updated_at)
+-- VALUES 
+-- (0x4A5AB629F1F2, 'Unitins', '1.0', 2.462, 100, NOW(), NOW()),
+-- (0xAABBCCDDEEFF, 'WiFi_Exemplo', 'WPA2', 2.437, 100, NOW(), NOW());
+-- INSERT INTO ap_observation (ap_id, scan_time, signal_dbm, quality, channel)
 -- VALUES 
--- ('Unitins', '4A:5A:B6:29:F1:F2', 80.0, -59, 11, 2.462, 592, 100, '1.0', NOW()),
--- ('WiFi_Exemplo', 'AA:BB:CC:DD:EE:FF', 65.0, -70, 6, 2.437, 400, 100, 'WPA2', NOW());
+-- (0x4A5AB629F1F2, NOW(3), -59, 80, 11),
+-- (0xAABBCCDDEEFF, NOW(3), -70, 65, 6);
 
 -- Mostrar estrutura criada
 SHOW TABLES;
-DESCRIBE access_points;
+DESCRIBE access_point;
+DESCRIBE ap_observation;
 
 -- Mostrar views criadas
 SHOW FULL TABLES WHERE Table_type = 'VIEW';
@@ -0,0 +1,85 @@
+package br.unitins.benchmark;
+
+import br.unitins.database.DatabaseManager;
+import br.unitins.model.AccessPointEntity;
+import br.unitins.model.MacAddressCodec;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Banco usado pelos benchmarks de persistência: o MariaDB configurado em database.yml
+ * Os benchmarks gravam Access Points sintéticos numa faixa de MACs reservada
+ * (02:be:00:xx:xx:xx, administrados localmente) que é removida ao final; use um banco descartável.
+ */
+final class BenchmarkDatabase {
+
+    static final String INTERFACE = "bench0";
+
+    static final long FIRST_AP = MacAddressCodec.pack("02:be:00:00:00:00");
+    static final long LAST_AP = MacAddressCodec.pack("02:be:00:ff:ff:ff");
+
+    // Horários distintos a cada escaneamento, para que nenhuma observação repita a chave (ap_id, scan_time)
+    private static final AtomicLong SCAN_MILLIS = new AtomicLong();
+
+    private BenchmarkDatabase() {}
+
+    /**
+     * @return Pool da aplicação, após conferir que o banco responde
+     */
+    static DataSource connect() {
+        DatabaseManager manager = DatabaseManager.getInstance();
+        if (!manager.testConnection()) {
+            throw new IllegalStateException("Banco de dados indisponível: configure database.yml antes dos benchmarks");
+        }
+        return manager.getDataSource();
+    }
+
+    /**
+     * Escaneamento sintético com aps Access Points, num horário ainda não usado
+     * @param aps Quantidade de Access Points
+     * @param base Horário a partir do qual os escaneamentos são numerados
+     */
+    static List<AccessPointEntity> scan(int aps, LocalDateTime base) {
+        LocalDateTime scanTime = base.plusNanos(SCAN_MILLIS.incrementAndGet() * 1_000_000L);
+        List<AccessPointEntity> entities = new ArrayList<>(aps);
+        for (int i = 0; i < aps; i++) {
+            AccessPointEntity entity = new AccessPointEntity();
+            entity.setMacAddress(MacAddressCodec.unpack(FIRST_AP + i));
+            entity.setSsid("bench-" + i);
+            entity.setWpsWpaVersion(i % 3 == 0 ? "Open" : "WPA2");
+            entity.setFrequency(i % 2 == 0 ? 2.437 : 5.18);
+            entity.setChannel(i % 2 == 0 ? 6 : 36);
+            entity.setBeaconInterval(100);
+            entity.setSignalLevel(-40 - i % 50);
+            entity.setLinkQuality(70.0 - i % 50);
+            entity.setInterfaceName(INTERFACE);
+            entity.setScanTime(scanTime);
+            entities.add(entity);
+        }
+        return entities;
+    }
+
+    /**
+     * Remove as observações e a dimensão dos Access Points sintéticos
+     */
+    static void cleanUp(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            for (String table : List.of("ap_observation", "access_point")) {
+                String column = table.equals("access_point") ? "id" : "ap_id";
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "DELETE FROM " + table + " WHERE " + column + " BETWEEN ? AND ?")) {
+                    statement.setLong(1, FIRST_AP);
+                    statement.setLong(2, LAST_AP);
+                    statement.executeUpdate();
+                }
+            }
+        }
+    }
+}
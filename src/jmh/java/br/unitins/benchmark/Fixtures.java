@@ -0,0 +1,44 @@
+package br.unitins.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Leitura das fixtures capturadas (src/test/resources/fixtures) usadas pelos benchmarks
+ */
+final class Fixtures {
+
+    private Fixtures() {}
+
+    static byte[] read(String name) {
+        try (InputStream input = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (input == null) {
+                throw new IllegalStateException("Fixture não encontrada: " + name);
+            }
+            return input.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Saída do iwlist com as células da fixture repetidas até o número pedido, com MACs distintos
+     * (ambientes densos com centenas de células)
+     */
+    static byte[] denseIwlistScan(int cells) {
+        String fixture = new String(read("iwlist-scan.txt"), StandardCharsets.UTF_8);
+        String header = fixture.substring(0, fixture.indexOf('\n') + 1);
+        String[] templates = fixture.substring(header.length()).split("(?m)(?=^\\s+Cell )");
+
+        StringBuilder out = new StringBuilder(header);
+        for (int i = 0; i < cells; i++) {
+            String cell = templates[i % templates.length];
+            String mac = String.format("02:00:00:00:%02X:%02X", (i >> 8) & 0xff, i & 0xff);
+            out.append(cell.replaceFirst("Cell \\d+ - Address: \\S+",
+                    String.format("Cell %02d - Address: %s", i + 1, mac)));
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,113 @@
+package br.unitins.benchmark;
+
+import br.unitins.model.AccessPointEntity;
+import br.unitins.model.MacAddressCodec;
+import br.unitins.repository.AccessPointRepository;
+import br.unitins.repository.JdbcAccessPointRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gravação de um escaneamento em lote ({@link AccessPointRepository#saveAll}) contra a gravação
+ * linha a linha, um round-trip por comando, como acontecia com ids IDENTITY no Hibernate
+ * Os dois caminhos fazem o mesmo trabalho: como o repositório, a gravação linha a linha só grava a
+ * dimensão de um AP ainda não gravado (os atributos sintéticos não mudam entre escaneamentos).
+ * Os resultados são escaneamentos gravados por segundo (vezes aps para observações por segundo).
+ * Requer o MariaDB de database.yml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InsertBatchBenchmark {
+
+    private static final String UPSERT_DIMENSION =
+            "INSERT INTO access_point (id, ssid, security, frequency, beacon_interval, interface_name, first_seen, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE updated_at = GREATEST(updated_at, VALUES(updated_at))";
+    private static final String INSERT_OBSERVATION =
+            "INSERT INTO ap_observation (ap_id, scan_time, signal_dbm, quality, channel) VALUES (?, ?, ?, ?, ?)";
+
+    @Param({"50", "500"})
+    public int aps;
+
+    private DataSource dataSource;
+    private AccessPointRepository repository;
+    private LocalDateTime base;
+    // Equivalente ao cache de dimensões do repositório no caminho linha a linha
+    private final Set<Long> knownDimensions = new HashSet<>();
+
+    @Setup
+    public void setUp() throws SQLException {
+        dataSource = BenchmarkDatabase.connect();
+        repository = new JdbcAccessPointRepository();
+        base = LocalDateTime.now().minusDays(1);
+        BenchmarkDatabase.cleanUp(dataSource);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        BenchmarkDatabase.cleanUp(dataSource);
+    }
+
+    @Benchmark
+    public List<AccessPointEntity> batchedSaveAll() {
+        return repository.saveAll(BenchmarkDatabase.scan(aps, base));
+    }
+
+    @Benchmark
+    public int perRowInserts() throws SQLException {
+        List<AccessPointEntity> entities = BenchmarkDatabase.scan(aps, base);
+        int written = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement dimension = connection.prepareStatement(UPSERT_DIMENSION);
+                 PreparedStatement observation = connection.prepareStatement(INSERT_OBSERVATION)) {
+                for (AccessPointEntity entity : entities) {
+                    long apId = MacAddressCodec.pack(entity.getMacAddress());
+                    if (knownDimensions.add(apId)) {
+                        dimension.setLong(1, apId);
+                        dimension.setString(2, entity.getSsid());
+                        dimension.setString(3, entity.getWpsWpaVersion());
+                        dimension.setDouble(4, entity.getFrequency());
+                        dimension.setInt(5, entity.getBeaconInterval());
+                        dimension.setString(6, entity.getInterfaceName());
+                        dimension.setObject(7, entity.getScanTime());
+                        dimension.setObject(8, entity.getScanTime());
+                        dimension.executeUpdate();
+                    }
+
+                    observation.setLong(1, apId);
+                    observation.setObject(2, entity.getScanTime());
+                    observation.setInt(3, entity.getSignalLevel());
+                    observation.setInt(4, (int) Math.round(entity.getLinkQuality()));
+                    observation.setInt(5, entity.getChannel());
+                    written += observation.executeUpdate();
+                }
+            }
+            connection.commit();
+        }
+        return written;
+    }
+}
@@ -0,0 +1,55 @@
+package br.unitins.benchmark;
+
+import br.unitins.model.AccessPoint;
+import br.unitins.service.impl.IwlistScanParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parser de passagem única ({@link IwlistScanParser}) contra o parser original por regex
+ * Rode com -prof gc para comparar a alocação por escaneamento.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IwlistParserBenchmark {
+
+    @Param({"3", "200"})
+    public int cells;
+
+    private byte[] scan;
+    private final IwlistScanParser streaming = new IwlistScanParser();
+    private final LegacyIwlistParser legacy = new LegacyIwlistParser();
+
+    @Setup
+    public void setUp() {
+        scan = cells <= 3 ? Fixtures.read("iwlist-scan.txt") : Fixtures.denseIwlistScan(cells);
+    }
+
+    @Benchmark
+    public List<AccessPoint> streamingParser() throws IOException {
+        return streaming.parse(new ByteArrayInputStream(scan));
+    }
+
+    @Benchmark
+    public List<AccessPoint> legacyRegexParser() throws IOException {
+        return legacy.parse(new ByteArrayInputStream(scan));
+    }
+}
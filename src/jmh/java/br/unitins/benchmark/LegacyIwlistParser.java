@@ -0,0 +1,162 @@
+package br.unitins.benchmark;
+
+import br.unitins.model.AccessPoint;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cópia do parser original do LinuxWiFiDetector (String.contains e Pattern.compile por linha),
+ * mantida apenas como referência para o {@link IwlistParserBenchmark}
+ */
+final class LegacyIwlistParser {
+
+    List<AccessPoint> parse(InputStream input) throws IOException {
+        List<AccessPoint> accessPoints = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input))) {
+            String line;
+            AccessPoint currentAP = null;
+
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+
+                if (line.contains("Cell") && line.contains("Address:")) {
+                    if (currentAP != null) {
+                        accessPoints.add(currentAP);
+                    }
+                    currentAP = new AccessPoint();
+                    currentAP.setMacAddress(extractMacAddress(line));
+                    currentAP.setLastBeaconTime(LocalDateTime.now());
+                }
+
+                if (currentAP != null) {
+                    parseIwlistLine(line, currentAP);
+                }
+            }
+
+            if (currentAP != null) {
+                accessPoints.add(currentAP);
+            }
+        }
+        return accessPoints;
+    }
+
+    private String extractMacAddress(String line) {
+        Pattern pattern = Pattern.compile("([0-9A-Fa-f]{2}[:-]){5}([0-9A-Fa-f]{2})");
+        Matcher matcher = pattern.matcher(line);
+        if (matcher.find()) {
+            return matcher.group().toUpperCase();
+        }
+        return "N/A";
+    }
+
+    private void parseIwlistLine(String line, AccessPoint ap) {
+        try {
+            if (line.contains("ESSID:")) {
+                String ssid = extractQuotedValue(line);
+                if (ssid != null && !ssid.isEmpty()) {
+                    ap.setSsid(ssid);
+                }
+            } else if (line.contains("Quality=")) {
+                parseQualityAndSignal(line, ap);
+            } else if (line.contains("Channel:")) {
+                int channel = extractChannel(line);
+                ap.setChannel(channel);
+                if (channel > 0) {
+                    ap.setFrequency(calculateFrequencyFromChannel(channel));
+                }
+            } else if (line.contains("Frequency:")) {
+                ap.setFrequency(extractFrequency(line));
+            } else if (line.contains("Encryption key:")) {
+                ap.setSecurityVersion(line.contains("on") ? "WEP" : "Open");
+            } else if (line.contains("IE: IEEE 802.11i/WPA2")) {
+                ap.setSecurityVersion("WPA2");
+            } else if (line.contains("IE: WPA")) {
+                ap.setSecurityVersion("WPA");
+            } else if (line.contains("Last beacon:")) {
+                ap.setBeaconInterval(100);
+            }
+
+            if (ap.getBeaconInterval() == 0) {
+                ap.setBeaconInterval(100);
+            }
+            if (ap.getSecurityVersion() == null) {
+                ap.setSecurityVersion("Unknown");
+            }
+        } catch (Exception e) {
+            // ignora a linha, como no parser original
+        }
+    }
+
+    private String extractQuotedValue(String line) {
+        Pattern pattern = Pattern.compile("\"([^\"]+)\"");
+        Matcher matcher = pattern.matcher(line);
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+        return null;
+    }
+
+    private void parseQualityAndSignal(String line, AccessPoint ap) {
+        Pattern qualityPattern = Pattern.compile("Quality=(\\d+)/(\\d+)");
+        Matcher qualityMatcher = qualityPattern.matcher(line);
+        if (qualityMatcher.find()) {
+            int quality = Integer.parseInt(qualityMatcher.group(1));
+            int maxQuality = Integer.parseInt(qualityMatcher.group(2));
+            ap.setLinkQuality((double) quality / maxQuality * 100.0);
+        }
+
+        Pattern signalPattern = Pattern.compile("Signal level=(-?\\d+)");
+        Matcher signalMatcher = signalPattern.matcher(line);
+        if (signalMatcher.find()) {
+            int signalLevel = Integer.parseInt(signalMatcher.group(1));
+            ap.setSignalLevel(signalLevel);
+            if (ap.getLinkQuality() == 0.0) {
+                ap.setLinkQuality(calculateLinkQuality(signalLevel));
+            }
+        }
+    }
+
+    private int extractChannel(String line) {
+        Pattern pattern = Pattern.compile("Channel:(\\d+)");
+        Matcher matcher = pattern.matcher(line);
+        if (matcher.find()) {
+            return Integer.parseInt(matcher.group(1));
+        }
+        return 0;
+    }
+
+    private double extractFrequency(String line) {
+        Pattern pattern = Pattern.compile("Frequency:(\\d+\\.\\d+)");
+        Matcher matcher = pattern.matcher(line);
+        if (matcher.find()) {
+            return Double.parseDouble(matcher.group(1));
+        }
+        return 0.0;
+    }
+
+    private double calculateFrequencyFromChannel(int channel) {
+        if (channel >= 1 && channel <= 14) {
+            return 2.412 + (channel - 1) * 0.005;
+        } else if (channel >= 36 && channel <= 165) {
+            return 5.0 + (channel * 0.005);
+        }
+        return 0.0;
+    }
+
+    private double calculateLinkQuality(int signalLevel) {
+        if (signalLevel >= -30) return 100.0;
+        if (signalLevel >= -67) return 100.0 - ((67 + signalLevel) * 1.5);
+        if (signalLevel >= -70) return 50.0 - ((70 + signalLevel) * 3.0);
+        if (signalLevel >= -80) return 20.0 - ((80 + signalLevel) * 2.0);
+        if (signalLevel >= -90) return 5.0 - ((90 + signalLevel) * 0.5);
+        return 0.0;
+    }
+}
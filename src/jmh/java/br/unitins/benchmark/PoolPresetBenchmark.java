@@ -0,0 +1,139 @@
+package br.unitins.benchmark;
+
+import br.unitins.config.DatabaseConfig;
+import br.unitins.database.DatabaseManager;
+import br.unitins.model.AccessPointEntity;
+import br.unitins.model.MacAddressCodec;
+import br.unitins.repository.JdbcAccessPointRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Efeito dos perfis database.preset (pool e propriedades do driver) em três cargas: gravação de
+ * um escaneamento em lote, consultas curtas repetidas (cache de prepared statements) e leitura
+ * de um histórico grande (fetch size)
+ * Cada perfil usa um pool próprio montado por {@link DatabaseManager#hikariConfig(DatabaseConfig, DatabaseConfig.Preset)}.
+ * Requer o MariaDB de database.yml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PoolPresetBenchmark {
+
+    private static final int SCAN_APS = 200;
+    private static final int HISTORY_SCANS = 50;
+    private static final int POINT_QUERIES = 50;
+
+    private static final String INSERT_OBSERVATION =
+            "INSERT INTO ap_observation (ap_id, scan_time, signal_dbm, quality, channel) VALUES (?, ?, ?, ?, ?)";
+    private static final String FIND_DIMENSION = "SELECT ssid, security, frequency FROM access_point WHERE id = ?";
+    private static final String READ_HISTORY =
+            "SELECT ap_id, scan_time, signal_dbm, quality, channel FROM ap_observation WHERE ap_id BETWEEN ? AND ?";
+
+    @Param({"DEFAULT", "HIGH_THROUGHPUT", "LOW_FOOTPRINT"})
+    public DatabaseConfig.Preset preset;
+
+    private HikariDataSource dataSource;
+    private LocalDateTime base;
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.cleanUp(BenchmarkDatabase.connect());
+        base = LocalDateTime.now().minusDays(1);
+        
+        // Histórico lido por readHistory, gravado pelo repositório
+        JdbcAccessPointRepository repository = new JdbcAccessPointRepository();
+        for (int i = 0; i < HISTORY_SCANS; i++) {
+            repository.saveAll(BenchmarkDatabase.scan(SCAN_APS, base));
+        }
+        HikariConfig poolConfig = DatabaseManager.hikariConfig(DatabaseConfig.getInstance(), preset);
+        poolConfig.setPoolName("bench-" + preset.name().toLowerCase(Locale.ROOT));
+        dataSource = new HikariDataSource(poolConfig);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        dataSource.close();
+        BenchmarkDatabase.cleanUp(BenchmarkDatabase.connect());
+    }
+
+    @Benchmark
+    public int insertScan() throws SQLException {
+        List<AccessPointEntity> entities = BenchmarkDatabase.scan(SCAN_APS, base);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_OBSERVATION)) {
+                for (AccessPointEntity entity : entities) {
+                    statement.setLong(1, MacAddressCodec.pack(entity.getMacAddress()));
+                    statement.setObject(2, entity.getScanTime());
+                    statement.setInt(3, entity.getSignalLevel());
+                    statement.setInt(4, (int) Math.round(entity.getLinkQuality()));
+                    statement.setInt(5, entity.getChannel());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            connection.commit();
+        }
+        return entities.size();
+    }
+
+    @Benchmark
+    public int repeatedPointQueries() throws SQLException {
+        int found = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            // Um prepare por consulta, como nos repositórios: o cache do driver evita repeti-lo no servidor
+            for (int i = 0; i < POINT_QUERIES; i++) {
+                try (PreparedStatement statement = connection.prepareStatement(FIND_DIMENSION)) {
+                    statement.setLong(1, BenchmarkDatabase.FIRST_AP + i % SCAN_APS);
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        if (resultSet.next()) {
+                            found++;
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public long readHistory() throws SQLException {
+        long rows = 0;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(READ_HISTORY)) {
+            statement.setLong(1, BenchmarkDatabase.FIRST_AP);
+            statement.setLong(2, BenchmarkDatabase.LAST_AP);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows += resultSet.getInt(3);
+                }
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,86 @@
+package br.unitins.benchmark;
+
+import br.unitins.model.AccessPointEntity;
+import br.unitins.repository.AccessPointRepository;
+import br.unitins.repository.JdbcAccessPointRepository;
+import br.unitins.repository.JpaAccessPointRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Backends persistence.backend jpa × jdbc: gravação de um escaneamento, consulta do último
+ * estado (findLatest) e leitura de um período em streaming
+ * Rode com -prof gc para comparar a alocação por operação. Requer o MariaDB de database.yml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RepositoryBackendBenchmark {
+
+    private static final int SCAN_APS = 200;
+    private static final int HISTORY_SCANS = 50;
+
+    @Param({"JPA", "JDBC"})
+    public String backend;
+
+    private DataSource dataSource;
+    private AccessPointRepository repository;
+    private LocalDateTime writeBase;
+    private LocalDateTime historyStart;
+
+    @Setup
+    public void setUp() throws SQLException {
+        dataSource = BenchmarkDatabase.connect();
+        BenchmarkDatabase.cleanUp(dataSource);
+        repository = backend.equals("JPA") ? new JpaAccessPointRepository() : new JdbcAccessPointRepository();
+        
+        // Histórico recente (dentro da janela de findLatest); as gravações medidas ficam no dia anterior
+        historyStart = LocalDateTime.now().minusMinutes(2);
+        writeBase = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < HISTORY_SCANS; i++) {
+            repository.saveAll(BenchmarkDatabase.scan(SCAN_APS, historyStart));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        BenchmarkDatabase.cleanUp(dataSource);
+    }
+
+    @Benchmark
+    public List<AccessPointEntity> saveScan() {
+        return repository.saveAll(BenchmarkDatabase.scan(SCAN_APS, writeBase));
+    }
+
+    @Benchmark
+    public List<AccessPointEntity> findLatest() {
+        return repository.findLatest();
+    }
+
+    @Benchmark
+    public long streamHistory() {
+        try (Stream<AccessPointEntity> rows = repository.streamByPeriod(historyStart, LocalDateTime.now())) {
+            return rows.count();
+        }
+    }
+}
@@ -1,20 +1,31 @@
 package br.unitins;
 
+import br.unitins.concurrent.Executions;
+import br.unitins.config.DatabaseConfig;
+import br.unitins.config.ExecutionConfig;
+import br.unitins.config.PersistenceConfig;
+import br.unitins.config.ScannerConfig;
+import br.unitins.config.SchedulerConfig;
+import br.unitins.config.StartupConfig;
+import br.unitins.database.DatabaseManager;
 import br.unitins.model.AccessPoint;
 import br.unitins.service.AccessPointPersistenceService;
+import br.unitins.service.LatestAccessPointIndex.SortOrder;
 import br.unitins.scheduler.AccessPointScheduler;
-import org.quartz.SchedulerException;
+import br.unitins.service.WiFiDetectorFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Scanner;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 /**
  * Aplicação principal para detecção de Access Points Wi-Fi
@@ -26,6 +37,11 @@ public class Main {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
     
     public static void main(String[] args) {
+        if (args.length > 0 && "--cds-training".equals(args[0])) {
+            runCdsTraining();
+            return;
+        }
+        
         System.out.println("=".repeat(60));
         System.out.println("HOTSPOT DETECTOR - Monitor de Access Points Wi-Fi");
         System.out.println("Universidade Estadual do Tocantins - UNITINS");
@@ -34,13 +50,13 @@ public class Main {
         try {
             // Inicializa os serviços
             AccessPointPersistenceService persistenceService = new AccessPointPersistenceService();
-            AccessPointScheduler scheduler = new AccessPointScheduler();
+            AccessPointScheduler scheduler = new AccessPointScheduler(persistenceService.getPipeline());
             
             // Inicia o scheduler automaticamente
             scheduler.start();
-            scheduler.addShutdownHook();
+            scheduler.addShutdownHook(persistenceService::close);
             
-            System.out.println("Sistema iniciado! Escaneamento automático ativo (1 minuto).");
+            System.out.println("Sistema iniciado! Escaneamento automático ativo (" + scheduler.describeSchedule() + ").");
             
             // Modo interativo
             runInteractiveMode(persistenceService, scheduler);
@@ -57,6 +73,30 @@ public class Main {
         }
     }
     
+    /**
+     * Execução de treino para o arquivo CDS (perfil Maven "cds"): percorre a inicialização
+     * (configurações, detectores e Hibernate) sem banco, sem Wi-Fi e sem menu, para que
+     * a JVM grave as classes carregadas com -XX:ArchiveClassesAtExit
+     */
+    private static void runCdsTraining() {
+        try {
+            StartupConfig.getInstance();
+            ExecutionConfig.getInstance();
+            ScannerConfig.getInstance();
+            SchedulerConfig.getInstance();
+            PersistenceConfig.getInstance();
+            DatabaseConfig.getInstance();
+            
+            WiFiDetectorFactory.getAllDetectors();
+            DatabaseManager.bootstrapOffline();
+            
+            logger.info("Treino do arquivo CDS concluído");
+        } catch (Exception e) {
+            logger.error("Erro no treino do arquivo CDS: {}", e.getMessage());
+            System.exit(1);
+        }
+    }
+    
     private static void runInteractiveMode(AccessPointPersistenceService persistenceService, 
                                           AccessPointScheduler scheduler) throws Exception {
         Scanner scanner = new Scanner(System.in);
@@ -78,12 +118,8 @@ public class Main {
                     
                 case "3":
                     System.out.println("Encerrando aplicação...");
-                    try {
-                        if (scheduler.isRunning()) {
-                            scheduler.stop();
-                        }
-                    } catch (SchedulerException e) {
-                        System.err.println("Erro ao parar scheduler: " + e.getMessage());
+                    if (scheduler.isRunning()) {
+                        scheduler.stop();
                     }
                     return;
                     
@@ -108,14 +144,16 @@ public class Main {
         System.out.println("\n" + "=".repeat(60));
         System.out.println("MONITORAMENTO EM TEMPO REAL");
         System.out.println("Pressione ENTER para atualizar | Digite 'voltar' para sair");
+        System.out.println("Ordenar por: 'qualidade', 'canal' ou 'ssid'");
         System.out.println("=".repeat(60));
         
-        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        ScheduledExecutorService executor = Executions.newSingleThreadScheduledExecutor("cli-refresh");
+        AtomicReference<SortOrder> order = new AtomicReference<>(SortOrder.QUALITY);
         
-        // Atualização automática a cada 1 minuto
+        // Atualização automática a cada 1 minuto (leitura do índice em memória, sem consultar o banco)
         executor.scheduleAtFixedRate(() -> {
             try {
-                displayCurrentHotspots(persistenceService);
+                displayCurrentHotspots(persistenceService, order.get());
             } catch (Exception e) {
                 System.err.println("Erro na atualização automática: " + e.getMessage());
             }
@@ -127,19 +165,31 @@ public class Main {
                 
                 if ("voltar".equals(input)) {
                     break;
-                } else {
-                    // Atualização manual ao pressionar ENTER
-                    displayCurrentHotspots(persistenceService);
                 }
+                switch (input) {
+                    case "qualidade":
+                        order.set(SortOrder.QUALITY);
+                        break;
+                    case "canal":
+                        order.set(SortOrder.CHANNEL);
+                        break;
+                    case "ssid":
+                        order.set(SortOrder.SSID);
+                        break;
+                    default:
+                        break;
+                }
+                // Atualização manual ao pressionar ENTER
+                displayCurrentHotspots(persistenceService, order.get());
             }
         } finally {
             executor.shutdown();
         }
     }
     
-    private static void displayCurrentHotspots(AccessPointPersistenceService persistenceService) {
+    private static void displayCurrentHotspots(AccessPointPersistenceService persistenceService, SortOrder order) {
         try {
-            List<AccessPoint> accessPoints = persistenceService.getLatestAccessPoints();
+            List<AccessPoint> accessPoints = persistenceService.getLatestAccessPoints(order);
             
             // Limpa a tela (funciona na maioria dos terminais)
             System.out.print("\033[2J\033[H");
@@ -212,21 +262,22 @@ public class Main {
                 return;
             }
             
-            List<AccessPoint> accessPoints = persistenceService.getAccessPointsByPeriod(startDate, endDate);
-            
             System.out.println("\n" + "=".repeat(80));
             System.out.println("RESULTADOS DA PESQUISA");
             System.out.println("Período: " + startDate.format(DATE_FORMATTER) + " até " + endDate.format(DATE_FORMATTER));
             System.out.println("=".repeat(80));
             
-            if (accessPoints.isEmpty()) {
-                System.out.println("Nenhum Access Point encontrado no período especificado.");
-            } else {
-                System.out.printf("%-20s %-17s %-10s %-12s %-8s %-10s %-15s %-16s%n",
-                        "SSID", "MAC Address", "Qualidade", "Sinal(dBm)", "Canal", "Freq(GHz)", "Segurança", "Data/Hora");
-                System.out.println("-".repeat(80));
-                
-                for (AccessPoint ap : accessPoints) {
+            // Resultados impressos conforme são lidos do banco, sem carregar o período inteiro
+            long total = 0;
+            try (Stream<AccessPoint> accessPoints = persistenceService.streamAccessPointsByPeriod(startDate, endDate)) {
+                Iterator<AccessPoint> iterator = accessPoints.iterator();
+                while (iterator.hasNext()) {
+                    AccessPoint ap = iterator.next();
+                    if (total++ == 0) {
+                        System.out.printf("%-20s %-17s %-10s %-12s %-8s %-10s %-15s %-16s%n",
+                                "SSID", "MAC Address", "Qualidade", "Sinal(dBm)", "Canal", "Freq(GHz)", "Segurança", "Data/Hora");
+                        System.out.println("-".repeat(80));
+                    }
                     System.out.printf("%-20s %-17s %-10.1f %-12d %-8d %-10.3f %-15s %-16s%n",
                             truncate(ap.getSsid() != null ? ap.getSsid() : "N/A", 20),
                             ap.getMacAddress() != null ? ap.getMacAddress() : "N/A",
@@ -239,9 +290,13 @@ public class Main {
                                 ap.getLastBeaconTime().format(DateTimeFormatter.ofPattern("dd/MM HH:mm")) : "N/A"
                     );
                 }
-                
+            }
+            
+            if (total == 0) {
+                System.out.println("Nenhum Access Point encontrado no período especificado.");
+            } else {
                 System.out.println("-".repeat(80));
-                System.out.println("Total: " + accessPoints.size() + " registros encontrados");
+                System.out.println("Total: " + total + " registros encontrados");
             }
             
         } catch (DateTimeParseException e) {
@@ -0,0 +1,101 @@
+package br.unitins.concurrent;
+
+import br.unitins.config.ExecutionConfig;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fábrica de threads e executores conforme o modelo de execução configurado
+ * No modo virtual, tarefas bloqueantes (subprocessos, JDBC, atualização da tela)
+ * rodam em virtual threads; no modo plataforma, em threads daemon tradicionais
+ */
+public final class Executions {
+    
+    private Executions() {}
+    
+    /**
+     * Cria uma fábrica de threads nomeadas
+     * @param name Prefixo do nome das threads
+     * @return Fábrica de virtual threads ou de threads daemon de plataforma
+     */
+    public static ThreadFactory threadFactory(String name) {
+        if (ExecutionConfig.getInstance().isVirtual()) {
+            return Thread.ofVirtual().name(name + "-", 1).factory();
+        }
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+    
+    /**
+     * Cria um escopo de tarefas para um único ciclo
+     * Deve ser usado com try-with-resources: o fechamento aguarda todas as tarefas submetidas,
+     * de modo que nenhuma tarefa sobrevive ao ciclo que a criou
+     * @param name Prefixo do nome das threads
+     * @return Executor com uma thread por tarefa
+     */
+    public static ExecutorService newCycleScope(String name) {
+        return Executors.newThreadPerTaskExecutor(threadFactory(name));
+    }
+    
+    /**
+     * Cria um executor agendado de uma única thread
+     * @param name Nome da thread
+     * @return Executor agendado
+     */
+    public static ScheduledExecutorService newSingleThreadScheduledExecutor(String name) {
+        return Executors.newSingleThreadScheduledExecutor(threadFactory(name));
+    }
+    
+    /**
+     * Inicia uma thread avulsa para uma tarefa de longa duração
+     * @param name Nome da thread
+     * @param task Tarefa
+     * @return Thread iniciada
+     */
+    public static Thread start(String name, Runnable task) {
+        Thread thread = threadFactory(name).newThread(task);
+        thread.start();
+        return thread;
+    }
+    
+    /**
+     * Aguarda o resultado de uma tarefa, repassando a exceção lançada pela própria tarefa
+     * @param task Tarefa submetida
+     * @return Resultado da tarefa
+     * @throws Exception exceção da tarefa ou interrupção da espera
+     */
+    public static <T> T await(Future<T> task) throws Exception {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+    
+    /**
+     * Aguarda o resultado de uma tarefa por no máximo o prazo informado
+     * @param task Tarefa submetida
+     * @param timeoutMillis Prazo em milissegundos
+     * @return Resultado da tarefa
+     * @throws java.util.concurrent.TimeoutException se o prazo expirar (a tarefa continua em execução)
+     * @throws Exception exceção da tarefa ou interrupção da espera
+     */
+    public static <T> T await(Future<T> task, long timeoutMillis) throws Exception {
+        try {
+            return task.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package br.unitins.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Execução única de uma operação compartilhada
+ * Enquanto uma chamada está em andamento, as chamadas concorrentes não iniciam outra: aguardam
+ * e recebem o mesmo resultado (ou a mesma exceção). Usado no escaneamento de cada interface,
+ * para que dois pedidos simultâneos não disputem o rádio com dois subprocessos.
+ * Quem aguarda passa a alcançar, pelo próprio grupo de {@link Subprocesses}, os subprocessos da
+ * execução em andamento: o prazo de qualquer ciclo à espera encerra um subprocesso preso.
+ * Sem locks monitor: não fixa a virtual thread durante a espera.
+ * @param <T> Tipo do resultado
+ */
+public final class SingleFlight<T> {
+    
+    private final AtomicReference<Flight<T>> inFlight = new AtomicReference<>();
+    private final AtomicLong joined = new AtomicLong();
+    
+    private record Flight<T>(CompletableFuture<T> result, Subprocesses.Group owner) {}
+    
+    /**
+     * Executa a operação ou se junta à execução em andamento
+     * @param operation Operação
+     * @return Resultado da execução (própria ou compartilhada)
+     * @throws Exception exceção lançada pela operação
+     */
+    public T execute(Callable<T> operation) throws Exception {
+        CompletableFuture<T> mine = new CompletableFuture<>();
+        Flight<T> current = inFlight.compareAndExchange(null, new Flight<>(mine, Subprocesses.currentGroup()));
+        if (current != null) {
+            joined.incrementAndGet();
+            Subprocesses.Group group = Subprocesses.currentGroup();
+            if (group == null || current.owner() == null) {
+                return Executions.await(current.result());
+            }
+            group.await(current.owner());
+            try {
+                return Executions.await(current.result());
+            } finally {
+                group.release(current.owner());
+            }
+        }
+        
+        try {
+            T result = operation.call();
+            mine.complete(result);
+            return result;
+        } catch (Exception e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } catch (Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+    
+    /**
+     * @return Chamadas que reaproveitaram uma execução em andamento
+     */
+    public long getJoinedCount() {
+        return joined.get();
+    }
+}
@@ -0,0 +1,164 @@
+package br.unitins.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro dos subprocessos em execução (comandos de escaneamento: iwlist, iw, iwconfig, netsh)
+ * Permite encerrar à força os subprocessos presos quando um ciclo de escaneamento estoura o prazo:
+ * a leitura da saída de um subprocesso não responde a interrupção, mas termina (EOF) quando
+ * o processo morre.
+ * Cada subprocesso é registrado no grupo da tarefa que o iniciou (e das threads criadas por ela),
+ * de modo que o prazo de um ciclo encerra somente os subprocessos daquele ciclo.
+ * Um ciclo que aguarda a execução de outro (ver {@link SingleFlight}) também pode encerrar os
+ * subprocessos dessa execução.
+ */
+public final class Subprocesses {
+
+    private static final Logger logger = LoggerFactory.getLogger(Subprocesses.class);
+    private static final Set<Process> LIVE = ConcurrentHashMap.newKeySet();
+    private static final InheritableThreadLocal<Group> CURRENT = new InheritableThreadLocal<>();
+
+    private Subprocesses() {}
+
+    /**
+     * Grupo de subprocessos iniciados por uma tarefa (um ciclo de escaneamento)
+     */
+    public static final class Group {
+
+        private final String name;
+        private final Set<Process> live = ConcurrentHashMap.newKeySet();
+        // Grupos das execuções compartilhadas que a tarefa aguarda
+        private final Set<Group> awaited = ConcurrentHashMap.newKeySet();
+
+        private Group(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Associa a tarefa ao grupo: subprocessos iniciados por ela, ou por threads criadas
+         * durante sua execução, são registrados neste grupo
+         * @param task Tarefa
+         * @return Tarefa associada ao grupo
+         */
+        public <T> Callable<T> bind(Callable<T> task) {
+            return () -> {
+                Group previous = CURRENT.get();
+                CURRENT.set(this);
+                try {
+                    return task.call();
+                } finally {
+                    if (previous != null) {
+                        CURRENT.set(previous);
+                    } else {
+                        CURRENT.remove();
+                    }
+                }
+            };
+        }
+
+        /**
+         * Enquanto a tarefa aguarda a execução de outro grupo, {@link #destroyAll()} também
+         * encerra os subprocessos daquele grupo
+         * @param owner Grupo da execução aguardada
+         */
+        public void await(Group owner) {
+            if (owner != this) {
+                awaited.add(owner);
+            }
+        }
+
+        /**
+         * Encerra a espera iniciada por {@link #await(Group)}
+         * @param owner Grupo da execução aguardada
+         */
+        public void release(Group owner) {
+            awaited.remove(owner);
+        }
+
+        /**
+         * Encerra à força os subprocessos do grupo ainda em execução (e seus descendentes),
+         * incluindo os das execuções aguardadas
+         * @return Quantidade de subprocessos encerrados
+         */
+        public int destroyAll() {
+            int killed = destroyOwn();
+            for (Group owner : awaited) {
+                killed += owner.destroyOwn();
+            }
+            return killed;
+        }
+
+        private int destroyOwn() {
+            int killed = 0;
+            for (Process process : live) {
+                if (process.isAlive()) {
+                    logger.warn("Encerrando subprocesso preso ({}): {}", name,
+                            process.info().commandLine().orElse("pid " + process.pid()));
+                    process.descendants().forEach(ProcessHandle::destroyForcibly);
+                    process.destroyForcibly();
+                    killed++;
+                }
+                live.remove(process);
+            }
+            return killed;
+        }
+
+        /**
+         * @return Subprocessos do grupo em execução
+         */
+        public int liveCount() {
+            return live.size();
+        }
+
+        private void register(Process process) {
+            live.add(process);
+            process.onExit().thenRun(() -> live.remove(process));
+        }
+    }
+
+    /**
+     * Cria um grupo de subprocessos
+     * @param name Nome do grupo (usado nos logs)
+     * @return Grupo vazio
+     */
+    public static Group newGroup(String name) {
+        return new Group(name);
+    }
+
+    /**
+     * @return Grupo da tarefa atual ou null
+     */
+    public static Group currentGroup() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Inicia e registra um subprocesso no grupo da tarefa atual (se houver); o registro é
+     * removido quando ele termina
+     * @param processBuilder Comando
+     * @return Processo iniciado
+     */
+    public static Process start(ProcessBuilder processBuilder) throws IOException {
+        Process process = processBuilder.start();
+        LIVE.add(process);
+        process.onExit().thenRun(() -> LIVE.remove(process));
+        Group group = CURRENT.get();
+        if (group != null) {
+            group.register(process);
+        }
+        return process;
+    }
+
+    /**
+     * @return Subprocessos em execução em todos os grupos
+     */
+    public static int liveCount() {
+        return LIVE.size();
+    }
+}
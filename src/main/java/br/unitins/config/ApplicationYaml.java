@@ -0,0 +1,39 @@
+package br.unitins.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Leitura das seções do arquivo application.yml
+ */
+final class ApplicationYaml {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationYaml.class);
+    private static final String RESOURCE = "application.yml";
+    
+    private ApplicationYaml() {}
+    
+    /**
+     * Retorna uma seção de primeiro nível do application.yml
+     * @param name Nome da seção
+     * @return Mapa da seção ou null se o arquivo ou a seção não existirem
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> section(String name) throws Exception {
+        try (InputStream inputStream = ApplicationYaml.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (inputStream == null) {
+                logger.debug("Arquivo {} não encontrado. Usando configurações padrão.", RESOURCE);
+                return null;
+            }
+            
+            ObjectMapper mapper = new ObjectMapper(new YAMLFactory());
+            Map<String, Object> config = mapper.readValue(inputStream, Map.class);
+            return config != null ? (Map<String, Object>) config.get(name) : null;
+        }
+    }
+}
@@ -6,6 +6,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -23,6 +25,71 @@ public class DatabaseConfig {
     private String username = "hotspot_user";
     private String password = "hotspot_pass";
     
+    /**
+     * Perfis de desempenho do pool e do driver; valores informados em database.yml
+     * têm precedência sobre os do perfil
+     */
+    public enum Preset {
+        // Padrão equilibrado para o sensor com um único escaneamento por minuto
+        DEFAULT(10, 2, false, true, 250, 0),
+        // Gravação em lote contínua (write-behind, reenvio do spool) e consultas históricas grandes:
+        // mais conexões prontas, prepares no servidor reaproveitados pelo cache do driver
+        HIGH_THROUGHPUT(20, 10, true, true, 500, 1000),
+        // Dispositivos com pouca memória (ex.: Raspberry Pi) e bancos remotos compartilhados
+        LOW_FOOTPRINT(3, 1, false, true, 50, 0);
+        
+        private final int maximumPoolSize;
+        private final int minimumIdle;
+        private final boolean useServerPrepStmts;
+        private final boolean cachePrepStmts;
+        private final int prepStmtCacheSize;
+        private final int defaultFetchSize;
+        
+        Preset(int maximumPoolSize, int minimumIdle, boolean useServerPrepStmts, boolean cachePrepStmts,
+               int prepStmtCacheSize, int defaultFetchSize) {
+            this.maximumPoolSize = maximumPoolSize;
+            this.minimumIdle = minimumIdle;
+            this.useServerPrepStmts = useServerPrepStmts;
+            this.cachePrepStmts = cachePrepStmts;
+            this.prepStmtCacheSize = prepStmtCacheSize;
+            this.defaultFetchSize = defaultFetchSize;
+        }
+        
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+        public int getMinimumIdle() { return minimumIdle; }
+        public boolean isUseServerPrepStmts() { return useServerPrepStmts; }
+        public boolean isCachePrepStmts() { return cachePrepStmts; }
+        public int getPrepStmtCacheSize() { return prepStmtCacheSize; }
+        public int getDefaultFetchSize() { return defaultFetchSize; }
+    }
+    
+    /**
+     * Ação do Hibernate sobre o esquema na inicialização do JPA
+     * NONE: nenhuma (o esquema é criado por database/setup.sql)
+     * VALIDATE: confere as tabelas mapeadas contra o banco, sem alterá-lo
+     * UPDATE: cria tabelas e colunas ausentes (introspecção completa a cada inicialização)
+     */
+    public enum SchemaAction { NONE, VALIDATE, UPDATE }
+    
+    private Preset preset = Preset.DEFAULT;
+    private SchemaAction schemaAction = SchemaAction.NONE;
+    
+    // Pool de conexões (HikariCP)
+    private int maximumPoolSize = Preset.DEFAULT.maximumPoolSize;
+    private int minimumIdle = Preset.DEFAULT.minimumIdle;
+    private long connectionTimeoutMs = 30000;
+    private long idleTimeoutMs = 600000;
+    private long maxLifetimeMs = 1800000;
+    private long leakDetectionThresholdMs = 0; // 0 = desativado
+    
+    // Driver MariaDB Connector/J
+    private boolean useServerPrepStmts = Preset.DEFAULT.useServerPrepStmts;
+    private boolean cachePrepStmts = Preset.DEFAULT.cachePrepStmts;
+    private int prepStmtCacheSize = Preset.DEFAULT.prepStmtCacheSize;
+    private boolean useBulkStmts = true;
+    private int defaultFetchSize = Preset.DEFAULT.defaultFetchSize; // 0 = padrão do driver
+    private final Map<String, String> driverProperties = new LinkedHashMap<>();
+    
     private DatabaseConfig() {
         loadConfig();
     }
@@ -52,21 +119,82 @@ public class DatabaseConfig {
                 this.name = (String) database.getOrDefault("name", this.name);
                 this.username = (String) database.getOrDefault("username", this.username);
                 this.password = (String) database.getOrDefault("password", this.password);
+                
+                Object presetName = database.get("preset");
+                if (presetName != null) {
+                    applyPreset(Preset.valueOf(presetName.toString().trim().toUpperCase(Locale.ROOT).replace('-', '_')));
+                }
+                
+                Object action = database.get("schema-action");
+                if (action != null) {
+                    this.schemaAction = SchemaAction.valueOf(action.toString().trim().toUpperCase(Locale.ROOT));
+                }
+                
+                Map<String, Object> pool = (Map<String, Object>) database.get("pool");
+                if (pool != null) {
+                    this.maximumPoolSize = ((Number) pool.getOrDefault("maximum-pool-size", maximumPoolSize)).intValue();
+                    this.minimumIdle = ((Number) pool.getOrDefault("minimum-idle", minimumIdle)).intValue();
+                    this.connectionTimeoutMs = ((Number) pool.getOrDefault("connection-timeout-ms", connectionTimeoutMs)).longValue();
+                    this.idleTimeoutMs = ((Number) pool.getOrDefault("idle-timeout-ms", idleTimeoutMs)).longValue();
+                    this.maxLifetimeMs = ((Number) pool.getOrDefault("max-lifetime-ms", maxLifetimeMs)).longValue();
+                    this.leakDetectionThresholdMs = ((Number) pool.getOrDefault("leak-detection-threshold-ms",
+                            leakDetectionThresholdMs)).longValue();
+                }
+                
+                Map<String, Object> driver = (Map<String, Object>) database.get("driver");
+                if (driver != null) {
+                    this.useServerPrepStmts = (Boolean) driver.getOrDefault("use-server-prep-stmts", useServerPrepStmts);
+                    this.cachePrepStmts = (Boolean) driver.getOrDefault("cache-prep-stmts", cachePrepStmts);
+                    this.prepStmtCacheSize = ((Number) driver.getOrDefault("prep-stmt-cache-size", prepStmtCacheSize)).intValue();
+                    this.useBulkStmts = (Boolean) driver.getOrDefault("use-bulk-stmts", useBulkStmts);
+                    this.defaultFetchSize = ((Number) driver.getOrDefault("default-fetch-size", defaultFetchSize)).intValue();
+                    
+                    // Demais propriedades do Connector/J, repassadas sem interpretação
+                    Map<String, Object> properties = (Map<String, Object>) driver.get("properties");
+                    if (properties != null) {
+                        properties.forEach((key, value) -> driverProperties.put(key, String.valueOf(value)));
+                    }
+                }
             }
             
-            logger.info("Configuração carregada: {}:{}/{}", host, port, name);
+            logger.info("Configuração carregada: {}:{}/{} (perfil {}, pool {})", host, port, name,
+                    preset.name().toLowerCase(Locale.ROOT).replace('_', '-'), maximumPoolSize);
             
         } catch (Exception e) {
             logger.warn("Erro ao carregar configuração. Usando valores padrão: {}", e.getMessage());
         }
     }
     
+    private void applyPreset(Preset preset) {
+        this.preset = preset;
+        this.maximumPoolSize = preset.maximumPoolSize;
+        this.minimumIdle = preset.minimumIdle;
+        this.useServerPrepStmts = preset.useServerPrepStmts;
+        this.cachePrepStmts = preset.cachePrepStmts;
+        this.prepStmtCacheSize = preset.prepStmtCacheSize;
+        this.defaultFetchSize = preset.defaultFetchSize;
+    }
+    
     // Getters
     public String getHost() { return host; }
     public int getPort() { return port; }
     public String getName() { return name; }
     public String getUsername() { return username; }
     public String getPassword() { return password; }
+    public Preset getPreset() { return preset; }
+    public SchemaAction getSchemaAction() { return schemaAction; }
+    public int getMaximumPoolSize() { return maximumPoolSize; }
+    public int getMinimumIdle() { return minimumIdle; }
+    public long getConnectionTimeoutMs() { return connectionTimeoutMs; }
+    public long getIdleTimeoutMs() { return idleTimeoutMs; }
+    public long getMaxLifetimeMs() { return maxLifetimeMs; }
+    public long getLeakDetectionThresholdMs() { return leakDetectionThresholdMs; }
+    public boolean isUseServerPrepStmts() { return useServerPrepStmts; }
+    public boolean isCachePrepStmts() { return cachePrepStmts; }
+    public int getPrepStmtCacheSize() { return prepStmtCacheSize; }
+    public boolean isUseBulkStmts() { return useBulkStmts; }
+    public int getDefaultFetchSize() { return defaultFetchSize; }
+    public Map<String, String> getDriverProperties() { return driverProperties; }
     
     public String getJdbcUrl() {
         return String.format("jdbc:mariadb://%s:%d/%s", host, port, name);
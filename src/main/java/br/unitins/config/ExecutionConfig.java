@@ -0,0 +1,53 @@
+package br.unitins.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Configuração do modelo de execução (seção "execution" do application.yml)
+ */
+public class ExecutionConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionConfig.class);
+    private static ExecutionConfig instance;
+    
+    /**
+     * Modelos de execução
+     * PLATFORM: threads de plataforma tradicionais
+     * VIRTUAL: E/S de subprocessos, escritas JDBC e atualizações da interface em virtual threads
+     */
+    public enum Mode { PLATFORM, VIRTUAL }
+    
+    private Mode mode = Mode.PLATFORM;
+    
+    private ExecutionConfig() {
+        loadConfig();
+    }
+    
+    public static synchronized ExecutionConfig getInstance() {
+        if (instance == null) {
+            instance = new ExecutionConfig();
+        }
+        return instance;
+    }
+    
+    private void loadConfig() {
+        try {
+            Map<String, Object> execution = ApplicationYaml.section("execution");
+            if (execution != null) {
+                this.mode = Mode.valueOf(((String) execution.getOrDefault("mode", mode.name())).toUpperCase());
+            }
+            
+            logger.info("Modelo de execução: {}", mode);
+            
+        } catch (Exception e) {
+            logger.warn("Erro ao carregar configuração de execução. Usando valores padrão: {}", e.getMessage());
+        }
+    }
+    
+    // Getters
+    public Mode getMode() { return mode; }
+    public boolean isVirtual() { return mode == Mode.VIRTUAL; }
+}
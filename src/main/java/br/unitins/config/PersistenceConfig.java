@@ -0,0 +1,236 @@
+package br.unitins.config;
+
+import br.unitins.database.PartitionMaintenance.Granularity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Configuração do caminho de escrita (seção "persistence" do application.yml)
+ */
+public class PersistenceConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PersistenceConfig.class);
+    private static PersistenceConfig instance;
+    private static final long LATEST_WINDOW_MS = 5 * 60 * 1000;
+    
+    /**
+     * Política aplicada quando o buffer de escrita está cheio
+     * BLOCK: o escaneamento aguarda espaço no buffer
+     * DROP_OLDEST: descarta as observações mais antigas
+     * SPILL: grava o excedente em disco para reprocessamento posterior
+     */
+    public enum OverflowPolicy { BLOCK, DROP_OLDEST, SPILL }
+    
+    /**
+     * Backend do repositório de Access Points
+     * JPA: Hibernate (consultas HQL, cache de consultas opcional)
+     * JDBC: JDBC puro, sem inicializar o Hibernate
+     * EMBEDDED: arquivos locais de séries temporais, sem MariaDB
+     */
+    public enum Backend { JPA, JDBC, EMBEDDED }
+    
+    private Backend backend = Backend.JPA;
+    
+    // Armazenamento embarcado (backend EMBEDDED)
+    private String embeddedDirectory = "data/tsdb";
+    private int embeddedBlockRows = 4096;
+    private long embeddedBlockMaxAgeMs = 600000;
+    private int embeddedRetentionDays = 90;
+    
+    // Buffer de escrita assíncrona (write-behind)
+    private boolean writeBehindEnabled = false;
+    private int writeBehindCapacity = 10000;
+    private int writeBehindBatchSize = 500;
+    private long writeBehindFlushIntervalMs = 5000;
+    private long writeBehindBlockTimeoutMs = 30000;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    
+    // Spool local para operação sem banco
+    private boolean spoolEnabled = false;
+    private String spoolDirectory = "data/spool";
+    private int spoolSegmentSizeMb = 16;
+    private long spoolReplayIntervalMs = 10000;
+    private int spoolReplayBatchSize = 1000;
+    
+    // Persistência por mudança (delta)
+    private boolean deltaEnabled = false;
+    private int deltaSignalThreshold = 3;
+    private double deltaQualityThreshold = 5.0;
+    private long deltaHeartbeatMs = 300000;
+    
+    // Particionamento por período de ap_observation
+    private boolean partitioningEnabled = false;
+    private Granularity partitionGranularity = Granularity.DAILY;
+    private int partitionPeriodsAhead = 7;
+    private int retentionDays = 90;
+    private long partitionMaintenanceIntervalHours = 6;
+    
+    // Agregações (rollups) de 1 minuto, 15 minutos e 1 hora
+    private boolean rollupEnabled = false;
+    private long rollupIntervalMs = 60000;
+    private long rollupGraceMs = 120000;
+    private long rollupMaxChunkHours = 6;
+    private int rollupMinPoints = 60;
+    
+    // Consultas históricas paginadas
+    private int queryPageSize = 1000;
+    
+    // Índice em memória do último estado por Access Point
+    private long latestTtlMs = 300000;
+    
+    // Cache de consultas (Hibernate + JCache)
+    private boolean cacheEnabled = false;
+    private long cacheMaxEntries = 10000;
+    private long cacheTtlSeconds = 600;
+    
+    private PersistenceConfig() {
+        loadConfig();
+    }
+    
+    public static synchronized PersistenceConfig getInstance() {
+        if (instance == null) {
+            instance = new PersistenceConfig();
+        }
+        return instance;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void loadConfig() {
+        try {
+            Map<String, Object> persistence = ApplicationYaml.section("persistence");
+            if (persistence == null) {
+                return;
+            }
+            
+            this.backend = Backend.valueOf(((String) persistence.getOrDefault("backend", backend.name())).toUpperCase());
+            
+            Map<String, Object> embedded = (Map<String, Object>) persistence.get("embedded");
+            if (embedded != null) {
+                this.embeddedDirectory = (String) embedded.getOrDefault("directory", embeddedDirectory);
+                this.embeddedBlockRows = ((Number) embedded.getOrDefault("block-rows", embeddedBlockRows)).intValue();
+                this.embeddedBlockMaxAgeMs = ((Number) embedded.getOrDefault("block-max-age-ms", embeddedBlockMaxAgeMs)).longValue();
+                this.embeddedRetentionDays = ((Number) embedded.getOrDefault("retention-days", embeddedRetentionDays)).intValue();
+            }
+            
+            Map<String, Object> writeBehind = (Map<String, Object>) persistence.get("write-behind");
+            if (writeBehind != null) {
+                this.writeBehindEnabled = (Boolean) writeBehind.getOrDefault("enabled", writeBehindEnabled);
+                this.writeBehindCapacity = ((Number) writeBehind.getOrDefault("capacity", writeBehindCapacity)).intValue();
+                this.writeBehindBatchSize = ((Number) writeBehind.getOrDefault("batch-size", writeBehindBatchSize)).intValue();
+                this.writeBehindFlushIntervalMs = ((Number) writeBehind.getOrDefault("flush-interval-ms", writeBehindFlushIntervalMs)).longValue();
+                this.writeBehindBlockTimeoutMs = ((Number) writeBehind.getOrDefault("block-timeout-ms", writeBehindBlockTimeoutMs)).longValue();
+                this.overflowPolicy = OverflowPolicy.valueOf(((String) writeBehind.getOrDefault("overflow-policy", overflowPolicy.name()))
+                        .toUpperCase().replace('-', '_'));
+            }
+            
+            Map<String, Object> spool = (Map<String, Object>) persistence.get("spool");
+            if (spool != null) {
+                this.spoolEnabled = (Boolean) spool.getOrDefault("enabled", spoolEnabled);
+                this.spoolDirectory = (String) spool.getOrDefault("directory", spoolDirectory);
+                this.spoolSegmentSizeMb = ((Number) spool.getOrDefault("segment-size-mb", spoolSegmentSizeMb)).intValue();
+                this.spoolReplayIntervalMs = ((Number) spool.getOrDefault("replay-interval-ms", spoolReplayIntervalMs)).longValue();
+                this.spoolReplayBatchSize = ((Number) spool.getOrDefault("replay-batch-size", spoolReplayBatchSize)).intValue();
+            }
+            
+            Map<String, Object> delta = (Map<String, Object>) persistence.get("delta");
+            if (delta != null) {
+                this.deltaEnabled = (Boolean) delta.getOrDefault("enabled", deltaEnabled);
+                this.deltaSignalThreshold = ((Number) delta.getOrDefault("signal-threshold-dbm", deltaSignalThreshold)).intValue();
+                this.deltaQualityThreshold = ((Number) delta.getOrDefault("quality-threshold", deltaQualityThreshold)).doubleValue();
+                this.deltaHeartbeatMs = ((Number) delta.getOrDefault("heartbeat-ms", deltaHeartbeatMs)).longValue();
+            }
+            
+            Map<String, Object> partitioning = (Map<String, Object>) persistence.get("partitioning");
+            if (partitioning != null) {
+                this.partitioningEnabled = (Boolean) partitioning.getOrDefault("enabled", partitioningEnabled);
+                this.partitionGranularity = Granularity.valueOf(((String) partitioning.getOrDefault("granularity",
+                        partitionGranularity.name())).toUpperCase());
+                this.partitionPeriodsAhead = ((Number) partitioning.getOrDefault("periods-ahead", partitionPeriodsAhead)).intValue();
+                this.retentionDays = ((Number) partitioning.getOrDefault("retention-days", retentionDays)).intValue();
+                this.partitionMaintenanceIntervalHours = ((Number) partitioning.getOrDefault("maintenance-interval-hours",
+                        partitionMaintenanceIntervalHours)).longValue();
+            }
+            
+            Map<String, Object> rollup = (Map<String, Object>) persistence.get("rollup");
+            if (rollup != null) {
+                this.rollupEnabled = (Boolean) rollup.getOrDefault("enabled", rollupEnabled);
+                this.rollupIntervalMs = ((Number) rollup.getOrDefault("interval-ms", rollupIntervalMs)).longValue();
+                this.rollupGraceMs = ((Number) rollup.getOrDefault("grace-ms", rollupGraceMs)).longValue();
+                this.rollupMaxChunkHours = ((Number) rollup.getOrDefault("max-chunk-hours", rollupMaxChunkHours)).longValue();
+                this.rollupMinPoints = ((Number) rollup.getOrDefault("min-points", rollupMinPoints)).intValue();
+            }
+            
+            Map<String, Object> query = (Map<String, Object>) persistence.get("query");
+            if (query != null) {
+                this.queryPageSize = ((Number) query.getOrDefault("page-size", queryPageSize)).intValue();
+            }
+            
+            Map<String, Object> latest = (Map<String, Object>) persistence.get("latest");
+            if (latest != null) {
+                this.latestTtlMs = ((Number) latest.getOrDefault("ttl-ms", latestTtlMs)).longValue();
+            }
+            
+            Map<String, Object> cache = (Map<String, Object>) persistence.get("cache");
+            if (cache != null) {
+                this.cacheEnabled = (Boolean) cache.getOrDefault("enabled", cacheEnabled);
+                this.cacheMaxEntries = ((Number) cache.getOrDefault("max-entries", cacheMaxEntries)).longValue();
+                this.cacheTtlSeconds = ((Number) cache.getOrDefault("ttl-seconds", cacheTtlSeconds)).longValue();
+            }
+            
+            logger.info("Configuração de persistência carregada: write-behind {}, spool {}, delta {}",
+                    writeBehindEnabled ? "ativo" : "inativo", spoolEnabled ? "ativo" : "inativo",
+                    deltaEnabled ? "ativo" : "inativo");
+            
+        } catch (Exception e) {
+            logger.warn("Erro ao carregar configuração de persistência. Usando valores padrão: {}", e.getMessage());
+        }
+    }
+    
+    // Getters
+    public Backend getBackend() { return backend; }
+    public String getEmbeddedDirectory() { return embeddedDirectory; }
+    public int getEmbeddedBlockRows() { return embeddedBlockRows; }
+    public long getEmbeddedBlockMaxAgeMs() { return embeddedBlockMaxAgeMs; }
+    public int getEmbeddedRetentionDays() { return embeddedRetentionDays; }
+    public boolean isWriteBehindEnabled() { return writeBehindEnabled; }
+    public int getWriteBehindCapacity() { return writeBehindCapacity; }
+    public int getWriteBehindBatchSize() { return writeBehindBatchSize; }
+    public long getWriteBehindFlushIntervalMs() { return writeBehindFlushIntervalMs; }
+    public long getWriteBehindBlockTimeoutMs() { return writeBehindBlockTimeoutMs; }
+    public OverflowPolicy getOverflowPolicy() { return overflowPolicy; }
+    public boolean isSpoolEnabled() { return spoolEnabled; }
+    public String getSpoolDirectory() { return spoolDirectory; }
+    public int getSpoolSegmentSizeMb() { return spoolSegmentSizeMb; }
+    public long getSpoolReplayIntervalMs() { return spoolReplayIntervalMs; }
+    public int getSpoolReplayBatchSize() { return spoolReplayBatchSize; }
+    public boolean isDeltaEnabled() { return deltaEnabled; }
+    public int getDeltaSignalThreshold() { return deltaSignalThreshold; }
+    public double getDeltaQualityThreshold() { return deltaQualityThreshold; }
+    public long getDeltaHeartbeatMs() { return deltaHeartbeatMs; }
+    public boolean isPartitioningEnabled() { return partitioningEnabled; }
+    public Granularity getPartitionGranularity() { return partitionGranularity; }
+    public int getPartitionPeriodsAhead() { return partitionPeriodsAhead; }
+    public int getRetentionDays() { return retentionDays; }
+    public long getPartitionMaintenanceIntervalHours() { return partitionMaintenanceIntervalHours; }
+    public boolean isRollupEnabled() { return rollupEnabled; }
+    public long getRollupIntervalMs() { return rollupIntervalMs; }
+    public long getRollupGraceMs() { return rollupGraceMs; }
+    public long getRollupMaxChunkHours() { return rollupMaxChunkHours; }
+    public int getRollupMinPoints() { return rollupMinPoints; }
+    public int getQueryPageSize() { return queryPageSize; }
+    public long getLatestTtlMs() { return latestTtlMs; }
+    
+    /**
+     * Janela da carga do último estado: 5 minutos, ou o heartbeat no modo delta
+     * (um Access Point sem mudanças só é gravado a cada heartbeat)
+     */
+    public long getLatestWindowMs() {
+        return deltaEnabled ? Math.max(LATEST_WINDOW_MS, deltaHeartbeatMs) : LATEST_WINDOW_MS;
+    }
+    
+    public boolean isCacheEnabled() { return cacheEnabled; }
+    public long getCacheMaxEntries() { return cacheMaxEntries; }
+    public long getCacheTtlSeconds() { return cacheTtlSeconds; }
+}
@@ -0,0 +1,97 @@
+package br.unitins.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuração do escaneamento Wi-Fi (seção "scanner" do application.yml)
+ */
+public class ScannerConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ScannerConfig.class);
+    private static ScannerConfig instance;
+    
+    /**
+     * Modos de detecção
+     * ACTIVE: dispara um escaneamento a cada ciclo
+     * PASSIVE: lê a tabela de BSS em cache do kernel e só escaneia quando ela estiver velha
+     */
+    public enum Mode { ACTIVE, PASSIVE }
+    
+    // Configurações do escaneamento
+    private Mode mode = Mode.ACTIVE;
+    private String wifiInterface = null;
+    private List<String> interfaces = new ArrayList<>();
+    private long maxResultAgeMs = 30000;
+    
+    // Escaneamento compartilhado entre processos do host
+    private boolean sharedEnabled = false;
+    private String sharedDirectory = System.getProperty("java.io.tmpdir") + "/hotspot-detector";
+    private long sharedMaxAgeMs = 10000;
+    private long sharedLeaseWaitMs = 30000;
+    private long sharedMaxStaleMs = 0;
+    private int sharedFileBytes = 1024 * 1024;
+    
+    private ScannerConfig() {
+        loadConfig();
+    }
+    
+    public static synchronized ScannerConfig getInstance() {
+        if (instance == null) {
+            instance = new ScannerConfig();
+        }
+        return instance;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void loadConfig() {
+        try {
+            Map<String, Object> scanner = ApplicationYaml.section("scanner");
+            if (scanner != null) {
+                this.mode = Mode.valueOf(((String) scanner.getOrDefault("mode", mode.name())).toUpperCase());
+                this.wifiInterface = (String) scanner.getOrDefault("interface", wifiInterface);
+                this.interfaces = (List<String>) scanner.getOrDefault("interfaces", interfaces);
+                this.maxResultAgeMs = ((Number) scanner.getOrDefault("max-result-age-ms", maxResultAgeMs)).longValue();
+                
+                Map<String, Object> shared = (Map<String, Object>) scanner.get("shared");
+                if (shared != null) {
+                    this.sharedEnabled = (Boolean) shared.getOrDefault("enabled", sharedEnabled);
+                    this.sharedDirectory = (String) shared.getOrDefault("directory", sharedDirectory);
+                    this.sharedMaxAgeMs = ((Number) shared.getOrDefault("max-age-ms", sharedMaxAgeMs)).longValue();
+                    this.sharedLeaseWaitMs = ((Number) shared.getOrDefault("lease-wait-ms", sharedLeaseWaitMs)).longValue();
+                    this.sharedMaxStaleMs = ((Number) shared.getOrDefault("max-stale-ms", sharedMaxStaleMs)).longValue();
+                    this.sharedFileBytes = ((Number) shared.getOrDefault("file-bytes", sharedFileBytes)).intValue();
+                }
+            }
+            
+            logger.info("Configuração de escaneamento carregada: modo {}", mode);
+            
+        } catch (Exception e) {
+            logger.warn("Erro ao carregar configuração de escaneamento. Usando valores padrão: {}", e.getMessage());
+        }
+    }
+    
+    // Getters
+    public Mode getMode() { return mode; }
+    public String getWifiInterface() { return wifiInterface; }
+    public List<String> getInterfaces() { return interfaces; }
+    
+    /**
+     * Indica se todas as interfaces Wi-Fi devem ser escaneadas ("interfaces: [all]")
+     */
+    public boolean isAllInterfaces() {
+        return interfaces.stream().anyMatch("all"::equalsIgnoreCase);
+    }
+    public long getMaxResultAgeMs() { return maxResultAgeMs; }
+    public boolean isSharedEnabled() { return sharedEnabled; }
+    public String getSharedDirectory() { return sharedDirectory; }
+    public long getSharedMaxAgeMs() { return sharedMaxAgeMs; }
+    public long getSharedLeaseWaitMs() { return sharedLeaseWaitMs; }
+    /** Idade máxima do escaneamento anterior usado quando a interface segue ocupada (padrão: 3 x max-age-ms) */
+    public long getSharedMaxStaleMs() { return sharedMaxStaleMs > 0 ? sharedMaxStaleMs : sharedMaxAgeMs * 3; }
+    public int getSharedFileBytes() { return sharedFileBytes; }
+}
@@ -0,0 +1,108 @@
+package br.unitins.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Configuração do escaneamento automático (seção "scheduler" do application.yml)
+ */
+public class SchedulerConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerConfig.class);
+    private static SchedulerConfig instance;
+    
+    /**
+     * Modos de agendamento
+     * FIXED_RATE: disparos a cada interval-ms
+     * CRON: disparos nos horários da expressão cron
+     * ADAPTIVE: intervalo entre min e max conforme a mudança no ambiente de RF
+     */
+    public enum Mode { FIXED_RATE, CRON, ADAPTIVE }
+    
+    /**
+     * Tratamento dos disparos perdidos enquanto um ciclo ainda estava em andamento
+     * SKIP: descarta os disparos perdidos e aguarda o próximo horário agendado
+     * COALESCE: executa um único ciclo imediatamente no lugar de todos os perdidos
+     */
+    public enum MisfirePolicy { SKIP, COALESCE }
+    
+    // Agenda: intervalo fixo (intervalo inicial no modo adaptativo) ou expressão cron
+    private Mode mode = Mode.FIXED_RATE;
+    private long intervalMs = 60000;
+    private String cron = "* * * * *";
+    
+    // Controle de sobreposição e prazo dos ciclos
+    private MisfirePolicy misfirePolicy = MisfirePolicy.SKIP;
+    private long misfireThresholdMs = 5000;
+    private long cycleDeadlineMs = 45000;
+    
+    // Intervalo adaptativo
+    private long minIntervalMs = 15000;
+    private long maxIntervalMs = 300000;
+    private double backoffFactor = 2.0;
+    private double churnThreshold = 0.1;
+    private int signalChangeDbm = 10;
+    
+    private SchedulerConfig() {
+        loadConfig();
+    }
+    
+    public static synchronized SchedulerConfig getInstance() {
+        if (instance == null) {
+            instance = new SchedulerConfig();
+        }
+        return instance;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void loadConfig() {
+        try {
+            Map<String, Object> scheduler = ApplicationYaml.section("scheduler");
+            if (scheduler == null) {
+                return;
+            }
+            
+            this.mode = Mode.valueOf(((String) scheduler.getOrDefault("mode", mode.name())).toUpperCase().replace('-', '_'));
+            this.intervalMs = ((Number) scheduler.getOrDefault("interval-ms", intervalMs)).longValue();
+            this.cron = (String) scheduler.getOrDefault("cron", cron);
+            this.misfirePolicy = MisfirePolicy.valueOf(((String) scheduler.getOrDefault("misfire-policy",
+                    misfirePolicy.name())).toUpperCase());
+            this.misfireThresholdMs = ((Number) scheduler.getOrDefault("misfire-threshold-ms", misfireThresholdMs)).longValue();
+            this.cycleDeadlineMs = ((Number) scheduler.getOrDefault("cycle-deadline-ms", cycleDeadlineMs)).longValue();
+            
+            Map<String, Object> adaptive = (Map<String, Object>) scheduler.get("adaptive");
+            if (adaptive != null) {
+                this.minIntervalMs = ((Number) adaptive.getOrDefault("min-interval-ms", minIntervalMs)).longValue();
+                this.maxIntervalMs = ((Number) adaptive.getOrDefault("max-interval-ms", maxIntervalMs)).longValue();
+                this.backoffFactor = ((Number) adaptive.getOrDefault("backoff-factor", backoffFactor)).doubleValue();
+                this.churnThreshold = ((Number) adaptive.getOrDefault("churn-threshold", churnThreshold)).doubleValue();
+                this.signalChangeDbm = ((Number) adaptive.getOrDefault("signal-change-dbm", signalChangeDbm)).intValue();
+            }
+            
+            // Limites coerentes: min <= intervalo inicial <= max
+            this.minIntervalMs = Math.max(1000, minIntervalMs);
+            this.maxIntervalMs = Math.max(minIntervalMs, maxIntervalMs);
+            this.backoffFactor = Math.max(1.0, backoffFactor);
+            
+            logger.info("Configuração do scheduler carregada: modo {}", mode);
+            
+        } catch (Exception e) {
+            logger.warn("Erro ao carregar configuração do scheduler. Usando valores padrão: {}", e.getMessage());
+        }
+    }
+    
+    // Getters
+    public Mode getMode() { return mode; }
+    public long getIntervalMs() { return intervalMs; }
+    public String getCron() { return cron; }
+    public MisfirePolicy getMisfirePolicy() { return misfirePolicy; }
+    public long getMisfireThresholdMs() { return misfireThresholdMs; }
+    public long getCycleDeadlineMs() { return cycleDeadlineMs; }
+    public long getMinIntervalMs() { return minIntervalMs; }
+    public long getMaxIntervalMs() { return maxIntervalMs; }
+    public double getBackoffFactor() { return backoffFactor; }
+    public double getChurnThreshold() { return churnThreshold; }
+    public int getSignalChangeDbm() { return signalChangeDbm; }
+}
@@ -0,0 +1,51 @@
+package br.unitins.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Configuração da inicialização da aplicação (seção "startup" do application.yml)
+ */
+public class StartupConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupConfig.class);
+    private static StartupConfig instance;
+
+    // JPA (Hibernate) inicializado no primeiro acesso ao banco, fora do caminho até o menu
+    private boolean lazyJpa = true;
+    // Detector e pool de conexões inicializados em paralelo
+    private boolean parallel = true;
+
+    private StartupConfig() {
+        loadConfig();
+    }
+
+    public static synchronized StartupConfig getInstance() {
+        if (instance == null) {
+            instance = new StartupConfig();
+        }
+        return instance;
+    }
+
+    private void loadConfig() {
+        try {
+            Map<String, Object> startup = ApplicationYaml.section("startup");
+            if (startup != null) {
+                this.lazyJpa = (Boolean) startup.getOrDefault("lazy-jpa", lazyJpa);
+                this.parallel = (Boolean) startup.getOrDefault("parallel", parallel);
+            }
+
+            logger.info("Inicialização: JPA {}, {}", lazyJpa ? "sob demanda" : "imediato",
+                    parallel ? "paralela" : "sequencial");
+
+        } catch (Exception e) {
+            logger.warn("Erro ao carregar configuração de inicialização. Usando valores padrão: {}", e.getMessage());
+        }
+    }
+
+    // Getters
+    public boolean isLazyJpa() { return lazyJpa; }
+    public boolean isParallel() { return parallel; }
+}
@@ -1,6 +1,11 @@
 package br.unitins.database;
 
-import br.unitins.model.AccessPointEntity;
+import br.unitins.model.AccessPointDimension;
+import br.unitins.model.ApObservation;
+import br.unitins.model.ApRollup15m;
+import br.unitins.model.ApRollup1h;
+import br.unitins.model.ApRollup1m;
+import br.unitins.model.RollupWatermark;
 import jakarta.persistence.SharedCacheMode;
 import jakarta.persistence.ValidationMode;
 import jakarta.persistence.spi.ClassTransformer;
@@ -40,7 +45,9 @@ public class CustomPersistenceUnitInfo implements PersistenceUnitInfo {
     
     @Override
     public List<String> getManagedClassNames() {
-        return List.of(AccessPointEntity.class.getName());
+        return List.of(AccessPointDimension.class.getName(), ApObservation.class.getName(),
+                ApRollup1m.class.getName(), ApRollup15m.class.getName(), ApRollup1h.class.getName(),
+                RollupWatermark.class.getName());
     }
     
     // Métodos não utilizados - implementação mínima
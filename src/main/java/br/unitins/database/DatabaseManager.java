@@ -1,36 +1,74 @@
 package br.unitins.database;
 
 import br.unitins.config.DatabaseConfig;
+import br.unitins.config.PersistenceConfig;
+import br.unitins.config.StartupConfig;
+import br.unitins.metrics.Metrics;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.SharedSessionContract;
+import org.hibernate.StatelessSession;
 import org.hibernate.jpa.HibernatePersistenceProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.cache.CacheManager;
+import javax.cache.Caching;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Gerenciador simplificado do banco de dados
+ * O pool de conexões é criado junto com o gerenciador; o JPA (Hibernate) pode ser inicializado
+ * apenas no primeiro acesso que precisar dele (startup.lazy-jpa)
  */
 public class DatabaseManager {
     
     private static final Logger logger = LoggerFactory.getLogger(DatabaseManager.class);
     private static DatabaseManager instance;
     
+    /** Linhas por lote JDBC (enviado em um único round-trip pelo protocolo bulk do MariaDB) */
+    public static final int JDBC_BATCH_SIZE = 500;
+    
+    /** Região do cache com as páginas de observações brutas */
+    public static final String OBSERVATION_CACHE_REGION = "ap-observation-queries";
+    
+    /** Região do cache com as páginas de agregados e as marcas d'água */
+    public static final String ROLLUP_CACHE_REGION = "ap-rollup-queries";
+    
+    // Regiões padrão do Hibernate: consultas sem região explícita e horário da última
+    // alteração de cada tabela (esta não pode expirar)
+    private static final String DEFAULT_QUERY_CACHE_REGION = "default-query-results-region";
+    private static final String TIMESTAMPS_CACHE_REGION = "default-update-timestamps-region";
+    
+    private static final String DIALECT = "org.hibernate.dialect.MariaDBDialect";
+    
     private HikariDataSource dataSource;
-    private EntityManagerFactory entityManagerFactory;
+    private volatile EntityManagerFactory entityManagerFactory;
+    private CacheManager cacheManager;
+    private volatile QueryCacheMetrics queryCacheMetrics;
     private final DatabaseConfig config;
     
     private DatabaseManager() {
         this.config = DatabaseConfig.getInstance();
         initializeDataSource();
-        initializeJPA();
+        // O backend JDBC não usa o JPA: o Hibernate só é inicializado se algo o pedir
+        if (!StartupConfig.getInstance().isLazyJpa()
+                && PersistenceConfig.getInstance().getBackend() == PersistenceConfig.Backend.JPA) {
+            initializeJPA();
+        }
     }
     
     public static synchronized DatabaseManager getInstance() {
@@ -42,22 +80,7 @@ public class DatabaseManager {
     
     private void initializeDataSource() {
         try {
-            HikariConfig hikariConfig = new HikariConfig();
-            
-            // Configurações básicas
-            hikariConfig.setJdbcUrl(config.getJdbcUrl());
-            hikariConfig.setUsername(config.getUsername());
-            hikariConfig.setPassword(config.getPassword());
-            hikariConfig.setDriverClassName("org.mariadb.jdbc.Driver");
-            
-            // Configurações padrão do pool
-            hikariConfig.setMaximumPoolSize(10);
-            hikariConfig.setMinimumIdle(2);
-            hikariConfig.setConnectionTimeout(30000);
-            hikariConfig.setIdleTimeout(600000);
-            hikariConfig.setMaxLifetime(1800000);
-            
-            this.dataSource = new HikariDataSource(hikariConfig);
+            this.dataSource = new HikariDataSource(hikariConfig(config));
             logger.info("Pool de conexões inicializado");
             
         } catch (Exception e) {
@@ -66,26 +89,140 @@ public class DatabaseManager {
         }
     }
     
+    /**
+     * Configuração do pool da aplicação
+     * @param config Configuração do banco (database.yml)
+     * @return Configuração do HikariCP com o pool e as propriedades do driver de database.yml
+     */
+    public static HikariConfig hikariConfig(DatabaseConfig config) {
+        return hikariConfig(config, null);
+    }
+    
+    /**
+     * Configuração do pool com os valores de um perfil no lugar dos de database.yml
+     * Prazos do pool, useBulkStmts e as demais propriedades do driver continuam os de database.yml.
+     * @param config Configuração do banco (database.yml)
+     * @param preset Perfil aplicado (null mantém os valores de database.yml)
+     * @return Configuração do HikariCP
+     */
+    public static HikariConfig hikariConfig(DatabaseConfig config, DatabaseConfig.Preset preset) {
+        HikariConfig hikariConfig = new HikariConfig();
+        
+        // Configurações básicas
+        hikariConfig.setJdbcUrl(config.getJdbcUrl());
+        hikariConfig.setUsername(config.getUsername());
+        hikariConfig.setPassword(config.getPassword());
+        hikariConfig.setDriverClassName("org.mariadb.jdbc.Driver");
+        
+        // Pool (database.pool, com valores iniciais do perfil database.preset)
+        hikariConfig.setPoolName("hotspot-pool");
+        hikariConfig.setMaximumPoolSize(preset != null ? preset.getMaximumPoolSize() : config.getMaximumPoolSize());
+        hikariConfig.setMinimumIdle(preset != null ? preset.getMinimumIdle() : config.getMinimumIdle());
+        hikariConfig.setConnectionTimeout(config.getConnectionTimeoutMs());
+        hikariConfig.setIdleTimeout(config.getIdleTimeoutMs());
+        hikariConfig.setMaxLifetime(config.getMaxLifetimeMs());
+        hikariConfig.setLeakDetectionThreshold(config.getLeakDetectionThresholdMs());
+        
+        // Driver (database.driver)
+        // Protocolo bulk do MariaDB: envia o lote de INSERTs em um único round-trip
+        hikariConfig.addDataSourceProperty("useBulkStmts", String.valueOf(config.isUseBulkStmts()));
+        hikariConfig.addDataSourceProperty("useServerPrepStmts",
+                String.valueOf(preset != null ? preset.isUseServerPrepStmts() : config.isUseServerPrepStmts()));
+        hikariConfig.addDataSourceProperty("cachePrepStmts",
+                String.valueOf(preset != null ? preset.isCachePrepStmts() : config.isCachePrepStmts()));
+        hikariConfig.addDataSourceProperty("prepStmtCacheSize",
+                String.valueOf(preset != null ? preset.getPrepStmtCacheSize() : config.getPrepStmtCacheSize()));
+        int defaultFetchSize = preset != null ? preset.getDefaultFetchSize() : config.getDefaultFetchSize();
+        if (defaultFetchSize > 0) {
+            hikariConfig.addDataSourceProperty("defaultFetchSize", String.valueOf(defaultFetchSize));
+        }
+        config.getDriverProperties().forEach(hikariConfig::addDataSourceProperty);
+        return hikariConfig;
+    }
+    
+    /**
+     * Inicializa o JPA se ainda não foi inicializado
+     * @return EntityManagerFactory pronto para uso
+     */
+    private EntityManagerFactory entityManagerFactory() {
+        EntityManagerFactory factory = entityManagerFactory;
+        if (factory == null) {
+            synchronized (this) {
+                if (entityManagerFactory == null) {
+                    initializeJPA();
+                }
+                factory = entityManagerFactory;
+            }
+        }
+        return factory;
+    }
+    
+    /**
+     * @return true se o JPA já foi inicializado
+     */
+    public boolean isJpaInitialized() {
+        return entityManagerFactory != null;
+    }
+    
+    /**
+     * Inicializa e descarta o JPA sem abrir conexões com o banco
+     * Usado apenas no treino do arquivo CDS (--cds-training), para que as classes carregadas
+     * na inicialização do Hibernate entrem no arquivo
+     */
+    public static void bootstrapOffline() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.dialect", DIALECT);
+        properties.put("hibernate.hbm2ddl.auto", "none");
+        properties.put("hibernate.temp.use_jdbc_metadata_defaults", false);
+        // Pool não iniciado: nenhuma conexão é pedida sem acesso aos metadados JDBC
+        properties.put("hibernate.connection.datasource", new HikariDataSource());
+        
+        EntityManagerFactory factory = new HibernatePersistenceProvider()
+                .createContainerEntityManagerFactory(new CustomPersistenceUnitInfo("hotspot-detector"), properties);
+        factory.close();
+    }
+    
     private void initializeJPA() {
+        long started = System.nanoTime();
         try {
             Map<String, Object> properties = new HashMap<>();
             
             // Configurações básicas do Hibernate
-            properties.put("hibernate.dialect", "org.hibernate.dialect.MariaDBDialect");
-            properties.put("hibernate.hbm2ddl.auto", "update");
+            properties.put("hibernate.dialect", DIALECT);
+            properties.put("hibernate.hbm2ddl.auto", config.getSchemaAction().name().toLowerCase(Locale.ROOT));
             properties.put("hibernate.show_sql", false);
             properties.put("hibernate.format_sql", true);
             
+            // Batching de escrita
+            properties.put("hibernate.jdbc.batch_size", JDBC_BATCH_SIZE);
+            properties.put("hibernate.order_inserts", true);
+            if (config.getDefaultFetchSize() > 0) {
+                properties.put("hibernate.jdbc.fetch_size", config.getDefaultFetchSize());
+            }
+            
             // Configurações de conexão
             properties.put("hibernate.connection.datasource", dataSource);
             
+            PersistenceConfig persistenceConfig = PersistenceConfig.getInstance();
+            if (persistenceConfig.isCacheEnabled()) {
+                configureQueryCache(properties, persistenceConfig);
+            }
+            
             // Usar CustomPersistenceUnitInfo
             CustomPersistenceUnitInfo persistenceUnitInfo = new CustomPersistenceUnitInfo("hotspot-detector");
             
-            this.entityManagerFactory = new HibernatePersistenceProvider()
+            EntityManagerFactory factory = new HibernatePersistenceProvider()
                     .createContainerEntityManagerFactory(persistenceUnitInfo, properties);
             
-            logger.info("JPA inicializado");
+            if (cacheManager != null) {
+                queryCacheMetrics = new QueryCacheMetrics(factory.unwrap(SessionFactory.class).getStatistics());
+                Metrics.register("QueryCache", queryCacheMetrics);
+            }
+            
+            // Publicado por último: quem vê a fábrica também vê as métricas do cache
+            this.entityManagerFactory = factory;
+            logger.info("JPA inicializado em {} ms (esquema: {})", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                    config.getSchemaAction().name().toLowerCase(Locale.ROOT));
             
         } catch (Exception e) {
             logger.error("Erro ao inicializar JPA: {}", e.getMessage());
@@ -93,8 +230,83 @@ public class DatabaseManager {
         }
     }
     
+    /**
+     * Cache de consultas via JCache (Caffeine), com regiões limitadas em tamanho e tempo de vida
+     * As gravações são feitas em JDBC e não passam pelo controle de invalidação do Hibernate;
+     * por isso o repositório e o job de agregação invalidam as regiões com {@link #evictQueryCache}
+     */
+    private void configureQueryCache(Map<String, Object> properties, PersistenceConfig persistenceConfig) {
+        cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        
+        CaffeineConfiguration<Object, Object> results = new CaffeineConfiguration<>();
+        results.setMaximumSize(OptionalLong.of(persistenceConfig.getCacheMaxEntries()));
+        results.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(persistenceConfig.getCacheTtlSeconds())));
+        createCache(OBSERVATION_CACHE_REGION, results);
+        createCache(ROLLUP_CACHE_REGION, results);
+        createCache(DEFAULT_QUERY_CACHE_REGION, results);
+        createCache(TIMESTAMPS_CACHE_REGION, new CaffeineConfiguration<>());
+        
+        properties.put("hibernate.cache.use_second_level_cache", true);
+        properties.put("hibernate.cache.use_query_cache", true);
+        properties.put("hibernate.cache.region.factory_class", "jcache");
+        properties.put("hibernate.javax.cache.cache_manager", cacheManager);
+        properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+        properties.put("hibernate.generate_statistics", true);
+        logger.info("Cache de consultas ativo ({} entradas por região, {} s)",
+                persistenceConfig.getCacheMaxEntries(), persistenceConfig.getCacheTtlSeconds());
+    }
+    
+    private void createCache(String name, CaffeineConfiguration<Object, Object> configuration) {
+        if (cacheManager.getCache(name) == null) {
+            cacheManager.createCache(name, configuration);
+        }
+    }
+    
     public EntityManager getEntityManager() {
-        return entityManagerFactory.createEntityManager();
+        return entityManagerFactory().createEntityManager();
+    }
+    
+    /**
+     * Abre uma sessão sem contexto de persistência (entidades não ficam em cache na sessão),
+     * usada nas leituras paginadas de grandes volumes
+     */
+    public StatelessSession openStatelessSession() {
+        return entityManagerFactory().unwrap(SessionFactory.class).openStatelessSession();
+    }
+    
+    /**
+     * Abre uma sessão para leituras de projeções: sem cache de consultas é uma StatelessSession;
+     * com cache, uma sessão somente leitura (a StatelessSession não consulta o cache)
+     */
+    public SharedSessionContract openReadSession() {
+        SessionFactory sessionFactory = entityManagerFactory().unwrap(SessionFactory.class);
+        if (queryCacheMetrics == null) {
+            return sessionFactory.openStatelessSession();
+        }
+        Session session = sessionFactory.openSession();
+        session.setDefaultReadOnly(true);
+        return session;
+    }
+    
+    /**
+     * @return true se as consultas de leitura podem usar o cache (válido após a inicialização do JPA)
+     */
+    public boolean isQueryCacheEnabled() {
+        return queryCacheMetrics != null;
+    }
+    
+    /**
+     * Invalida uma região do cache de consultas após uma gravação (sem efeito se o cache está
+     * desativado ou se o JPA ainda não foi inicializado, quando não há nada em cache)
+     * @param region Região ({@link #OBSERVATION_CACHE_REGION} ou {@link #ROLLUP_CACHE_REGION})
+     */
+    public void evictQueryCache(String region) {
+        EntityManagerFactory factory = entityManagerFactory;
+        if (factory == null || queryCacheMetrics == null) {
+            return;
+        }
+        factory.unwrap(SessionFactory.class).getCache().evictQueryRegion(region);
+        queryCacheMetrics.recordInvalidation();
     }
     
     public DataSource getDataSource() {
@@ -110,23 +322,28 @@ public class DatabaseManager {
         }
     }
     
-    public void addShutdownHook() {
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            try {
-                shutdown();
-            } catch (Exception e) {
-                logger.error("Erro durante shutdown: {}", e.getMessage());
-            }
-        }));
+    /**
+     * Encerra o gerenciador, se ele já foi criado
+     * Chamado no encerramento ordenado da aplicação, depois que o pipeline parou de gravar
+     */
+    public static synchronized void shutdownInstance() {
+        if (instance != null) {
+            instance.shutdown();
+        }
     }
     
-    public void shutdown() {
+    public synchronized void shutdown() {
         try {
             if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
                 entityManagerFactory.close();
                 logger.info("EntityManagerFactory fechado");
             }
             
+            if (cacheManager != null && !cacheManager.isClosed()) {
+                cacheManager.close();
+                Metrics.unregister("QueryCache");
+            }
+            
             if (dataSource != null && !dataSource.isClosed()) {
                 dataSource.close();
                 logger.info("Pool de conexões fechado");
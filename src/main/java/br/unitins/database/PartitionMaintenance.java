@@ -0,0 +1,205 @@
+package br.unitins.database;
+
+import br.unitins.concurrent.Executions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Manutenção das partições por período da tabela ap_observation
+ * A tabela é particionada por RANGE COLUMNS(scan_time) com uma partição final MAXVALUE (pfuture).
+ * Periodicamente novas partições são criadas à frente, separando-as de pfuture, e as partições
+ * cujo limite superior saiu do período de retenção são removidas com DROP PARTITION em vez de
+ * DELETE linha a linha. A separação só é imediata com pfuture vazia: se a manutenção atrasou e
+ * observações já caíram em pfuture, o REORGANIZE copia essas linhas com a tabela bloqueada.
+ */
+public class PartitionMaintenance {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenance.class);
+    private static final String TABLE = "ap_observation";
+    private static final String FUTURE_PARTITION = "pfuture";
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+    
+    /**
+     * Granularidade das partições
+     */
+    public enum Granularity {
+        DAILY(ChronoUnit.DAYS), MONTHLY(ChronoUnit.MONTHS);
+        
+        private final ChronoUnit unit;
+        
+        Granularity(ChronoUnit unit) {
+            this.unit = unit;
+        }
+        
+        LocalDate periodStart(LocalDate date) {
+            return this == MONTHLY ? date.withDayOfMonth(1) : date;
+        }
+    }
+    
+    /**
+     * Partição existente: nome e limite superior exclusivo (null para MAXVALUE)
+     */
+    private record Partition(String name, LocalDate upperBound, long rows) {}
+    
+    private final Granularity granularity;
+    private final int periodsAhead;
+    private final int retentionDays;
+    private ScheduledExecutorService executor;
+    
+    /**
+     * @param granularity Período de cada partição
+     * @param periodsAhead Quantidade de períodos futuros com partição já criada
+     * @param retentionDays Dias de observações mantidos (0 para não remover)
+     */
+    public PartitionMaintenance(Granularity granularity, int periodsAhead, int retentionDays) {
+        this.granularity = granularity;
+        this.periodsAhead = periodsAhead;
+        this.retentionDays = retentionDays;
+    }
+    
+    /**
+     * Executa a manutenção agora e a agenda periodicamente
+     * @param intervalHours Intervalo entre execuções
+     */
+    public synchronized void start(long intervalHours) {
+        if (executor != null) {
+            return;
+        }
+        executor = Executions.newSingleThreadScheduledExecutor("partition-maintenance");
+        executor.scheduleWithFixedDelay(this::runSafely, 0, intervalHours, TimeUnit.HOURS);
+    }
+    
+    private void runSafely() {
+        try {
+            run();
+        } catch (Exception e) {
+            // Banco indisponível ou tabela sem particionamento: tenta de novo na próxima execução
+            logger.warn("Manutenção de partições adiada: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Cria as partições futuras que faltam e remove as expiradas
+     * @throws SQLException se a consulta ou a alteração da tabela falhar
+     */
+    public void run() throws SQLException {
+        try (Connection connection = DatabaseManager.getInstance().getDataSource().getConnection()) {
+            List<Partition> partitions = loadPartitions(connection);
+            if (partitions.isEmpty()) {
+                logger.warn("Tabela {} não está particionada; execute database/partition-observations.sql", TABLE);
+                return;
+            }
+            if (partitions.get(partitions.size() - 1).upperBound() != null) {
+                logger.warn("Tabela {} não possui a partição {}; novas partições não serão criadas", TABLE, FUTURE_PARTITION);
+            } else {
+                createAhead(connection, partitions);
+            }
+            if (retentionDays > 0) {
+                dropExpired(connection, partitions);
+            }
+        }
+    }
+    
+    private List<Partition> loadPartitions(Connection connection) throws SQLException {
+        List<Partition> partitions = new ArrayList<>();
+        String sql = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS FROM information_schema.PARTITIONS " +
+                     "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+                     "ORDER BY PARTITION_ORDINAL_POSITION";
+        
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, TABLE);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    partitions.add(new Partition(rs.getString(1), parseBound(rs.getString(2)), rs.getLong(3)));
+                }
+            }
+        }
+        return partitions;
+    }
+    
+    private void createAhead(Connection connection, List<Partition> partitions) throws SQLException {
+        // Último limite já coberto por uma partição com período definido
+        LocalDate covered = null;
+        for (Partition partition : partitions) {
+            if (partition.upperBound() != null) {
+                covered = partition.upperBound();
+            }
+        }
+        
+        // Lacunas no passado não geram partições: a primeira partição nova absorve o intervalo até o período atual
+        LocalDate current = granularity.periodStart(LocalDate.now());
+        LocalDate target = current.plus(periodsAhead + 1L, granularity.unit);
+        LocalDate start = covered != null && covered.isAfter(current) ? covered : current;
+        
+        List<String> definitions = new ArrayList<>();
+        while (start.isBefore(target)) {
+            LocalDate end = start.plus(1, granularity.unit);
+            definitions.add(String.format("PARTITION %s VALUES LESS THAN ('%s')", start.format(NAME_FORMAT), end));
+            start = end;
+        }
+        if (definitions.isEmpty()) {
+            return;
+        }
+        definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        
+        long futureRows = partitions.stream()
+                .filter(partition -> FUTURE_PARTITION.equals(partition.name()))
+                .mapToLong(Partition::rows)
+                .sum();
+        if (futureRows > 0) {
+            logger.warn("Partição {} contém ~{} linhas: a separação copia essas linhas com {} bloqueada",
+                    FUTURE_PARTITION, futureRows, TABLE);
+        }
+        
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE_PARTITION +
+                    " INTO (" + String.join(", ", definitions) + ")");
+        }
+        logger.info("{} partição(ões) criada(s) em {} até {}", definitions.size() - 1, TABLE, target);
+    }
+    
+    private void dropExpired(Connection connection, List<Partition> partitions) throws SQLException {
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        List<String> expired = new ArrayList<>();
+        
+        // Mantém ao menos uma partição com período definido além de pfuture
+        for (int i = 0; i < partitions.size() - 2; i++) {
+            Partition partition = partitions.get(i);
+            if (partition.upperBound() != null && !partition.upperBound().isAfter(cutoff)) {
+                expired.add(partition.name());
+            }
+        }
+        if (expired.isEmpty()) {
+            return;
+        }
+        
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + String.join(", ", expired));
+        }
+        logger.info("Retenção: partição(ões) {} removida(s) de {} (anteriores a {})", expired, TABLE, cutoff);
+    }
+    
+    /**
+     * Converte a descrição da partição ('2026-10-19 00:00:00' ou MAXVALUE) em data
+     */
+    private static LocalDate parseBound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        String value = description.replace("'", "").trim();
+        return LocalDate.parse(value.length() > 10 ? value.substring(0, 10) : value);
+    }
+}
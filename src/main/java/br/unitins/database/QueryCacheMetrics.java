@@ -0,0 +1,34 @@
+package br.unitins.database;
+
+import org.hibernate.stat.Statistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas do cache de consultas, lidas das estatísticas do Hibernate
+ */
+class QueryCacheMetrics implements QueryCacheMetricsMXBean {
+    
+    private final Statistics statistics;
+    private final LongAdder invalidations = new LongAdder();
+    
+    QueryCacheMetrics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+    
+    void recordInvalidation() {
+        invalidations.increment();
+    }
+    
+    @Override public long getHitCount() { return statistics.getQueryCacheHitCount(); }
+    @Override public long getMissCount() { return statistics.getQueryCacheMissCount(); }
+    @Override public long getPutCount() { return statistics.getQueryCachePutCount(); }
+    @Override public long getInvalidationCount() { return invalidations.sum(); }
+    
+    @Override
+    public double getHitRatio() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
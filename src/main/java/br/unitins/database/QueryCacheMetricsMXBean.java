@@ -0,0 +1,22 @@
+package br.unitins.database;
+
+/**
+ * Métricas do cache de consultas expostas via JMX
+ */
+public interface QueryCacheMetricsMXBean {
+    
+    /** Consultas respondidas pelo cache */
+    long getHitCount();
+    
+    /** Consultas que foram ao banco */
+    long getMissCount();
+    
+    /** Resultados armazenados no cache */
+    long getPutCount();
+    
+    /** Fração de acertos (0 a 1) */
+    double getHitRatio();
+    
+    /** Invalidações disparadas pelas gravações */
+    long getInvalidationCount();
+}
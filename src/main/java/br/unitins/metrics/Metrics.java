@@ -0,0 +1,54 @@
+package br.unitins.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Publicação de métricas via JMX (domínio "br.unitins")
+ * As métricas podem ser lidas com jconsole, VisualVM ou qualquer agente JMX
+ */
+public final class Metrics {
+    
+    private static final Logger logger = LoggerFactory.getLogger(Metrics.class);
+    private static final String DOMAIN = "br.unitins";
+    
+    private Metrics() {}
+    
+    /**
+     * Registra um MXBean, substituindo um registro anterior com o mesmo tipo
+     * @param type Tipo do componente (ex.: "WriteBehindBuffer")
+     * @param mxBean Implementação da interface *MXBean
+     */
+    public static void register(String type, Object mxBean) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(DOMAIN + ":type=" + type);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(mxBean, name);
+        } catch (Exception e) {
+            logger.warn("Não foi possível registrar métricas {}: {}", type, e.getMessage());
+        }
+    }
+    
+    /**
+     * Remove o registro de um MXBean
+     * @param type Tipo do componente
+     */
+    public static void unregister(String type) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(DOMAIN + ":type=" + type);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (Exception e) {
+            logger.debug("Erro ao remover métricas {}: {}", type, e.getMessage());
+        }
+    }
+}
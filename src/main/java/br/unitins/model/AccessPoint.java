@@ -15,6 +15,7 @@ public class AccessPoint {
     private LocalDateTime lastBeaconTime;   // Tempo do último frame de sincronismo
     private int beaconInterval;             // Intervalo beacon (ms)
     private String securityVersion;         // Versão segurança Wi-Fi
+    private String interfaceName;           // Interface Wi-Fi que detectou o AP
 
     public AccessPoint() {}
 
@@ -61,6 +62,9 @@ public class AccessPoint {
     public String getSecurityVersion() { return securityVersion; }
     public void setSecurityVersion(String securityVersion) { this.securityVersion = securityVersion; }
 
+    public String getInterfaceName() { return interfaceName; }
+    public void setInterfaceName(String interfaceName) { this.interfaceName = interfaceName; }
+
     @Override
     public String toString() {
         return String.format("""
@@ -74,6 +78,7 @@ public class AccessPoint {
             Último Beacon: %s
             Intervalo Beacon: %d ms
             Segurança Wi-Fi: %s
+            Interface: %s
             ========================================
             """, 
             ssid != null ? ssid : "N/A",
@@ -84,7 +89,8 @@ public class AccessPoint {
             frequency,
             lastBeaconTime != null ? lastBeaconTime.toString() : "N/A",
             beaconInterval,
-            securityVersion != null ? securityVersion : "N/A"
+            securityVersion != null ? securityVersion : "N/A",
+            interfaceName != null ? interfaceName : "N/A"
         );
     }
 } 
\ No newline at end of file
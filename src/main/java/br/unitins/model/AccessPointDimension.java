@@ -0,0 +1,60 @@
+package br.unitins.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Dimensão de Access Points: uma linha por BSSID com os atributos que raramente mudam
+ * A chave é o próprio MAC compactado em 48 bits (ver {@link MacAddressCodec})
+ */
+@Entity
+@Table(name = "access_point", indexes = {
+    @Index(name = "idx_ap_ssid", columnList = "ssid")
+})
+public class AccessPointDimension {
+    
+    @Id
+    @Column(name = "id")
+    private Long id; // MAC AP compactado
+    
+    @Column(name = "ssid", length = 100)
+    private String ssid; // Nome da Rede (SSID)
+    
+    @Column(name = "security", length = 50)
+    private String security; // WPS/WPA Version
+    
+    @Column(name = "frequency")
+    private Double frequency; // Frequência (GHz)
+    
+    @Column(name = "beacon_interval")
+    private Integer beaconInterval; // Beacon Interval (TUs)
+    
+    @Column(name = "interface_name", length = 16)
+    private String interfaceName; // Última interface Wi-Fi que detectou o AP
+    
+    @Column(name = "first_seen", nullable = false)
+    private LocalDateTime firstSeen;
+    
+    @Column(name = "updated_at", nullable = false, columnDefinition = "DATETIME(3)")
+    private LocalDateTime updatedAt; // Horário do escaneamento que definiu os atributos atuais
+    
+    public AccessPointDimension() {}
+    
+    // Getters e Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getSsid() { return ssid; }
+    public void setSsid(String ssid) { this.ssid = ssid; }
+    public String getSecurity() { return security; }
+    public void setSecurity(String security) { this.security = security; }
+    public Double getFrequency() { return frequency; }
+    public void setFrequency(Double frequency) { this.frequency = frequency; }
+    public Integer getBeaconInterval() { return beaconInterval; }
+    public void setBeaconInterval(Integer beaconInterval) { this.beaconInterval = beaconInterval; }
+    public String getInterfaceName() { return interfaceName; }
+    public void setInterfaceName(String interfaceName) { this.interfaceName = interfaceName; }
+    public LocalDateTime getFirstSeen() { return firstSeen; }
+    public void setFirstSeen(LocalDateTime firstSeen) { this.firstSeen = firstSeen; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,62 +1,30 @@
 package br.unitins.model;
 
-import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 /**
- * Entidade JPA para persistir dados dos Access Points no banco MariaDB
+ * Observação de um Access Point em um escaneamento
  * Baseada na estrutura da tabela: Nome da Rede (SSID), MAC AP, Qualidade do Link, 
  * Nível de Sinal, Canal, Frequência, Last beacon, Beacon Interval, WPS/WPA Version
+ * No banco a observação é dividida entre a dimensão {@link AccessPointDimension} (dados do AP)
+ * e o fato {@link ApObservation} (medições); esta classe é o formato usado pela aplicação
+ * para gravar, transportar (write-behind, spool) e ler essas linhas.
  */
-@Entity
-@Table(name = "access_points", indexes = {
-    @Index(name = "idx_ssid", columnList = "ssid"),
-    @Index(name = "idx_mac_address", columnList = "mac_address"),
-    @Index(name = "idx_scan_time", columnList = "scan_time"),
-    @Index(name = "idx_link_quality", columnList = "link_quality")
-})
 public class AccessPointEntity {
     
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-    
-    @Column(name = "ssid", length = 100)
     private String ssid; // Nome da Rede (SSID)
-    
-    @Column(name = "mac_address", length = 17, nullable = false)
     private String macAddress; // MAC AP
-    
-    @Column(name = "link_quality")
     private Double linkQuality; // Qualidade do Link (%)
-    
-    @Column(name = "signal_level")
     private Integer signalLevel; // Nível de Sinal (dBm)
-    
-    @Column(name = "channel")
     private Integer channel; // Canal (Primary Channel)
-    
-    @Column(name = "frequency")
     private Double frequency; // Frequência (GHz)
-    
-    @Column(name = "last_beacon")
     private Integer lastBeacon; // Last beacon (ms)
-    
-    @Column(name = "beacon_interval")
     private Integer beaconInterval; // Beacon Interval (TUs)
-    
-    @Column(name = "wps_wpa_version", length = 50)
     private String wpsWpaVersion; // WPS/WPA Version
-    
-    @Column(name = "scan_time", nullable = false)
+    private String interfaceName; // Interface Wi-Fi que detectou o AP
     private LocalDateTime scanTime; // Timestamp do escaneamento
-    
-    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
-    @Column(name = "updated_at")
-    private LocalDateTime updatedAt;
-    
     // Construtores
     public AccessPointEntity() {
         this.createdAt = LocalDateTime.now();
@@ -73,6 +41,7 @@ public class AccessPointEntity {
         this.frequency = accessPoint.getFrequency();
         this.beaconInterval = accessPoint.getBeaconInterval();
         this.wpsWpaVersion = accessPoint.getSecurityVersion();
+        this.interfaceName = accessPoint.getInterfaceName();
         
         // Converte o último beacon time para milliseconds se disponível
         if (accessPoint.getLastBeaconTime() != null) {
@@ -81,21 +50,27 @@ public class AccessPointEntity {
         }
     }
     
-    // Métodos de callback JPA
-    @PreUpdate
-    protected void onUpdate() {
-        this.updatedAt = LocalDateTime.now();
+    /**
+     * Monta a observação a partir do modelo normalizado (usado em expressões de construtor JPQL)
+     */
+    public AccessPointEntity(Long apId, String ssid, String security, Double frequency, Integer beaconInterval,
+                             String interfaceName, LocalDateTime scanTime, Byte signalDbm, Byte quality,
+                             Short channel) {
+        this.macAddress = MacAddressCodec.unpack(apId);
+        this.ssid = ssid;
+        this.wpsWpaVersion = security;
+        this.frequency = frequency;
+        this.beaconInterval = beaconInterval;
+        this.lastBeacon = beaconInterval;
+        this.interfaceName = interfaceName;
+        this.scanTime = scanTime;
+        this.createdAt = scanTime;
+        this.signalLevel = signalDbm != null ? Integer.valueOf(signalDbm) : null;
+        this.linkQuality = quality != null ? Double.valueOf(quality) : null;
+        this.channel = channel != null ? Integer.valueOf(channel) : null;
     }
     
     // Getters e Setters
-    public Long getId() {
-        return id;
-    }
-    
-    public void setId(Long id) {
-        this.id = id;
-    }
-    
     public String getSsid() {
         return ssid;
     }
@@ -168,6 +143,14 @@ public class AccessPointEntity {
         this.wpsWpaVersion = wpsWpaVersion;
     }
     
+    public String getInterfaceName() {
+        return interfaceName;
+    }
+    
+    public void setInterfaceName(String interfaceName) {
+        this.interfaceName = interfaceName;
+    }
+    
     public LocalDateTime getScanTime() {
         return scanTime;
     }
@@ -184,14 +167,6 @@ public class AccessPointEntity {
         this.createdAt = createdAt;
     }
     
-    public LocalDateTime getUpdatedAt() {
-        return updatedAt;
-    }
-    
-    public void setUpdatedAt(LocalDateTime updatedAt) {
-        this.updatedAt = updatedAt;
-    }
-    
     // Método para converter para AccessPoint
     public AccessPoint toAccessPoint() {
         AccessPoint ap = new AccessPoint();
@@ -203,6 +178,7 @@ public class AccessPointEntity {
         ap.setFrequency(this.frequency != null ? this.frequency : 0.0);
         ap.setBeaconInterval(this.beaconInterval != null ? this.beaconInterval : 100);
         ap.setSecurityVersion(this.wpsWpaVersion);
+        ap.setInterfaceName(this.interfaceName);
         ap.setLastBeaconTime(this.scanTime);
         return ap;
     }
@@ -211,12 +187,12 @@ public class AccessPointEntity {
     public String toString() {
         return String.format("""
             AccessPointEntity{
-                id=%d, ssid='%s', macAddress='%s', 
+                ssid='%s', macAddress='%s', 
                 linkQuality=%.2f%%, signalLevel=%d dBm, 
                 channel=%d, frequency=%.3f GHz, 
                 wpsWpaVersion='%s', scanTime=%s
             }""", 
-            id, ssid, macAddress, linkQuality, signalLevel, 
+            ssid, macAddress, linkQuality, signalLevel, 
             channel, frequency, wpsWpaVersion, scanTime
         );
     }
@@ -0,0 +1,80 @@
+package br.unitins.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Fato de observação: uma linha estreita por Access Point por escaneamento
+ * A chave (ap_id, scan_time) mantém o histórico de cada AP contíguo no índice clusterizado;
+ * consultas por período usam o índice em scan_time
+ */
+@Entity
+@Table(name = "ap_observation", indexes = {
+    @Index(name = "idx_obs_scan_time", columnList = "scan_time")
+})
+@IdClass(ApObservation.Key.class)
+public class ApObservation {
+    
+    @Id
+    @Column(name = "ap_id", nullable = false)
+    private Long apId; // Referência a access_point.id (MAC compactado)
+    
+    @Id
+    @Column(name = "scan_time", nullable = false, columnDefinition = "DATETIME(3)")
+    private LocalDateTime scanTime; // Timestamp do escaneamento
+    
+    @Column(name = "signal_dbm", columnDefinition = "TINYINT")
+    private Byte signalDbm; // Nível de Sinal (dBm)
+    
+    @Column(name = "quality", columnDefinition = "TINYINT")
+    private Byte quality; // Qualidade do Link (%)
+    
+    @Column(name = "channel", columnDefinition = "SMALLINT")
+    private Short channel; // Canal (Primary Channel)
+    
+    public ApObservation() {}
+    
+    // Getters e Setters
+    public Long getApId() { return apId; }
+    public void setApId(Long apId) { this.apId = apId; }
+    public LocalDateTime getScanTime() { return scanTime; }
+    public void setScanTime(LocalDateTime scanTime) { this.scanTime = scanTime; }
+    public Byte getSignalDbm() { return signalDbm; }
+    public void setSignalDbm(Byte signalDbm) { this.signalDbm = signalDbm; }
+    public Byte getQuality() { return quality; }
+    public void setQuality(Byte quality) { this.quality = quality; }
+    public Short getChannel() { return channel; }
+    public void setChannel(Short channel) { this.channel = channel; }
+    
+    /**
+     * Chave composta (ap_id, scan_time)
+     */
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+        
+        private Long apId;
+        private LocalDateTime scanTime;
+        
+        public Key() {}
+        
+        public Key(Long apId, LocalDateTime scanTime) {
+            this.apId = apId;
+            this.scanTime = scanTime;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(apId, key.apId) && Objects.equals(scanTime, key.scanTime);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(apId, scanTime);
+        }
+    }
+}
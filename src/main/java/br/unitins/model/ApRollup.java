@@ -0,0 +1,99 @@
+package br.unitins.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Agregado de observações de um Access Point em um intervalo fixo (bucket)
+ * A média é obtida por soma / amostras, o que permite agregar buckets menores em maiores.
+ * Trocas de canal são contadas no bucket em que o novo canal aparece.
+ */
+@MappedSuperclass
+public abstract class ApRollup {
+    
+    @Id
+    @Column(name = "ap_id", nullable = false)
+    private Long apId; // Referência a access_point.id (MAC compactado)
+    
+    @Id
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart; // Início do intervalo
+    
+    @Column(name = "samples", nullable = false)
+    private Integer samples; // Quantidade de observações
+    
+    @Column(name = "signal_min", columnDefinition = "TINYINT")
+    private Byte signalMin;
+    
+    @Column(name = "signal_max", columnDefinition = "TINYINT")
+    private Byte signalMax;
+    
+    @Column(name = "signal_sum")
+    private Integer signalSum;
+    
+    @Column(name = "quality_sum")
+    private Integer qualitySum;
+    
+    @Column(name = "channel_first", columnDefinition = "SMALLINT")
+    private Short channelFirst;
+    
+    @Column(name = "channel_last", columnDefinition = "SMALLINT")
+    private Short channelLast;
+    
+    @Column(name = "channel_changes", columnDefinition = "SMALLINT")
+    private Short channelChanges;
+    
+    // Getters e Setters
+    public Long getApId() { return apId; }
+    public void setApId(Long apId) { this.apId = apId; }
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+    public Integer getSamples() { return samples; }
+    public void setSamples(Integer samples) { this.samples = samples; }
+    public Byte getSignalMin() { return signalMin; }
+    public void setSignalMin(Byte signalMin) { this.signalMin = signalMin; }
+    public Byte getSignalMax() { return signalMax; }
+    public void setSignalMax(Byte signalMax) { this.signalMax = signalMax; }
+    public Integer getSignalSum() { return signalSum; }
+    public void setSignalSum(Integer signalSum) { this.signalSum = signalSum; }
+    public Integer getQualitySum() { return qualitySum; }
+    public void setQualitySum(Integer qualitySum) { this.qualitySum = qualitySum; }
+    public Short getChannelFirst() { return channelFirst; }
+    public void setChannelFirst(Short channelFirst) { this.channelFirst = channelFirst; }
+    public Short getChannelLast() { return channelLast; }
+    public void setChannelLast(Short channelLast) { this.channelLast = channelLast; }
+    public Short getChannelChanges() { return channelChanges; }
+    public void setChannelChanges(Short channelChanges) { this.channelChanges = channelChanges; }
+    
+    /**
+     * Chave composta (ap_id, bucket_start)
+     */
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+        
+        private Long apId;
+        private LocalDateTime bucketStart;
+        
+        public Key() {}
+        
+        public Key(Long apId, LocalDateTime bucketStart) {
+            this.apId = apId;
+            this.bucketStart = bucketStart;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(apId, key.apId) && Objects.equals(bucketStart, key.bucketStart);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(apId, bucketStart);
+        }
+    }
+}
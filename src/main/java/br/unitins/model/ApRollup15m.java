@@ -0,0 +1,14 @@
+package br.unitins.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Agregado por Access Point em buckets de 15 minutos
+ */
+@Entity
+@Table(name = "ap_rollup_15m", indexes = {
+    @Index(name = "idx_rollup_15m_bucket", columnList = "bucket_start")
+})
+@IdClass(ApRollup.Key.class)
+public class ApRollup15m extends ApRollup {
+}
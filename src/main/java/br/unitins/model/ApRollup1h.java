@@ -0,0 +1,14 @@
+package br.unitins.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Agregado por Access Point em buckets de 1 hora
+ */
+@Entity
+@Table(name = "ap_rollup_1h", indexes = {
+    @Index(name = "idx_rollup_1h_bucket", columnList = "bucket_start")
+})
+@IdClass(ApRollup.Key.class)
+public class ApRollup1h extends ApRollup {
+}
@@ -0,0 +1,14 @@
+package br.unitins.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Agregado por Access Point em buckets de 1 minuto
+ */
+@Entity
+@Table(name = "ap_rollup_1m", indexes = {
+    @Index(name = "idx_rollup_1m_bucket", columnList = "bucket_start")
+})
+@IdClass(ApRollup.Key.class)
+public class ApRollup1m extends ApRollup {
+}
@@ -0,0 +1,99 @@
+package br.unitins.model;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Conversão entre o MAC textual (AA:BB:CC:DD:EE:FF) e o valor de 48 bits usado como chave BIGINT
+ */
+public final class MacAddressCodec {
+    
+    /** Valor retornado para MACs inválidos */
+    public static final long INVALID = -1L;
+    
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    
+    private MacAddressCodec() {}
+    
+    /**
+     * Compacta um MAC em um long
+     * @param mac MAC no formato AA:BB:CC:DD:EE:FF (maiúsculas ou minúsculas, ':' ou '-')
+     * @return Valor de 48 bits ou {@link #INVALID}
+     */
+    public static long pack(String mac) {
+        if (mac == null || mac.length() != 17) {
+            return INVALID;
+        }
+        long value = 0;
+        for (int i = 0; i < 17; i++) {
+            char c = mac.charAt(i);
+            if (i % 3 == 2) {
+                if (c != ':' && c != '-') {
+                    return INVALID;
+                }
+                continue;
+            }
+            int digit = Character.digit(c, 16);
+            if (digit < 0) {
+                return INVALID;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+    
+    /**
+     * Chave de um Access Point: o BSSID compactado ou, sem BSSID (ex.: perfis do netsh no Windows),
+     * a chave substituta derivada do SSID e da interface, para que o AP seja indexado e gravado
+     * como os demais
+     * @param ssid SSID
+     * @param mac BSSID (pode ser null ou inválido)
+     * @param interfaceName Interface que detectou o AP (pode ser null)
+     * @return Valor de 48 bits ou {@link #INVALID} quando não há BSSID nem SSID
+     */
+    public static long keyOf(String ssid, String mac, String interfaceName) {
+        long key = pack(mac);
+        if (key != INVALID || ssid == null || ssid.isEmpty()) {
+            return key;
+        }
+        return surrogate(ssid, interfaceName);
+    }
+    
+    /**
+     * Chave substituta para Access Points sem BSSID
+     * Derivada do SSID e da interface (FNV-1a), com o bit de MAC localmente administrado ligado
+     * e o de multicast desligado, para que seja improvável coincidir com o BSSID de um AP real.
+     * @param ssid SSID
+     * @param interfaceName Interface que detectou o AP (pode ser null)
+     * @return Valor de 48 bits
+     */
+    public static long surrogate(String ssid, String interfaceName) {
+        long hash = 0xcbf29ce484222325L;
+        String key = (ssid != null ? ssid : "") + '\0' + (interfaceName != null ? interfaceName : "");
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return (hash & 0xFCFFFFFFFFFFL) | 0x020000000000L;
+    }
+    
+    /**
+     * Expande um valor de 48 bits para o MAC textual em maiúsculas
+     * @param value Valor compactado
+     * @return MAC no formato AA:BB:CC:DD:EE:FF ou null
+     */
+    public static String unpack(Long value) {
+        if (value == null || value < 0) {
+            return null;
+        }
+        char[] mac = new char[17];
+        for (int octet = 0; octet < 6; octet++) {
+            int b = (int) (value >>> (40 - octet * 8)) & 0xFF;
+            mac[octet * 3] = HEX[b >>> 4];
+            mac[octet * 3 + 1] = HEX[b & 0x0F];
+            if (octet < 5) {
+                mac[octet * 3 + 2] = ':';
+            }
+        }
+        return new String(mac);
+    }
+}
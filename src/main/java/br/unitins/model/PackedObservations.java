@@ -0,0 +1,209 @@
+package br.unitins.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+/**
+ * Observações de Access Points em formato compacto (struct-of-arrays)
+ * Cada campo fica em um array primitivo: MAC em long (48 bits), horário em epoch millis,
+ * SSID, segurança e interface como ids de um {@link StringTable}, sinal e qualidade em byte,
+ * canal, frequência (MHz) e intervalo de beacon em short — cerca de 36 bytes por observação,
+ * sem objetos por linha. A leitura é feita pelo flyweight {@link Row}; a conversão de e para
+ * {@link AccessPoint} acontece apenas nas bordas (entrada do escaneamento, exibição).
+ * Não é thread-safe: o chamador sincroniza o acesso.
+ */
+public class PackedObservations {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final StringTable strings;
+
+    private long[] macs;
+    private long[] times;
+    private int[] ssids;
+    private int[] securities;
+    private int[] interfaces;
+    private byte[] signals;
+    private byte[] qualities;
+    private short[] channels;
+    private short[] frequencies;
+    private short[] beaconIntervals;
+    private int size;
+
+    public PackedObservations(int initialCapacity) {
+        this(initialCapacity, new StringTable());
+    }
+
+    /**
+     * @param initialCapacity Capacidade inicial em observações
+     * @param strings Dicionário de strings (pode ser compartilhado entre instâncias)
+     */
+    public PackedObservations(int initialCapacity, StringTable strings) {
+        int capacity = Math.max(initialCapacity, 1);
+        this.strings = strings;
+        this.macs = new long[capacity];
+        this.times = new long[capacity];
+        this.ssids = new int[capacity];
+        this.securities = new int[capacity];
+        this.interfaces = new int[capacity];
+        this.signals = new byte[capacity];
+        this.qualities = new byte[capacity];
+        this.channels = new short[capacity];
+        this.frequencies = new short[capacity];
+        this.beaconIntervals = new short[capacity];
+    }
+
+    /**
+     * Acrescenta uma observação
+     * @param accessPoint Access Point escaneado (MAC deve ser válido)
+     * @return Índice da observação
+     */
+    public int append(AccessPoint accessPoint) {
+        if (size == macs.length) {
+            grow();
+        }
+        write(size, accessPoint);
+        return size++;
+    }
+
+    /**
+     * Sobrescreve uma observação existente
+     * @param index Índice da observação
+     * @param accessPoint Novo conteúdo
+     */
+    public void set(int index, AccessPoint accessPoint) {
+        checkIndex(index);
+        write(index, accessPoint);
+    }
+
+    private void write(int index, AccessPoint accessPoint) {
+        macs[index] = MacAddressCodec.pack(accessPoint.getMacAddress());
+        times[index] = toEpochMillis(accessPoint.getLastBeaconTime());
+        ssids[index] = strings.id(accessPoint.getSsid());
+        securities[index] = strings.id(accessPoint.getSecurityVersion());
+        interfaces[index] = strings.id(accessPoint.getInterfaceName());
+        signals[index] = (byte) clamp(accessPoint.getSignalLevel(), Byte.MIN_VALUE, Byte.MAX_VALUE);
+        qualities[index] = (byte) clamp((int) Math.round(accessPoint.getLinkQuality()), 0, 100);
+        channels[index] = (short) clamp(accessPoint.getChannel(), 0, Short.MAX_VALUE);
+        frequencies[index] = (short) clamp((int) Math.round(accessPoint.getFrequency() * 1000), 0, Short.MAX_VALUE);
+        beaconIntervals[index] = (short) clamp(accessPoint.getBeaconInterval(), 0, Short.MAX_VALUE);
+    }
+
+    /**
+     * Materializa uma observação como {@link AccessPoint} (cria um novo objeto)
+     * @param index Índice da observação
+     */
+    public AccessPoint toAccessPoint(int index) {
+        checkIndex(index);
+        AccessPoint ap = new AccessPoint(
+                strings.value(ssids[index]),
+                MacAddressCodec.unpack(macs[index]),
+                qualities[index],
+                signals[index],
+                channels[index],
+                frequencies[index] / 1000.0,
+                toLocalDateTime(times[index]),
+                beaconIntervals[index],
+                strings.value(securities[index]));
+        ap.setInterfaceName(strings.value(interfaces[index]));
+        return ap;
+    }
+
+    /**
+     * @return Flyweight posicionado na observação indicada (reposicionável com {@link Row#at(int)})
+     */
+    public Row row(int index) {
+        return new Row().at(index);
+    }
+
+    public long getMac(int index) {
+        checkIndex(index);
+        return macs[index];
+    }
+
+    public long getEpochMillis(int index) {
+        checkIndex(index);
+        return times[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public StringTable getStrings() {
+        return strings;
+    }
+
+    /**
+     * Descarta todas as observações (mantém a capacidade e o dicionário)
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public static long toEpochMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZONE).toInstant().toEpochMilli() : System.currentTimeMillis();
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+
+    private void grow() {
+        int capacity = macs.length * 2;
+        macs = Arrays.copyOf(macs, capacity);
+        times = Arrays.copyOf(times, capacity);
+        ssids = Arrays.copyOf(ssids, capacity);
+        securities = Arrays.copyOf(securities, capacity);
+        interfaces = Arrays.copyOf(interfaces, capacity);
+        signals = Arrays.copyOf(signals, capacity);
+        qualities = Arrays.copyOf(qualities, capacity);
+        channels = Arrays.copyOf(channels, capacity);
+        frequencies = Arrays.copyOf(frequencies, capacity);
+        beaconIntervals = Arrays.copyOf(beaconIntervals, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Observação " + index + " fora do intervalo (tamanho " + size + ")");
+        }
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * Acesso a uma observação sem criar objetos: o mesmo Row pode ser reposicionado
+     * para percorrer todas as observações
+     */
+    public final class Row {
+        private int index;
+
+        public Row at(int index) {
+            checkIndex(index);
+            this.index = index;
+            return this;
+        }
+
+        public int getIndex() { return index; }
+        public long getMac() { return macs[index]; }
+        public String getMacAddress() { return MacAddressCodec.unpack(macs[index]); }
+        public long getEpochMillis() { return times[index]; }
+        public int getSsidId() { return ssids[index]; }
+        public String getSsid() { return strings.value(ssids[index]); }
+        public String getSecurityVersion() { return strings.value(securities[index]); }
+        public String getInterfaceName() { return strings.value(interfaces[index]); }
+        public int getSignalLevel() { return signals[index]; }
+        public int getLinkQuality() { return qualities[index]; }
+        public int getChannel() { return channels[index]; }
+        public int getFrequencyMhz() { return frequencies[index]; }
+        public int getBeaconInterval() { return beaconIntervals[index]; }
+
+        public AccessPoint toAccessPoint() {
+            return PackedObservations.this.toAccessPoint(index);
+        }
+    }
+}
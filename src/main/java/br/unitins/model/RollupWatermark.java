@@ -0,0 +1,26 @@
+package br.unitins.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Marca d'água de cada nível de agregação: buckets anteriores a ela já foram calculados
+ */
+@Entity
+@Table(name = "ap_rollup_watermark")
+public class RollupWatermark {
+    
+    @Id
+    @Column(name = "level_name", length = 8)
+    private String levelName;
+    
+    @Column(name = "watermark", nullable = false, columnDefinition = "DATETIME(3)")
+    private LocalDateTime watermark;
+    
+    public RollupWatermark() {}
+    
+    public String getLevelName() { return levelName; }
+    public void setLevelName(String levelName) { this.levelName = levelName; }
+    public LocalDateTime getWatermark() { return watermark; }
+    public void setWatermark(LocalDateTime watermark) { this.watermark = watermark; }
+}
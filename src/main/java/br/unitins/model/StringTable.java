@@ -0,0 +1,63 @@
+package br.unitins.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dicionário de strings repetidas (SSID, segurança, interface) em ids inteiros
+ * Cada valor distinto é guardado uma única vez; o id 0 representa null.
+ * Leituras são livres de lock e o registro de novos valores é sincronizado.
+ */
+public final class StringTable {
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private String[] values = new String[16];
+    private volatile int count = 1;
+
+    /**
+     * Retorna o id do valor, registrando-o se ainda não existir
+     * @param value Valor (pode ser null)
+     * @return Id do valor (0 para null)
+     */
+    public int id(String value) {
+        if (value == null) {
+            return 0;
+        }
+        Integer id = ids.get(value);
+        return id != null ? id : register(value);
+    }
+
+    /**
+     * @param id Id retornado por {@link #id(String)}
+     * @return Valor correspondente (null para o id 0)
+     */
+    public String value(int id) {
+        // A leitura volátil de count publica o array e os valores registrados antes dela
+        if (id <= 0 || id >= count) {
+            return null;
+        }
+        return values[id];
+    }
+
+    /**
+     * @return Quantidade de valores distintos registrados
+     */
+    public int size() {
+        return count - 1;
+    }
+
+    private synchronized int register(String value) {
+        Integer existing = ids.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        int id = count;
+        if (id == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[id] = value;
+        count = id + 1;
+        ids.put(value, id);
+        return id;
+    }
+}
@@ -0,0 +1,143 @@
+package br.unitins.persistence;
+
+import br.unitins.model.AccessPointEntity;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Codificação binária compacta de {@link AccessPointEntity} para armazenamento local
+ * Campos anuláveis são sinalizados em uma máscara de bits no início do registro
+ */
+public final class AccessPointRecordCodec {
+    
+    private static final byte VERSION = 1;
+    
+    private static final int HAS_LINK_QUALITY = 1;
+    private static final int HAS_SIGNAL_LEVEL = 1 << 1;
+    private static final int HAS_CHANNEL = 1 << 2;
+    private static final int HAS_FREQUENCY = 1 << 3;
+    private static final int HAS_LAST_BEACON = 1 << 4;
+    private static final int HAS_BEACON_INTERVAL = 1 << 5;
+    private static final int HAS_SCAN_TIME = 1 << 6;
+    private static final int HAS_CREATED_AT = 1 << 7;
+    
+    private AccessPointRecordCodec() {}
+    
+    /**
+     * Codifica uma entidade
+     * @param entity Entidade
+     * @return Bytes do registro
+     */
+    public static byte[] encode(AccessPointEntity entity) {
+        byte[] ssid = bytes(entity.getSsid());
+        byte[] mac = bytes(entity.getMacAddress());
+        byte[] security = bytes(entity.getWpsWpaVersion());
+        byte[] iface = bytes(entity.getInterfaceName());
+        
+        int size = 1 + 2 + 8 + 4 + 4 + 8 + 4 + 4 + 8 + 8
+                + stringSize(ssid) + stringSize(mac) + stringSize(security) + stringSize(iface);
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        
+        int flags = 0;
+        if (entity.getLinkQuality() != null) flags |= HAS_LINK_QUALITY;
+        if (entity.getSignalLevel() != null) flags |= HAS_SIGNAL_LEVEL;
+        if (entity.getChannel() != null) flags |= HAS_CHANNEL;
+        if (entity.getFrequency() != null) flags |= HAS_FREQUENCY;
+        if (entity.getLastBeacon() != null) flags |= HAS_LAST_BEACON;
+        if (entity.getBeaconInterval() != null) flags |= HAS_BEACON_INTERVAL;
+        if (entity.getScanTime() != null) flags |= HAS_SCAN_TIME;
+        if (entity.getCreatedAt() != null) flags |= HAS_CREATED_AT;
+        
+        buffer.put(VERSION);
+        buffer.putShort((short) flags);
+        buffer.putDouble(entity.getLinkQuality() != null ? entity.getLinkQuality() : 0.0);
+        buffer.putInt(entity.getSignalLevel() != null ? entity.getSignalLevel() : 0);
+        buffer.putInt(entity.getChannel() != null ? entity.getChannel() : 0);
+        buffer.putDouble(entity.getFrequency() != null ? entity.getFrequency() : 0.0);
+        buffer.putInt(entity.getLastBeacon() != null ? entity.getLastBeacon() : 0);
+        buffer.putInt(entity.getBeaconInterval() != null ? entity.getBeaconInterval() : 0);
+        buffer.putLong(toMillis(entity.getScanTime()));
+        buffer.putLong(toMillis(entity.getCreatedAt()));
+        putString(buffer, ssid);
+        putString(buffer, mac);
+        putString(buffer, security);
+        putString(buffer, iface);
+        
+        return buffer.array();
+    }
+    
+    /**
+     * Decodifica um registro a partir da posição atual do buffer
+     * @param buffer Buffer posicionado no início do registro
+     * @return Entidade (sem id)
+     */
+    public static AccessPointEntity decode(ByteBuffer buffer) {
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Versão de registro não suportada: " + version);
+        }
+        
+        int flags = buffer.getShort() & 0xffff;
+        double linkQuality = buffer.getDouble();
+        int signalLevel = buffer.getInt();
+        int channel = buffer.getInt();
+        double frequency = buffer.getDouble();
+        int lastBeacon = buffer.getInt();
+        int beaconInterval = buffer.getInt();
+        long scanTime = buffer.getLong();
+        long createdAt = buffer.getLong();
+        
+        AccessPointEntity entity = new AccessPointEntity();
+        entity.setLinkQuality((flags & HAS_LINK_QUALITY) != 0 ? linkQuality : null);
+        entity.setSignalLevel((flags & HAS_SIGNAL_LEVEL) != 0 ? signalLevel : null);
+        entity.setChannel((flags & HAS_CHANNEL) != 0 ? channel : null);
+        entity.setFrequency((flags & HAS_FREQUENCY) != 0 ? frequency : null);
+        entity.setLastBeacon((flags & HAS_LAST_BEACON) != 0 ? lastBeacon : null);
+        entity.setBeaconInterval((flags & HAS_BEACON_INTERVAL) != 0 ? beaconInterval : null);
+        entity.setScanTime((flags & HAS_SCAN_TIME) != 0 ? fromMillis(scanTime) : null);
+        entity.setCreatedAt((flags & HAS_CREATED_AT) != 0 ? fromMillis(createdAt) : null);
+        entity.setSsid(getString(buffer));
+        entity.setMacAddress(getString(buffer));
+        entity.setWpsWpaVersion(getString(buffer));
+        entity.setInterfaceName(getString(buffer));
+        return entity;
+    }
+    
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+    
+    private static int stringSize(byte[] value) {
+        return 2 + (value != null ? value.length : 0);
+    }
+    
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+        } else {
+            buffer.putShort((short) value.length);
+            buffer.put(value);
+        }
+    }
+    
+    private static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+    
+    private static long toMillis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+    }
+    
+    private static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,163 @@
+package br.unitins.persistence;
+
+import br.unitins.metrics.Metrics;
+import br.unitins.model.AccessPointEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistência por mudança (delta)
+ * Mantém em memória o último estado gravado de cada Access Point (por MAC) e só deixa passar uma
+ * observação quando o sinal ou a qualidade variam além dos limites configurados, quando o canal
+ * ou a segurança mudam, ou quando o heartbeat expira. As demais apenas atualizam o último
+ * horário visto e o contador de observações suprimidas.
+ */
+public class DeltaFilter implements DeltaFilterMXBean {
+    
+    private static final String METRICS_TYPE = "DeltaFilter";
+    
+    /**
+     * Último estado gravado de um Access Point
+     */
+    public static final class LastState {
+        private int signalLevel;
+        private double linkQuality;
+        private Integer channel;
+        private String security;
+        private long writtenAtNanos;
+        private long seenAtNanos;
+        private LocalDateTime lastSeen;
+        private int suppressedSinceWrite;
+        
+        public LocalDateTime getLastSeen() { return lastSeen; }
+        public int getSuppressedSinceWrite() { return suppressedSinceWrite; }
+    }
+    
+    private final int signalThreshold;
+    private final double qualityThreshold;
+    private final long heartbeatNanos;
+    private final long evictionNanos;
+    
+    private final Map<String, LastState> states = new HashMap<>();
+    
+    // Métricas
+    private final AtomicLong observed = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+    
+    /**
+     * @param signalThreshold Variação mínima de sinal (dBm) que gera gravação
+     * @param qualityThreshold Variação mínima de qualidade (pontos percentuais) que gera gravação
+     * @param heartbeatMs Intervalo máximo sem gravação para um Access Point visível
+     */
+    public DeltaFilter(int signalThreshold, double qualityThreshold, long heartbeatMs) {
+        this.signalThreshold = signalThreshold;
+        this.qualityThreshold = qualityThreshold;
+        this.heartbeatNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatMs);
+        // Access Points sumidos por mais de dois heartbeats saem da memória; ao reaparecer são gravados
+        this.evictionNanos = heartbeatNanos * 2;
+        Metrics.register(METRICS_TYPE, this);
+    }
+    
+    /**
+     * Seleciona as observações de um escaneamento que devem ser gravadas
+     * @param entities Observações do escaneamento
+     * @return Observações com mudança relevante ou heartbeat expirado
+     */
+    public synchronized List<AccessPointEntity> filter(List<AccessPointEntity> entities) {
+        long now = System.nanoTime();
+        List<AccessPointEntity> changed = new ArrayList<>();
+        
+        for (AccessPointEntity entity : entities) {
+            LastState state = states.get(entity.getMacAddress());
+            
+            if (state == null || hasChanged(state, entity) || now - state.writtenAtNanos >= heartbeatNanos) {
+                if (state == null) {
+                    state = new LastState();
+                    states.put(entity.getMacAddress(), state);
+                }
+                record(state, entity, now);
+                changed.add(entity);
+            } else {
+                state.seenAtNanos = now;
+                state.lastSeen = entity.getScanTime();
+                state.suppressedSinceWrite++;
+            }
+        }
+        
+        evictStale(now);
+        observed.addAndGet(entities.size());
+        written.addAndGet(changed.size());
+        suppressed.addAndGet(entities.size() - changed.size());
+        return changed;
+    }
+    
+    /**
+     * Descarta o estado de observações que não chegaram a ser gravadas,
+     * para que sejam gravadas novamente no próximo escaneamento
+     * @param entities Observações cuja gravação falhou
+     */
+    public synchronized void invalidate(List<AccessPointEntity> entities) {
+        for (AccessPointEntity entity : entities) {
+            states.remove(entity.getMacAddress());
+        }
+    }
+    
+    /**
+     * Último estado conhecido de um Access Point
+     * @param macAddress MAC do Access Point
+     * @return Estado ou null se o Access Point não estiver em memória
+     */
+    public synchronized LastState getLastState(String macAddress) {
+        return states.get(macAddress);
+    }
+    
+    private boolean hasChanged(LastState state, AccessPointEntity entity) {
+        return Math.abs(valueOf(entity.getSignalLevel()) - state.signalLevel) >= signalThreshold
+                || Math.abs(valueOf(entity.getLinkQuality()) - state.linkQuality) >= qualityThreshold
+                || !Objects.equals(entity.getChannel(), state.channel)
+                || !Objects.equals(entity.getWpsWpaVersion(), state.security);
+    }
+    
+    private static void record(LastState state, AccessPointEntity entity, long now) {
+        state.signalLevel = valueOf(entity.getSignalLevel());
+        state.linkQuality = valueOf(entity.getLinkQuality());
+        state.channel = entity.getChannel();
+        state.security = entity.getWpsWpaVersion();
+        state.writtenAtNanos = now;
+        state.seenAtNanos = now;
+        state.lastSeen = entity.getScanTime();
+        state.suppressedSinceWrite = 0;
+    }
+    
+    private void evictStale(long now) {
+        Iterator<LastState> iterator = states.values().iterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().seenAtNanos > evictionNanos) {
+                iterator.remove();
+            }
+        }
+    }
+    
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+    
+    private static double valueOf(Double value) {
+        return value != null ? value : 0.0;
+    }
+    
+    // Métricas (JMX)
+    @Override public synchronized int getTrackedAccessPoints() { return states.size(); }
+    @Override public long getObservedCount() { return observed.get(); }
+    @Override public long getWrittenCount() { return written.get(); }
+    @Override public long getSuppressedCount() { return suppressed.get(); }
+}
@@ -0,0 +1,19 @@
+package br.unitins.persistence;
+
+/**
+ * Métricas da persistência por mudança (delta) expostas via JMX
+ */
+public interface DeltaFilterMXBean {
+    
+    /** Access Points com estado em memória */
+    int getTrackedAccessPoints();
+    
+    /** Total de observações recebidas dos escaneamentos */
+    long getObservedCount();
+    
+    /** Total de observações gravadas por mudança ou heartbeat */
+    long getWrittenCount();
+    
+    /** Total de observações suprimidas (sem mudança relevante) */
+    long getSuppressedCount();
+}
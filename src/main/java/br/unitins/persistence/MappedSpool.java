@@ -0,0 +1,239 @@
+package br.unitins.persistence;
+
+import br.unitins.model.AccessPointEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Spool local durável, somente-acréscimo, em segmentos mapeados em memória
+ * Cada registro é gravado como [tamanho][CRC32C][registro]; um tamanho zero marca o fim dos dados
+ * do segmento. Um segmento é selado quando enche ou quando é entregue para reenvio.
+ * Na leitura, somente um final incompleto (escrita interrompida) encerra o segmento; um registro
+ * com CRC inválido seguido de outros é pulado, e os registros válidos posteriores são entregues.
+ * Segmentos são removidos inteiros depois de gravados no banco.
+ */
+public class MappedSpool implements SpillStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedSpool.class);
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".spool";
+    private static final int RECORD_HEADER = 8;
+
+    private final Path directory;
+    private final int segmentSize;
+
+    // Segmentos selados (somente leitura), em ordem de criação
+    private final TreeMap<Long, Path> sealed = new TreeMap<>();
+
+    // Segmento ativo (recebendo escritas)
+    private long activeId;
+    private Path activePath;
+    private MappedByteBuffer active;
+
+    /**
+     * @param directory Diretório dos segmentos
+     * @param segmentSize Tamanho de cada segmento em bytes
+     * @throws IOException se o diretório não puder ser criado ou lido
+     */
+    public MappedSpool(String directory, int segmentSize) throws IOException {
+        this.directory = Paths.get(directory);
+        this.segmentSize = segmentSize;
+        Files.createDirectories(this.directory);
+        recover();
+    }
+
+    /**
+     * Segmentos deixados por execuções anteriores são tratados como selados
+     */
+    private void recover() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long id = Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+                sealed.put(id, file);
+                activeId = Math.max(activeId, id);
+            }
+        }
+        if (!sealed.isEmpty()) {
+            logger.info("Spool local com {} segmento(s) pendente(s) em {}", sealed.size(), directory);
+        }
+    }
+
+    @Override
+    public synchronized void append(List<AccessPointEntity> entities) throws IOException {
+        CRC32C crc = new CRC32C();
+
+        for (AccessPointEntity entity : entities) {
+            byte[] record = AccessPointRecordCodec.encode(entity);
+            int needed = RECORD_HEADER + record.length;
+            if (needed + 4 > segmentSize) {
+                throw new IOException("Registro maior que o segmento do spool");
+            }
+            if (active == null || active.remaining() < needed + 4) {
+                roll();
+            }
+
+            crc.reset();
+            crc.update(record);
+            active.putInt(record.length);
+            active.putInt((int) crc.getValue());
+            active.put(record);
+        }
+
+        if (active != null) {
+            active.force();
+        }
+    }
+
+    /**
+     * Retorna o segmento mais antigo; sem segmentos selados, sela o ativo para que ele possa ser reenviado
+     */
+    @Override
+    public synchronized Batch peekOldest() throws IOException {
+        if (sealed.isEmpty() && active != null && active.position() > 0) {
+            seal();
+        }
+        if (sealed.isEmpty()) {
+            return null;
+        }
+
+        long id = sealed.firstKey();
+        Path file = sealed.get(id);
+        return new SegmentBatch(id, read(file));
+    }
+
+    @Override
+    public synchronized void commit(Batch batch) throws IOException {
+        long id = ((SegmentBatch) batch).segmentId;
+        Path file = sealed.remove(id);
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return sealed.isEmpty() && (active == null || active.position() == 0);
+    }
+
+    /**
+     * Quantidade de segmentos pendentes (incluindo o ativo, se tiver dados)
+     */
+    public synchronized int getPendingSegments() {
+        return sealed.size() + (active != null && active.position() > 0 ? 1 : 0);
+    }
+
+    private List<AccessPointEntity> read(Path file) throws IOException {
+        List<AccessPointEntity> entities = new ArrayList<>();
+        CRC32C crc = new CRC32C();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            int skippedRecords = 0;
+            long skippedBytes = 0;
+            // Registro inválido ainda não classificado: corrompido se houver registros depois dele,
+            // final incompleto se for o último
+            int pendingBytes = 0;
+            long tailBytes = 0;
+
+            while (buffer.remaining() >= RECORD_HEADER) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                int expectedCrc = buffer.getInt();
+                if (length == 0) {
+                    // Fim dos dados (o resto do segmento ativo não foi escrito)
+                    break;
+                }
+                if (length < 0 || length > buffer.remaining()) {
+                    // Tamanho fora do segmento: sem como achar o próximo registro
+                    tailBytes = buffer.limit() - start;
+                    break;
+                }
+
+                ByteBuffer record = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                crc.reset();
+                crc.update(record.duplicate());
+                if ((int) crc.getValue() != expectedCrc) {
+                    if (pendingBytes > 0) {
+                        skippedRecords++;
+                        skippedBytes += pendingBytes;
+                    }
+                    pendingBytes = RECORD_HEADER + length;
+                    continue;
+                }
+
+                if (pendingBytes > 0) {
+                    skippedRecords++;
+                    skippedBytes += pendingBytes;
+                    pendingBytes = 0;
+                }
+                entities.add(AccessPointRecordCodec.decode(record));
+            }
+            tailBytes += pendingBytes;
+
+            if (skippedRecords > 0) {
+                logger.warn("Segmento {}: {} registro(s) corrompido(s) descartado(s) ({} bytes); {} registro(s) válido(s) mantido(s)",
+                        file.getFileName(), skippedRecords, skippedBytes, entities.size());
+            }
+            if (tailBytes > 0) {
+                logger.warn("Segmento {}: final incompleto descartado ({} bytes, escrita interrompida)",
+                        file.getFileName(), tailBytes);
+            }
+        }
+        return entities;
+    }
+
+    private void roll() throws IOException {
+        if (active != null) {
+            seal();
+        }
+        activeId++;
+        activePath = directory.resolve(String.format("%s%020d%s", PREFIX, activeId, SUFFIX));
+        try (FileChannel channel = FileChannel.open(activePath,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            active = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private void seal() throws IOException {
+        active.force();
+        // Descarta o espaço não utilizado do segmento
+        try (FileChannel channel = FileChannel.open(activePath, StandardOpenOption.WRITE)) {
+            channel.truncate(active.position());
+        }
+        sealed.put(activeId, activePath);
+        active = null;
+        activePath = null;
+    }
+
+    private static final class SegmentBatch implements Batch {
+        private final long segmentId;
+        private final List<AccessPointEntity> entities;
+
+        SegmentBatch(long segmentId, List<AccessPointEntity> entities) {
+            this.segmentId = segmentId;
+            this.entities = entities;
+        }
+
+        @Override
+        public List<AccessPointEntity> getEntities() {
+            return entities;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package br.unitins.persistence;
+
+import br.unitins.model.AccessPointEntity;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Armazenamento local de observações que não puderam ser gravadas no banco
+ * A leitura é feita em duas fases: {@link #peekOldest()} entrega o lote mais antigo e
+ * {@link #commit(Batch)} o remove apenas depois que ele foi gravado com sucesso
+ */
+public interface SpillStore {
+    
+    /**
+     * Lote de observações lido do armazenamento local
+     */
+    interface Batch {
+        List<AccessPointEntity> getEntities();
+    }
+    
+    /**
+     * Acrescenta observações ao armazenamento
+     * @param entities Observações a guardar
+     * @throws IOException se a escrita falhar
+     */
+    void append(List<AccessPointEntity> entities) throws IOException;
+    
+    /**
+     * Retorna o lote mais antigo sem removê-lo
+     * @return Lote ou null se não houver dados
+     * @throws IOException se a leitura falhar
+     */
+    Batch peekOldest() throws IOException;
+    
+    /**
+     * Remove um lote já gravado no banco
+     * @param batch Lote retornado por {@link #peekOldest()}
+     * @throws IOException se a remoção falhar
+     */
+    void commit(Batch batch) throws IOException;
+    
+    /**
+     * Indica se há dados pendentes
+     */
+    boolean isEmpty();
+}
@@ -0,0 +1,150 @@
+package br.unitins.persistence;
+
+import br.unitins.concurrent.Executions;
+import br.unitins.metrics.Metrics;
+import br.unitins.model.AccessPointEntity;
+import br.unitins.persistence.WriteBehindBuffer.BatchWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Reenvia ao banco as observações guardadas no spool local
+ * Enquanto houver segmentos pendentes e o banco responder, os segmentos são gravados em
+ * sequência, em lotes grandes, sem esperar o intervalo; o segmento só é removido depois de
+ * gravado por completo. Se a gravação falhar no meio de um segmento ele é reenviado inteiro
+ * na próxima tentativa (entrega pelo menos uma vez).
+ */
+public class SpoolReplayer implements SpoolReplayerMXBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpoolReplayer.class);
+    private static final String METRICS_TYPE = "SpoolReplayer";
+
+    private final SpillStore spool;
+    private final BatchWriter writer;
+    private final BooleanSupplier available;
+    private final int batchSize;
+    private final long intervalNanos;
+
+    private volatile boolean running;
+    private volatile Thread replayThread;
+
+    // Métricas
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong replayedSegments = new AtomicLong();
+    private final AtomicLong failedReplays = new AtomicLong();
+    private volatile long lastReplayRate;
+
+    /**
+     * @param spool Spool local
+     * @param writer Destino dos lotes reenviados
+     * @param available Verifica se o banco está acessível antes de cada reenvio
+     * @param batchSize Quantidade de observações por gravação
+     * @param intervalMs Intervalo entre verificações quando o spool está vazio ou o banco indisponível
+     */
+    public SpoolReplayer(SpillStore spool, BatchWriter writer, BooleanSupplier available,
+                         int batchSize, long intervalMs) {
+        this.spool = spool;
+        this.writer = writer;
+        this.available = available;
+        this.batchSize = batchSize;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+    }
+
+    /**
+     * Inicia a thread de reenvio e registra as métricas
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        replayThread = Executions.start("spool-replay", this::replayLoop);
+        Metrics.register(METRICS_TYPE, this);
+    }
+
+    /**
+     * Solicita uma verificação imediata do spool
+     */
+    public void wakeUp() {
+        LockSupport.unpark(replayThread);
+    }
+
+    /**
+     * Encerra a thread de reenvio; segmentos pendentes permanecem em disco
+     * @param timeoutMs Tempo máximo de espera pela thread
+     */
+    public void stop(long timeoutMs) {
+        Thread thread;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            thread = replayThread;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Metrics.unregister(METRICS_TYPE);
+    }
+
+    private void replayLoop() {
+        while (running) {
+            // Só consulta o banco quando há backlog; com o banco fora o segmento ativo continua aberto
+            if (spool.isEmpty() || !available.getAsBoolean() || !replayOldest()) {
+                LockSupport.parkNanos(this, intervalNanos);
+            }
+        }
+    }
+
+    /**
+     * Grava o segmento mais antigo e o remove do spool
+     * @return false se não havia segmento ou a gravação falhou
+     */
+    private boolean replayOldest() {
+        try {
+            SpillStore.Batch batch = spool.peekOldest();
+            if (batch == null) {
+                return false;
+            }
+
+            long start = System.nanoTime();
+            List<AccessPointEntity> entities = batch.getEntities();
+            for (int from = 0; from < entities.size() && running; from += batchSize) {
+                writer.write(entities.subList(from, Math.min(from + batchSize, entities.size())));
+            }
+            if (!running) {
+                return false;
+            }
+            spool.commit(batch);
+
+            long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            lastReplayRate = entities.size() * 1000L / elapsedMs;
+            replayed.addAndGet(entities.size());
+            replayedSegments.incrementAndGet();
+            logger.info("{} observações do spool local gravadas no banco ({} obs/s)", entities.size(), lastReplayRate);
+            return true;
+
+        } catch (Exception e) {
+            failedReplays.incrementAndGet();
+            logger.debug("Reenvio do spool local adiado: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Métricas (JMX)
+    @Override public boolean isBacklogPending() { return !spool.isEmpty(); }
+    @Override public long getReplayedCount() { return replayed.get(); }
+    @Override public long getReplayedSegmentCount() { return replayedSegments.get(); }
+    @Override public long getFailedReplayCount() { return failedReplays.get(); }
+    @Override public long getLastReplayRate() { return lastReplayRate; }
+}
@@ -0,0 +1,22 @@
+package br.unitins.persistence;
+
+/**
+ * Métricas do reprocessamento do spool local expostas via JMX
+ */
+public interface SpoolReplayerMXBean {
+    
+    /** Indica se há observações aguardando reenvio */
+    boolean isBacklogPending();
+    
+    /** Total de observações reenviadas ao banco */
+    long getReplayedCount();
+    
+    /** Quantidade de segmentos reenviados e removidos */
+    long getReplayedSegmentCount();
+    
+    /** Quantidade de tentativas de reenvio que falharam */
+    long getFailedReplayCount();
+    
+    /** Vazão do último segmento reenviado (observações por segundo) */
+    long getLastReplayRate();
+}
@@ -0,0 +1,345 @@
+package br.unitins.persistence;
+
+import br.unitins.concurrent.Executions;
+import br.unitins.config.PersistenceConfig.OverflowPolicy;
+import br.unitins.metrics.Metrics;
+import br.unitins.model.AccessPointEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Buffer de escrita assíncrona (write-behind) entre o escaneamento e o banco
+ * Os escaneamentos publicam observações em uma fila limitada e sem locks; uma thread
+ * dedicada grava lotes quando atinge o tamanho configurado ou quando o intervalo expira.
+ * Assim a cadência dos escaneamentos não depende da latência do banco.
+ */
+public class WriteBehindBuffer implements WriteBehindBufferMXBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindBuffer.class);
+    private static final String METRICS_TYPE = "WriteBehindBuffer";
+    private static final long PRODUCER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Destino dos lotes drenados do buffer
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        void write(List<AccessPointEntity> batch) throws Exception;
+    }
+
+    private final BatchWriter writer;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long blockTimeoutNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final SpillStore spillStore;
+
+    private final ConcurrentLinkedDeque<AccessPointEntity> queue = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+    private volatile boolean flushRequested;
+
+    // Métricas
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private volatile long lastFlushLatencyMs;
+    private volatile long maxFlushLatencyMs;
+
+    /**
+     * @param writer Destino dos lotes
+     * @param capacity Capacidade máxima do buffer
+     * @param batchSize Tamanho do lote que dispara uma gravação
+     * @param flushIntervalMs Intervalo máximo entre gravações
+     * @param blockTimeoutMs Espera máxima do produtor na política BLOCK
+     * @param overflowPolicy Política quando o buffer está cheio
+     * @param spillStore Spool local (obrigatório na política SPILL, opcional nas demais); quando
+     *                   presente também recebe os lotes cuja gravação falhou. O reenvio ao banco
+     *                   é feito pelo {@link SpoolReplayer}
+     */
+    public WriteBehindBuffer(BatchWriter writer, int capacity, int batchSize, long flushIntervalMs,
+                             long blockTimeoutMs, OverflowPolicy overflowPolicy, SpillStore spillStore) {
+        if (overflowPolicy == OverflowPolicy.SPILL && spillStore == null) {
+            throw new IllegalArgumentException("Política SPILL requer um armazenamento em disco");
+        }
+        this.writer = writer;
+        this.capacity = capacity;
+        this.batchSize = Math.min(batchSize, capacity);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        this.overflowPolicy = overflowPolicy;
+        this.spillStore = spillStore;
+    }
+
+    /**
+     * Inicia a thread de gravação e registra as métricas
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writerThread = Executions.start("write-behind", this::writerLoop);
+        Metrics.register(METRICS_TYPE, this);
+        logger.info("Write-behind iniciado (capacidade {}, lote {}, política {})", capacity, batchSize, overflowPolicy);
+    }
+
+    /**
+     * Publica as observações de um escaneamento
+     * @param entities Observações
+     * @return Quantidade aceita no buffer (as demais foram descartadas ou transbordadas)
+     */
+    public int publish(List<AccessPointEntity> entities) {
+        int accepted = 0;
+        List<AccessPointEntity> overflow = null;
+
+        for (AccessPointEntity entity : entities) {
+            if (tryReserve()) {
+                enqueue(entity);
+                accepted++;
+                continue;
+            }
+
+            switch (overflowPolicy) {
+                case BLOCK:
+                    if (awaitSpace()) {
+                        enqueue(entity);
+                        accepted++;
+                    } else {
+                        dropped.increment();
+                    }
+                    break;
+                case DROP_OLDEST:
+                    dropOldestAndEnqueue(entity);
+                    accepted++;
+                    break;
+                case SPILL:
+                    if (overflow == null) {
+                        overflow = new ArrayList<>();
+                    }
+                    overflow.add(entity);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (overflow != null) {
+            spill(overflow);
+        }
+        if (size.get() >= batchSize) {
+            LockSupport.unpark(writerThread);
+        }
+        return accepted;
+    }
+
+    /**
+     * Solicita a gravação imediata e aguarda o buffer esvaziar
+     * @param timeoutMs Tempo máximo de espera
+     * @return true se o buffer esvaziou dentro do prazo
+     */
+    public boolean flush(long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (size.get() > 0 && running) {
+            flushRequested = true;
+            LockSupport.unpark(writerThread);
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            LockSupport.parkNanos(PRODUCER_PARK_NANOS * 10);
+        }
+        return size.get() == 0;
+    }
+
+    /**
+     * Encerra a thread de gravação, tentando gravar o que restou no buffer
+     * Observações que não puderem ser gravadas vão para o disco quando houver armazenamento
+     * @param timeoutMs Tempo máximo de espera pela thread de gravação
+     */
+    public void close(long timeoutMs) {
+        flush(timeoutMs);
+
+        Thread thread;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            thread = writerThread;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<AccessPointEntity> remaining = drainUpTo(Integer.MAX_VALUE);
+        if (!remaining.isEmpty()) {
+            if (spillStore != null) {
+                spill(remaining);
+            } else {
+                dropped.add(remaining.size());
+                logger.warn("{} observações descartadas no encerramento do write-behind", remaining.size());
+            }
+        }
+        Metrics.unregister(METRICS_TYPE);
+        logger.info("Write-behind encerrado");
+    }
+
+    private void writerLoop() {
+        long lastFlush = System.nanoTime();
+
+        while (running) {
+            long elapsed = System.nanoTime() - lastFlush;
+            if (size.get() < batchSize && elapsed < flushIntervalNanos && !flushRequested) {
+                LockSupport.parkNanos(this, flushIntervalNanos - elapsed);
+                continue;
+            }
+
+            lastFlush = System.nanoTime();
+            flushRequested = false;
+            if (!flushOnce()) {
+                // Falha na gravação: aguarda um intervalo antes de tentar novamente
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+    }
+
+    /**
+     * Grava um lote do buffer
+     * @return false se a gravação falhou
+     */
+    private boolean flushOnce() {
+        List<AccessPointEntity> batch = drainUpTo(batchSize);
+
+        if (batch.isEmpty()) {
+            return true;
+        }
+
+        try {
+            writeBatch(batch);
+            return true;
+        } catch (Exception e) {
+            failedFlushes.incrementAndGet();
+            logger.warn("Falha ao gravar lote de {} observações: {}", batch.size(), e.getMessage());
+            requeue(batch);
+            return false;
+        }
+    }
+
+    private void writeBatch(List<AccessPointEntity> batch) throws Exception {
+        long start = System.nanoTime();
+        writer.write(batch);
+        long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        lastFlushLatencyMs = latencyMs;
+        if (latencyMs > maxFlushLatencyMs) {
+            maxFlushLatencyMs = latencyMs;
+        }
+        flushes.incrementAndGet();
+        written.add(batch.size());
+    }
+
+    private void requeue(List<AccessPointEntity> batch) {
+        // Com spool o lote vai para o disco e a memória fica livre para os próximos escaneamentos
+        if (spillStore != null) {
+            spill(batch);
+            return;
+        }
+        // Devolve ao início da fila preservando a ordem; pode exceder a capacidade temporariamente
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            queue.offerFirst(batch.get(i));
+        }
+        size.addAndGet(batch.size());
+    }
+
+    private List<AccessPointEntity> drainUpTo(int max) {
+        List<AccessPointEntity> batch = new ArrayList<>(Math.min(max, Math.max(size.get(), 0)));
+        AccessPointEntity entity;
+        while (batch.size() < max && (entity = queue.pollFirst()) != null) {
+            size.decrementAndGet();
+            batch.add(entity);
+        }
+        return batch;
+    }
+
+    private void spill(List<AccessPointEntity> entities) {
+        try {
+            spillStore.append(entities);
+            spilled.add(entities.size());
+        } catch (Exception e) {
+            dropped.add(entities.size());
+            logger.error("Falha ao transbordar {} observações para disco: {}", entities.size(), e.getMessage());
+        }
+    }
+
+    private boolean tryReserve() {
+        while (true) {
+            int current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void enqueue(AccessPointEntity entity) {
+        queue.offerLast(entity);
+        enqueued.increment();
+    }
+
+    private boolean awaitSpace() {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        LockSupport.unpark(writerThread);
+        while (System.nanoTime() < deadline) {
+            LockSupport.parkNanos(this, PRODUCER_PARK_NANOS);
+            if (tryReserve()) {
+                return true;
+            }
+        }
+        logger.warn("Tempo esgotado aguardando espaço no write-behind");
+        return false;
+    }
+
+    private void dropOldestAndEnqueue(AccessPointEntity entity) {
+        // Troca a observação mais antiga pela nova sem alterar o tamanho da fila
+        if (queue.pollFirst() != null) {
+            dropped.increment();
+            enqueue(entity);
+        } else if (tryReserve()) {
+            enqueue(entity);
+        } else {
+            dropped.increment();
+        }
+    }
+
+    // Métricas (JMX)
+    @Override public int getQueueDepth() { return Math.max(size.get(), 0); }
+    @Override public int getCapacity() { return capacity; }
+    @Override public long getEnqueuedCount() { return enqueued.sum(); }
+    @Override public long getWrittenCount() { return written.sum(); }
+    @Override public long getDroppedCount() { return dropped.sum(); }
+    @Override public long getSpilledCount() { return spilled.sum(); }
+    @Override public long getFlushCount() { return flushes.get(); }
+    @Override public long getFailedFlushCount() { return failedFlushes.get(); }
+    @Override public long getLastFlushLatencyMs() { return lastFlushLatencyMs; }
+    @Override public long getMaxFlushLatencyMs() { return maxFlushLatencyMs; }
+}
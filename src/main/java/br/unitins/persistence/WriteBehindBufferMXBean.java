@@ -0,0 +1,37 @@
+package br.unitins.persistence;
+
+/**
+ * Métricas do buffer de escrita assíncrona expostas via JMX
+ */
+public interface WriteBehindBufferMXBean {
+    
+    /** Observações aguardando gravação */
+    int getQueueDepth();
+    
+    /** Capacidade máxima do buffer */
+    int getCapacity();
+    
+    /** Total de observações publicadas pelos escaneamentos */
+    long getEnqueuedCount();
+    
+    /** Total de observações gravadas no banco */
+    long getWrittenCount();
+    
+    /** Total de observações descartadas por falta de espaço */
+    long getDroppedCount();
+    
+    /** Total de observações transbordadas para disco */
+    long getSpilledCount();
+    
+    /** Quantidade de lotes gravados */
+    long getFlushCount();
+    
+    /** Quantidade de lotes cuja gravação falhou */
+    long getFailedFlushCount();
+    
+    /** Latência da última gravação de lote (ms) */
+    long getLastFlushLatencyMs();
+    
+    /** Maior latência de gravação observada (ms) */
+    long getMaxFlushLatencyMs();
+}
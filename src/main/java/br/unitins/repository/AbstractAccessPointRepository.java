@@ -0,0 +1,306 @@
+package br.unitins.repository;
+
+import br.unitins.config.PersistenceConfig;
+import br.unitins.database.DatabaseManager;
+import br.unitins.model.AccessPointEntity;
+import br.unitins.model.MacAddressCodec;
+import br.unitins.rollup.RollupJob;
+import br.unitins.rollup.RollupLevel;
+import br.unitins.rollup.RollupQueryPlanner;
+import br.unitins.rollup.RollupQueryPlanner.Segment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Base comum dos backends de persistência
+ * A escrita (upsert da dimensão, inserção das observações em lote e ajuste da marca
+ * d'água) e o planejamento das consultas por período são iguais nos dois backends; cada
+ * implementação fornece a transação e a leitura de uma página de observações ou agregados.
+ */
+abstract class AbstractAccessPointRepository implements AccessPointRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractAccessPointRepository.class);
+    private static final int BATCH_SIZE = DatabaseManager.JDBC_BATCH_SIZE;
+
+    // Atributos atualizados somente se a observação for mais recente que a última alteração
+    // (reenvios do spool podem trazer dados antigos); updated_at é atribuído por último
+    private static final String UPSERT_DIMENSION =
+            "INSERT INTO access_point (id, ssid, security, frequency, beacon_interval, interface_name, first_seen, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "ssid = IF(VALUES(updated_at) >= updated_at, VALUES(ssid), ssid), " +
+            "security = IF(VALUES(updated_at) >= updated_at, VALUES(security), security), " +
+            "frequency = IF(VALUES(updated_at) >= updated_at, VALUES(frequency), frequency), " +
+            "beacon_interval = IF(VALUES(updated_at) >= updated_at, VALUES(beacon_interval), beacon_interval), " +
+            "interface_name = IF(VALUES(updated_at) >= updated_at, VALUES(interface_name), interface_name), " +
+            "first_seen = LEAST(first_seen, VALUES(first_seen)), " +
+            "updated_at = GREATEST(updated_at, VALUES(updated_at))";
+
+    // Uma observação repetida (mesmo AP e horário, ex.: reenvio do spool após uma gravação que
+    // chegou ao banco) mantém a linha existente; qualquer outro erro de dados é propagado
+    private static final String INSERT_OBSERVATION =
+            "INSERT INTO ap_observation (ap_id, scan_time, signal_dbm, quality, channel) VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE scan_time = scan_time";
+
+    /**
+     * Trabalho JDBC executado dentro da transação de escrita
+     */
+    @FunctionalInterface
+    interface ConnectionWork {
+        void execute(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Atributos da dimensão já gravados, por MAC compactado
+     */
+    private final Map<Long, DimensionAttributes> knownDimensions = new ConcurrentHashMap<>();
+
+    /**
+     * Observações descartadas por não terem BSSID nem SSID
+     */
+    private final AtomicLong droppedObservations = new AtomicLong();
+
+    /**
+     * Planejador de consultas por período (null quando as agregações estão desativadas)
+     */
+    private final RollupQueryPlanner rollupPlanner = PersistenceConfig.getInstance().isRollupEnabled()
+            ? new RollupQueryPlanner(PersistenceConfig.getInstance().getRollupMinPoints())
+            : null;
+
+    private record DimensionAttributes(String ssid, String security, Double frequency, Integer beaconInterval,
+                                       String interfaceName) {
+        static DimensionAttributes of(AccessPointEntity entity) {
+            return new DimensionAttributes(entity.getSsid(), entity.getWpsWpaVersion(), entity.getFrequency(),
+                    entity.getBeaconInterval(), entity.getInterfaceName());
+        }
+    }
+
+    /**
+     * Executa o trabalho em uma transação, com commit ao final e rollback em caso de falha
+     * @param work Trabalho JDBC
+     */
+    protected abstract void inTransaction(ConnectionWork work) throws Exception;
+
+    /**
+     * Consulta de uma página de observações brutas com horário a partir de from
+     */
+    protected abstract KeysetCursor.PageQuery observationPage(LocalDateTime from);
+
+    /**
+     * Consulta de uma página de agregados do nível, com buckets a partir do que contém from
+     */
+    protected abstract KeysetCursor.PageQuery rollupPage(RollupLevel level, LocalDateTime from);
+
+    /**
+     * Marcas d'água atuais de cada nível de agregação
+     */
+    protected abstract Map<RollupLevel, LocalDateTime> loadWatermarks() throws Exception;
+
+    @Override
+    public List<AccessPointEntity> saveAll(List<AccessPointEntity> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<AccessPointEntity> savedEntities = RepositorySupport.prepare(entities, droppedObservations);
+        Map<Long, AccessPointEntity> changedDimensions = new LinkedHashMap<>();
+
+        for (AccessPointEntity entity : savedEntities) {
+            long apId = MacAddressCodec.pack(entity.getMacAddress());
+            if (!DimensionAttributes.of(entity).equals(knownDimensions.get(apId))) {
+                changedDimensions.put(apId, entity);
+            }
+        }
+
+        try {
+            inTransaction(connection -> {
+                upsertDimensions(connection, changedDimensions);
+                insertObservations(connection, savedEntities);
+                if (rollupPlanner != null) {
+                    lowerRollupWatermark(connection, savedEntities);
+                }
+            });
+
+            DatabaseManager.getInstance().evictQueryCache(DatabaseManager.OBSERVATION_CACHE_REGION);
+            changedDimensions.forEach((apId, entity) -> knownDimensions.put(apId, DimensionAttributes.of(entity)));
+
+        } catch (Exception e) {
+            logger.error("Erro ao salvar Access Points: {}", e.getMessage());
+            throw new RuntimeException("Falha ao salvar no banco de dados", e);
+        }
+
+        return savedEntities;
+    }
+
+    private void upsertDimensions(Connection connection, Map<Long, AccessPointEntity> dimensions) throws SQLException {
+        if (dimensions.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT_DIMENSION)) {
+            int pending = 0;
+            for (Map.Entry<Long, AccessPointEntity> entry : dimensions.entrySet()) {
+                AccessPointEntity entity = entry.getValue();
+                statement.setLong(1, entry.getKey());
+                statement.setString(2, entity.getSsid());
+                statement.setString(3, entity.getWpsWpaVersion());
+                statement.setObject(4, entity.getFrequency(), Types.DOUBLE);
+                statement.setObject(5, entity.getBeaconInterval(), Types.INTEGER);
+                statement.setString(6, entity.getInterfaceName());
+                statement.setObject(7, entity.getScanTime());
+                statement.setObject(8, entity.getScanTime());
+                statement.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    private void insertObservations(Connection connection, List<AccessPointEntity> entities) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_OBSERVATION)) {
+            int pending = 0;
+            for (AccessPointEntity entity : entities) {
+                statement.setLong(1, MacAddressCodec.pack(entity.getMacAddress()));
+                statement.setObject(2, entity.getScanTime());
+                setClamped(statement, 3, entity.getSignalLevel(), Byte.MIN_VALUE, Byte.MAX_VALUE, Types.TINYINT);
+                setClamped(statement, 4, entity.getLinkQuality() != null ? (int) Math.round(entity.getLinkQuality()) : null,
+                        0, 100, Types.TINYINT);
+                setClamped(statement, 5, entity.getChannel(), 0, Short.MAX_VALUE, Types.SMALLINT);
+                statement.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    private static void setClamped(PreparedStatement statement, int index, Integer value, int min, int max,
+                                   int sqlType) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, sqlType);
+        } else {
+            statement.setInt(index, Math.max(min, Math.min(max, value)));
+        }
+    }
+
+    @Override
+    public List<AccessPointEntity> findLatest() {
+        PersistenceConfig persistenceConfig = PersistenceConfig.getInstance();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoffTime = now.minusNanos(persistenceConfig.getLatestWindowMs() * 1_000_000L);
+
+        KeysetCursor cursor = new KeysetCursor(observationPage(cutoffTime), now.plusNanos(1_000_000),
+                persistenceConfig.getQueryPageSize());
+
+        try {
+            return RepositorySupport.latestPerAccessPoint(cursor);
+
+        } catch (Exception e) {
+            logger.error("Erro ao buscar Access Points mais recentes: {}", e.getMessage());
+            throw new RuntimeException("Falha na consulta ao banco", e);
+        }
+    }
+
+    @Override
+    public List<AccessPointEntity> findByPeriod(LocalDateTime startTime, LocalDateTime endTime) {
+        try (Stream<AccessPointEntity> stream = streamByPeriod(startTime, endTime)) {
+            return stream.collect(Collectors.toList());
+        } catch (Exception e) {
+            logger.error("Erro ao buscar Access Points por período: {}", e.getMessage());
+            throw new RuntimeException("Falha na consulta ao banco", e);
+        }
+    }
+
+    @Override
+    public Stream<AccessPointEntity> streamByPeriod(LocalDateTime startTime, LocalDateTime endTime) {
+        // O planejamento usa intervalos semiabertos; 1 ms a mais mantém o fim inclusivo (DATETIME(3))
+        LocalDateTime end = endTime.plusNanos(1_000_000);
+        List<Segment> segments;
+        if (rollupPlanner != null) {
+            try {
+                segments = new ArrayList<>(rollupPlanner.plan(startTime, end, loadWatermarks()));
+            } catch (Exception e) {
+                throw new RuntimeException("Falha na consulta ao banco", e);
+            }
+        } else {
+            segments = new ArrayList<>(List.of(new Segment(null, startTime, end)));
+        }
+        Collections.reverse(segments);
+
+        int pageSize = PersistenceConfig.getInstance().getQueryPageSize();
+        return segments.stream().flatMap(segment -> {
+            KeysetCursor cursor = segment.level() == null
+                    ? new KeysetCursor(observationPage(segment.from()), segment.to(), pageSize)
+                    : new KeysetCursor(rollupPage(segment.level(), segment.from()), segment.to(), pageSize);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor,
+                    Spliterator.ORDERED | Spliterator.NONNULL), false);
+        });
+    }
+
+    /**
+     * Linha de agregado no formato da aplicação: um Access Point por bucket, com sinal e
+     * qualidade médios do bucket
+     */
+    static AccessPointEntity rollupRow(Long apId, String ssid, String security, Double frequency,
+                                       Integer beaconInterval, String interfaceName, LocalDateTime bucketStart,
+                                       Integer samples, Integer signalSum, Integer qualitySum, Short channelLast) {
+        double count = Math.max(1, samples);
+        return new AccessPointEntity(apId, ssid, security, frequency, beaconInterval, interfaceName, bucketStart,
+                average(signalSum, count), average(qualitySum, count), channelLast);
+    }
+
+    private static Byte average(Integer sum, double samples) {
+        return sum != null ? (byte) Math.round(sum / samples) : null;
+    }
+
+    /**
+     * Observações gravadas antes da marca d'água de 1 minuto (reenvio do spool) rebaixam a marca
+     * para que os buckets afetados sejam recalculados
+     */
+    private void lowerRollupWatermark(Connection connection, List<AccessPointEntity> entities) throws SQLException {
+        LocalDateTime oldest = null;
+        for (AccessPointEntity entity : entities) {
+            if (oldest == null || entity.getScanTime().isBefore(oldest)) {
+                oldest = entity.getScanTime();
+            }
+        }
+        if (oldest == null) {
+            return;
+        }
+        LocalDateTime bucket = RollupLevel.MINUTE.floor(oldest);
+        try (PreparedStatement statement = connection.prepareStatement(RollupJob.LOWER_WATERMARK)) {
+            statement.setObject(1, bucket);
+            statement.setString(2, RollupLevel.MINUTE.getLevelName());
+            statement.setObject(3, bucket);
+            if (statement.executeUpdate() > 0) {
+                DatabaseManager.getInstance().evictQueryCache(DatabaseManager.ROLLUP_CACHE_REGION);
+            }
+        }
+    }
+}
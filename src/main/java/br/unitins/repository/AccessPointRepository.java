@@ -1,132 +1,61 @@
 package br.unitins.repository;
 
-import br.unitins.database.DatabaseManager;
 import br.unitins.model.AccessPointEntity;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityTransaction;
-import jakarta.persistence.TypedQuery;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
- * Repositório simplificado para operações de Access Points no banco de dados
+ * Repositório de Access Points (SPI de persistência)
+ * Grava e lê o modelo normalizado: dimensão access_point e fato ap_observation.
+ * A implementação é escolhida em persistence.backend por {@link AccessPointRepositoryFactory}.
  */
-public class AccessPointRepository {
-    
-    private static final Logger logger = LoggerFactory.getLogger(AccessPointRepository.class);
-    private static final int BATCH_SIZE = 25;
+public interface AccessPointRepository extends AutoCloseable {
     
     /**
      * Salva uma lista de Access Points no banco de dados
+     * A dimensão só é gravada quando os atributos do AP mudam; uma observação já gravada (mesmo AP
+     * e horário) é mantida, de modo que reenviar o mesmo lote (spool, write-behind) não duplica linhas.
+     * APs sem BSSID recebem uma chave substituta derivada do SSID e da interface
      * @param entities Lista de entidades para salvar
      * @return Lista de entidades salvas
      */
-    public List<AccessPointEntity> saveAll(List<AccessPointEntity> entities) {
-        if (entities == null || entities.isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        EntityManager em = DatabaseManager.getInstance().getEntityManager();
-        EntityTransaction transaction = em.getTransaction();
-        List<AccessPointEntity> savedEntities = new ArrayList<>();
-        
-        try {
-            transaction.begin();
-            
-            for (int i = 0; i < entities.size(); i++) {
-                AccessPointEntity entity = entities.get(i);
-                entity.setScanTime(LocalDateTime.now());
-                em.persist(entity);
-                savedEntities.add(entity);
-                
-                // Flush em lotes para melhor performance
-                if (i % BATCH_SIZE == 0) {
-                    em.flush();
-                    em.clear();
-                }
-            }
-            
-            transaction.commit();
-            
-        } catch (Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
-            }
-            logger.error("Erro ao salvar Access Points: {}", e.getMessage());
-            throw new RuntimeException("Falha ao salvar no banco de dados", e);
-        } finally {
-            em.close();
-        }
-        
-        return savedEntities;
-    }
+    List<AccessPointEntity> saveAll(List<AccessPointEntity> entities);
+    
+    /**
+     * Busca o último estado de cada Access Point observado recentemente
+     * (últimos 5 minutos, ou o heartbeat no modo delta); usado na carga do índice em memória
+     * @return Observação mais recente de cada Access Point, da mais recente para a mais antiga
+     */
+    List<AccessPointEntity> findLatest();
     
     /**
-     * Busca os Access Points mais recentes (últimos 5 minutos)
-     * @return Lista de Access Points mais recentes
+     * Busca Access Points por período, sem limite de linhas
+     * Para períodos grandes prefira {@link #streamByPeriod}, que não materializa a lista
+     * @param startTime Data/hora inicial
+     * @param endTime Data/hora final (inclusiva)
+     * @return Lista de Access Points encontrados, do mais recente para o mais antigo
      */
-    public List<AccessPointEntity> findLatest() {
-        EntityManager em = DatabaseManager.getInstance().getEntityManager();
-        
-        try {
-            LocalDateTime fiveMinutesAgo = LocalDateTime.now().minusMinutes(5);
-            
-            TypedQuery<AccessPointEntity> query = em.createQuery(
-                "SELECT DISTINCT ap FROM AccessPointEntity ap " +
-                "WHERE ap.scanTime >= :cutoffTime " +
-                "ORDER BY ap.scanTime DESC, ap.ssid ASC",
-                AccessPointEntity.class
-            );
-            
-            query.setParameter("cutoffTime", fiveMinutesAgo);
-            query.setMaxResults(100); // Limita a 100 resultados
-            
-            List<AccessPointEntity> results = query.getResultList();
-            
-            return results;
-            
-        } catch (Exception e) {
-            logger.error("Erro ao buscar Access Points mais recentes: {}", e.getMessage());
-            throw new RuntimeException("Falha na consulta ao banco", e);
-        } finally {
-            em.close();
-        }
-    }
+    List<AccessPointEntity> findByPeriod(LocalDateTime startTime, LocalDateTime endTime);
     
     /**
-     * Busca Access Points por período
+     * Percorre os Access Points de um período em memória constante
+     * As linhas são lidas sob demanda em páginas por chave (horário, ap_id) decrescente,
+     * com o fetch size igual ao tamanho da página. Com agregações ativas, períodos longos são
+     * lidos do rollup mais grosso que ainda entrega a resolução mínima configurada (um Access
+     * Point por bucket, com sinal e qualidade médios); o trecho ainda não agregado vem dos
+     * níveis mais finos ou das observações brutas
      * @param startTime Data/hora inicial
-     * @param endTime Data/hora final
-     * @return Lista de Access Points encontrados
+     * @param endTime Data/hora final (inclusiva)
+     * @return Stream de Access Points, do mais recente para o mais antigo
+     */
+    Stream<AccessPointEntity> streamByPeriod(LocalDateTime startTime, LocalDateTime endTime);
+    
+    /**
+     * Libera os recursos do backend; chamado no encerramento, depois que o pipeline parou de gravar
+     * Os backends de banco não têm recursos próprios (o pool é do DatabaseManager)
      */
-    public List<AccessPointEntity> findByPeriod(LocalDateTime startTime, LocalDateTime endTime) {
-        EntityManager em = DatabaseManager.getInstance().getEntityManager();
-        
-        try {
-            TypedQuery<AccessPointEntity> query = em.createQuery(
-                "SELECT ap FROM AccessPointEntity ap " +
-                "WHERE ap.scanTime BETWEEN :startTime AND :endTime " +
-                "ORDER BY ap.scanTime DESC, ap.ssid ASC",
-                AccessPointEntity.class
-            );
-            
-            query.setParameter("startTime", startTime);
-            query.setParameter("endTime", endTime);
-            query.setMaxResults(500); // Limita a 500 resultados
-            
-            List<AccessPointEntity> results = query.getResultList();
-            
-            return results;
-            
-        } catch (Exception e) {
-            logger.error("Erro ao buscar Access Points por período: {}", e.getMessage());
-            throw new RuntimeException("Falha na consulta ao banco", e);
-        } finally {
-            em.close();
-        }
-    }
-} 
\ No newline at end of file
+    @Override
+    default void close() {}
+}
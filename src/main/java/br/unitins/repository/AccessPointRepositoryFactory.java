@@ -0,0 +1,29 @@
+package br.unitins.repository;
+
+import br.unitins.config.PersistenceConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Factory para criar o repositório do backend configurado em persistence.backend
+ */
+public class AccessPointRepositoryFactory {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AccessPointRepositoryFactory.class);
+    
+    /**
+     * Cria o repositório do backend configurado
+     * @return Repositório JPA (padrão), JDBC ou embarcado
+     */
+    public static AccessPointRepository createRepository() {
+        PersistenceConfig.Backend backend = PersistenceConfig.getInstance().getBackend();
+        logger.info("Backend de persistência: {}", backend);
+        if (backend == PersistenceConfig.Backend.JDBC) {
+            return new JdbcAccessPointRepository();
+        }
+        if (backend == PersistenceConfig.Backend.EMBEDDED) {
+            return new EmbeddedAccessPointRepository();
+        }
+        return new JpaAccessPointRepository();
+    }
+}
@@ -0,0 +1,100 @@
+package br.unitins.repository;
+
+import br.unitins.config.PersistenceConfig;
+import br.unitins.model.AccessPointEntity;
+import br.unitins.timeseries.TimeSeriesStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Backend embarcado: grava as observações em arquivos locais ({@link TimeSeriesStore}), sem MariaDB
+ * Os atributos do Access Point (SSID, segurança, frequência...) acompanham cada observação, então
+ * não há dimensão separada. Agregações (rollups) e particionamento não se aplicam; a retenção
+ * é feita pelo próprio armazenamento, removendo arquivos de dias inteiros.
+ */
+public class EmbeddedAccessPointRepository implements AccessPointRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedAccessPointRepository.class);
+
+    private final TimeSeriesStore store;
+    // Observações descartadas por não terem BSSID nem SSID
+    private final AtomicLong droppedObservations = new AtomicLong();
+
+    public EmbeddedAccessPointRepository() {
+        PersistenceConfig config = PersistenceConfig.getInstance();
+        try {
+            this.store = new TimeSeriesStore(config.getEmbeddedDirectory(), config.getEmbeddedBlockRows(),
+                    config.getEmbeddedBlockMaxAgeMs(), config.getEmbeddedRetentionDays());
+        } catch (IOException e) {
+            logger.error("Erro ao abrir armazenamento embarcado: {}", e.getMessage());
+            throw new RuntimeException("Falha na inicialização do armazenamento embarcado", e);
+        }
+    }
+
+    @Override
+    public List<AccessPointEntity> saveAll(List<AccessPointEntity> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<AccessPointEntity> savedEntities = RepositorySupport.prepare(entities, droppedObservations);
+
+        try {
+            store.append(savedEntities);
+            logger.debug("Salvos {} Access Points no armazenamento embarcado", savedEntities.size());
+            return savedEntities;
+        } catch (IOException e) {
+            logger.error("Erro ao salvar Access Points no armazenamento embarcado: {}", e.getMessage());
+            throw new RuntimeException("Falha ao salvar no armazenamento embarcado", e);
+        }
+    }
+
+    @Override
+    public List<AccessPointEntity> findLatest() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoffTime = now.minusNanos(PersistenceConfig.getInstance().getLatestWindowMs() * 1_000_000L);
+
+        try (Stream<AccessPointEntity> stream = store.stream(cutoffTime, now.plusNanos(1_000_000))) {
+            return RepositorySupport.latestPerAccessPoint(stream.iterator());
+        } catch (Exception e) {
+            logger.error("Erro ao buscar Access Points mais recentes: {}", e.getMessage());
+            throw new RuntimeException("Falha na consulta ao armazenamento embarcado", e);
+        }
+    }
+
+    @Override
+    public List<AccessPointEntity> findByPeriod(LocalDateTime startTime, LocalDateTime endTime) {
+        try (Stream<AccessPointEntity> stream = streamByPeriod(startTime, endTime)) {
+            return stream.collect(Collectors.toList());
+        } catch (Exception e) {
+            logger.error("Erro ao buscar Access Points por período: {}", e.getMessage());
+            throw new RuntimeException("Falha na consulta ao armazenamento embarcado", e);
+        }
+    }
+
+    /**
+     * Grava o bloco aberto (sem isso ele é recuperado do log na próxima execução)
+     */
+    @Override
+    public void close() {
+        try {
+            store.close();
+        } catch (Exception e) {
+            logger.error("Erro ao fechar armazenamento embarcado: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Stream<AccessPointEntity> streamByPeriod(LocalDateTime startTime, LocalDateTime endTime) {
+        // Fim inclusivo com resolução de milissegundos, como no banco
+        return store.stream(startTime, endTime.plusNanos(1_000_000));
+    }
+}
@@ -0,0 +1,151 @@
+package br.unitins.repository;
+
+import br.unitins.database.DatabaseManager;
+import br.unitins.model.AccessPointEntity;
+import br.unitins.rollup.RollupLevel;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Backend JDBC puro: sem Hibernate, sem contexto de persistência e sem entidades gerenciadas
+ * A escrita usa os mesmos lotes do backend JPA em uma transação da própria conexão e as
+ * leituras mapeiam o ResultSet manualmente. O JPA nunca é inicializado com este backend;
+ * o cache de consultas (persistence.cache) não se aplica.
+ */
+public class JdbcAccessPointRepository extends AbstractAccessPointRepository {
+
+    private static final String SELECT_OBSERVATION_PAGE =
+            "SELECT d.id, d.ssid, d.security, d.frequency, d.beacon_interval, d.interface_name, " +
+            "o.scan_time, o.signal_dbm, o.quality, o.channel " +
+            "FROM ap_observation o JOIN access_point d ON d.id = o.ap_id " +
+            "WHERE o.scan_time >= ? AND o.scan_time <= ? AND (o.scan_time < ? OR o.ap_id < ?) " +
+            "ORDER BY o.scan_time DESC, o.ap_id DESC LIMIT ?";
+
+    private static final String SELECT_WATERMARKS = "SELECT level_name, watermark FROM ap_rollup_watermark";
+
+    /**
+     * Leitor de uma linha do ResultSet
+     */
+    @FunctionalInterface
+    private interface RowReader {
+        AccessPointEntity read(ResultSet resultSet) throws SQLException;
+    }
+
+    @Override
+    protected void inTransaction(ConnectionWork work) throws SQLException {
+        try (Connection connection = DatabaseManager.getInstance().getDataSource().getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                work.execute(connection);
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    @Override
+    protected KeysetCursor.PageQuery observationPage(LocalDateTime from) {
+        return page(SELECT_OBSERVATION_PAGE, from, JdbcAccessPointRepository::readObservation);
+    }
+
+    @Override
+    protected KeysetCursor.PageQuery rollupPage(RollupLevel level, LocalDateTime from) {
+        String sql = "SELECT d.id, d.ssid, d.security, d.frequency, d.beacon_interval, d.interface_name, " +
+                "r.bucket_start, r.samples, r.signal_sum, r.quality_sum, r.channel_last " +
+                "FROM " + level.getTable() + " r JOIN access_point d ON d.id = r.ap_id " +
+                "WHERE r.bucket_start >= ? AND r.bucket_start <= ? AND (r.bucket_start < ? OR r.ap_id < ?) " +
+                "ORDER BY r.bucket_start DESC, r.ap_id DESC LIMIT ?";
+        return page(sql, level.floor(from), JdbcAccessPointRepository::readRollup);
+    }
+
+    /**
+     * Página por chave (horário, ap_id) decrescente, lida em uma conexão própria
+     * Parâmetros da consulta: início do intervalo, última chave (horário duas vezes e ap_id) e limite
+     */
+    private static KeysetCursor.PageQuery page(String sql, LocalDateTime from, RowReader reader) {
+        return (lastTime, lastId, pageSize) -> {
+            try (Connection connection = DatabaseManager.getInstance().getDataSource().getConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setObject(1, from);
+                statement.setObject(2, lastTime);
+                statement.setObject(3, lastTime);
+                statement.setLong(4, lastId);
+                statement.setInt(5, pageSize);
+                statement.setFetchSize(pageSize);
+
+                List<AccessPointEntity> rows = new ArrayList<>(pageSize);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        rows.add(reader.read(resultSet));
+                    }
+                }
+                return rows;
+            }
+        };
+    }
+
+    @Override
+    protected Map<RollupLevel, LocalDateTime> loadWatermarks() throws SQLException {
+        Map<RollupLevel, LocalDateTime> watermarks = new EnumMap<>(RollupLevel.class);
+        try (Connection connection = DatabaseManager.getInstance().getDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SELECT_WATERMARKS)) {
+            while (resultSet.next()) {
+                RollupLevel level = RollupLevel.byName(resultSet.getString(1));
+                if (level != null) {
+                    watermarks.put(level, resultSet.getObject(2, LocalDateTime.class));
+                }
+            }
+        }
+        return watermarks;
+    }
+
+    private static AccessPointEntity readObservation(ResultSet resultSet) throws SQLException {
+        return new AccessPointEntity(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3),
+                getDouble(resultSet, 4), getInteger(resultSet, 5), resultSet.getString(6),
+                resultSet.getObject(7, LocalDateTime.class), getByte(resultSet, 8), getByte(resultSet, 9),
+                getShort(resultSet, 10));
+    }
+
+    private static AccessPointEntity readRollup(ResultSet resultSet) throws SQLException {
+        return rollupRow(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3),
+                getDouble(resultSet, 4), getInteger(resultSet, 5), resultSet.getString(6),
+                resultSet.getObject(7, LocalDateTime.class), resultSet.getInt(8), getInteger(resultSet, 9),
+                getInteger(resultSet, 10), getShort(resultSet, 11));
+    }
+
+    // Colunas anuláveis: os getters primitivos do JDBC devolvem 0 para NULL
+
+    private static Double getDouble(ResultSet resultSet, int column) throws SQLException {
+        double value = resultSet.getDouble(column);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    private static Integer getInteger(ResultSet resultSet, int column) throws SQLException {
+        int value = resultSet.getInt(column);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    private static Short getShort(ResultSet resultSet, int column) throws SQLException {
+        short value = resultSet.getShort(column);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    private static Byte getByte(ResultSet resultSet, int column) throws SQLException {
+        byte value = resultSet.getByte(column);
+        return resultSet.wasNull() ? null : value;
+    }
+}
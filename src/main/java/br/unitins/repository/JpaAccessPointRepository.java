@@ -0,0 +1,136 @@
+package br.unitins.repository;
+
+import br.unitins.database.DatabaseManager;
+import br.unitins.model.AccessPointEntity;
+import br.unitins.rollup.RollupLevel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import org.hibernate.Session;
+import org.hibernate.SharedSessionContract;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Backend JPA (Hibernate): leituras em HQL sobre as entidades mapeadas, com suporte ao
+ * cache de consultas; a escrita em lote usa a conexão da transação JPA
+ */
+public class JpaAccessPointRepository extends AbstractAccessPointRepository {
+
+    // Projeção do modelo normalizado no formato usado pela aplicação
+    private static final String SELECT_OBSERVATION =
+            "SELECT new br.unitins.model.AccessPointEntity(" +
+            "d.id, d.ssid, d.security, d.frequency, d.beaconInterval, d.interfaceName, " +
+            "o.scanTime, o.signalDbm, o.quality, o.channel) " +
+            "FROM ApObservation o JOIN AccessPointDimension d ON d.id = o.apId ";
+
+    /**
+     * Consulta de uma página dentro de uma sessão de leitura
+     */
+    @FunctionalInterface
+    private interface SessionPageQuery {
+        List<AccessPointEntity> fetch(SharedSessionContract session, LocalDateTime lastTime, long lastId, int pageSize);
+    }
+
+    @Override
+    protected void inTransaction(ConnectionWork work) {
+        EntityManager em = DatabaseManager.getInstance().getEntityManager();
+        EntityTransaction transaction = em.getTransaction();
+        try {
+            transaction.begin();
+            em.unwrap(Session.class).doWork(work::execute);
+            transaction.commit();
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Cada página é lida em uma sessão de leitura própria
+     */
+    private static KeysetCursor.PageQuery inReadSession(SessionPageQuery query) {
+        return (lastTime, lastId, pageSize) -> {
+            try (SharedSessionContract session = DatabaseManager.getInstance().openReadSession()) {
+                return query.fetch(session, lastTime, lastId, pageSize);
+            }
+        };
+    }
+
+    @Override
+    protected KeysetCursor.PageQuery observationPage(LocalDateTime from) {
+        // Intervalo direto sobre scan_time: com ap_observation particionada, só as partições
+        // do período são lidas (partition pruning). O índice de scan_time já inclui ap_id
+        // (chave primária), então a ordenação segue o índice
+        return inReadSession((session, lastTime, lastId, pageSize) -> session.createQuery(
+                    SELECT_OBSERVATION +
+                    "WHERE o.scanTime >= :from AND o.scanTime <= :lastTime " +
+                    "AND (o.scanTime < :lastTime OR o.apId < :lastId) " +
+                    "ORDER BY o.scanTime DESC, o.apId DESC",
+                    AccessPointEntity.class)
+                .setParameter("from", from)
+                .setParameter("lastTime", lastTime)
+                .setParameter("lastId", lastId)
+                .setMaxResults(pageSize)
+                .setFetchSize(pageSize)
+                .setCacheable(DatabaseManager.getInstance().isQueryCacheEnabled())
+                .setCacheRegion(DatabaseManager.OBSERVATION_CACHE_REGION)
+                .getResultList());
+    }
+
+    @Override
+    protected KeysetCursor.PageQuery rollupPage(RollupLevel level, LocalDateTime from) {
+        String hql = "SELECT d.id, d.ssid, d.security, d.frequency, d.beaconInterval, d.interfaceName, " +
+                "r.bucketStart, r.samples, r.signalSum, r.qualitySum, r.channelLast " +
+                "FROM " + level.getEntityName() + " r JOIN AccessPointDimension d ON d.id = r.apId " +
+                "WHERE r.bucketStart >= :from AND r.bucketStart <= :lastTime " +
+                "AND (r.bucketStart < :lastTime OR r.apId < :lastId) " +
+                "ORDER BY r.bucketStart DESC, r.apId DESC";
+        LocalDateTime bucketFrom = level.floor(from);
+
+        return inReadSession((session, lastTime, lastId, pageSize) -> {
+            List<Object[]> rows = session.createQuery(hql, Object[].class)
+                    .setParameter("from", bucketFrom)
+                    .setParameter("lastTime", lastTime)
+                    .setParameter("lastId", lastId)
+                    .setMaxResults(pageSize)
+                    .setFetchSize(pageSize)
+                    .setCacheable(DatabaseManager.getInstance().isQueryCacheEnabled())
+                    .setCacheRegion(DatabaseManager.ROLLUP_CACHE_REGION)
+                    .getResultList();
+
+            List<AccessPointEntity> results = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                results.add(rollupRow((Long) row[0], (String) row[1], (String) row[2], (Double) row[3],
+                        (Integer) row[4], (String) row[5], (LocalDateTime) row[6], (Integer) row[7],
+                        (Integer) row[8], (Integer) row[9], (Short) row[10]));
+            }
+            return results;
+        });
+    }
+
+    @Override
+    protected Map<RollupLevel, LocalDateTime> loadWatermarks() {
+        Map<RollupLevel, LocalDateTime> watermarks = new EnumMap<>(RollupLevel.class);
+        try (SharedSessionContract session = DatabaseManager.getInstance().openReadSession()) {
+            List<Object[]> rows = session.createQuery("SELECT w.levelName, w.watermark FROM RollupWatermark w", Object[].class)
+                    .setCacheable(DatabaseManager.getInstance().isQueryCacheEnabled())
+                    .setCacheRegion(DatabaseManager.ROLLUP_CACHE_REGION)
+                    .getResultList();
+            for (Object[] row : rows) {
+                RollupLevel level = RollupLevel.byName((String) row[0]);
+                if (level != null) {
+                    watermarks.put(level, (LocalDateTime) row[1]);
+                }
+            }
+        }
+        return watermarks;
+    }
+}
@@ -0,0 +1,81 @@
+package br.unitins.repository;
+
+import br.unitins.model.AccessPointEntity;
+import br.unitins.model.MacAddressCodec;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterador paginado por chave (keyset) sobre (horário, ap_id), em ordem decrescente
+ * Cada página continua a partir da última chave lida, sem OFFSET, e cada backend a busca
+ * em uma sessão ou conexão própria: apenas uma página fica em memória e nenhuma conexão
+ * fica presa enquanto o consumidor processa os resultados.
+ */
+final class KeysetCursor implements Iterator<AccessPointEntity> {
+
+    /**
+     * Consulta de uma página: linhas com chave estritamente menor que (lastTime, lastId)
+     */
+    @FunctionalInterface
+    interface PageQuery {
+        List<AccessPointEntity> fetch(LocalDateTime lastTime, long lastId, int pageSize) throws Exception;
+    }
+
+    private final PageQuery pageQuery;
+    private final int pageSize;
+
+    private LocalDateTime lastTime;
+    private long lastId = Long.MIN_VALUE;
+    private Iterator<AccessPointEntity> page = Collections.emptyIterator();
+    private boolean exhausted;
+
+    /**
+     * @param pageQuery Consulta de cada página
+     * @param end Limite superior exclusivo do horário
+     * @param pageSize Linhas por página (também usado como fetch size)
+     */
+    KeysetCursor(PageQuery pageQuery, LocalDateTime end, int pageSize) {
+        this.pageQuery = pageQuery;
+        this.lastTime = end;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext() && !exhausted) {
+            fetchNextPage();
+        }
+        return page.hasNext();
+    }
+
+    @Override
+    public AccessPointEntity next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.next();
+    }
+
+    private void fetchNextPage() {
+        List<AccessPointEntity> rows;
+        try {
+            rows = pageQuery.fetch(lastTime, lastId, pageSize);
+        } catch (Exception e) {
+            throw new RuntimeException("Falha na consulta ao banco", e);
+        }
+
+        if (rows.size() < pageSize) {
+            exhausted = true;
+        }
+        if (!rows.isEmpty()) {
+            AccessPointEntity last = rows.get(rows.size() - 1);
+            lastTime = last.getScanTime();
+            lastId = MacAddressCodec.pack(last.getMacAddress());
+        }
+        page = rows.iterator();
+    }
+}
@@ -0,0 +1,61 @@
+package br.unitins.repository;
+
+import br.unitins.model.AccessPointEntity;
+import br.unitins.model.MacAddressCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Regras de gravação e leitura comuns a todos os backends de persistência
+ */
+final class RepositorySupport {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositorySupport.class);
+
+    private RepositorySupport() {}
+
+    /**
+     * Prepara as observações para gravação: mantém o horário do escaneamento (a gravação pode
+     * ocorrer depois, via write-behind) e garante a chave do Access Point
+     * @param entities Observações recebidas
+     * @param dropped Contador de observações descartadas do backend
+     * @return Observações que podem ser gravadas, na ordem recebida
+     */
+    static List<AccessPointEntity> prepare(List<AccessPointEntity> entities, AtomicLong dropped) {
+        List<AccessPointEntity> prepared = new ArrayList<>(entities.size());
+        for (AccessPointEntity entity : entities) {
+            if (entity.getScanTime() == null) {
+                entity.setScanTime(LocalDateTime.now());
+            }
+            long key = MacAddressCodec.keyOf(entity.getSsid(), entity.getMacAddress(), entity.getInterfaceName());
+            if (key == MacAddressCodec.INVALID) {
+                logger.warn("Observação sem BSSID nem SSID ignorada ({} até agora)", dropped.incrementAndGet());
+                continue;
+            }
+            if (key != MacAddressCodec.pack(entity.getMacAddress())) {
+                entity.setMacAddress(MacAddressCodec.unpack(key));
+            }
+            prepared.add(entity);
+        }
+        return prepared;
+    }
+
+    /**
+     * Último estado de cada Access Point
+     * @param newestFirst Observações em ordem decrescente de horário
+     * @return Primeira observação de cada MAC, na ordem de leitura
+     */
+    static List<AccessPointEntity> latestPerAccessPoint(Iterator<AccessPointEntity> newestFirst) {
+        Map<String, AccessPointEntity> latest = new LinkedHashMap<>();
+        newestFirst.forEachRemaining(entity -> latest.putIfAbsent(entity.getMacAddress(), entity));
+        return new ArrayList<>(latest.values());
+    }
+}
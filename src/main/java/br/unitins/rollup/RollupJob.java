@@ -0,0 +1,366 @@
+package br.unitins.rollup;
+
+import br.unitins.concurrent.Executions;
+import br.unitins.database.DatabaseManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agregação incremental das observações em buckets de 1 minuto, 15 minutos e 1 hora
+ * Cada nível guarda uma marca d'água (ap_rollup_watermark); a cada execução os buckets completos
+ * entre a marca e o instante atual menos a carência são recalculados inteiros a partir do nível
+ * anterior e gravados com upsert, e a marca avança. Observações atrasadas (spool) rebaixam a marca
+ * de 1 minuto na própria gravação, e o recálculo se propaga aos níveis seguintes.
+ */
+public class RollupJob {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RollupJob.class);
+    private static final int BATCH_SIZE = DatabaseManager.JDBC_BATCH_SIZE;
+    private static final int FETCH_SIZE = 5000;
+    
+    /** Rebaixa a marca d'água de um nível quando há dados novos anteriores a ela */
+    public static final String LOWER_WATERMARK =
+            "UPDATE ap_rollup_watermark SET watermark = ? WHERE level_name = ? AND watermark > ?";
+    
+    private final Duration grace;
+    private final Duration maxChunk;
+    private ScheduledExecutorService executor;
+    
+    /**
+     * @param graceMs Carência antes de agregar um bucket (observações ainda em trânsito)
+     * @param maxChunkHours Período máximo processado por transação (recuperação de atrasos)
+     */
+    public RollupJob(long graceMs, long maxChunkHours) {
+        this.grace = Duration.ofMillis(graceMs);
+        this.maxChunk = Duration.ofHours(maxChunkHours);
+    }
+    
+    /**
+     * Agenda a agregação periódica
+     * @param intervalMs Intervalo entre execuções
+     */
+    public synchronized void start(long intervalMs) {
+        if (executor != null) {
+            return;
+        }
+        executor = Executions.newSingleThreadScheduledExecutor("rollup");
+        executor.scheduleWithFixedDelay(this::runSafely, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    private void runSafely() {
+        try {
+            run();
+        } catch (Exception e) {
+            logger.warn("Agregação adiada: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Processa todos os níveis até alcançar o instante atual menos a carência
+     * @throws SQLException se a leitura ou a gravação falhar
+     */
+    public void run() throws SQLException {
+        for (RollupLevel level : RollupLevel.values()) {
+            while (processChunk(level)) {
+                // Recuperação de atraso: continua até alcançar o presente
+            }
+        }
+        // Agregados e marcas d'água gravados em JDBC: as consultas em cache ficam desatualizadas
+        DatabaseManager.getInstance().evictQueryCache(DatabaseManager.ROLLUP_CACHE_REGION);
+    }
+    
+    /**
+     * Agrega um trecho de um nível
+     * @return true se ainda há trechos completos a processar
+     */
+    private boolean processChunk(RollupLevel level) throws SQLException {
+        try (Connection connection = DatabaseManager.getInstance().getDataSource().getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                boolean more = processChunk(connection, level);
+                connection.commit();
+                return more;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+    
+    private boolean processChunk(Connection connection, RollupLevel level) throws SQLException {
+        // Bloqueia a marca: gravações atrasadas aguardam o fim do trecho antes de rebaixá-la
+        LocalDateTime watermark = lockWatermark(connection, level);
+        if (watermark == null) {
+            return false;
+        }
+        
+        LocalDateTime limit = level.floor(LocalDateTime.now().minus(grace));
+        RollupLevel source = level.source();
+        if (source != null) {
+            LocalDateTime sourceWatermark = readWatermark(connection, source);
+            if (sourceWatermark == null) {
+                return false;
+            }
+            limit = min(limit, level.floor(sourceWatermark));
+        }
+        LocalDateTime to = min(limit, level.floor(watermark.plus(maxChunk)));
+        if (!to.isAfter(watermark)) {
+            return false;
+        }
+        
+        int buckets = aggregate(connection, level, watermark, to);
+        
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE ap_rollup_watermark SET watermark = ? WHERE level_name = ?")) {
+            statement.setObject(1, to);
+            statement.setString(2, level.getLevelName());
+            statement.executeUpdate();
+        }
+        // Buckets recalculados alteram os buckets correspondentes do nível seguinte
+        RollupLevel next = level.next();
+        if (next != null) {
+            LocalDateTime nextFloor = next.floor(watermark);
+            try (PreparedStatement statement = connection.prepareStatement(LOWER_WATERMARK)) {
+                statement.setObject(1, nextFloor);
+                statement.setString(2, next.getLevelName());
+                statement.setObject(3, nextFloor);
+                statement.executeUpdate();
+            }
+        }
+        
+        logger.debug("Agregação {}: {} bucket(s) entre {} e {}", level.getLevelName(), buckets, watermark, to);
+        return to.isBefore(limit);
+    }
+    
+    /**
+     * Lê a marca d'água com bloqueio; no primeiro uso parte do dado mais antigo da origem
+     */
+    private LocalDateTime lockWatermark(Connection connection, RollupLevel level) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT watermark FROM ap_rollup_watermark WHERE level_name = ? FOR UPDATE")) {
+            statement.setString(1, level.getLevelName());
+            try (ResultSet rs = statement.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getObject(1, LocalDateTime.class);
+                }
+            }
+        }
+        
+        String sourceTable = level.source() == null ? "ap_observation" : level.source().getTable();
+        String sourceColumn = level.source() == null ? "scan_time" : "bucket_start";
+        LocalDateTime oldest;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT MIN(" + sourceColumn + ") FROM " + sourceTable);
+             ResultSet rs = statement.executeQuery()) {
+            oldest = rs.next() ? rs.getObject(1, LocalDateTime.class) : null;
+        }
+        if (oldest == null) {
+            return null;
+        }
+        
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT IGNORE INTO ap_rollup_watermark (level_name, watermark) VALUES (?, ?)")) {
+            statement.setString(1, level.getLevelName());
+            statement.setObject(2, level.floor(oldest));
+            statement.executeUpdate();
+        }
+        return lockWatermark(connection, level);
+    }
+    
+    private static LocalDateTime readWatermark(Connection connection, RollupLevel level) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT watermark FROM ap_rollup_watermark WHERE level_name = ?")) {
+            statement.setString(1, level.getLevelName());
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getObject(1, LocalDateTime.class) : null;
+            }
+        }
+    }
+    
+    /**
+     * Recalcula os buckets de [from, to) a partir da origem do nível
+     * @return Quantidade de buckets gravados
+     */
+    private int aggregate(Connection connection, RollupLevel level, LocalDateTime from, LocalDateTime to)
+            throws SQLException {
+        RollupLevel source = level.source();
+        String query = source == null
+                ? "SELECT ap_id, scan_time, 1, signal_dbm, signal_dbm, signal_dbm, quality, channel, channel, 0 " +
+                  "FROM ap_observation WHERE scan_time >= ? AND scan_time < ? ORDER BY ap_id, scan_time"
+                : "SELECT ap_id, bucket_start, samples, signal_min, signal_max, signal_sum, quality_sum, " +
+                  "channel_first, channel_last, channel_changes " +
+                  "FROM " + source.getTable() + " WHERE bucket_start >= ? AND bucket_start < ? ORDER BY ap_id, bucket_start";
+        
+        // Canal anterior ao trecho, para contar a troca no primeiro bucket (somente a partir das observações)
+        Map<Long, Short> previousChannels = source == null
+                ? loadLastChannels(connection, level, from.minus(level.getBucket()))
+                : Map.of();
+        
+        String upsert = "INSERT INTO " + level.getTable() + " (ap_id, bucket_start, samples, signal_min, signal_max, " +
+                "signal_sum, quality_sum, channel_first, channel_last, channel_changes) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+                "samples = VALUES(samples), signal_min = VALUES(signal_min), signal_max = VALUES(signal_max), " +
+                "signal_sum = VALUES(signal_sum), quality_sum = VALUES(quality_sum), " +
+                "channel_first = VALUES(channel_first), channel_last = VALUES(channel_last), " +
+                "channel_changes = VALUES(channel_changes)";
+        
+        int written = 0;
+        try (PreparedStatement select = connection.prepareStatement(query);
+             PreparedStatement insert = connection.prepareStatement(upsert)) {
+            select.setObject(1, from);
+            select.setObject(2, to);
+            select.setFetchSize(FETCH_SIZE);
+            
+            Bucket bucket = null;
+            int pending = 0;
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    long apId = rs.getLong(1);
+                    LocalDateTime bucketStart = level.floor(rs.getObject(2, LocalDateTime.class));
+                    
+                    if (bucket == null || bucket.apId != apId || !bucket.start.equals(bucketStart)) {
+                        Short previous = bucket != null && bucket.apId == apId
+                                ? bucket.channelLast
+                                : previousChannels.get(apId);
+                        if (bucket != null) {
+                            bucket.bind(insert);
+                            written++;
+                            if (++pending == BATCH_SIZE) {
+                                insert.executeBatch();
+                                pending = 0;
+                            }
+                        }
+                        bucket = new Bucket(apId, bucketStart, previous, source == null);
+                    }
+                    bucket.add(rs);
+                }
+            }
+            if (bucket != null) {
+                bucket.bind(insert);
+                written++;
+                pending++;
+            }
+            if (pending > 0) {
+                insert.executeBatch();
+            }
+        }
+        return written;
+    }
+    
+    private static Map<Long, Short> loadLastChannels(Connection connection, RollupLevel level, LocalDateTime bucketStart)
+            throws SQLException {
+        Map<Long, Short> channels = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT ap_id, channel_last FROM " + level.getTable() + " WHERE bucket_start = ?")) {
+            statement.setObject(1, bucketStart);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    short channel = rs.getShort(2);
+                    if (!rs.wasNull()) {
+                        channels.put(rs.getLong(1), channel);
+                    }
+                }
+            }
+        }
+        return channels;
+    }
+    
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+    
+    /**
+     * Acumulador de um bucket de um Access Point
+     */
+    private static final class Bucket {
+        private final long apId;
+        private final LocalDateTime start;
+        private final boolean countTransitions;
+        private int samples;
+        private Integer signalMin;
+        private Integer signalMax;
+        private long signalSum;
+        private long qualitySum;
+        private Short channelFirst;
+        private Short channelLast;
+        private int channelChanges;
+        
+        Bucket(long apId, LocalDateTime start, Short previousChannel, boolean countTransitions) {
+            this.apId = apId;
+            this.start = start;
+            this.channelLast = previousChannel;
+            this.countTransitions = countTransitions;
+        }
+        
+        void add(ResultSet rs) throws SQLException {
+            boolean firstRow = samples == 0;
+            samples += rs.getInt(3);
+            int min = rs.getInt(4);
+            if (!rs.wasNull()) {
+                signalMin = signalMin == null ? min : Math.min(signalMin, min);
+            }
+            int max = rs.getInt(5);
+            if (!rs.wasNull()) {
+                signalMax = signalMax == null ? max : Math.max(signalMax, max);
+            }
+            signalSum += rs.getLong(6);
+            qualitySum += rs.getLong(7);
+            
+            short first = rs.getShort(8);
+            Short firstChannel = rs.wasNull() ? null : first;
+            short last = rs.getShort(9);
+            Short lastChannel = rs.wasNull() ? null : last;
+            
+            if (countTransitions) {
+                // Observações brutas: compara com a leitura anterior (inclusive do bucket anterior)
+                if (firstChannel != null && channelLast != null && !firstChannel.equals(channelLast)) {
+                    channelChanges++;
+                }
+            } else {
+                // Buckets menores já contam a troca em relação ao bucket que os antecede
+                channelChanges += rs.getInt(10);
+            }
+            if (firstRow) {
+                channelFirst = firstChannel;
+            }
+            if (lastChannel != null) {
+                channelLast = lastChannel;
+            }
+        }
+        
+        void bind(PreparedStatement insert) throws SQLException {
+            insert.setLong(1, apId);
+            insert.setObject(2, start);
+            insert.setInt(3, samples);
+            setNullable(insert, 4, signalMin, Types.TINYINT);
+            setNullable(insert, 5, signalMax, Types.TINYINT);
+            insert.setLong(6, signalSum);
+            insert.setLong(7, qualitySum);
+            setNullable(insert, 8, channelFirst == null ? null : (int) channelFirst, Types.SMALLINT);
+            setNullable(insert, 9, channelLast == null ? null : (int) channelLast, Types.SMALLINT);
+            insert.setInt(10, Math.min(channelChanges, Short.MAX_VALUE));
+            insert.addBatch();
+        }
+        
+        private static void setNullable(PreparedStatement statement, int index, Integer value, int sqlType)
+                throws SQLException {
+            if (value == null) {
+                statement.setNull(index, sqlType);
+            } else {
+                statement.setInt(index, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package br.unitins.rollup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Níveis de agregação, do mais fino ao mais grosso
+ * Cada nível é calculado a partir do anterior; o primeiro, a partir das observações brutas
+ */
+public enum RollupLevel {
+    
+    MINUTE("1m", "ApRollup1m", "ap_rollup_1m", Duration.ofMinutes(1)),
+    QUARTER_HOUR("15m", "ApRollup15m", "ap_rollup_15m", Duration.ofMinutes(15)),
+    HOUR("1h", "ApRollup1h", "ap_rollup_1h", Duration.ofHours(1));
+    
+    private final String levelName;
+    private final String entityName;
+    private final String table;
+    private final Duration bucket;
+    
+    RollupLevel(String levelName, String entityName, String table, Duration bucket) {
+        this.levelName = levelName;
+        this.entityName = entityName;
+        this.table = table;
+        this.bucket = bucket;
+    }
+    
+    /**
+     * Início do bucket que contém o instante
+     */
+    public LocalDateTime floor(LocalDateTime time) {
+        LocalDateTime minute = time.truncatedTo(ChronoUnit.MINUTES);
+        long minutes = bucket.toMinutes();
+        return minute.minusMinutes((minute.getHour() * 60L + minute.getMinute()) % minutes);
+    }
+    
+    /**
+     * Nível de origem (null quando a origem são as observações brutas)
+     */
+    public RollupLevel source() {
+        return ordinal() == 0 ? null : values()[ordinal() - 1];
+    }
+    
+    /**
+     * Nível calculado a partir deste (null para o mais grosso)
+     */
+    public RollupLevel next() {
+        return ordinal() == values().length - 1 ? null : values()[ordinal() + 1];
+    }
+    
+    public static RollupLevel byName(String levelName) {
+        for (RollupLevel level : values()) {
+            if (level.levelName.equals(levelName)) {
+                return level;
+            }
+        }
+        return null;
+    }
+    
+    public String getLevelName() { return levelName; }
+    public String getEntityName() { return entityName; }
+    public String getTable() { return table; }
+    public Duration getBucket() { return bucket; }
+}
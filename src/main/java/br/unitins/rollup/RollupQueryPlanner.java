@@ -0,0 +1,67 @@
+package br.unitins.rollup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escolhe a fonte de cada trecho de uma consulta por período
+ * Usa o nível mais grosso que ainda entrega pelo menos {@code minPoints} buckets no período;
+ * o trecho posterior à marca d'água desse nível (ainda não agregado) é lido do nível mais fino
+ * seguinte, até as observações brutas, de modo que o resultado cubra o período inteiro.
+ */
+public class RollupQueryPlanner {
+    
+    /**
+     * Trecho do período e a fonte usada para lê-lo (level null = observações brutas)
+     */
+    public record Segment(RollupLevel level, LocalDateTime from, LocalDateTime to) {}
+    
+    private final int minPoints;
+    
+    /**
+     * @param minPoints Quantidade mínima de buckets por Access Point no período
+     */
+    public RollupQueryPlanner(int minPoints) {
+        this.minPoints = minPoints;
+    }
+    
+    /**
+     * Planeja a leitura de [start, end)
+     * @param start Início do período
+     * @param end Fim do período
+     * @param watermarks Marca d'água de cada nível disponível
+     * @return Trechos em ordem cronológica
+     */
+    public List<Segment> plan(LocalDateTime start, LocalDateTime end, Map<RollupLevel, LocalDateTime> watermarks) {
+        List<Segment> segments = new ArrayList<>();
+        if (!start.isBefore(end)) {
+            return segments;
+        }
+        
+        Duration window = Duration.between(start, end);
+        RollupLevel level = null;
+        for (RollupLevel candidate : RollupLevel.values()) {
+            if (window.dividedBy(candidate.getBucket()) >= minPoints) {
+                level = candidate;
+            }
+        }
+        
+        LocalDateTime from = start;
+        while (level != null && from.isBefore(end)) {
+            LocalDateTime watermark = watermarks.get(level);
+            if (watermark != null && watermark.isAfter(from)) {
+                LocalDateTime to = watermark.isBefore(end) ? watermark : end;
+                segments.add(new Segment(level, from, to));
+                from = to;
+            }
+            level = level.source();
+        }
+        if (from.isBefore(end)) {
+            segments.add(new Segment(null, from, end));
+        }
+        return segments;
+    }
+}
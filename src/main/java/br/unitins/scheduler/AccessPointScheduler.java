@@ -1,110 +1,145 @@
 package br.unitins.scheduler;
 
-import br.unitins.service.AccessPointPersistenceService;
-import org.quartz.*;
-import org.quartz.impl.StdSchedulerFactory;
+import br.unitins.concurrent.Executions;
+import br.unitins.config.SchedulerConfig;
+import br.unitins.service.ScanPipeline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 /**
  * Scheduler simplificado para escaneamento automático de Access Points
+ * Um único timer ({@link ScanTimer}) dispara os ciclos conforme scheduler.mode: taxa fixa,
+ * cron ou adaptativo. Os ciclos rodam no executor informado (por padrão uma thread por ciclo
+ * do modelo de execução configurado) e nunca se sobrepõem.
  */
 public class AccessPointScheduler {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(AccessPointScheduler.class);
-    private static final String SCAN_JOB_NAME = "AccessPointScanJob";
-    private static final String SCAN_TRIGGER_NAME = "AccessPointScanTrigger";
-    private static final String GROUP_NAME = "AccessPointGroup";
-    
-    private Scheduler scheduler;
-    
-    public AccessPointScheduler() {
-        try {
-            this.scheduler = StdSchedulerFactory.getDefaultScheduler();
-        } catch (SchedulerException e) {
-            logger.error("Erro ao inicializar scheduler: {}", e.getMessage());
-            throw new RuntimeException("Falha na inicialização do scheduler", e);
+    private static final long DRAIN_TIMEOUT_MS = 30000;
+
+    private final ScanPipeline pipeline;
+    private final Executor executor;
+    // Executor criado pelo próprio scheduler, encerrado no stop (null quando fornecido externamente)
+    private final ExecutorService ownedExecutor;
+    private final ScanSchedule schedule;
+    private volatile ScanTimer timer;
+
+    public AccessPointScheduler(ScanPipeline pipeline) {
+        this(pipeline, null);
+    }
+
+    /**
+     * @param pipeline Pipeline de escaneamento
+     * @param executor Executor dos ciclos (null para uma thread por ciclo do modelo de execução configurado)
+     */
+    public AccessPointScheduler(ScanPipeline pipeline, Executor executor) {
+        this.pipeline = pipeline;
+        this.ownedExecutor = executor == null ? Executors.newThreadPerTaskExecutor(Executions.threadFactory("scan-job")) : null;
+        this.executor = executor != null ? executor : ownedExecutor;
+        this.schedule = createSchedule(pipeline);
+    }
+
+    private static ScanSchedule createSchedule(ScanPipeline pipeline) {
+        SchedulerConfig config = SchedulerConfig.getInstance();
+        switch (config.getMode()) {
+            case CRON:
+                return new CronSchedule(config.getCron());
+            case ADAPTIVE:
+                AdaptiveScanInterval interval = new AdaptiveScanInterval(config.getIntervalMs(),
+                        config.getMinIntervalMs(), config.getMaxIntervalMs(), config.getBackoffFactor(),
+                        config.getChurnThreshold(), config.getSignalChangeDbm());
+                pipeline.setScanListener(interval::onScan);
+                return ScanSchedule.adaptive(interval);
+            case FIXED_RATE:
+            default:
+                return ScanSchedule.fixedRate(config.getIntervalMs());
         }
     }
-    
+
     /**
-     * Inicia o scheduler com escaneamento a cada 1 minuto
+     * Inicia o escaneamento automático conforme scheduler.mode
      */
-    public void start() throws SchedulerException {
-        if (scheduler.isStarted()) {
+    public synchronized void start() {
+        if (timer != null) {
             logger.warn("Scheduler já está iniciado");
             return;
         }
-        
-        // Define o job de escaneamento
-        JobDetail scanJob = JobBuilder.newJob(ScanJob.class)
-                .withIdentity(SCAN_JOB_NAME, GROUP_NAME)
-                .build();
-        
-        // Define o trigger para executar a cada 1 minuto
-        Trigger scanTrigger = TriggerBuilder.newTrigger()
-                .withIdentity(SCAN_TRIGGER_NAME, GROUP_NAME)
-                .startNow()
-                .withSchedule(SimpleScheduleBuilder.simpleSchedule()
-                        .withIntervalInMinutes(1)
-                        .repeatForever())
-                .build();
-        
-        // Agenda o job
-        scheduler.scheduleJob(scanJob, scanTrigger);
-        scheduler.start();
-        
-        logger.info("Scheduler iniciado - escaneamento automático a cada 1 minuto");
+
+        SchedulerConfig config = SchedulerConfig.getInstance();
+        timer = new ScanTimer(pipeline::runCycle, schedule, executor, config.getMisfirePolicy(),
+                config.getMisfireThresholdMs(), pipeline.getStats());
+        timer.start();
+
+        logger.info("Scheduler iniciado - escaneamento automático {}", schedule.describe());
+    }
+
+    /**
+     * Intervalo atual entre escaneamentos automáticos
+     * @return Intervalo em milissegundos
+     */
+    public long getIntervalMs() {
+        return schedule.getIntervalMs();
     }
-    
+
+    /**
+     * Descrição da agenda atual (ex.: "a cada 60 s")
+     */
+    public String describeSchedule() {
+        return schedule.describe();
+    }
+
     /**
-     * Para o scheduler
+     * Para o scheduler, drenando os ciclos em andamento antes de encerrar o pipeline
      */
-    public void stop() throws SchedulerException {
-        if (scheduler != null && scheduler.isStarted()) {
-            scheduler.shutdown(true);
+    public synchronized void stop() {
+        if (isRunning()) {
+            timer.shutdown();
+            try {
+                pipeline.drain(DRAIN_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrompido aguardando ciclos de escaneamento em andamento");
+            }
+            if (ownedExecutor != null) {
+                ownedExecutor.shutdown();
+            }
+            pipeline.stop();
             logger.info("Scheduler parado");
         }
     }
-    
+
     /**
      * Verifica se o scheduler está rodando
      */
-    public boolean isRunning() throws SchedulerException {
-        return scheduler != null && scheduler.isStarted() && !scheduler.isShutdown();
+    public boolean isRunning() {
+        ScanTimer current = timer;
+        return current != null && !current.isShutdown();
     }
-    
+
     /**
-     * Adiciona hook de shutdown para parar o scheduler graciosamente
+     * Adiciona o hook de shutdown da aplicação: para o scheduler graciosamente e, só depois que
+     * o pipeline parou, executa o encerramento informado
+     * Um único hook mantém a ordem; a JVM executa hooks distintos em paralelo
+     * @param afterStop Encerramento dos recursos usados pelo pipeline (repositório, pool de conexões)
      */
-    public void addShutdownHook() {
+    public void addShutdownHook(Runnable afterStop) {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             try {
                 if (isRunning()) {
                     stop();
                 }
-            } catch (SchedulerException e) {
+            } catch (Exception e) {
                 logger.error("Erro ao parar scheduler no shutdown: {}", e.getMessage());
             }
-        }));
-    }
-    
-    /**
-     * Job interno para execução do escaneamento
-     */
-    public static class ScanJob implements Job {
-        private static final Logger jobLogger = LoggerFactory.getLogger(ScanJob.class);
-        
-        @Override
-        public void execute(JobExecutionContext context) throws JobExecutionException {
             try {
-                AccessPointPersistenceService service = new AccessPointPersistenceService();
-                service.scanAndPersist();
-                
+                afterStop.run();
             } catch (Exception e) {
-                jobLogger.error("Erro durante escaneamento automático: {}", e.getMessage());
-                throw new JobExecutionException("Falha no escaneamento automático", e);
+                logger.error("Erro durante shutdown: {}", e.getMessage());
             }
-        }
+        }));
     }
-} 
\ No newline at end of file
+}
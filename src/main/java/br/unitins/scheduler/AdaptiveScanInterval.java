@@ -0,0 +1,125 @@
+package br.unitins.scheduler;
+
+import br.unitins.metrics.Metrics;
+import br.unitins.model.AccessPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Intervalo de escaneamento adaptativo
+ * Compara cada escaneamento com o anterior: a mudança (churn) é a fração de Access Points
+ * novos, sumidos ou com variação de sinal acima do limite. Com mudança acima do limite o
+ * intervalo volta ao mínimo; com o ambiente estável ele cresce pelo fator de recuo até o máximo.
+ */
+public class AdaptiveScanInterval implements AdaptiveScanIntervalMXBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveScanInterval.class);
+    private static final String METRICS_TYPE = "AdaptiveScanInterval";
+    
+    private final long minIntervalMs;
+    private final long maxIntervalMs;
+    private final double backoffFactor;
+    private final double churnThreshold;
+    private final int signalChangeDbm;
+    
+    // Sinal de cada Access Point no escaneamento anterior (null antes do primeiro)
+    private Map<String, Integer> previous;
+    private long intervalMs;
+    private double lastChurn;
+    private long churnScans;
+    private long stableScans;
+    
+    /**
+     * @param initialIntervalMs Intervalo inicial (limitado a [min, max])
+     * @param minIntervalMs Menor intervalo, usado quando o ambiente está mudando
+     * @param maxIntervalMs Maior intervalo, alcançado com o ambiente estável
+     * @param backoffFactor Multiplicador do intervalo a cada escaneamento estável
+     * @param churnThreshold Fração de Access Points alterados que caracteriza mudança
+     * @param signalChangeDbm Variação de sinal (dBm) que conta um Access Point como alterado
+     */
+    public AdaptiveScanInterval(long initialIntervalMs, long minIntervalMs, long maxIntervalMs,
+                                double backoffFactor, double churnThreshold, int signalChangeDbm) {
+        this.minIntervalMs = minIntervalMs;
+        this.maxIntervalMs = maxIntervalMs;
+        this.backoffFactor = backoffFactor;
+        this.churnThreshold = churnThreshold;
+        this.signalChangeDbm = signalChangeDbm;
+        this.intervalMs = Math.max(minIntervalMs, Math.min(maxIntervalMs, initialIntervalMs));
+        Metrics.register(METRICS_TYPE, this);
+    }
+    
+    /**
+     * Registra o resultado de um escaneamento e recalcula o intervalo
+     * @param accessPoints Access Points do escaneamento
+     */
+    public synchronized void onScan(List<AccessPoint> accessPoints) {
+        Map<String, Integer> current = new HashMap<>(accessPoints.size() * 2);
+        for (AccessPoint accessPoint : accessPoints) {
+            current.put(accessPoint.getMacAddress(), accessPoint.getSignalLevel());
+        }
+        if (previous == null) {
+            previous = current;
+            return;
+        }
+        
+        int changed = 0;
+        for (Map.Entry<String, Integer> entry : current.entrySet()) {
+            Integer before = previous.get(entry.getKey());
+            if (before == null || Math.abs(entry.getValue() - before) >= signalChangeDbm) {
+                changed++;
+            }
+        }
+        int vanished = 0;
+        for (String mac : previous.keySet()) {
+            if (!current.containsKey(mac)) {
+                vanished++;
+            }
+        }
+        // Denominador: união dos dois escaneamentos
+        int total = current.size() + vanished;
+        lastChurn = total == 0 ? 0.0 : (double) (changed + vanished) / total;
+        previous = current;
+        
+        long before = intervalMs;
+        if (lastChurn >= churnThreshold) {
+            churnScans++;
+            intervalMs = minIntervalMs;
+        } else {
+            stableScans++;
+            intervalMs = Math.min(maxIntervalMs, Math.round(intervalMs * backoffFactor));
+        }
+        if (intervalMs != before) {
+            logger.info("Intervalo de escaneamento: {} ms -> {} ms (mudança {}%)", before, intervalMs,
+                    Math.round(lastChurn * 100));
+        }
+    }
+    
+    @Override
+    public synchronized long getIntervalMs() {
+        return intervalMs;
+    }
+    
+    @Override
+    public synchronized double getScansPerMinute() {
+        return 60000.0 / intervalMs;
+    }
+    
+    @Override
+    public synchronized double getLastChurn() {
+        return lastChurn;
+    }
+    
+    @Override
+    public synchronized long getChurnScanCount() {
+        return churnScans;
+    }
+    
+    @Override
+    public synchronized long getStableScanCount() {
+        return stableScans;
+    }
+}
@@ -0,0 +1,22 @@
+package br.unitins.scheduler;
+
+/**
+ * Métricas do intervalo adaptativo de escaneamento expostas via JMX
+ */
+public interface AdaptiveScanIntervalMXBean {
+    
+    /** Intervalo atual entre escaneamentos automáticos (ms) */
+    long getIntervalMs();
+    
+    /** Taxa efetiva de escaneamento (escaneamentos por minuto) */
+    double getScansPerMinute();
+    
+    /** Fração de Access Points novos, sumidos ou com grande variação de sinal no último escaneamento */
+    double getLastChurn();
+    
+    /** Escaneamentos com mudança acima do limite (intervalo reduzido ao mínimo) */
+    long getChurnScanCount();
+    
+    /** Escaneamentos estáveis (intervalo aumentado) */
+    long getStableScanCount();
+}
@@ -0,0 +1,153 @@
+package br.unitins.scheduler;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+/**
+ * Agenda no estilo cron: "minuto hora dia-do-mês mês dia-da-semana", com um campo opcional de
+ * segundos no início (6 campos). Cada campo aceita *, valores, listas (1,15), intervalos (1-5)
+ * e passos (*&#47;5, 10-50/10); dia da semana de 0 a 7 (0 e 7 = domingo). Como no cron, com
+ * dia do mês e dia da semana restritos basta um dos dois coincidir.
+ */
+final class CronSchedule implements ScanSchedule {
+    
+    // Limite de busca: nenhuma expressão válida fica mais de 5 anos sem disparo (29 de fevereiro)
+    private static final int MAX_YEARS = 5;
+    
+    private final String expression;
+    private final ZoneId zone;
+    private final BitSet seconds;
+    private final BitSet minutes;
+    private final BitSet hours;
+    private final BitSet daysOfMonth;
+    private final BitSet months;
+    private final BitSet daysOfWeek;
+    private final boolean dayOfMonthRestricted;
+    private final boolean dayOfWeekRestricted;
+    
+    /**
+     * @param expression Expressão de 5 ou 6 campos
+     * @throws IllegalArgumentException se a expressão for inválida
+     */
+    CronSchedule(String expression) {
+        this(expression, ZoneId.systemDefault());
+    }
+    
+    /**
+     * @param expression Expressão de 5 ou 6 campos
+     * @param zone Fuso em que a expressão é avaliada
+     * @throws IllegalArgumentException se a expressão for inválida
+     */
+    CronSchedule(String expression, ZoneId zone) {
+        this.zone = zone;
+        this.expression = expression.trim();
+        String[] fields = this.expression.split("\\s+");
+        if (fields.length != 5 && fields.length != 6) {
+            throw new IllegalArgumentException("Expressão cron deve ter 5 ou 6 campos: " + expression);
+        }
+        int offset = fields.length - 5;
+        this.seconds = offset == 1 ? parse(fields[0], 0, 59) : parse("0", 0, 59);
+        this.minutes = parse(fields[offset], 0, 59);
+        this.hours = parse(fields[offset + 1], 0, 23);
+        this.daysOfMonth = parse(fields[offset + 2], 1, 31);
+        this.months = parse(fields[offset + 3], 1, 12);
+        this.daysOfWeek = parse(fields[offset + 4], 0, 7);
+        if (daysOfWeek.get(7)) {
+            daysOfWeek.set(0);
+        }
+        this.dayOfMonthRestricted = !fields[offset + 2].equals("*");
+        this.dayOfWeekRestricted = !fields[offset + 4].equals("*");
+    }
+    
+    private static BitSet parse(String field, int min, int max) {
+        BitSet values = new BitSet(max + 1);
+        for (String part : field.split(",")) {
+            int step = 1;
+            String range = part;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = Integer.parseInt(part.substring(slash + 1));
+                range = part.substring(0, slash);
+            }
+            int from;
+            int to;
+            if (range.equals("*")) {
+                from = min;
+                to = max;
+            } else if (range.contains("-")) {
+                String[] bounds = range.split("-", 2);
+                from = Integer.parseInt(bounds[0]);
+                to = Integer.parseInt(bounds[1]);
+            } else {
+                from = Integer.parseInt(range);
+                to = slash >= 0 ? max : from;
+            }
+            if (from < min || to > max || from > to || step < 1) {
+                throw new IllegalArgumentException("Campo cron inválido: " + field);
+            }
+            for (int value = from; value <= to; value += step) {
+                values.set(value);
+            }
+        }
+        return values;
+    }
+    
+    @Override
+    public long firstFireTime(long now) {
+        return next(now);
+    }
+    
+    @Override
+    public long nextFireTime(long previousFireTime, long now) {
+        return next(previousFireTime);
+    }
+    
+    /**
+     * Primeiro horário que satisfaz a expressão estritamente depois de after
+     */
+    private long next(long after) {
+        LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(after), zone)
+                .truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        LocalDateTime limit = time.plusYears(MAX_YEARS);
+        
+        while (time.isBefore(limit)) {
+            if (!months.get(time.getMonthValue())) {
+                time = time.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS).plusMonths(1);
+            } else if (!dayMatches(time)) {
+                time = time.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+            } else if (!hours.get(time.getHour())) {
+                time = time.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            } else if (!minutes.get(time.getMinute())) {
+                time = time.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+            } else if (!seconds.get(time.getSecond())) {
+                time = time.plusSeconds(1);
+            } else {
+                return time.atZone(zone).toInstant().toEpochMilli();
+            }
+        }
+        throw new IllegalStateException("Expressão cron sem disparos: " + expression);
+    }
+    
+    private boolean dayMatches(LocalDateTime time) {
+        boolean dayOfMonth = daysOfMonth.get(time.getDayOfMonth());
+        boolean dayOfWeek = daysOfWeek.get(time.getDayOfWeek().getValue() % 7);
+        if (dayOfMonthRestricted && dayOfWeekRestricted) {
+            return dayOfMonth || dayOfWeek;
+        }
+        return dayOfMonth && dayOfWeek;
+    }
+    
+    @Override
+    public long getIntervalMs() {
+        long first = next(System.currentTimeMillis());
+        return next(first) - first;
+    }
+    
+    @Override
+    public String describe() {
+        return "cron \"" + expression + "\"";
+    }
+}
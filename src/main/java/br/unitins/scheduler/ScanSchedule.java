@@ -0,0 +1,77 @@
+package br.unitins.scheduler;
+
+/**
+ * Regra que define os horários de disparo do escaneamento automático (epoch millis)
+ */
+interface ScanSchedule {
+    
+    /**
+     * Horário do primeiro disparo
+     * @param now Horário atual
+     */
+    default long firstFireTime(long now) {
+        return now;
+    }
+    
+    /**
+     * Horário do disparo seguinte, calculado ao fim de cada ciclo
+     * @param previousFireTime Horário agendado do disparo anterior
+     * @param now Horário atual (fim do ciclo)
+     */
+    long nextFireTime(long previousFireTime, long now);
+    
+    /**
+     * Intervalo atual entre disparos (aproximado no modo cron)
+     */
+    long getIntervalMs();
+    
+    /**
+     * Descrição para os logs
+     */
+    String describe();
+    
+    /**
+     * Taxa fixa: disparos a cada intervalo, contados a partir do disparo anterior
+     */
+    static ScanSchedule fixedRate(long intervalMs) {
+        return new ScanSchedule() {
+            @Override
+            public long nextFireTime(long previousFireTime, long now) {
+                return previousFireTime + intervalMs;
+            }
+            
+            @Override
+            public long getIntervalMs() {
+                return intervalMs;
+            }
+            
+            @Override
+            public String describe() {
+                return "a cada " + intervalMs / 1000 + " s";
+            }
+        };
+    }
+    
+    /**
+     * Adaptativo: o intervalo atual conta a partir do fim do ciclo anterior, de modo que uma
+     * redução do intervalo vale já para o próximo disparo
+     */
+    static ScanSchedule adaptive(AdaptiveScanInterval interval) {
+        return new ScanSchedule() {
+            @Override
+            public long nextFireTime(long previousFireTime, long now) {
+                return now + interval.getIntervalMs();
+            }
+            
+            @Override
+            public long getIntervalMs() {
+                return interval.getIntervalMs();
+            }
+            
+            @Override
+            public String describe() {
+                return "adaptativo, a cada " + interval.getIntervalMs() / 1000 + " s";
+            }
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package br.unitins.scheduler;
+
+import br.unitins.concurrent.Executions;
+import br.unitins.config.SchedulerConfig.MisfirePolicy;
+import br.unitins.service.ScanCycleStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer do escaneamento automático em uma única thread
+ * O timer apenas dispara: o ciclo roda no executor informado e o próximo disparo só é agendado
+ * quando o ciclo termina, de modo que dois ciclos nunca se sobrepõem. Se o horário do próximo
+ * disparo já passou além do limite de misfire, o disparo conta como perdido e segue a política:
+ * SKIP avança até o próximo horário futuro da agenda; COALESCE dispara uma única vez imediatamente.
+ */
+final class ScanTimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScanTimer.class);
+
+    private final Runnable job;
+    private final ScanSchedule schedule;
+    private final Executor executor;
+    private final MisfirePolicy misfirePolicy;
+    private final long misfireThresholdMs;
+    private final ScanCycleStats stats;
+    private final ScheduledExecutorService timer = Executions.newSingleThreadScheduledExecutor("scan-timer");
+
+    /**
+     * @param job Ciclo de escaneamento
+     * @param schedule Agenda dos disparos
+     * @param executor Executor em que cada ciclo roda
+     * @param misfirePolicy Política de disparos perdidos
+     * @param misfireThresholdMs Atraso a partir do qual um disparo conta como perdido
+     * @param stats Métricas dos ciclos (disparos perdidos e atrasos de início)
+     */
+    ScanTimer(Runnable job, ScanSchedule schedule, Executor executor, MisfirePolicy misfirePolicy,
+              long misfireThresholdMs, ScanCycleStats stats) {
+        this.job = job;
+        this.schedule = schedule;
+        this.executor = executor;
+        this.misfirePolicy = misfirePolicy;
+        this.misfireThresholdMs = misfireThresholdMs;
+        this.stats = stats;
+    }
+
+    void start() {
+        long now = System.currentTimeMillis();
+        scheduleAt(schedule.firstFireTime(now), now);
+    }
+
+    /**
+     * Cancela os disparos pendentes; um ciclo em andamento não é interrompido
+     */
+    void shutdown() {
+        timer.shutdownNow();
+    }
+
+    boolean isShutdown() {
+        return timer.isShutdown();
+    }
+
+    private void scheduleAt(long fireTime, long now) {
+        try {
+            timer.schedule(() -> fire(fireTime), Math.max(0, fireTime - now), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Timer encerrado durante o ciclo
+        }
+    }
+
+    private void fire(long scheduledTime) {
+        stats.recordStartDelay(System.currentTimeMillis() - scheduledTime);
+        try {
+            executor.execute(() -> {
+                try {
+                    job.run();
+                } catch (Exception e) {
+                    logger.error("Erro durante escaneamento automático: {}", e.getMessage());
+                } finally {
+                    scheduleNext(scheduledTime);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (!timer.isShutdown()) {
+                logger.error("Executor recusou o ciclo de escaneamento: {}", e.getMessage());
+                scheduleNext(scheduledTime);
+            }
+        }
+    }
+
+    private void scheduleNext(long previousFireTime) {
+        if (timer.isShutdown()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long next = schedule.nextFireTime(previousFireTime, now);
+
+        if (now - next > misfireThresholdMs) {
+            stats.recordMisfire();
+            logger.warn("Disparo do escaneamento perdido: ciclo anterior ainda em andamento ({})", misfirePolicy);
+            switch (misfirePolicy) {
+                case COALESCE:
+                    next = now;
+                    break;
+                case SKIP:
+                default:
+                    while (next <= now) {
+                        next = schedule.nextFireTime(next, now);
+                    }
+                    break;
+            }
+        }
+        scheduleAt(next, now);
+    }
+}
@@ -1,15 +1,30 @@
 package br.unitins.service;
 
+import br.unitins.concurrent.Executions;
+import br.unitins.config.PersistenceConfig;
+import br.unitins.config.SchedulerConfig;
+import br.unitins.config.StartupConfig;
 import br.unitins.database.DatabaseManager;
+import br.unitins.database.PartitionMaintenance;
 import br.unitins.model.AccessPoint;
 import br.unitins.model.AccessPointEntity;
+import br.unitins.persistence.DeltaFilter;
+import br.unitins.persistence.MappedSpool;
+import br.unitins.persistence.SpillStore;
+import br.unitins.persistence.SpoolReplayer;
+import br.unitins.persistence.WriteBehindBuffer;
 import br.unitins.repository.AccessPointRepository;
+import br.unitins.repository.AccessPointRepositoryFactory;
+import br.unitins.rollup.RollupJob;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Serviço simplificado de persistência para Access Points
@@ -18,84 +33,265 @@ import java.util.stream.Collectors;
 public class AccessPointPersistenceService {
     
     private static final Logger logger = LoggerFactory.getLogger(AccessPointPersistenceService.class);
+    private static final long CLOSE_TIMEOUT_MS = 30000;
     
     private final HotspotDetectorService hotspotDetectorService;
     private final AccessPointRepository repository;
+    private final SpillStore spool;
+    private final LatestAccessPointIndex latestIndex;
+    private final ScanPipeline pipeline;
     
     public AccessPointPersistenceService() {
-        this.hotspotDetectorService = new HotspotDetectorService();
-        this.repository = new AccessPointRepository();
+        this.repository = AccessPointRepositoryFactory.createRepository();
+        this.spool = createSpool();
         
-        // Inicializa o banco de dados e testa a conexão
-        initializeDatabase();
+        this.latestIndex = new LatestAccessPointIndex(PersistenceConfig.getInstance().getLatestTtlMs());
+        
+        StartupConfig startup = StartupConfig.getInstance();
+        boolean databaseAvailable;
+        if (startup.isParallel()) {
+            // Pool de conexões (e JPA, se imediato) sobe em paralelo com a detecção da interface Wi-Fi
+            try (ExecutorService scope = Executions.newCycleScope("startup")) {
+                Future<Boolean> database = scope.submit(this::initializeDatabase);
+                this.hotspotDetectorService = new HotspotDetectorService();
+                databaseAvailable = awaitDatabase(database);
+            }
+        } else {
+            this.hotspotDetectorService = new HotspotDetectorService();
+            databaseAvailable = initializeDatabase();
+        }
+        
+        if (databaseAvailable) {
+            if (startup.isLazyJpa()) {
+                // A carga do índice é o primeiro acesso ao JPA: fica fora do caminho até o menu
+                Executions.start("index-warmup", this::warmUpLatestIndex);
+            } else {
+                warmUpLatestIndex();
+            }
+        }
+        
+        // Pipeline reutilizado por todos os ciclos de escaneamento
+        this.pipeline = new ScanPipeline(hotspotDetectorService, repository, createWriteBehindBuffer(),
+                spool, createSpoolReplayer(), createDeltaFilter(), latestIndex,
+                SchedulerConfig.getInstance().getCycleDeadlineMs());
+        this.pipeline.start();
+        
+        startPartitionMaintenance();
+        startRollups();
     }
     
-    private void initializeDatabase() {
+    /**
+     * Carrega no índice em memória o último estado gravado de cada Access Point,
+     * para que o monitoramento já tenha dados antes do primeiro escaneamento
+     */
+    private void warmUpLatestIndex() {
+        try {
+            latestIndex.update(repository.findLatest().stream()
+                    .map(AccessPointEntity::toAccessPoint)
+                    .collect(Collectors.toList()));
+            logger.info("Índice de Access Points carregado com {} entradas", latestIndex.size());
+        } catch (Exception e) {
+            logger.warn("Não foi possível carregar o índice de Access Points do banco: {}", e.getMessage());
+        }
+    }
+    
+    private void startRollups() {
+        PersistenceConfig config = PersistenceConfig.getInstance();
+        if (!config.isRollupEnabled()) {
+            return;
+        }
+        if (isEmbedded()) {
+            logger.warn("Agregações (persistence.rollup) não se aplicam ao armazenamento embarcado; ignoradas");
+            return;
+        }
+        new RollupJob(config.getRollupGraceMs(), config.getRollupMaxChunkHours()).start(config.getRollupIntervalMs());
+    }
+    
+    private void startPartitionMaintenance() {
+        PersistenceConfig config = PersistenceConfig.getInstance();
+        if (!config.isPartitioningEnabled()) {
+            return;
+        }
+        if (isEmbedded()) {
+            // A retenção do armazenamento embarcado é persistence.embedded.retention-days
+            logger.warn("Particionamento (persistence.partitioning) não se aplica ao armazenamento embarcado; ignorado");
+            return;
+        }
+        // Cria as partições futuras e aplica a retenção agora e a cada intervalo (em segundo plano)
+        new PartitionMaintenance(config.getPartitionGranularity(), config.getPartitionPeriodsAhead(),
+                config.getRetentionDays()).start(config.getPartitionMaintenanceIntervalHours());
+    }
+    
+    private SpillStore createSpool() {
+        PersistenceConfig config = PersistenceConfig.getInstance();
+        if (!config.isSpoolEnabled() && config.getOverflowPolicy() != PersistenceConfig.OverflowPolicy.SPILL) {
+            return null;
+        }
+        
+        try {
+            return new MappedSpool(config.getSpoolDirectory(), config.getSpoolSegmentSizeMb() * 1024 * 1024);
+        } catch (Exception e) {
+            logger.error("Erro ao abrir spool local: {}", e.getMessage());
+            throw new RuntimeException("Falha na inicialização do spool local", e);
+        }
+    }
+    
+    private SpoolReplayer createSpoolReplayer() {
+        if (spool == null) {
+            return null;
+        }
+        PersistenceConfig config = PersistenceConfig.getInstance();
+        return new SpoolReplayer(spool, repository::saveAll, AccessPointPersistenceService::isDatabaseAvailable,
+                config.getSpoolReplayBatchSize(), config.getSpoolReplayIntervalMs());
+    }
+    
+    private DeltaFilter createDeltaFilter() {
+        PersistenceConfig config = PersistenceConfig.getInstance();
+        if (!config.isDeltaEnabled()) {
+            return null;
+        }
+        return new DeltaFilter(config.getDeltaSignalThreshold(), config.getDeltaQualityThreshold(),
+                config.getDeltaHeartbeatMs());
+    }
+    
+    private WriteBehindBuffer createWriteBehindBuffer() {
+        PersistenceConfig config = PersistenceConfig.getInstance();
+        if (!config.isWriteBehindEnabled()) {
+            return null;
+        }
+        
+        try {
+            return new WriteBehindBuffer(repository::saveAll,
+                    config.getWriteBehindCapacity(),
+                    config.getWriteBehindBatchSize(),
+                    config.getWriteBehindFlushIntervalMs(),
+                    config.getWriteBehindBlockTimeoutMs(),
+                    config.getOverflowPolicy(),
+                    spool);
+        } catch (Exception e) {
+            logger.error("Erro ao criar write-behind: {}", e.getMessage());
+            throw new RuntimeException("Falha na inicialização do write-behind", e);
+        }
+    }
+    
+    /**
+     * @return true se o banco está disponível (false quando operando offline com spool)
+     */
+    private boolean initializeDatabase() {
+        if (isEmbedded()) {
+            logger.info("Armazenamento embarcado: banco de dados não utilizado");
+            return true;
+        }
         try {
             DatabaseManager databaseManager = DatabaseManager.getInstance();
-            databaseManager.addShutdownHook();
             
             if (databaseManager.testConnection()) {
                 logger.info("Conexão com banco de dados estabelecida com sucesso");
+                return true;
             } else {
                 throw new RuntimeException("Falha ao conectar com o banco de dados");
             }
             
         } catch (Exception e) {
+            if (spool != null) {
+                // Sem banco o sensor continua escaneando; o spool guarda os dados até a conexão voltar
+                logger.warn("Banco de dados indisponível ({}). Operando offline com spool local", e.getMessage());
+                return false;
+            }
             logger.error("Erro ao inicializar banco de dados: {}", e.getMessage());
             throw new RuntimeException("Falha na inicialização do banco de dados", e);
         }
     }
     
+    private static boolean awaitDatabase(Future<Boolean> database) {
+        try {
+            return Executions.await(database);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Inicialização do banco de dados interrompida", e);
+        } catch (Exception e) {
+            throw new RuntimeException("Falha na inicialização do banco de dados", e);
+        }
+    }
+    
+    private static boolean isDatabaseAvailable() {
+        if (isEmbedded()) {
+            return true;
+        }
+        try {
+            return DatabaseManager.getInstance().testConnection();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+    
+    private static boolean isEmbedded() {
+        return PersistenceConfig.getInstance().getBackend() == PersistenceConfig.Backend.EMBEDDED;
+    }
+    
     /**
      * Escaneia Access Points e persiste no banco de dados
      * @return Lista de Access Points escaneados e salvos
      */
     public List<AccessPointEntity> scanAndPersist() {
-        try {
-            logger.info("Iniciando escaneamento e persistência de Access Points...");
-            
-            // Escaneia Access Points
-            List<AccessPoint> accessPoints = hotspotDetectorService.scanAccessPoints();
-            
-            if (accessPoints.isEmpty()) {
-                logger.warn("Nenhum Access Point encontrado no escaneamento");
-                return List.of();
+        return pipeline.runCycle();
+    }
+    
+    /**
+     * Encerra a persistência em ordem: o pipeline drena os ciclos em andamento e o write-behind
+     * antes que o repositório (armazenamento embarcado) e o pool de conexões sejam fechados, para
+     * que nenhuma observação já aceita seja perdida
+     */
+    public void close() {
+        if (pipeline.getState() != ScanPipeline.State.STOPPED) {
+            try {
+                pipeline.drain(CLOSE_TIMEOUT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrompido aguardando ciclos de escaneamento em andamento");
             }
-            
-            // Converte para entidades
-            List<AccessPointEntity> entities = accessPoints.stream()
-                    .map(AccessPointEntity::new)
-                    .collect(Collectors.toList());
-            
-            // Salva no banco de dados
-            List<AccessPointEntity> savedEntities = repository.saveAll(entities);
-            
-            logger.info("Escaneamento concluído: {} Access Points salvos no banco de dados", 
-                    savedEntities.size());
-            
-            return savedEntities;
-            
-        } catch (Exception e) {
-            logger.error("Erro durante escaneamento e persistência: {}", e.getMessage());
-            throw new RuntimeException("Falha no escaneamento e persistência", e);
+            pipeline.stop();
+        }
+        repository.close();
+        if (!isEmbedded()) {
+            DatabaseManager.shutdownInstance();
         }
     }
     
     /**
-     * Obtém os Access Points mais recentes do banco de dados
-     * @return Lista de Access Points mais recentes
+     * Retorna o pipeline de escaneamento compartilhado com o scheduler
+     * @return Pipeline de escaneamento
+     */
+    public ScanPipeline getPipeline() {
+        return pipeline;
+    }
+    
+    /**
+     * Obtém o último estado de cada Access Point ativo, do índice em memória (sem consultar o banco)
+     * @return Access Points ordenados pela qualidade do link, do melhor para o pior
      */
     public List<AccessPoint> getLatestAccessPoints() {
-        try {
-            List<AccessPointEntity> entities = repository.findLatest();
-            return entities.stream()
-                    .map(AccessPointEntity::toAccessPoint)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            logger.error("Erro ao buscar Access Points mais recentes: {}", e.getMessage());
-            throw new RuntimeException("Falha ao buscar dados do banco", e);
-        }
+        return getLatestAccessPoints(LatestAccessPointIndex.SortOrder.QUALITY);
+    }
+    
+    /**
+     * Obtém o último estado de cada Access Point ativo, do índice em memória
+     * @param order Ordenação (qualidade, canal ou SSID)
+     * @return Access Points ordenados
+     */
+    public List<AccessPoint> getLatestAccessPoints(LatestAccessPointIndex.SortOrder order) {
+        return latestIndex.sorted(order);
+    }
+    
+    /**
+     * Obtém o último estado de um Access Point
+     * @param macAddress BSSID
+     * @return Access Point ou null se não observado recentemente
+     */
+    public AccessPoint getLatestAccessPoint(String macAddress) {
+        return latestIndex.get(macAddress);
     }
     
     /**
@@ -105,14 +301,24 @@ public class AccessPointPersistenceService {
      * @return Lista de Access Points encontrados
      */
     public List<AccessPoint> getAccessPointsByPeriod(LocalDateTime startTime, LocalDateTime endTime) {
-        try {
-            List<AccessPointEntity> entities = repository.findByPeriod(startTime, endTime);
-            return entities.stream()
-                    .map(AccessPointEntity::toAccessPoint)
-                    .collect(Collectors.toList());
+        try (Stream<AccessPoint> accessPoints = streamAccessPointsByPeriod(startTime, endTime)) {
+            return accessPoints.collect(Collectors.toList());
         } catch (Exception e) {
             logger.error("Erro ao buscar Access Points por período: {}", e.getMessage());
             throw new RuntimeException("Falha ao buscar dados do banco", e);
         }
     }
+    
+    /**
+     * Percorre os Access Points de um período sem carregá-los todos em memória
+     * Indicado para exportações e relatórios sobre muitas linhas; as páginas são lidas
+     * do banco conforme o stream é consumido
+     * @param startTime Data/hora inicial
+     * @param endTime Data/hora final
+     * @return Stream de Access Points, do mais recente para o mais antigo
+     */
+    public Stream<AccessPoint> streamAccessPointsByPeriod(LocalDateTime startTime, LocalDateTime endTime) {
+        return repository.streamByPeriod(startTime, endTime)
+                .map(AccessPointEntity::toAccessPoint);
+    }
 } 
\ No newline at end of file
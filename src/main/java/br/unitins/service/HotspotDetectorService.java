@@ -1,6 +1,7 @@
 package br.unitins.service;
 
 import br.unitins.model.AccessPoint;
+import br.unitins.model.MacAddressCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,6 +32,12 @@ public class HotspotDetectorService {
         logger.info("Iniciando escaneamento de Access Points...");
         
         List<AccessPoint> accessPoints = detector.scanAccessPoints();
+        for (AccessPoint ap : accessPoints) {
+            long key = MacAddressCodec.keyOf(ap.getSsid(), ap.getMacAddress(), ap.getInterfaceName());
+            if (key != MacAddressCodec.pack(ap.getMacAddress())) {
+                ap.setMacAddress(MacAddressCodec.unpack(key));
+            }
+        }
         
         logger.info("Escaneamento concluído. {} Access Points encontrados", accessPoints.size());
         
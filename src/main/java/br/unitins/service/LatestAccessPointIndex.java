@@ -0,0 +1,138 @@
+package br.unitins.service;
+
+import br.unitins.model.AccessPoint;
+import br.unitins.model.MacAddressCodec;
+import br.unitins.model.PackedObservations;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice em memória do último estado de cada Access Point, por BSSID
+ * Atualizado diretamente pelos escaneamentos e carregado do banco na inicialização, de modo
+ * que o monitoramento em tempo real não consulta o banco. Entradas sem observação dentro do
+ * TTL expiram. Os estados ficam em {@link PackedObservations} e cada leitura materializa
+ * novos objetos {@link AccessPoint}.
+ */
+public class LatestAccessPointIndex {
+
+    /**
+     * Ordenações disponíveis para as visões do índice
+     */
+    public enum SortOrder {
+        QUALITY(Comparator.comparingDouble(AccessPoint::getLinkQuality).reversed()),
+        CHANNEL(Comparator.comparingInt(AccessPoint::getChannel)),
+        SSID(Comparator.comparing(AccessPoint::getSsid, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+
+        private final Comparator<AccessPoint> comparator;
+
+        SortOrder(Comparator<AccessPoint> comparator) {
+            // Desempate pelo MAC para uma ordem estável entre atualizações
+            this.comparator = comparator.thenComparing(AccessPoint::getMacAddress,
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+        }
+    }
+
+    private final long ttlMs;
+    
+    // Último estado de cada Access Point em formato compacto; slots liberados são reutilizados
+    private final PackedObservations rows = new PackedObservations(64);
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+
+    /**
+     * @param ttlMs Tempo sem observação após o qual um Access Point sai do índice
+     */
+    public LatestAccessPointIndex(long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * Registra as observações de um escaneamento; observações mais antigas que a já
+     * indexada para o mesmo BSSID são ignoradas (carga inicial concorrente com escaneamentos)
+     * @param accessPoints Access Points observados
+     */
+    public synchronized void update(Collection<AccessPoint> accessPoints) {
+        for (AccessPoint ap : accessPoints) {
+            long mac = MacAddressCodec.pack(ap.getMacAddress());
+            if (mac == MacAddressCodec.INVALID) {
+                continue;
+            }
+            Integer slot = slots.get(mac);
+            if (slot == null) {
+                Integer free = freeSlots.poll();
+                if (free != null) {
+                    rows.set(free, ap);
+                    slots.put(mac, free);
+                } else {
+                    slots.put(mac, rows.append(ap));
+                }
+            } else if (PackedObservations.toEpochMillis(ap.getLastBeaconTime()) >= rows.getEpochMillis(slot)) {
+                rows.set(slot, ap);
+            }
+        }
+        expire();
+    }
+
+    /**
+     * Último estado de um Access Point
+     * @param macAddress BSSID
+     * @return Access Point ou null se não observado dentro do TTL
+     */
+    public synchronized AccessPoint get(String macAddress) {
+        Integer slot = slots.get(MacAddressCodec.pack(macAddress));
+        return slot != null && rows.getEpochMillis(slot) >= cutoff() ? rows.toAccessPoint(slot) : null;
+    }
+
+    /**
+     * Visão ordenada dos Access Points ativos
+     * @param order Ordenação
+     * @return Access Points observados dentro do TTL, ordenados
+     */
+    public List<AccessPoint> sorted(SortOrder order) {
+        List<AccessPoint> result;
+        synchronized (this) {
+            long cutoff = cutoff();
+            result = new ArrayList<>(slots.size());
+            for (int slot : slots.values()) {
+                if (rows.getEpochMillis(slot) >= cutoff) {
+                    result.add(rows.toAccessPoint(slot));
+                }
+            }
+        }
+        result.sort(order.comparator);
+        return result;
+    }
+
+    /**
+     * Quantidade de Access Points indexados (inclui entradas expiradas ainda não removidas)
+     */
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    /**
+     * Remove as entradas cujo TTL expirou
+     */
+    public synchronized void expire() {
+        long cutoff = cutoff();
+        Iterator<Integer> iterator = slots.values().iterator();
+        while (iterator.hasNext()) {
+            int slot = iterator.next();
+            if (rows.getEpochMillis(slot) < cutoff) {
+                iterator.remove();
+                freeSlots.push(slot);
+            }
+        }
+    }
+
+    private long cutoff() {
+        return System.currentTimeMillis() - ttlMs;
+    }
+}
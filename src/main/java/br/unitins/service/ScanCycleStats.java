@@ -0,0 +1,115 @@
+package br.unitins.service;
+
+import br.unitins.metrics.Metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores dos ciclos de escaneamento: duração, prazos excedidos, disparos perdidos e atrasos
+ * Os ciclos são registrados pelo {@link ScanPipeline}; disparos perdidos e atrasos pelo scheduler.
+ */
+public class ScanCycleStats implements ScanCycleStatsMXBean {
+    
+    private static final String METRICS_TYPE = "ScanCycles";
+    
+    /** Atraso de início tolerado antes de contar o ciclo como atrasado */
+    public static final long LATE_TOLERANCE_MS = 1000;
+    
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong lastCycleMs = new AtomicLong();
+    private final AtomicLong maxCycleMs = new AtomicLong();
+    private final AtomicLong deadlineExceeded = new AtomicLong();
+    private final AtomicLong killedProcesses = new AtomicLong();
+    private final AtomicLong abandonedScans = new AtomicLong();
+    private final AtomicLong misfires = new AtomicLong();
+    private final AtomicLong lateStarts = new AtomicLong();
+    private final AtomicLong maxStartDelayMs = new AtomicLong();
+    
+    public ScanCycleStats() {
+        Metrics.register(METRICS_TYPE, this);
+    }
+    
+    void recordCycle(long durationMs, boolean success) {
+        (success ? completed : failed).incrementAndGet();
+        lastCycleMs.set(durationMs);
+        maxCycleMs.accumulateAndGet(durationMs, Math::max);
+    }
+    
+    void recordDeadlineExceeded(int killed) {
+        deadlineExceeded.incrementAndGet();
+        killedProcesses.addAndGet(killed);
+    }
+    
+    void recordAbandonedScan() {
+        abandonedScans.incrementAndGet();
+    }
+    
+    /**
+     * Registra um disparo perdido do trigger de escaneamento
+     */
+    public void recordMisfire() {
+        misfires.incrementAndGet();
+    }
+    
+    /**
+     * Registra o atraso entre o horário agendado e o início efetivo de um ciclo
+     * @param delayMs Atraso em milissegundos
+     */
+    public void recordStartDelay(long delayMs) {
+        if (delayMs > LATE_TOLERANCE_MS) {
+            lateStarts.incrementAndGet();
+        }
+        maxStartDelayMs.accumulateAndGet(delayMs, Math::max);
+    }
+    
+    @Override
+    public long getCompletedCycleCount() {
+        return completed.get();
+    }
+    
+    @Override
+    public long getFailedCycleCount() {
+        return failed.get();
+    }
+    
+    @Override
+    public long getLastCycleMs() {
+        return lastCycleMs.get();
+    }
+    
+    @Override
+    public long getMaxCycleMs() {
+        return maxCycleMs.get();
+    }
+    
+    @Override
+    public long getDeadlineExceededCount() {
+        return deadlineExceeded.get();
+    }
+    
+    @Override
+    public long getKilledProcessCount() {
+        return killedProcesses.get();
+    }
+    
+    @Override
+    public long getAbandonedScanCount() {
+        return abandonedScans.get();
+    }
+    
+    @Override
+    public long getMisfireCount() {
+        return misfires.get();
+    }
+    
+    @Override
+    public long getLateStartCount() {
+        return lateStarts.get();
+    }
+    
+    @Override
+    public long getMaxStartDelayMs() {
+        return maxStartDelayMs.get();
+    }
+}
@@ -0,0 +1,37 @@
+package br.unitins.service;
+
+/**
+ * Métricas dos ciclos de escaneamento expostas via JMX
+ */
+public interface ScanCycleStatsMXBean {
+    
+    /** Ciclos concluídos */
+    long getCompletedCycleCount();
+    
+    /** Ciclos que falharam */
+    long getFailedCycleCount();
+    
+    /** Duração do último ciclo (ms) */
+    long getLastCycleMs();
+    
+    /** Maior duração de ciclo observada (ms) */
+    long getMaxCycleMs();
+    
+    /** Ciclos cujo escaneamento excedeu o prazo */
+    long getDeadlineExceededCount();
+    
+    /** Subprocessos encerrados à força por prazo excedido */
+    long getKilledProcessCount();
+    
+    /** Escaneamentos que não terminaram após o prazo e tiveram a thread abandonada */
+    long getAbandonedScanCount();
+    
+    /** Disparos perdidos porque o ciclo anterior ainda estava em andamento (misfire) */
+    long getMisfireCount();
+    
+    /** Ciclos agendados que começaram atrasados */
+    long getLateStartCount();
+    
+    /** Maior atraso de início observado (ms) */
+    long getMaxStartDelayMs();
+}
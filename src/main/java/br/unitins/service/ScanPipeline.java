@@ -0,0 +1,317 @@
+package br.unitins.service;
+
+import br.unitins.concurrent.Executions;
+import br.unitins.concurrent.Subprocesses;
+import br.unitins.model.AccessPoint;
+import br.unitins.model.AccessPointEntity;
+import br.unitins.persistence.DeltaFilter;
+import br.unitins.persistence.SpillStore;
+import br.unitins.persistence.SpoolReplayer;
+import br.unitins.persistence.WriteBehindBuffer;
+import br.unitins.repository.AccessPointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Pipeline de escaneamento de longa duração
+ * Construído uma única vez com o detector e o repositório e reutilizado a cada ciclo,
+ * de modo que o custo por execução seja apenas o escaneamento e a escrita no banco
+ */
+public class ScanPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScanPipeline.class);
+
+    /**
+     * Estados do ciclo de vida do pipeline
+     */
+    public enum State { CREATED, RUNNING, DRAINING, STOPPED }
+
+    private static final long CLOSE_TIMEOUT_MS = 30000;
+    // Espera adicional pelo escaneamento após encerrar os subprocessos presos
+    private static final long KILL_GRACE_MS = 5000;
+
+    private final HotspotDetectorService detectorService;
+    private final AccessPointRepository repository;
+    private final WriteBehindBuffer writeBehind;
+    private final SpillStore spool;
+    private final SpoolReplayer replayer;
+    private final DeltaFilter deltaFilter;
+    private final LatestAccessPointIndex latestIndex;
+    private final long cycleDeadlineMs;
+    private final ScanCycleStats stats = new ScanCycleStats();
+    private final AtomicReference<State> state = new AtomicReference<>(State.CREATED);
+    private volatile Consumer<List<AccessPoint>> scanListener;
+
+    private final Object inFlightLock = new Object();
+    private int inFlight;
+
+    public ScanPipeline(HotspotDetectorService detectorService, AccessPointRepository repository) {
+        this(detectorService, repository, null, null, null, null, null, 0);
+    }
+
+    /**
+     * @param detectorService Serviço de detecção
+     * @param repository Repositório usado na escrita síncrona
+     * @param writeBehind Buffer de escrita assíncrona (null para gravar no próprio ciclo)
+     * @param spool Spool local que recebe as observações quando o banco está indisponível (null para desativar)
+     * @param replayer Reenvio do spool ao banco (null quando não há spool)
+     * @param deltaFilter Filtro de persistência por mudança (null para gravar todas as observações)
+     * @param latestIndex Índice em memória do último estado por Access Point (null para desativar)
+     * @param cycleDeadlineMs Prazo do escaneamento em cada ciclo; ao expirar, os subprocessos de
+     *                        escaneamento são encerrados à força (0 para sem prazo)
+     */
+    public ScanPipeline(HotspotDetectorService detectorService, AccessPointRepository repository,
+                        WriteBehindBuffer writeBehind, SpillStore spool, SpoolReplayer replayer,
+                        DeltaFilter deltaFilter, LatestAccessPointIndex latestIndex, long cycleDeadlineMs) {
+        this.detectorService = detectorService;
+        this.repository = repository;
+        this.writeBehind = writeBehind;
+        this.spool = spool;
+        this.replayer = replayer;
+        this.deltaFilter = deltaFilter;
+        this.latestIndex = latestIndex;
+        this.cycleDeadlineMs = cycleDeadlineMs;
+    }
+
+    /**
+     * Coloca o pipeline em execução, aceitando novos ciclos
+     */
+    public void start() {
+        if (state.compareAndSet(State.CREATED, State.RUNNING)) {
+            if (writeBehind != null) {
+                writeBehind.start();
+            }
+            if (replayer != null) {
+                replayer.start();
+            }
+            logger.info("Pipeline de escaneamento iniciado ({})", detectorService.getDetectorInfo());
+        } else if (state.get() == State.STOPPED) {
+            throw new IllegalStateException("Pipeline de escaneamento já foi encerrado");
+        }
+    }
+
+    /**
+     * Define quem recebe o resultado bruto de cada escaneamento (antes do filtro delta e da gravação)
+     * @param scanListener Ouvinte (null para remover)
+     */
+    public void setScanListener(Consumer<List<AccessPoint>> scanListener) {
+        this.scanListener = scanListener;
+    }
+
+    /**
+     * Executa um ciclo completo: escaneia e persiste os Access Points
+     * Ciclos solicitados fora do estado RUNNING são ignorados
+     * @return Lista de entidades salvas no ciclo
+     */
+    public List<AccessPointEntity> runCycle() {
+        if (!enterCycle()) {
+            logger.debug("Pipeline em estado {}, ciclo ignorado", state.get());
+            return List.of();
+        }
+
+        long startedAt = System.nanoTime();
+        boolean failed = false;
+        try {
+            logger.info("Iniciando escaneamento e persistência de Access Points...");
+
+            List<AccessPoint> accessPoints;
+            List<AccessPointEntity> savedEntities;
+
+            // Escopo do ciclo: escaneamento e escrita rodam em threads do modelo de execução
+            // configurado e nenhuma tarefa sobrevive ao fim do ciclo (exceto um escaneamento
+            // abandonado por prazo, ver awaitScan)
+            ExecutorService cycle = Executions.newCycleScope("scan-cycle");
+            try {
+                Subprocesses.Group subprocesses = Subprocesses.newGroup("scan-cycle");
+                accessPoints = awaitScan(cycle, cycle.submit(subprocesses.bind(detectorService::scanAccessPoints)), subprocesses);
+                
+                // A visão em tempo real é atualizada antes (e independente) da gravação no banco
+                if (latestIndex != null) {
+                    latestIndex.update(accessPoints);
+                }
+                Consumer<List<AccessPoint>> listener = scanListener;
+                if (listener != null) {
+                    listener.accept(accessPoints);
+                }
+
+                if (accessPoints.isEmpty()) {
+                    logger.warn("Nenhum Access Point encontrado no escaneamento");
+                    return List.of();
+                }
+
+                List<AccessPointEntity> scanned = accessPoints.stream()
+                        .map(AccessPointEntity::new)
+                        .collect(Collectors.toList());
+                
+                // Modo delta: somente Access Points com mudança relevante ou heartbeat expirado
+                List<AccessPointEntity> entities = deltaFilter != null ? deltaFilter.filter(scanned) : scanned;
+                if (entities.isEmpty()) {
+                    logger.info("Escaneamento concluído: {} Access Points sem mudanças, nada a gravar", scanned.size());
+                    return List.of();
+                }
+
+                // Com write-behind o ciclo apenas publica; a gravação acontece na thread do buffer
+                if (writeBehind != null) {
+                    int accepted = writeBehind.publish(entities);
+                    logger.info("Escaneamento concluído: {} Access Points enfileirados para gravação", accepted);
+                    return entities;
+                }
+
+                try {
+                    savedEntities = Executions.await(cycle.submit(() -> repository.saveAll(entities)));
+                } catch (Exception e) {
+                    if (spool == null) {
+                        if (deltaFilter != null) {
+                            deltaFilter.invalidate(entities);
+                        }
+                        throw e;
+                    }
+                    // Banco indisponível: o escaneamento fica no spool e é reenviado depois
+                    spool.append(entities);
+                    logger.warn("Banco de dados indisponível ({}): {} Access Points gravados no spool local",
+                            e.getMessage(), entities.size());
+                    return entities;
+                }
+            } finally {
+                // Escopo abandonado (shutdownNow em awaitScan): close() aguardaria a tarefa presa sem limite
+                if (!cycle.isShutdown()) {
+                    cycle.close();
+                }
+            }
+
+            if (replayer != null && !spool.isEmpty()) {
+                // A gravação voltou a funcionar: antecipa o reenvio do backlog
+                replayer.wakeUp();
+            }
+
+            logger.info("Escaneamento concluído: {} Access Points salvos no banco de dados",
+                    savedEntities.size());
+
+            return savedEntities;
+
+        } catch (Exception e) {
+            failed = true;
+            logger.error("Erro durante escaneamento e persistência: {}", e.getMessage());
+            throw new RuntimeException("Falha no escaneamento e persistência", e);
+        } finally {
+            stats.recordCycle(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), !failed);
+            exitCycle();
+        }
+    }
+
+    /**
+     * Aguarda o escaneamento dentro do prazo do ciclo
+     * Ao expirar, encerra à força os subprocessos iniciados pelo escaneamento deste ciclo (a leitura
+     * da saída termina com o processo) e aguarda até KILL_GRACE_MS que a tarefa termine. Se ela
+     * continuar presa (por exemplo, numa chamada nl80211 ou em código que ignora interrupção),
+     * o escopo do ciclo é abandonado com shutdownNow, sem aguardar seu fechamento, e o vazamento
+     * da thread é contabilizado nas métricas.
+     */
+    private List<AccessPoint> awaitScan(ExecutorService cycle, Future<List<AccessPoint>> scan,
+                                        Subprocesses.Group subprocesses) throws Exception {
+        if (cycleDeadlineMs <= 0) {
+            return Executions.await(scan);
+        }
+        try {
+            return Executions.await(scan, cycleDeadlineMs);
+        } catch (TimeoutException e) {
+            int killed = subprocesses.destroyAll();
+            stats.recordDeadlineExceeded(killed);
+            logger.warn("Escaneamento excedeu o prazo de {} ms: {} subprocesso(s) encerrado(s)", cycleDeadlineMs, killed);
+            try {
+                scan.get(KILL_GRACE_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException stillRunning) {
+                scan.cancel(true);
+                cycle.shutdownNow();
+                stats.recordAbandonedScan();
+                logger.warn("Escaneamento não terminou {} ms após o prazo: tarefa abandonada", KILL_GRACE_MS);
+            } catch (Exception ignored) {
+                // Resultado descartado: o ciclo falha por prazo
+            }
+            throw new TimeoutException("Escaneamento excedeu o prazo de " + cycleDeadlineMs + " ms");
+        }
+    }
+
+    /**
+     * Para de aceitar novos ciclos e aguarda o término dos ciclos em andamento
+     * @param timeoutMillis Tempo máximo de espera em milissegundos
+     * @return true se todos os ciclos terminaram dentro do prazo
+     * @throws InterruptedException se a thread for interrompida durante a espera
+     */
+    public boolean drain(long timeoutMillis) throws InterruptedException {
+        state.compareAndSet(State.CREATED, State.DRAINING);
+        state.compareAndSet(State.RUNNING, State.DRAINING);
+
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (inFlightLock) {
+            while (inFlight > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    logger.warn("Tempo esgotado aguardando {} ciclo(s) em andamento", inFlight);
+                    return false;
+                }
+                inFlightLock.wait(remaining);
+            }
+        }
+        if (writeBehind != null) {
+            return writeBehind.flush(Math.max(0, deadline - System.currentTimeMillis()));
+        }
+        return true;
+    }
+
+    /**
+     * Encerra o pipeline definitivamente
+     */
+    public void stop() {
+        if (state.getAndSet(State.STOPPED) != State.STOPPED) {
+            if (writeBehind != null) {
+                writeBehind.close(CLOSE_TIMEOUT_MS);
+            }
+            if (replayer != null) {
+                replayer.stop(CLOSE_TIMEOUT_MS);
+            }
+            logger.info("Pipeline de escaneamento encerrado");
+        }
+    }
+
+    /**
+     * @return Métricas dos ciclos (também expostas via JMX)
+     */
+    public ScanCycleStats getStats() {
+        return stats;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public boolean isRunning() {
+        return state.get() == State.RUNNING;
+    }
+
+    private boolean enterCycle() {
+        synchronized (inFlightLock) {
+            if (state.get() != State.RUNNING) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        }
+    }
+
+    private void exitCycle() {
+        synchronized (inFlightLock) {
+            inFlight--;
+            inFlightLock.notifyAll();
+        }
+    }
+}
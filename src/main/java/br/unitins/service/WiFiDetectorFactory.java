@@ -1,10 +1,18 @@
 package br.unitins.service;
 
+import br.unitins.config.ScannerConfig;
 import br.unitins.service.impl.LinuxWiFiDetector;
+import br.unitins.service.impl.MultiInterfaceWiFiDetector;
+import br.unitins.service.impl.Nl80211WiFiDetector;
+import br.unitins.service.impl.PassiveWiFiDetector;
+import br.unitins.service.impl.SharedScanWiFiDetector;
+import br.unitins.service.impl.WirelessInterfaces;
+import br.unitins.service.impl.netlink.NetlinkSocket;
 import br.unitins.service.impl.WindowsWiFiDetector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -20,12 +28,24 @@ public class WiFiDetectorFactory {
      * @return Detector Wi-Fi compatível ou null se nenhum for encontrado
      */
     public static WiFiDetector createDetector() {
+        List<String> interfaces = resolveInterfaces();
+        if (!interfaces.isEmpty()) {
+            WiFiDetector interfaceDetector = interfaces.size() == 1
+                    ? createInterfaceDetector(interfaces.get(0))
+                    : new MultiInterfaceWiFiDetector(interfaces, WiFiDetectorFactory::createInterfaceDetector);
+            if (interfaceDetector.isSupported()) {
+                logger.info("Usando detector: {} em {}", interfaceDetector.getDetectorName(), interfaces);
+                return interfaceDetector;
+            }
+        }
+        
         List<WiFiDetector> detectors = getAllDetectors();
         
         for (WiFiDetector detector : detectors) {
             if (detector.isSupported()) {
-                logger.info("Usando detector: {}", detector.getDetectorName());
-                return detector;
+                WiFiDetector selected = shared(detector, ScannerConfig.getInstance().getWifiInterface());
+                logger.info("Usando detector: {}", selected.getDetectorName());
+                return selected;
             }
         }
         
@@ -38,12 +58,70 @@ public class WiFiDetectorFactory {
      * @return Lista de todos os detectores
      */
     public static List<WiFiDetector> getAllDetectors() {
+        ScannerConfig config = ScannerConfig.getInstance();
         List<WiFiDetector> detectors = new ArrayList<>();
         detectors.add(new WindowsWiFiDetector());
-        detectors.add(new LinuxWiFiDetector());
+        // Modo passivo: lê a tabela de BSS em cache e só escaneia quando ela estiver velha
+        if (config.getMode() == ScannerConfig.Mode.PASSIVE) {
+            detectors.add(new PassiveWiFiDetector(config.getWifiInterface(), config.getMaxResultAgeMs()));
+        }
+        // nl80211 tem prioridade sobre iwlist quando o shim nativo está disponível
+        detectors.add(new Nl80211WiFiDetector(config.getWifiInterface()));
+        detectors.add(new LinuxWiFiDetector(config.getWifiInterface()));
         return detectors;
     }
     
+    /**
+     * Cria o detector Linux de uma interface específica conforme o modo configurado
+     * @param wifiInterface Nome da interface
+     * @return Detector da interface
+     */
+    public static WiFiDetector createInterfaceDetector(String wifiInterface) {
+        ScannerConfig config = ScannerConfig.getInstance();
+        if (config.getMode() == ScannerConfig.Mode.PASSIVE) {
+            return shared(new PassiveWiFiDetector(wifiInterface, config.getMaxResultAgeMs()), wifiInterface);
+        }
+        if (NetlinkSocket.isAvailable()) {
+            return shared(new Nl80211WiFiDetector(wifiInterface), wifiInterface);
+        }
+        return shared(new LinuxWiFiDetector(wifiInterface), wifiInterface);
+    }
+    
+    /**
+     * Compartilha o escaneamento da interface com os demais processos do host ("scanner.shared")
+     * @param detector Detector da interface
+     * @param wifiInterface Nome da interface (null para descoberta automática)
+     * @return Detector compartilhado ou o próprio detector se o compartilhamento estiver desativado
+     */
+    private static WiFiDetector shared(WiFiDetector detector, String wifiInterface) {
+        ScannerConfig config = ScannerConfig.getInstance();
+        if (!config.isSharedEnabled()) {
+            return detector;
+        }
+        return new SharedScanWiFiDetector(detector, wifiInterface, Path.of(config.getSharedDirectory()),
+                config.getSharedMaxAgeMs(), config.getSharedMaxStaleMs(), config.getSharedLeaseWaitMs(),
+                config.getSharedFileBytes());
+    }
+    
+    /**
+     * Interfaces a escanear: a lista "interfaces" do application.yml ([all] para todas), senão
+     * a interface única "interface", senão todas as interfaces Wi-Fi encontradas no sysfs
+     * @return Interfaces (vazia quando não há sysfs, ex.: Windows)
+     */
+    private static List<String> resolveInterfaces() {
+        ScannerConfig config = ScannerConfig.getInstance();
+        if (config.isAllInterfaces()) {
+            return WirelessInterfaces.list();
+        }
+        if (!config.getInterfaces().isEmpty()) {
+            return config.getInterfaces();
+        }
+        if (config.getWifiInterface() != null) {
+            return List.of(config.getWifiInterface());
+        }
+        return WirelessInterfaces.list();
+    }
+    
     /**
      * Retorna informações sobre o sistema operacional atual
      * @return String com informações do SO
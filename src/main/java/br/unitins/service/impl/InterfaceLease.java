@@ -0,0 +1,59 @@
+package br.unitins.service.impl;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Lease de uma interface Wi-Fi entre processos do host, por trava de arquivo
+ * Só quem detém a trava escaneia a interface; o sistema operacional libera a trava se o processo
+ * morrer, de modo que um lease nunca fica preso.
+ */
+final class InterfaceLease implements AutoCloseable {
+
+    private static final long POLL_MS = 50;
+
+    private final FileChannel channel;
+
+    InterfaceLease(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Tenta obter o lease, aguardando até o prazo
+     * @param waitMs Tempo máximo de espera
+     * @param giveUp Condição para desistir antes do prazo (ex.: outro processo já publicou o resultado)
+     * @return Trava obtida (liberar com close) ou null se não foi obtida
+     */
+    FileLock acquire(long waitMs, BooleanSupplier giveUp) throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + waitMs;
+        while (true) {
+            FileLock lock = tryLock();
+            if (lock != null) {
+                return lock;
+            }
+            if (giveUp.getAsBoolean() || System.currentTimeMillis() >= deadline) {
+                return null;
+            }
+            Thread.sleep(POLL_MS);
+        }
+    }
+
+    private FileLock tryLock() throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Trava da mesma interface já mantida por outro detector desta JVM
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,142 @@
+package br.unitins.service.impl;
+
+import br.unitins.model.AccessPoint;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser da saída do comando {@code iw dev <if> scan dump}
+ * O dump lista a tabela de BSS em cache do kernel sem disparar um novo escaneamento
+ */
+public class IwScanDumpParser {
+
+    /**
+     * Lê todo o stream e retorna os Access Points encontrados
+     * O último beacon de cada AP é calculado a partir do campo "last seen"
+     * @param input Saída do iw
+     * @return Lista de Access Points
+     * @throws IOException se a leitura do stream falhar
+     */
+    public List<AccessPoint> parse(InputStream input) throws IOException {
+        List<AccessPoint> accessPoints = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        AccessPoint current = null;
+        boolean privacy = false;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Nova entrada: "BSS aa:bb:cc:dd:ee:ff(on wlan0)"
+                if (line.startsWith("BSS ")) {
+                    finish(current, privacy, accessPoints);
+                    current = new AccessPoint();
+                    current.setMacAddress(line.substring(4, Math.min(line.length(), 21)).toUpperCase());
+                    current.setLastBeaconTime(now);
+                    privacy = false;
+                    continue;
+                }
+                if (current == null) {
+                    continue;
+                }
+
+                String field = line.trim();
+                // Cada campo numérico é lido de forma tolerante: um valor em formato inesperado
+                // (versões novas do iw, texto de IEs de fabricantes) descarta apenas o campo
+                if (field.startsWith("freq: ")) {
+                    Double mhz = leadingNumber(field, 6);
+                    if (mhz != null) {
+                        current.setFrequency(mhz / 1000.0);
+                        if (current.getChannel() == 0) {
+                            current.setChannel(WirelessSignals.channelFromFrequency(mhz.intValue()));
+                        }
+                    }
+                } else if (field.startsWith("signal: ")) {
+                    Double dbm = leadingNumber(field, 8);
+                    if (dbm != null) {
+                        int signal = (int) Math.round(dbm);
+                        current.setSignalLevel(signal);
+                        current.setLinkQuality(WirelessSignals.linkQuality(signal));
+                    }
+                } else if (field.startsWith("last seen: ")) {
+                    // "last seen: 1200 ms ago"; a variante absoluta ("1204.480s [boottime]") é ignorada
+                    Double msAgo = field.endsWith(" ms ago") ? leadingNumber(field, 11) : null;
+                    if (msAgo != null && msAgo >= 0) {
+                        current.setLastBeaconTime(now.minusNanos(msAgo.longValue() * 1_000_000L));
+                    }
+                } else if (field.startsWith("SSID: ")) {
+                    current.setSsid(field.substring(6));
+                } else if (field.startsWith("beacon interval: ")) {
+                    Double interval = leadingNumber(field, 17);
+                    if (interval != null && interval > 0) {
+                        current.setBeaconInterval(interval.intValue());
+                    }
+                } else if (field.startsWith("capability: ")) {
+                    privacy = field.contains(" Privacy");
+                } else if (field.startsWith("DS Parameter set: channel ")) {
+                    setChannel(current, leadingNumber(field, 26));
+                } else if (field.startsWith("* primary channel: ")) {
+                    setChannel(current, leadingNumber(field, 19));
+                } else if (field.startsWith("RSN:")) {
+                    current.setSecurityVersion("WPA2");
+                } else if (field.startsWith("WPA:") && current.getSecurityVersion() == null) {
+                    current.setSecurityVersion("WPA");
+                } else if (field.startsWith("* Authentication suites:") && field.contains("SAE")) {
+                    current.setSecurityVersion("WPA3");
+                }
+            }
+        }
+        finish(current, privacy, accessPoints);
+
+        return accessPoints;
+    }
+
+    private static void setChannel(AccessPoint ap, Double channel) {
+        if (channel != null && channel > 0) {
+            ap.setChannel(channel.intValue());
+        }
+    }
+    
+    /**
+     * Lê o número no início do campo, a partir da posição informada
+     * @return Valor ou null se não houver um número válido
+     */
+    private static Double leadingNumber(String field, int start) {
+        int end = start;
+        while (end < field.length()) {
+            char c = field.charAt(end);
+            if ((c >= '0' && c <= '9') || c == '.' || (c == '-' && end == start)) {
+                end++;
+            } else {
+                break;
+            }
+        }
+        if (end == start) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(field.substring(start, end));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    private void finish(AccessPoint ap, boolean privacy, List<AccessPoint> accessPoints) {
+        if (ap == null) {
+            return;
+        }
+        if (ap.getBeaconInterval() == 0) {
+            ap.setBeaconInterval(100);
+        }
+        if (ap.getSecurityVersion() == null) {
+            ap.setSecurityVersion(privacy ? "WEP" : "Open");
+        }
+        accessPoints.add(ap);
+    }
+}
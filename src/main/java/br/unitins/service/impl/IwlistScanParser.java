@@ -0,0 +1,288 @@
+package br.unitins.service.impl;
+
+import br.unitins.model.AccessPoint;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser de passagem única para a saída do comando {@code iwlist <if> scan}
+ * Lê bytes diretamente do stream do processo, identifica a chave de cada linha pelo
+ * prefixo após a indentação e preenche os campos do {@link AccessPoint} sem regex
+ * nem Strings intermediárias. Os buffers são reutilizados entre chamadas, portanto
+ * uma instância não deve ser compartilhada entre threads.
+ */
+public class IwlistScanParser {
+
+    private static final byte[] KEY_CELL = ascii("Cell ");
+    private static final byte[] KEY_ADDRESS = ascii("Address: ");
+    private static final byte[] KEY_ESSID = ascii("ESSID:");
+    private static final byte[] KEY_QUALITY = ascii("Quality=");
+    private static final byte[] KEY_SIGNAL = ascii("level=");
+    private static final byte[] KEY_CHANNEL = ascii("Channel:");
+    private static final byte[] KEY_FREQUENCY = ascii("Frequency:");
+    private static final byte[] KEY_ENCRYPTION = ascii("Encryption key:");
+    private static final byte[] KEY_IE_WPA2 = ascii("IE: IEEE 802.11i/WPA2");
+    private static final byte[] KEY_IE_WPA = ascii("IE: WPA");
+
+    private static final int MAC_LENGTH = 17;
+
+    private final byte[] readBuffer = new byte[8192];
+    private byte[] line = new byte[256];
+    private int lineLength;
+
+    // Estado da célula corrente
+    private List<AccessPoint> accessPoints;
+    private AccessPoint current;
+    private LocalDateTime scanTime;
+
+    /**
+     * Lê todo o stream e retorna os Access Points encontrados
+     * @param input Saída do iwlist
+     * @return Lista de Access Points
+     * @throws IOException se a leitura do stream falhar
+     */
+    public List<AccessPoint> parse(InputStream input) throws IOException {
+        accessPoints = new ArrayList<>();
+        current = null;
+        scanTime = LocalDateTime.now();
+        lineLength = 0;
+
+        int read;
+        while ((read = input.read(readBuffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                byte b = readBuffer[i];
+                if (b == '\n') {
+                    processLine();
+                    lineLength = 0;
+                } else {
+                    appendToLine(b);
+                }
+            }
+        }
+        if (lineLength > 0) {
+            processLine();
+        }
+        finishCell();
+
+        List<AccessPoint> result = accessPoints;
+        accessPoints = null;
+        current = null;
+        return result;
+    }
+
+    private void appendToLine(byte b) {
+        if (lineLength == line.length) {
+            byte[] grown = new byte[line.length * 2];
+            System.arraycopy(line, 0, grown, 0, lineLength);
+            line = grown;
+        }
+        line[lineLength++] = b;
+    }
+
+    private void processLine() {
+        int pos = skipSpaces(0);
+        if (pos >= lineLength) {
+            return;
+        }
+
+        // Despacho pelo primeiro caractere da chave
+        switch (line[pos]) {
+            case 'C':
+                if (startsWith(pos, KEY_CELL)) {
+                    startCell(pos + KEY_CELL.length);
+                } else if (current != null && startsWith(pos, KEY_CHANNEL)) {
+                    parseChannel(pos + KEY_CHANNEL.length);
+                }
+                break;
+            case 'E':
+                if (current == null) break;
+                if (startsWith(pos, KEY_ESSID)) {
+                    parseEssid(pos + KEY_ESSID.length);
+                } else if (startsWith(pos, KEY_ENCRYPTION)) {
+                    int value = pos + KEY_ENCRYPTION.length;
+                    boolean on = value + 1 < lineLength && line[value] == 'o' && line[value + 1] == 'n';
+                    current.setSecurityVersion(on ? "WEP" : "Open");
+                }
+                break;
+            case 'Q':
+                if (current != null && startsWith(pos, KEY_QUALITY)) {
+                    parseQualityAndSignal(pos + KEY_QUALITY.length);
+                }
+                break;
+            case 'F':
+                if (current != null && startsWith(pos, KEY_FREQUENCY)) {
+                    current.setFrequency(parseDecimal(pos + KEY_FREQUENCY.length));
+                }
+                break;
+            case 'I':
+                if (current == null) break;
+                if (startsWith(pos, KEY_IE_WPA2)) {
+                    current.setSecurityVersion("WPA2");
+                } else if (startsWith(pos, KEY_IE_WPA) && !"WPA2".equals(current.getSecurityVersion())) {
+                    current.setSecurityVersion("WPA");
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void startCell(int pos) {
+        finishCell();
+        current = new AccessPoint();
+        current.setLastBeaconTime(scanTime);
+
+        // "Cell 01 - Address: AA:BB:..." — avança até a chave Address
+        while (pos < lineLength && line[pos] != 'A') {
+            pos++;
+        }
+        if (startsWith(pos, KEY_ADDRESS) && pos + KEY_ADDRESS.length + MAC_LENGTH <= lineLength) {
+            int start = pos + KEY_ADDRESS.length;
+            for (int i = start; i < start + MAC_LENGTH; i++) {
+                byte c = line[i];
+                if (c >= 'a' && c <= 'f') {
+                    line[i] = (byte) (c - 32);
+                }
+            }
+            current.setMacAddress(new String(line, start, MAC_LENGTH, StandardCharsets.US_ASCII));
+        } else {
+            current.setMacAddress("N/A");
+        }
+    }
+
+    private void finishCell() {
+        if (current == null) {
+            return;
+        }
+        // Valores padrão quando não informados pelo driver
+        if (current.getBeaconInterval() == 0) {
+            current.setBeaconInterval(100);
+        }
+        if (current.getSecurityVersion() == null) {
+            current.setSecurityVersion("Unknown");
+        }
+        accessPoints.add(current);
+        current = null;
+    }
+
+    private void parseEssid(int pos) {
+        if (pos >= lineLength || line[pos] != '"') {
+            return;
+        }
+        int start = pos + 1;
+        int end = lineLength;
+        while (end > start && line[end - 1] != '"') {
+            end--;
+        }
+        if (end - 1 > start) {
+            current.setSsid(new String(line, start, end - 1 - start, StandardCharsets.UTF_8));
+        }
+    }
+
+    private void parseQualityAndSignal(int pos) {
+        // Exemplo: Quality=70/70  Signal level=-40 dBm
+        int quality = 0;
+        while (pos < lineLength && isDigit(line[pos])) {
+            quality = quality * 10 + (line[pos++] - '0');
+        }
+        if (pos < lineLength && line[pos] == '/') {
+            pos++;
+            int maxQuality = 0;
+            while (pos < lineLength && isDigit(line[pos])) {
+                maxQuality = maxQuality * 10 + (line[pos++] - '0');
+            }
+            if (maxQuality > 0) {
+                current.setLinkQuality((double) quality / maxQuality * 100.0);
+            }
+        }
+
+        // Avança até "level="
+        while (pos < lineLength && !(line[pos] == 'l' && startsWith(pos, KEY_SIGNAL))) {
+            pos++;
+        }
+        if (pos >= lineLength) {
+            return;
+        }
+        pos += KEY_SIGNAL.length;
+
+        boolean negative = pos < lineLength && line[pos] == '-';
+        if (negative) pos++;
+        int signal = 0;
+        boolean hasDigits = false;
+        while (pos < lineLength && isDigit(line[pos])) {
+            signal = signal * 10 + (line[pos++] - '0');
+            hasDigits = true;
+        }
+        if (!hasDigits) {
+            return;
+        }
+        signal = negative ? -signal : signal;
+        current.setSignalLevel(signal);
+
+        // Se não conseguiu qualidade, calcula baseado no sinal
+        if (current.getLinkQuality() == 0.0) {
+            current.setLinkQuality(WirelessSignals.linkQuality(signal));
+        }
+    }
+
+    private void parseChannel(int pos) {
+        int channel = 0;
+        while (pos < lineLength && isDigit(line[pos])) {
+            channel = channel * 10 + (line[pos++] - '0');
+        }
+        current.setChannel(channel);
+        if (channel > 0) {
+            current.setFrequency(WirelessSignals.frequencyFromChannel(channel));
+        }
+    }
+
+    private double parseDecimal(int pos) {
+        long integer = 0;
+        while (pos < lineLength && isDigit(line[pos])) {
+            integer = integer * 10 + (line[pos++] - '0');
+        }
+        if (pos >= lineLength || line[pos] != '.') {
+            return integer;
+        }
+        pos++;
+        long fraction = 0;
+        long scale = 1;
+        while (pos < lineLength && isDigit(line[pos])) {
+            fraction = fraction * 10 + (line[pos++] - '0');
+            scale *= 10;
+        }
+        return integer + (double) fraction / scale;
+    }
+
+    private int skipSpaces(int pos) {
+        while (pos < lineLength && (line[pos] == ' ' || line[pos] == '\t' || line[pos] == '\r')) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private boolean startsWith(int pos, byte[] key) {
+        if (pos + key.length > lineLength) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (line[pos + i] != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,158 @@
+package br.unitins.service.impl;
+
+import br.unitins.model.AccessPoint;
+import br.unitins.model.AccessPointEntity;
+import br.unitins.persistence.AccessPointRecordCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Arquivo mapeado em memória com o último escaneamento de uma interface, compartilhado entre os
+ * processos do host
+ * Formato: [magic][versão][sequência][horário de publicação][tamanho][CRC32C] seguido dos
+ * registros ({@link AccessPointRecordCodec}). Há um único escritor por vez (quem detém o
+ * {@link InterfaceLease}); os leitores não bloqueiam: a sequência fica ímpar durante a escrita
+ * (seqlock) e a leitura é refeita se a sequência mudar ou o CRC não conferir.
+ */
+final class LatestScanFile implements AutoCloseable {
+
+    private static final int MAGIC = 0x4150534C; // "APSL"
+    private static final int VERSION = 1;
+    private static final int SEQUENCE_OFFSET = 8;
+    private static final int PUBLISHED_OFFSET = 16;
+    private static final int LENGTH_OFFSET = 24;
+    private static final int CRC_OFFSET = 28;
+    private static final int HEADER = 32;
+    private static final int READ_ATTEMPTS = 16;
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Escaneamento publicado
+     * @param publishedAt Horário da publicação (epoch millis)
+     * @param accessPoints Access Points do escaneamento
+     */
+    record Snapshot(long publishedAt, List<AccessPoint> accessPoints) {}
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    /**
+     * @param path Arquivo (criado se não existir)
+     * @param capacity Tamanho do mapeamento em bytes
+     */
+    LatestScanFile(Path path, int capacity) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        // Outro processo pode ter criado o arquivo com um mapeamento maior: usa o maior dos dois
+        long size = Math.max(channel.size(), Math.max(capacity, HEADER));
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+        int magic = buffer.getInt(0);
+        if (magic == 0) {
+            buffer.putInt(4, VERSION);
+            buffer.putInt(0, MAGIC);
+        } else if (magic != MAGIC || buffer.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException("Arquivo de escaneamento compartilhado inválido: " + path);
+        }
+    }
+
+    /**
+     * Publica um escaneamento; chamado apenas por quem detém o lease da interface
+     */
+    void write(List<AccessPoint> accessPoints, long publishedAt) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(accessPoints.size() * 64);
+        ByteBuffer length = ByteBuffer.allocate(4);
+        for (AccessPoint accessPoint : accessPoints) {
+            AccessPointEntity entity = new AccessPointEntity(accessPoint);
+            if (accessPoint.getLastBeaconTime() != null) {
+                entity.setScanTime(accessPoint.getLastBeaconTime());
+            }
+            byte[] record = AccessPointRecordCodec.encode(entity);
+            payload.write(length.clear().putInt(record.length).array(), 0, 4);
+            payload.write(record, 0, record.length);
+        }
+        byte[] bytes = payload.toByteArray();
+        if (HEADER + bytes.length > buffer.capacity()) {
+            throw new IOException("Escaneamento (" + bytes.length + " bytes) maior que o arquivo compartilhado " + path.getFileName());
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+
+        long sequence = (long) LONGS.getAcquire(buffer, SEQUENCE_OFFSET);
+        long writing = sequence | 1;
+        LONGS.setRelease(buffer, SEQUENCE_OFFSET, writing);
+        buffer.put(HEADER, bytes);
+        buffer.putLong(PUBLISHED_OFFSET, publishedAt);
+        buffer.putInt(LENGTH_OFFSET, bytes.length);
+        buffer.putInt(CRC_OFFSET, (int) crc.getValue());
+        LONGS.setRelease(buffer, SEQUENCE_OFFSET, writing + 1);
+    }
+
+    /**
+     * Lê o último escaneamento publicado
+     * @return Escaneamento ou null se nada foi publicado (ou a escrita não terminou a tempo)
+     */
+    Snapshot read() {
+        CRC32C crc = new CRC32C();
+        for (int attempt = 0; attempt < READ_ATTEMPTS; attempt++) {
+            long before = (long) LONGS.getAcquire(buffer, SEQUENCE_OFFSET);
+            if (before == 0) {
+                return null;
+            }
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long publishedAt = buffer.getLong(PUBLISHED_OFFSET);
+            int length = buffer.getInt(LENGTH_OFFSET);
+            int expectedCrc = buffer.getInt(CRC_OFFSET);
+            if (length < 0 || HEADER + length > buffer.capacity()) {
+                continue;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(HEADER, bytes);
+            VarHandle.loadLoadFence();
+            if ((long) LONGS.getAcquire(buffer, SEQUENCE_OFFSET) != before) {
+                continue;
+            }
+            crc.reset();
+            crc.update(bytes);
+            if ((int) crc.getValue() != expectedCrc) {
+                continue;
+            }
+            return new Snapshot(publishedAt, decode(ByteBuffer.wrap(bytes)));
+        }
+        return null;
+    }
+
+    private static List<AccessPoint> decode(ByteBuffer payload) {
+        List<AccessPoint> accessPoints = new ArrayList<>();
+        while (payload.remaining() >= 4) {
+            int length = payload.getInt();
+            accessPoints.add(AccessPointRecordCodec.decode(payload.slice(payload.position(), length)).toAccessPoint());
+            payload.position(payload.position() + length);
+        }
+        return accessPoints;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,98 @@
+package br.unitins.service.impl;
+
+import br.unitins.concurrent.Executions;
+import br.unitins.model.AccessPoint;
+import br.unitins.service.WiFiDetector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Detector que escaneia várias interfaces Wi-Fi em paralelo
+ * Cada rádio é escaneado na sua própria thread (virtual no modo de execução virtual), de modo que uma varredura completa leva o
+ * tempo do rádio mais lento. Os resultados são mesclados por BSSID mantendo a leitura mais forte.
+ */
+public class MultiInterfaceWiFiDetector implements WiFiDetector {
+    
+    private static final Logger logger = LoggerFactory.getLogger(MultiInterfaceWiFiDetector.class);
+    
+    private final Map<String, WiFiDetector> detectors = new LinkedHashMap<>();
+    
+    /**
+     * @param interfaces Interfaces a escanear
+     * @param detectorFactory Cria o detector de uma interface
+     */
+    public MultiInterfaceWiFiDetector(List<String> interfaces, Function<String, WiFiDetector> detectorFactory) {
+        for (String iface : interfaces) {
+            detectors.put(iface, detectorFactory.apply(iface));
+        }
+    }
+    
+    @Override
+    public List<AccessPoint> scanAccessPoints() throws Exception {
+        // Escopo do ciclo: ao fechar, aguarda o escaneamento de todos os rádios
+        Map<String, Future<List<AccessPoint>>> scans = new LinkedHashMap<>();
+        try (ExecutorService scope = Executions.newCycleScope("wifi-scan")) {
+            for (Map.Entry<String, WiFiDetector> entry : detectors.entrySet()) {
+                WiFiDetector detector = entry.getValue();
+                scans.put(entry.getKey(), scope.submit(detector::scanAccessPoints));
+            }
+        }
+        
+        Map<String, AccessPoint> merged = new LinkedHashMap<>();
+        Exception lastError = null;
+        int succeeded = 0;
+        
+        for (Map.Entry<String, Future<List<AccessPoint>>> scan : scans.entrySet()) {
+            String iface = scan.getKey();
+            try {
+                List<AccessPoint> accessPoints = scan.getValue().get();
+                succeeded++;
+                for (AccessPoint ap : accessPoints) {
+                    ap.setInterfaceName(iface);
+                    merged.merge(ap.getMacAddress(), ap, MultiInterfaceWiFiDetector::strongest);
+                }
+                logger.debug("Interface {}: {} Access Points", iface, accessPoints.size());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                logger.warn("Falha ao escanear interface {}: {}", iface, cause.getMessage());
+                lastError = cause instanceof Exception ? (Exception) cause : e;
+            }
+        }
+        
+        if (succeeded == 0 && lastError != null) {
+            throw new Exception("Falha ao escanear todas as interfaces: " + lastError.getMessage(), lastError);
+        }
+        
+        return new ArrayList<>(merged.values());
+    }
+    
+    private static AccessPoint strongest(AccessPoint current, AccessPoint candidate) {
+        return candidate.getSignalLevel() > current.getSignalLevel() ? candidate : current;
+    }
+    
+    /**
+     * Interfaces escaneadas por este detector
+     */
+    public List<String> getInterfaces() {
+        return new ArrayList<>(detectors.keySet());
+    }
+    
+    @Override
+    public boolean isSupported() {
+        return !detectors.isEmpty() && detectors.values().stream().allMatch(WiFiDetector::isSupported);
+    }
+    
+    @Override
+    public String getDetectorName() {
+        return "Multi-interface WiFi Detector " + detectors.keySet();
+    }
+}
@@ -0,0 +1,249 @@
+package br.unitins.service.impl;
+
+import br.unitins.model.AccessPoint;
+import br.unitins.service.WiFiDetector;
+import br.unitins.service.impl.netlink.NetlinkMessages;
+import br.unitins.service.impl.netlink.NetlinkSocket;
+import br.unitins.service.impl.netlink.Nl80211ScanParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementação do detector Wi-Fi para Linux via nl80211
+ * Dispara um escaneamento (NL80211_CMD_TRIGGER_SCAN), aguarda o evento de conclusão no grupo
+ * multicast "scan" e lê os resultados (NL80211_CMD_GET_SCAN) por um socket netlink, sem iniciar
+ * subprocessos nem interpretar saída textual
+ * Sem permissão para escanear (CAP_NET_ADMIN), lê apenas os resultados em cache do kernel.
+ */
+public class Nl80211WiFiDetector implements WiFiDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(Nl80211WiFiDetector.class);
+    private static final String NL80211_FAMILY = "nl80211";
+    private static final String SCAN_GROUP = "scan";
+    // Escaneamento completo, incluindo os canais DFS de 5 GHz (escuta passiva)
+    private static final int SCAN_TIMEOUT_MS = 15000;
+    private static final int EPERM = 1;
+    private static final int EACCES = 13;
+    private static final int EBUSY = 16;
+
+    private final boolean triggerScan;
+
+    // Resolvidos no primeiro escaneamento e reutilizados nos seguintes
+    private volatile String wifiInterface;
+    private volatile int interfaceIndex;
+    private volatile int familyId;
+    private volatile int scanGroup;
+    private volatile boolean triggerUnavailable;
+
+    public Nl80211WiFiDetector() {
+        this(null);
+    }
+
+    /**
+     * Cria o detector para uma interface específica
+     * @param wifiInterface Nome da interface (null para descoberta automática)
+     */
+    public Nl80211WiFiDetector(String wifiInterface) {
+        this(wifiInterface, true);
+    }
+
+    /**
+     * @param wifiInterface Nome da interface (null para descoberta automática)
+     * @param triggerScan false para apenas ler os resultados em cache (modo passivo)
+     */
+    public Nl80211WiFiDetector(String wifiInterface, boolean triggerScan) {
+        this.wifiInterface = wifiInterface;
+        this.triggerScan = triggerScan;
+    }
+
+    @Override
+    public List<AccessPoint> scanAccessPoints() throws Exception {
+        try (NetlinkSocket socket = NetlinkSocket.open()) {
+            resolveInterface();
+            if (familyId == 0) {
+                familyId = resolveFamilyId(socket);
+            }
+            if (triggerScan && !triggerUnavailable) {
+                triggerAndWait(socket);
+            }
+
+            int sequence = socket.nextSequence();
+            socket.send(NetlinkMessages.genlRequest(familyId,
+                    NetlinkMessages.NLM_F_REQUEST | NetlinkMessages.NLM_F_DUMP,
+                    sequence,
+                    Nl80211ScanParser.NL80211_CMD_GET_SCAN,
+                    NetlinkMessages.u32Attribute(Nl80211ScanParser.NL80211_ATTR_IFINDEX, interfaceIndex)));
+
+            List<NetlinkMessages.Message> responses = receiveDump(socket, sequence);
+            List<AccessPoint> accessPoints = Nl80211ScanParser.parse(responses);
+            for (AccessPoint ap : accessPoints) {
+                ap.setInterfaceName(wifiInterface);
+            }
+            return accessPoints;
+
+        } catch (Exception e) {
+            logger.error("Erro ao escanear Access Points via nl80211: {}", e.getMessage());
+            throw new Exception("Falha ao escanear redes Wi-Fi: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Dispara um escaneamento e aguarda NEW_SCAN_RESULTS (ou SCAN_ABORTED) da interface
+     * Prazo esgotado ou escaneamento abortado: o ciclo lê os resultados em cache.
+     */
+    private void triggerAndWait(NetlinkSocket socket) throws IOException {
+        if (scanGroup == 0) {
+            disableTrigger("grupo multicast \"" + SCAN_GROUP + "\" não anunciado pelo kernel");
+            return;
+        }
+        try {
+            // Assinado antes do disparo, para que o evento de conclusão não se perca
+            socket.joinGroup(scanGroup);
+            socket.setReceiveTimeout(SCAN_TIMEOUT_MS);
+        } catch (IOException e) {
+            disableTrigger(e.getMessage());
+            return;
+        }
+
+        int sequence = socket.nextSequence();
+        socket.send(NetlinkMessages.genlRequest(familyId,
+                NetlinkMessages.NLM_F_REQUEST | NetlinkMessages.NLM_F_ACK,
+                sequence,
+                Nl80211ScanParser.NL80211_CMD_TRIGGER_SCAN,
+                NetlinkMessages.u32Attribute(Nl80211ScanParser.NL80211_ATTR_IFINDEX, interfaceIndex)));
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SCAN_TIMEOUT_MS);
+        try {
+            while (System.nanoTime() < deadline) {
+                for (NetlinkMessages.Message message : NetlinkMessages.parseMessages(socket.receive())) {
+                    if (message.getSequence() == sequence && message.isError()) {
+                        int error = -message.getErrorCode();
+                        if (error == EPERM || error == EACCES) {
+                            disableTrigger("sem permissão para escanear (CAP_NET_ADMIN)");
+                            return;
+                        }
+                        // EBUSY: escaneamento já em andamento (ex.: NetworkManager); aguarda a conclusão dele
+                        if (error != 0 && error != EBUSY) {
+                            throw new IOException("nl80211 recusou o escaneamento (erro " + error + ")");
+                        }
+                        continue;
+                    }
+                    if (message.getSequence() != 0 || message.getType() != familyId) {
+                        continue;
+                    }
+                    int command = message.getGenlCommand();
+                    if (command != Nl80211ScanParser.NL80211_CMD_NEW_SCAN_RESULTS
+                            && command != Nl80211ScanParser.NL80211_CMD_SCAN_ABORTED) {
+                        continue;
+                    }
+                    ByteBuffer ifindex = message.getGenlAttributes().get(Nl80211ScanParser.NL80211_ATTR_IFINDEX);
+                    if (ifindex == null || NetlinkMessages.getU32(ifindex) != interfaceIndex) {
+                        continue;
+                    }
+                    if (command == Nl80211ScanParser.NL80211_CMD_SCAN_ABORTED) {
+                        logger.warn("Escaneamento abortado em {}, usando resultados em cache", wifiInterface);
+                    }
+                    return;
+                }
+            }
+        } catch (SocketTimeoutException e) {
+            // Tratado abaixo, como o prazo esgotado entre mensagens de outras interfaces
+        }
+        logger.warn("Escaneamento em {} não concluído em {} ms, usando resultados em cache", wifiInterface, SCAN_TIMEOUT_MS);
+    }
+
+    private void disableTrigger(String reason) {
+        triggerUnavailable = true;
+        logger.warn("Escaneamento ativo via nl80211 indisponível ({}): lendo apenas os resultados em cache do kernel", reason);
+    }
+
+    private List<NetlinkMessages.Message> receiveDump(NetlinkSocket socket, int sequence) throws IOException {
+        List<NetlinkMessages.Message> responses = new ArrayList<>();
+
+        while (true) {
+            for (NetlinkMessages.Message message : NetlinkMessages.parseMessages(socket.receive())) {
+                if (message.getSequence() != sequence) {
+                    continue;
+                }
+                if (message.isDone()) {
+                    return responses;
+                }
+                if (message.isError()) {
+                    int error = message.getErrorCode();
+                    if (error == 0) {
+                        return responses;
+                    }
+                    throw new IOException("nl80211 retornou erro " + -error);
+                }
+                responses.add(message);
+            }
+        }
+    }
+
+    private int resolveFamilyId(NetlinkSocket socket) throws IOException {
+        int sequence = socket.nextSequence();
+        socket.send(NetlinkMessages.getFamilyRequest(sequence, NL80211_FAMILY));
+
+        int resolved = 0;
+        while (true) {
+            for (NetlinkMessages.Message message : NetlinkMessages.parseMessages(socket.receive())) {
+                if (message.getSequence() != sequence) {
+                    continue;
+                }
+                if (message.isError()) {
+                    int error = message.getErrorCode();
+                    if (error != 0) {
+                        throw new IOException("Família nl80211 não encontrada (erro " + -error + ")");
+                    }
+                    if (resolved == 0) {
+                        throw new IOException("Família nl80211 não informada pelo kernel");
+                    }
+                    return resolved;
+                }
+                Map<Integer, ByteBuffer> attributes = message.getGenlAttributes();
+                ByteBuffer id = attributes.get(NetlinkMessages.CTRL_ATTR_FAMILY_ID);
+                if (id != null) {
+                    resolved = NetlinkMessages.getU16(id);
+                }
+                ByteBuffer groups = attributes.get(NetlinkMessages.CTRL_ATTR_MCAST_GROUPS);
+                if (groups != null) {
+                    scanGroup = NetlinkMessages.multicastGroupId(groups, SCAN_GROUP);
+                }
+            }
+        }
+    }
+
+    private void resolveInterface() throws IOException {
+        if (interfaceIndex != 0) {
+            return;
+        }
+
+        String name = wifiInterface != null ? wifiInterface : WirelessInterfaces.primary();
+        if (name == null) {
+            throw new IOException("Nenhuma interface Wi-Fi encontrada");
+        }
+
+        this.interfaceIndex = WirelessInterfaces.indexOf(name);
+        this.wifiInterface = name;
+        logger.info("Interface Wi-Fi selecionada: {} (ifindex {})", name, interfaceIndex);
+    }
+
+    @Override
+    public boolean isSupported() {
+        String os = System.getProperty("os.name").toLowerCase();
+        return os.contains("linux") && NetlinkSocket.isAvailable() && WirelessInterfaces.primary() != null;
+    }
+
+    @Override
+    public String getDetectorName() {
+        return "Linux WiFi Detector (nl80211)";
+    }
+}
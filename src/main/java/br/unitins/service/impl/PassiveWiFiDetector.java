@@ -0,0 +1,128 @@
+package br.unitins.service.impl;
+
+import br.unitins.concurrent.SingleFlight;
+import br.unitins.concurrent.Subprocesses;
+import br.unitins.model.AccessPoint;
+import br.unitins.service.WiFiDetector;
+import br.unitins.service.impl.netlink.NetlinkSocket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Detector Wi-Fi passivo para Linux
+ * Lê a tabela de BSS em cache do kernel (nl80211 quando disponível, senão {@code iw dev <if> scan dump})
+ * sem ocupar o rádio, e só dispara um escaneamento ativo quando os resultados estão mais velhos
+ * que a idade máxima configurada
+ */
+public class PassiveWiFiDetector implements WiFiDetector {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PassiveWiFiDetector.class);
+    
+    private final String configuredInterface;
+    private final long maxResultAgeMs;
+    private final IwScanDumpParser dumpParser = new IwScanDumpParser();
+    private final SingleFlight<List<AccessPoint>> scanFlight = new SingleFlight<>();
+    
+    // Criados no primeiro escaneamento, quando a interface é conhecida
+    private String wifiInterface;
+    private WiFiDetector nl80211Reader;
+    private WiFiDetector activeScanner;
+    
+    /**
+     * @param wifiInterface Interface a usar (null para descoberta automática pelo sysfs)
+     * @param maxResultAgeMs Idade máxima dos resultados em cache antes de um escaneamento ativo
+     */
+    public PassiveWiFiDetector(String wifiInterface, long maxResultAgeMs) {
+        this.configuredInterface = wifiInterface;
+        this.maxResultAgeMs = maxResultAgeMs;
+    }
+    
+    @Override
+    public List<AccessPoint> scanAccessPoints() throws Exception {
+        return scanFlight.execute(this::doScan);
+    }
+    
+    private List<AccessPoint> doScan() throws Exception {
+        resolveInterface();
+        
+        List<AccessPoint> cached = readCachedResults();
+        long ageMs = freshestAgeMs(cached);
+        
+        if (!cached.isEmpty() && ageMs <= maxResultAgeMs) {
+            logger.debug("Usando {} resultados em cache ({} ms)", cached.size(), ageMs);
+            return cached;
+        }
+        
+        logger.info("Resultados em cache ausentes ou velhos ({} ms), executando escaneamento ativo", ageMs);
+        return activeScanner.scanAccessPoints();
+    }
+    
+    private void resolveInterface() throws Exception {
+        if (wifiInterface != null) {
+            return;
+        }
+        String name = configuredInterface != null ? configuredInterface : WirelessInterfaces.primary();
+        if (name == null) {
+            throw new Exception("Nenhuma interface Wi-Fi encontrada");
+        }
+        this.wifiInterface = name;
+        this.nl80211Reader = NetlinkSocket.isAvailable() ? new Nl80211WiFiDetector(name, false) : null;
+        this.activeScanner = new LinuxWiFiDetector(name);
+        logger.info("Modo passivo na interface {} ({})", name, nl80211Reader != null ? "nl80211" : "iw scan dump");
+    }
+    
+    private List<AccessPoint> readCachedResults() throws Exception {
+        if (nl80211Reader != null) {
+            try {
+                return nl80211Reader.scanAccessPoints();
+            } catch (Exception e) {
+                logger.warn("Falha na leitura via nl80211 ({}), usando iw scan dump", e.getMessage());
+            }
+        }
+        
+        ProcessBuilder processBuilder = new ProcessBuilder("iw", "dev", wifiInterface, "scan", "dump");
+        processBuilder.redirectErrorStream(true);
+        Process process = Subprocesses.start(processBuilder);
+        
+        List<AccessPoint> accessPoints;
+        try (InputStream output = process.getInputStream()) {
+            accessPoints = dumpParser.parse(output);
+        }
+        for (AccessPoint ap : accessPoints) {
+            ap.setInterfaceName(wifiInterface);
+        }
+        
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            logger.warn("Comando iw scan dump falhou com código: {}", exitCode);
+        }
+        return accessPoints;
+    }
+    
+    private static long freshestAgeMs(List<AccessPoint> accessPoints) {
+        LocalDateTime freshest = null;
+        for (AccessPoint ap : accessPoints) {
+            LocalDateTime seen = ap.getLastBeaconTime();
+            if (seen != null && (freshest == null || seen.isAfter(freshest))) {
+                freshest = seen;
+            }
+        }
+        return freshest == null ? Long.MAX_VALUE : Duration.between(freshest, LocalDateTime.now()).toMillis();
+    }
+    
+    @Override
+    public boolean isSupported() {
+        String os = System.getProperty("os.name").toLowerCase();
+        return os.contains("linux");
+    }
+    
+    @Override
+    public String getDetectorName() {
+        return "Linux WiFi Detector (passivo)";
+    }
+}
@@ -0,0 +1,171 @@
+package br.unitins.service.impl;
+
+import br.unitins.concurrent.SingleFlight;
+import br.unitins.model.AccessPoint;
+import br.unitins.service.WiFiDetector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Detector que compartilha o escaneamento de uma interface entre os processos do host
+ * Antes de escanear, consulta o último resultado publicado ({@link LatestScanFile}): se for recente,
+ * é reaproveitado sem ocupar o rádio. Caso contrário, o processo que obtém o lease da interface
+ * ({@link InterfaceLease}) escaneia e publica; os demais aguardam a publicação. Assim um único
+ * processo escaneia e qualquer número de processos lê.
+ */
+public class SharedScanWiFiDetector implements WiFiDetector {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SharedScanWiFiDetector.class);
+    
+    private final WiFiDetector delegate;
+    private final String configuredInterface;
+    private final Path directory;
+    private final long maxAgeMs;
+    private final long maxStaleMs;
+    private final long leaseWaitMs;
+    private final int fileBytes;
+    private final SingleFlight<List<AccessPoint>> scanFlight = new SingleFlight<>();
+    
+    // Abertos no primeiro escaneamento, quando a interface é conhecida
+    private InterfaceLease lease;
+    private LatestScanFile latestScan;
+    private boolean unavailable;
+    
+    /**
+     * @param delegate Detector que efetivamente escaneia a interface
+     * @param wifiInterface Interface (null para descoberta automática pelo sysfs)
+     * @param directory Diretório dos arquivos de lease e do último escaneamento
+     * @param maxAgeMs Idade máxima de um escaneamento publicado para ser reaproveitado
+     * @param maxStaleMs Idade máxima do escaneamento anterior aceito quando a espera pelo lease expira
+     * @param leaseWaitMs Tempo máximo de espera pelo lease ou por uma publicação de outro processo
+     * @param fileBytes Tamanho do arquivo do último escaneamento
+     */
+    public SharedScanWiFiDetector(WiFiDetector delegate, String wifiInterface, Path directory,
+                                  long maxAgeMs, long maxStaleMs, long leaseWaitMs, int fileBytes) {
+        this.delegate = delegate;
+        this.configuredInterface = wifiInterface;
+        this.directory = directory;
+        this.maxAgeMs = maxAgeMs;
+        this.maxStaleMs = maxStaleMs;
+        this.leaseWaitMs = leaseWaitMs;
+        this.fileBytes = fileBytes;
+    }
+    
+    @Override
+    public List<AccessPoint> scanAccessPoints() throws Exception {
+        return scanFlight.execute(this::doScan);
+    }
+    
+    private List<AccessPoint> doScan() throws Exception {
+        if (!open()) {
+            return delegate.scanAccessPoints();
+        }
+        
+        long start = System.currentTimeMillis();
+        LatestScanFile.Snapshot shared = latestScan.read();
+        if (isFresh(shared, start)) {
+            logger.debug("Usando escaneamento publicado por outro processo ({} ms)", start - shared.publishedAt());
+            return shared.accessPoints();
+        }
+        
+        // Desiste da espera assim que outro processo publicar um escaneamento iniciado depois deste pedido
+        FileLock lock = lease.acquire(leaseWaitMs, () -> publishedSince(start));
+        if (lock == null) {
+            LatestScanFile.Snapshot published = latestScan.read();
+            if (published != null && published.publishedAt() >= start) {
+                logger.debug("Escaneamento publicado por outro processo durante a espera");
+                return published.accessPoints();
+            }
+            // Resultado anterior só enquanto não estiver velho demais: um processo preso com o lease
+            // não pode fazer os demais repetirem o mesmo escaneamento indefinidamente
+            long age = published != null ? System.currentTimeMillis() - published.publishedAt() : -1;
+            if (published != null && age <= maxStaleMs) {
+                logger.warn("Interface ocupada por outro processo; usando escaneamento anterior ({} ms)", age);
+                return published.accessPoints();
+            }
+            if (published != null) {
+                throw new Exception("Interface Wi-Fi ocupada por outro processo e último escaneamento publicado há "
+                        + age + " ms (máximo " + maxStaleMs + " ms)");
+            }
+            throw new Exception("Interface Wi-Fi ocupada por outro processo");
+        }
+        
+        try {
+            // Outro processo pode ter publicado entre a leitura e a obtenção do lease
+            long now = System.currentTimeMillis();
+            LatestScanFile.Snapshot published = latestScan.read();
+            if (isFresh(published, now)) {
+                return published.accessPoints();
+            }
+            
+            List<AccessPoint> accessPoints = delegate.scanAccessPoints();
+            try {
+                latestScan.write(accessPoints, System.currentTimeMillis());
+            } catch (IOException e) {
+                logger.warn("Erro ao publicar escaneamento compartilhado: {}", e.getMessage());
+            }
+            return accessPoints;
+        } finally {
+            lock.release();
+        }
+    }
+    
+    private boolean isFresh(LatestScanFile.Snapshot snapshot, long now) {
+        return snapshot != null && now - snapshot.publishedAt() <= maxAgeMs;
+    }
+    
+    private boolean publishedSince(long start) {
+        LatestScanFile.Snapshot snapshot = latestScan.read();
+        return snapshot != null && snapshot.publishedAt() >= start;
+    }
+    
+    /**
+     * Abre os arquivos da interface; em caso de erro o compartilhamento é desativado e o
+     * detector passa a escanear diretamente
+     */
+    private boolean open() {
+        if (latestScan != null) {
+            return true;
+        }
+        if (unavailable) {
+            return false;
+        }
+        String name = configuredInterface != null ? configuredInterface : WirelessInterfaces.primary();
+        if (name == null) {
+            name = "default";
+        }
+        try {
+            Files.createDirectories(directory);
+            InterfaceLease interfaceLease = new InterfaceLease(directory.resolve(name + ".lock"));
+            try {
+                this.latestScan = new LatestScanFile(directory.resolve(name + ".scan"), fileBytes);
+            } catch (IOException e) {
+                interfaceLease.close();
+                throw e;
+            }
+            this.lease = interfaceLease;
+            logger.info("Escaneamento da interface {} compartilhado em {}", name, directory);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Escaneamento compartilhado indisponível para {}: {}", name, e.getMessage());
+            unavailable = true;
+            return false;
+        }
+    }
+    
+    @Override
+    public boolean isSupported() {
+        return delegate.isSupported();
+    }
+    
+    @Override
+    public String getDetectorName() {
+        return delegate.getDetectorName() + " (compartilhado)";
+    }
+}
@@ -1,5 +1,6 @@
 package br.unitins.service.impl;
 
+import br.unitins.concurrent.Subprocesses;
 import br.unitins.model.AccessPoint;
 import br.unitins.service.WiFiDetector;
 import org.slf4j.Logger;
@@ -31,7 +32,7 @@ public class WindowsWiFiDetector implements WiFiDetector {
                 "netsh", "wlan", "show", "profiles"
             );
             processBuilder.redirectErrorStream(true);
-            Process process = processBuilder.start();
+            Process process = Subprocesses.start(processBuilder);
             
             // Primeiro, obtém os perfis salvos
             List<String> profiles = new ArrayList<>();
@@ -54,7 +55,7 @@ public class WindowsWiFiDetector implements WiFiDetector {
                 "netsh", "wlan", "show", "interfaces"
             );
             processBuilder.redirectErrorStream(true);
-            process = processBuilder.start();
+            process = Subprocesses.start(processBuilder);
             
             try (BufferedReader reader = new BufferedReader(
                     new InputStreamReader(process.getInputStream(), "UTF-8"))) {
@@ -101,7 +102,7 @@ public class WindowsWiFiDetector implements WiFiDetector {
             "netsh", "wlan", "show", "profiles"
         );
         processBuilder.redirectErrorStream(true);
-        Process process = processBuilder.start();
+        Process process = Subprocesses.start(processBuilder);
         
         try (BufferedReader reader = new BufferedReader(
                 new InputStreamReader(process.getInputStream(), "UTF-8"))) {
@@ -185,12 +186,12 @@ public class WindowsWiFiDetector implements WiFiDetector {
                 ap.setBeaconInterval(100);
             }
             if (ap.getFrequency() == 0.0 && ap.getChannel() > 0) {
-                ap.setFrequency(calculateFrequencyFromChannel(ap.getChannel()));
+                ap.setFrequency(WirelessSignals.frequencyFromChannel(ap.getChannel()));
             }
             
             // Calcula qualidade do link baseada no nível do sinal
             if (ap.getLinkQuality() == 0.0 && ap.getSignalLevel() != 0) {
-                ap.setLinkQuality(calculateLinkQuality(ap.getSignalLevel()));
+                ap.setLinkQuality(WirelessSignals.linkQuality(ap.getSignalLevel()));
             }
             
         } catch (Exception e) {
@@ -206,27 +207,6 @@ public class WindowsWiFiDetector implements WiFiDetector {
         return "";
     }
     
-    private double calculateFrequencyFromChannel(int channel) {
-        if (channel >= 1 && channel <= 14) {
-            // 2.4 GHz band
-            return 2.412 + (channel - 1) * 0.005;
-        } else if (channel >= 36 && channel <= 165) {
-            // 5 GHz band
-            return 5.0 + (channel * 0.005);
-        }
-        return 0.0;
-    }
-    
-    private double calculateLinkQuality(int signalLevel) {
-        // Converte dBm para porcentagem (aproximação)
-        if (signalLevel >= -30) return 100.0;
-        if (signalLevel >= -67) return 100.0 - ((67 + signalLevel) * 1.5);
-        if (signalLevel >= -70) return 50.0 - ((70 + signalLevel) * 3.0);
-        if (signalLevel >= -80) return 20.0 - ((80 + signalLevel) * 2.0);
-        if (signalLevel >= -90) return 5.0 - ((90 + signalLevel) * 0.5);
-        return 0.0;
-    }
-    
     @Override
     public boolean isSupported() {
         String os = System.getProperty("os.name").toLowerCase();
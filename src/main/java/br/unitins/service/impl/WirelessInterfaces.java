@@ -0,0 +1,83 @@
+package br.unitins.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Descoberta das interfaces Wi-Fi pelo sysfs
+ * A leitura de /sys/class/net é feita uma única vez e mantida durante toda a vida do processo
+ */
+public final class WirelessInterfaces {
+    
+    private static final Logger logger = LoggerFactory.getLogger(WirelessInterfaces.class);
+    private static final Path SYS_CLASS_NET = Paths.get("/sys/class/net");
+    
+    private static volatile List<String> cached;
+    
+    private WirelessInterfaces() {}
+    
+    /**
+     * Lista as interfaces sem fio (com phy80211 ou wireless no sysfs)
+     * @return Nomes das interfaces, em ordem alfabética
+     */
+    public static List<String> list() {
+        List<String> interfaces = cached;
+        if (interfaces == null) {
+            synchronized (WirelessInterfaces.class) {
+                if (cached == null) {
+                    cached = discover();
+                    logger.info("Interfaces Wi-Fi encontradas: {}", cached);
+                }
+                interfaces = cached;
+            }
+        }
+        return interfaces;
+    }
+    
+    /**
+     * Primeira interface sem fio encontrada
+     * @return Nome da interface ou null se nenhuma existir
+     */
+    public static String primary() {
+        List<String> interfaces = list();
+        return interfaces.isEmpty() ? null : interfaces.get(0);
+    }
+    
+    /**
+     * Índice da interface no kernel (usado pelo nl80211)
+     * @param name Nome da interface
+     * @return ifindex
+     * @throws IOException se o arquivo não puder ser lido
+     */
+    public static int indexOf(String name) throws IOException {
+        String ifindex = Files.readString(SYS_CLASS_NET.resolve(name).resolve("ifindex")).trim();
+        return Integer.parseInt(ifindex);
+    }
+    
+    private static List<String> discover() {
+        List<String> interfaces = new ArrayList<>();
+        if (!Files.isDirectory(SYS_CLASS_NET)) {
+            return Collections.emptyList();
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(SYS_CLASS_NET)) {
+            for (Path iface : entries) {
+                if (Files.isDirectory(iface.resolve("phy80211")) || Files.isDirectory(iface.resolve("wireless"))) {
+                    interfaces.add(iface.getFileName().toString());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Erro ao listar interfaces em {}: {}", SYS_CLASS_NET, e.getMessage());
+        }
+        Collections.sort(interfaces);
+        return Collections.unmodifiableList(interfaces);
+    }
+}
@@ -0,0 +1,52 @@
+package br.unitins.service.impl;
+
+/**
+ * Conversões de canal, frequência e qualidade de sinal compartilhadas pelos detectores e parsers
+ */
+public final class WirelessSignals {
+    
+    private WirelessSignals() {}
+    
+    /**
+     * Converte o nível de sinal em qualidade do link
+     * @param signalLevel Nível de sinal em dBm
+     * @return Qualidade em porcentagem (aproximação)
+     */
+    public static double linkQuality(int signalLevel) {
+        if (signalLevel >= -30) return 100.0;
+        if (signalLevel >= -67) return 100.0 - ((67 + signalLevel) * 1.5);
+        if (signalLevel >= -70) return 50.0 - ((70 + signalLevel) * 3.0);
+        if (signalLevel >= -80) return 20.0 - ((80 + signalLevel) * 2.0);
+        if (signalLevel >= -90) return 5.0 - ((90 + signalLevel) * 0.5);
+        return 0.0;
+    }
+    
+    /**
+     * Canal correspondente a uma frequência central (2.4, 5 e 6 GHz)
+     * @param mhz Frequência em MHz
+     * @return Canal ou 0 se a frequência não pertencer a nenhuma banda conhecida
+     */
+    public static int channelFromFrequency(int mhz) {
+        if (mhz == 2484) return 14;
+        if (mhz >= 2412 && mhz < 2484) return (mhz - 2407) / 5;
+        if (mhz >= 5955 && mhz <= 7115) return (mhz - 5950) / 5;
+        if (mhz >= 5000 && mhz < 5955) return (mhz - 5000) / 5;
+        return 0;
+    }
+    
+    /**
+     * Frequência central de um canal (2.4 e 5 GHz)
+     * @param channel Canal
+     * @return Frequência em GHz ou 0 se o canal não for reconhecido
+     */
+    public static double frequencyFromChannel(int channel) {
+        if (channel >= 1 && channel <= 14) {
+            // 2.4 GHz band
+            return 2.412 + (channel - 1) * 0.005;
+        } else if (channel >= 36 && channel <= 165) {
+            // 5 GHz band
+            return 5.0 + (channel * 0.005);
+        }
+        return 0.0;
+    }
+}
@@ -0,0 +1,279 @@
+package br.unitins.service.impl.netlink;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Montagem e decodificação de mensagens netlink / generic netlink
+ * Layout conforme linux/netlink.h e linux/genetlink.h (ordem de bytes do host)
+ */
+public final class NetlinkMessages {
+
+    // nlmsghdr
+    public static final int NLMSG_HDRLEN = 16;
+    public static final int NLMSG_ERROR = 2;
+    public static final int NLMSG_DONE = 3;
+    public static final int NLM_F_REQUEST = 0x01;
+    public static final int NLM_F_MULTI = 0x02;
+    public static final int NLM_F_ACK = 0x04;
+    public static final int NLM_F_DUMP = 0x300;
+
+    // genlmsghdr
+    public static final int GENL_HDRLEN = 4;
+    public static final int GENL_ID_CTRL = 0x10;
+    public static final int CTRL_CMD_GETFAMILY = 3;
+    public static final int CTRL_ATTR_FAMILY_ID = 1;
+    public static final int CTRL_ATTR_FAMILY_NAME = 2;
+    public static final int CTRL_ATTR_MCAST_GROUPS = 7;
+    public static final int CTRL_ATTR_MCAST_GRP_NAME = 1;
+    public static final int CTRL_ATTR_MCAST_GRP_ID = 2;
+
+    // nlattr
+    public static final int NLA_HDRLEN = 4;
+    private static final int NLA_TYPE_MASK = 0x3fff;
+
+    private static final ByteOrder HOST_ORDER = ByteOrder.nativeOrder();
+
+    private NetlinkMessages() {}
+
+    /**
+     * Mensagem netlink decodificada
+     */
+    public static final class Message {
+        private final int type;
+        private final int flags;
+        private final int sequence;
+        private final ByteBuffer payload;
+
+        Message(int type, int flags, int sequence, ByteBuffer payload) {
+            this.type = type;
+            this.flags = flags;
+            this.sequence = sequence;
+            this.payload = payload;
+        }
+
+        public int getType() { return type; }
+        public int getFlags() { return flags; }
+        public int getSequence() { return sequence; }
+
+        /** Payload após o nlmsghdr (para generic netlink começa pelo genlmsghdr) */
+        public ByteBuffer getPayload() { return payload.duplicate().order(HOST_ORDER); }
+
+        public boolean isDone() { return type == NLMSG_DONE; }
+        public boolean isError() { return type == NLMSG_ERROR; }
+
+        /** Código de erro de uma mensagem NLMSG_ERROR (0 indica ACK) */
+        public int getErrorCode() {
+            return payload.order(HOST_ORDER).getInt(payload.position());
+        }
+
+        /** Comando do genlmsghdr */
+        public int getGenlCommand() {
+            return payload.get(payload.position()) & 0xff;
+        }
+
+        /** Atributos que seguem o genlmsghdr */
+        public Map<Integer, ByteBuffer> getGenlAttributes() {
+            ByteBuffer buffer = getPayload();
+            buffer.position(buffer.position() + GENL_HDRLEN);
+            return parseAttributes(buffer);
+        }
+    }
+
+    /**
+     * Monta uma requisição generic netlink
+     * @param familyId Identificador da família (tipo da mensagem)
+     * @param flags Flags do nlmsghdr
+     * @param sequence Número de sequência
+     * @param command Comando genl
+     * @param attributes Atributos já codificados (ver {@link #attribute})
+     * @return Bytes da mensagem
+     */
+    public static byte[] genlRequest(int familyId, int flags, int sequence, int command, byte[]... attributes) {
+        int length = NLMSG_HDRLEN + GENL_HDRLEN;
+        for (byte[] attribute : attributes) {
+            length += attribute.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(HOST_ORDER);
+        buffer.putInt(length);
+        buffer.putShort((short) familyId);
+        buffer.putShort((short) flags);
+        buffer.putInt(sequence);
+        buffer.putInt(0); // pid: o kernel preenche
+        buffer.put((byte) command);
+        buffer.put((byte) 1); // versão
+        buffer.putShort((short) 0);
+        for (byte[] attribute : attributes) {
+            buffer.put(attribute);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Requisição CTRL_CMD_GETFAMILY para resolver o id de uma família
+     */
+    public static byte[] getFamilyRequest(int sequence, String familyName) {
+        return genlRequest(GENL_ID_CTRL, NLM_F_REQUEST | NLM_F_ACK, sequence, CTRL_CMD_GETFAMILY,
+                stringAttribute(CTRL_ATTR_FAMILY_NAME, familyName));
+    }
+
+    /**
+     * Codifica um atributo u32
+     */
+    public static byte[] u32Attribute(int type, int value) {
+        ByteBuffer buffer = ByteBuffer.allocate(NLA_HDRLEN + 4).order(HOST_ORDER);
+        buffer.putShort((short) (NLA_HDRLEN + 4));
+        buffer.putShort((short) type);
+        buffer.putInt(value);
+        return buffer.array();
+    }
+
+    /**
+     * Codifica um atributo string terminado em zero
+     */
+    public static byte[] stringAttribute(int type, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        return attribute(type, bytes, bytes.length + 1);
+    }
+
+    /**
+     * Codifica um atributo com alinhamento de 4 bytes
+     */
+    public static byte[] attribute(int type, byte[] data, int dataLength) {
+        int length = NLA_HDRLEN + dataLength;
+        ByteBuffer buffer = ByteBuffer.allocate(align(length)).order(HOST_ORDER);
+        buffer.putShort((short) length);
+        buffer.putShort((short) type);
+        buffer.put(data, 0, Math.min(data.length, dataLength));
+        return buffer.array();
+    }
+
+    /**
+     * Separa um datagrama nas mensagens netlink que ele contém
+     * @param datagram Bytes recebidos do socket
+     * @return Mensagens decodificadas
+     */
+    public static List<Message> parseMessages(byte[] datagram) {
+        return parseMessages(ByteBuffer.wrap(datagram));
+    }
+
+    /**
+     * Separa um buffer nas mensagens netlink que ele contém
+     */
+    public static List<Message> parseMessages(ByteBuffer source) {
+        ByteBuffer buffer = source.duplicate().order(HOST_ORDER);
+        List<Message> messages = new ArrayList<>();
+
+        while (buffer.remaining() >= NLMSG_HDRLEN) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int type = buffer.getShort() & 0xffff;
+            int flags = buffer.getShort() & 0xffff;
+            int sequence = buffer.getInt();
+            buffer.getInt(); // pid
+
+            if (length < NLMSG_HDRLEN || start + length > buffer.limit()) {
+                break;
+            }
+
+            ByteBuffer payload = buffer.duplicate();
+            payload.limit(start + length);
+            messages.add(new Message(type, flags, sequence, payload.slice()));
+
+            buffer.position(Math.min(buffer.limit(), start + align(length)));
+        }
+
+        return messages;
+    }
+
+    /**
+     * Decodifica uma sequência de nlattr a partir da posição atual do buffer
+     * @param source Buffer posicionado no primeiro atributo
+     * @return Mapa tipo → valor (sem o cabeçalho do atributo)
+     */
+    public static Map<Integer, ByteBuffer> parseAttributes(ByteBuffer source) {
+        ByteBuffer buffer = source.duplicate().order(HOST_ORDER);
+        Map<Integer, ByteBuffer> attributes = new HashMap<>();
+
+        while (buffer.remaining() >= NLA_HDRLEN) {
+            int start = buffer.position();
+            int length = buffer.getShort() & 0xffff;
+            int type = buffer.getShort() & NLA_TYPE_MASK;
+
+            if (length < NLA_HDRLEN || start + length > buffer.limit()) {
+                break;
+            }
+
+            ByteBuffer value = buffer.duplicate();
+            value.limit(start + length);
+            attributes.put(type, value.slice().order(HOST_ORDER));
+
+            buffer.position(Math.min(buffer.limit(), start + align(length)));
+        }
+
+        return attributes;
+    }
+
+    /**
+     * Lê um u16 sem sinal de um atributo
+     */
+    public static int getU16(ByteBuffer value) {
+        return value.order(HOST_ORDER).getShort(0) & 0xffff;
+    }
+
+    /**
+     * Lê um u32 de um atributo
+     */
+    public static int getU32(ByteBuffer value) {
+        return value.order(HOST_ORDER).getInt(0);
+    }
+
+    /**
+     * Lê um atributo string terminado em zero
+     */
+    public static String getString(ByteBuffer value) {
+        byte[] bytes = getBytes(value);
+        int length = 0;
+        while (length < bytes.length && bytes[length] != 0) {
+            length++;
+        }
+        return new String(bytes, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Procura um grupo multicast na resposta CTRL_CMD_GETFAMILY
+     * @param groups Valor do atributo CTRL_ATTR_MCAST_GROUPS
+     * @param name Nome do grupo (ex.: "scan" no nl80211)
+     * @return Identificador do grupo ou 0 se a família não o anunciar
+     */
+    public static int multicastGroupId(ByteBuffer groups, String name) {
+        for (ByteBuffer group : parseAttributes(groups).values()) {
+            Map<Integer, ByteBuffer> attributes = parseAttributes(group);
+            ByteBuffer groupName = attributes.get(CTRL_ATTR_MCAST_GRP_NAME);
+            ByteBuffer id = attributes.get(CTRL_ATTR_MCAST_GRP_ID);
+            if (groupName != null && id != null && name.equals(getString(groupName))) {
+                return getU32(id);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Copia o conteúdo de um atributo para um array
+     */
+    public static byte[] getBytes(ByteBuffer value) {
+        byte[] bytes = new byte[value.remaining()];
+        value.duplicate().get(bytes);
+        return bytes;
+    }
+
+    static int align(int length) {
+        return (length + 3) & ~3;
+    }
+}
@@ -0,0 +1,159 @@
+package br.unitins.service.impl.netlink;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+
+/**
+ * Socket netlink genérico (NETLINK_GENERIC) acessado por um shim JNI mínimo
+ * O shim apenas abre, configura, envia, recebe e fecha; toda a montagem e decodificação
+ * das mensagens é feita em Java (ver {@link NetlinkMessages})
+ */
+public class NetlinkSocket implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(NetlinkSocket.class);
+    private static final String LIBRARY_NAME = "hotspotnl";
+    private static final int NETLINK_GENERIC = 16;
+    private static final int RECEIVE_BUFFER_SIZE = 32768;
+    private static final int EAGAIN = 11;
+
+    private static final boolean AVAILABLE = loadLibrary();
+
+    private final int fd;
+    private final byte[] receiveBuffer = new byte[RECEIVE_BUFFER_SIZE];
+    private int sequence;
+    private boolean closed;
+
+    private NetlinkSocket(int fd) {
+        this.fd = fd;
+    }
+
+    /**
+     * Abre um socket netlink genérico
+     * @return Socket aberto
+     * @throws IOException se a biblioteca nativa não estiver disponível ou o socket não puder ser aberto
+     */
+    public static NetlinkSocket open() throws IOException {
+        if (!AVAILABLE) {
+            throw new IOException("Biblioteca nativa " + LIBRARY_NAME + " não disponível");
+        }
+        int fd = nativeOpen(NETLINK_GENERIC);
+        if (fd < 0) {
+            throw new IOException("Falha ao abrir socket netlink (errno " + -fd + ")");
+        }
+        return new NetlinkSocket(fd);
+    }
+
+    /**
+     * Verifica se o shim JNI foi carregado
+     * @return true se o socket netlink pode ser utilizado
+     */
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * Próximo número de sequência para uma requisição
+     */
+    public int nextSequence() {
+        return ++sequence;
+    }
+
+    /**
+     * Envia uma mensagem netlink já montada
+     * @param message Bytes da mensagem
+     * @throws IOException se o envio falhar
+     */
+    public void send(byte[] message) throws IOException {
+        int sent = nativeSend(fd, message, message.length);
+        if (sent < 0) {
+            throw new IOException("Falha ao enviar mensagem netlink (errno " + -sent + ")");
+        }
+    }
+
+    /**
+     * Assina um grupo multicast da família (eventos do kernel chegam com número de sequência 0)
+     * @param group Identificador do grupo (ver {@link NetlinkMessages#multicastGroupId})
+     * @throws IOException se a assinatura falhar ou a biblioteca nativa for de uma versão anterior
+     */
+    public void joinGroup(int group) throws IOException {
+        int result;
+        try {
+            result = nativeAddMembership(fd, group);
+        } catch (UnsatisfiedLinkError e) {
+            throw outdatedLibrary(e);
+        }
+        if (result < 0) {
+            throw new IOException("Falha ao assinar grupo multicast netlink (errno " + -result + ")");
+        }
+    }
+
+    /**
+     * Limita a espera de {@link #receive()}
+     * @param millis Prazo de cada leitura em milissegundos (0 espera indefinidamente)
+     * @throws IOException se o prazo não puder ser aplicado ou a biblioteca nativa for de uma versão anterior
+     */
+    public void setReceiveTimeout(int millis) throws IOException {
+        int result;
+        try {
+            result = nativeSetReceiveTimeout(fd, millis);
+        } catch (UnsatisfiedLinkError e) {
+            throw outdatedLibrary(e);
+        }
+        if (result < 0) {
+            throw new IOException("Falha ao definir prazo de leitura netlink (errno " + -result + ")");
+        }
+    }
+
+    /**
+     * Recebe um datagrama netlink (pode conter várias mensagens)
+     * @return Bytes recebidos
+     * @throws SocketTimeoutException se o prazo de {@link #setReceiveTimeout} se esgotar
+     * @throws IOException se a leitura falhar
+     */
+    public byte[] receive() throws IOException {
+        int received = nativeReceive(fd, receiveBuffer);
+        if (received == -EAGAIN) {
+            throw new SocketTimeoutException("Prazo esgotado aguardando mensagem netlink");
+        }
+        if (received < 0) {
+            throw new IOException("Falha ao receber mensagem netlink (errno " + -received + ")");
+        }
+        byte[] datagram = new byte[received];
+        System.arraycopy(receiveBuffer, 0, datagram, 0, received);
+        return datagram;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            nativeClose(fd);
+        }
+    }
+
+    private static IOException outdatedLibrary(UnsatisfiedLinkError e) {
+        return new IOException("Biblioteca nativa " + LIBRARY_NAME + " desatualizada: recompile src/main/native/hotspotnl.c", e);
+    }
+
+    private static boolean loadLibrary() {
+        try {
+            System.loadLibrary(LIBRARY_NAME);
+            return true;
+        } catch (UnsatisfiedLinkError e) {
+            logger.debug("Biblioteca nativa {} não encontrada: {}", LIBRARY_NAME, e.getMessage());
+            return false;
+        }
+    }
+
+    // Métodos implementados em src/main/native/hotspotnl.c
+    private static native int nativeOpen(int protocol);
+    private static native int nativeSend(int fd, byte[] buffer, int length);
+    private static native int nativeReceive(int fd, byte[] buffer);
+    private static native int nativeAddMembership(int fd, int group);
+    private static native int nativeSetReceiveTimeout(int fd, int millis);
+    private static native void nativeClose(int fd);
+}
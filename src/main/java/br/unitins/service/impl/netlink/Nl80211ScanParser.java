@@ -0,0 +1,201 @@
+package br.unitins.service.impl.netlink;
+
+import br.unitins.model.AccessPoint;
+import br.unitins.service.impl.WirelessSignals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodificador binário das respostas NL80211_CMD_GET_SCAN
+ * Converte cada NL80211_ATTR_BSS em um {@link AccessPoint} sem passar por texto
+ */
+public final class Nl80211ScanParser {
+
+    // Comandos e atributos de linux/nl80211.h
+    public static final int NL80211_CMD_GET_SCAN = 32;
+    public static final int NL80211_CMD_TRIGGER_SCAN = 33;
+    public static final int NL80211_CMD_NEW_SCAN_RESULTS = 34;
+    public static final int NL80211_CMD_SCAN_ABORTED = 35;
+    public static final int NL80211_ATTR_IFINDEX = 3;
+    public static final int NL80211_ATTR_BSS = 47;
+
+    private static final int NL80211_BSS_BSSID = 1;
+    private static final int NL80211_BSS_FREQUENCY = 2;
+    private static final int NL80211_BSS_BEACON_INTERVAL = 4;
+    private static final int NL80211_BSS_CAPABILITY = 5;
+    private static final int NL80211_BSS_INFORMATION_ELEMENTS = 6;
+    private static final int NL80211_BSS_SIGNAL_MBM = 7;
+    private static final int NL80211_BSS_SIGNAL_UNSPEC = 8;
+    private static final int NL80211_BSS_SEEN_MS_AGO = 10;
+
+    // Elementos de informação (IEEE 802.11)
+    private static final int IE_SSID = 0;
+    private static final int IE_DS_PARAMETER_SET = 3;
+    private static final int IE_RSN = 48;
+    private static final int IE_VENDOR_SPECIFIC = 221;
+    private static final int CAPABILITY_PRIVACY = 0x0010;
+    private static final int AKM_SAE = 8;
+
+    private Nl80211ScanParser() {}
+
+    /**
+     * Decodifica as mensagens de um dump de resultados de escaneamento
+     * @param messages Mensagens recebidas do socket (ou de um dump gravado)
+     * @return Lista de Access Points
+     */
+    public static List<AccessPoint> parse(List<NetlinkMessages.Message> messages) {
+        List<AccessPoint> accessPoints = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (NetlinkMessages.Message message : messages) {
+            if (message.isDone() || message.isError()
+                    || message.getGenlCommand() != NL80211_CMD_NEW_SCAN_RESULTS) {
+                continue;
+            }
+
+            ByteBuffer bss = message.getGenlAttributes().get(NL80211_ATTR_BSS);
+            if (bss != null) {
+                AccessPoint ap = parseBss(NetlinkMessages.parseAttributes(bss), now);
+                if (ap != null) {
+                    accessPoints.add(ap);
+                }
+            }
+        }
+
+        return accessPoints;
+    }
+
+    private static AccessPoint parseBss(Map<Integer, ByteBuffer> bss, LocalDateTime now) {
+        ByteBuffer bssid = bss.get(NL80211_BSS_BSSID);
+        if (bssid == null || bssid.remaining() < 6) {
+            return null;
+        }
+
+        AccessPoint ap = new AccessPoint();
+        ap.setMacAddress(formatMac(bssid));
+
+        ByteBuffer frequency = bss.get(NL80211_BSS_FREQUENCY);
+        if (frequency != null) {
+            int mhz = NetlinkMessages.getU32(frequency);
+            ap.setFrequency(mhz / 1000.0);
+            ap.setChannel(WirelessSignals.channelFromFrequency(mhz));
+        }
+
+        ByteBuffer signalMbm = bss.get(NL80211_BSS_SIGNAL_MBM);
+        ByteBuffer signalUnspec = bss.get(NL80211_BSS_SIGNAL_UNSPEC);
+        if (signalMbm != null) {
+            int dbm = NetlinkMessages.getU32(signalMbm) / 100;
+            ap.setSignalLevel(dbm);
+            ap.setLinkQuality(WirelessSignals.linkQuality(dbm));
+        } else if (signalUnspec != null) {
+            // Valor 0-100 sem unidade definida pelo driver
+            ap.setLinkQuality(signalUnspec.get(0) & 0xff);
+        }
+
+        ByteBuffer beaconInterval = bss.get(NL80211_BSS_BEACON_INTERVAL);
+        ap.setBeaconInterval(beaconInterval != null ? NetlinkMessages.getU16(beaconInterval) : 100);
+
+        ByteBuffer seenMsAgo = bss.get(NL80211_BSS_SEEN_MS_AGO);
+        ap.setLastBeaconTime(seenMsAgo != null
+                ? now.minusNanos(NetlinkMessages.getU32(seenMsAgo) * 1_000_000L)
+                : now);
+
+        int capability = 0;
+        ByteBuffer capabilityAttr = bss.get(NL80211_BSS_CAPABILITY);
+        if (capabilityAttr != null) {
+            capability = NetlinkMessages.getU16(capabilityAttr);
+        }
+
+        ByteBuffer ies = bss.get(NL80211_BSS_INFORMATION_ELEMENTS);
+        parseInformationElements(ies, capability, ap);
+
+        return ap;
+    }
+
+    private static void parseInformationElements(ByteBuffer ies, int capability, AccessPoint ap) {
+        String security = null;
+
+        if (ies != null) {
+            ByteBuffer buffer = ies.duplicate();
+            while (buffer.remaining() >= 2) {
+                int id = buffer.get() & 0xff;
+                int length = buffer.get() & 0xff;
+                if (length > buffer.remaining()) {
+                    break;
+                }
+                int start = buffer.position();
+
+                switch (id) {
+                    case IE_SSID:
+                        if (length > 0) {
+                            byte[] ssid = new byte[length];
+                            buffer.get(ssid);
+                            ap.setSsid(new String(ssid, StandardCharsets.UTF_8));
+                        }
+                        break;
+                    case IE_DS_PARAMETER_SET:
+                        if (length >= 1 && ap.getChannel() == 0) {
+                            ap.setChannel(buffer.get(start) & 0xff);
+                        }
+                        break;
+                    case IE_RSN:
+                        security = hasSaeAkm(buffer, start, length) ? "WPA3" : "WPA2";
+                        break;
+                    case IE_VENDOR_SPECIFIC:
+                        // OUI Microsoft 00:50:F2 tipo 1 = WPA
+                        if (security == null && length >= 4
+                                && buffer.get(start) == 0x00
+                                && buffer.get(start + 1) == 0x50
+                                && (buffer.get(start + 2) & 0xff) == 0xF2
+                                && buffer.get(start + 3) == 0x01) {
+                            security = "WPA";
+                        }
+                        break;
+                    default:
+                        break;
+                }
+
+                buffer.position(start + length);
+            }
+        }
+
+        if (security == null) {
+            security = (capability & CAPABILITY_PRIVACY) != 0 ? "WEP" : "Open";
+        }
+        ap.setSecurityVersion(security);
+    }
+
+    private static boolean hasSaeAkm(ByteBuffer buffer, int start, int length) {
+        // versão(2) + cifra de grupo(4) + contagem(2) + cifras pareadas(4n) + contagem AKM(2) + AKMs(4n)
+        int offset = start + 2 + 4;
+        int end = start + length;
+        if (offset + 2 > end) return false;
+        int pairwiseCount = (buffer.get(offset) & 0xff) | (buffer.get(offset + 1) & 0xff) << 8;
+        offset += 2 + pairwiseCount * 4;
+        if (offset + 2 > end) return false;
+        int akmCount = (buffer.get(offset) & 0xff) | (buffer.get(offset + 1) & 0xff) << 8;
+        offset += 2;
+        for (int i = 0; i < akmCount && offset + 4 <= end; i++, offset += 4) {
+            if ((buffer.get(offset + 3) & 0xff) == AKM_SAE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String formatMac(ByteBuffer bssid) {
+        StringBuilder sb = new StringBuilder(17);
+        for (int i = 0; i < 6; i++) {
+            if (i > 0) sb.append(':');
+            int b = bssid.get(i) & 0xff;
+            sb.append(Character.toUpperCase(Character.forDigit(b >> 4, 16)));
+            sb.append(Character.toUpperCase(Character.forDigit(b & 0xf, 16)));
+        }
+        return sb.toString();
+    }
+}
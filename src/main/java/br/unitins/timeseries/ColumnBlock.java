@@ -0,0 +1,200 @@
+package br.unitins.timeseries;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bloco de observações em colunas (struct-of-arrays)
+ * Codificação de cada coluna:
+ * - horário (epoch millis): primeiro valor absoluto e depois delta-of-delta, pois as linhas de um
+ *   escaneamento têm quase o mesmo horário e os escaneamentos são periódicos
+ * - MAC: id do dicionário do arquivo
+ * - demais colunas inteiras (sinal, qualidade, canal, frequência, intervalo de beacon e ids de
+ *   SSID, segurança e interface): delta em relação à linha anterior do mesmo Access Point no
+ *   bloco — um AP estável custa um byte por coluna
+ * Todos os valores são gravados como inteiros de tamanho variável em zigzag.
+ */
+final class ColumnBlock {
+
+    /** Valor ausente nas colunas inteiras */
+    static final int NULL = Integer.MIN_VALUE;
+
+    static final int SIGNAL = 0;
+    static final int QUALITY = 1;
+    static final int CHANNEL = 2;
+    static final int FREQUENCY_MHZ = 3;
+    static final int BEACON_INTERVAL = 4;
+    static final int SSID = 5;
+    static final int SECURITY = 6;
+    static final int INTERFACE = 7;
+    private static final int COLUMNS = 8;
+
+    private long[] times;
+    private int[] macIds;
+    private final int[][] columns = new int[COLUMNS][];
+    private int size;
+    private long minTime = Long.MAX_VALUE;
+    private long maxTime = Long.MIN_VALUE;
+
+    ColumnBlock(int capacity) {
+        int initial = Math.max(capacity, 1);
+        times = new long[initial];
+        macIds = new int[initial];
+        for (int c = 0; c < COLUMNS; c++) {
+            columns[c] = new int[initial];
+        }
+    }
+
+    /**
+     * Acrescenta uma linha; as colunas inteiras começam ausentes
+     * @return Índice da linha
+     */
+    int add(long time, int macId) {
+        if (size == times.length) {
+            grow(size * 2);
+        }
+        times[size] = time;
+        macIds[size] = macId;
+        for (int c = 0; c < COLUMNS; c++) {
+            columns[c][size] = NULL;
+        }
+        minTime = Math.min(minTime, time);
+        maxTime = Math.max(maxTime, time);
+        return size++;
+    }
+
+    void set(int row, int column, int value) {
+        columns[column][row] = value;
+    }
+
+    int get(int row, int column) {
+        return columns[column][row];
+    }
+
+    long time(int row) {
+        return times[row];
+    }
+
+    int macId(int row) {
+        return macIds[row];
+    }
+
+    int size() {
+        return size;
+    }
+
+    long minTime() {
+        return minTime;
+    }
+
+    long maxTime() {
+        return maxTime;
+    }
+
+    /**
+     * Cópia independente (leituras do bloco aberto fora do lock do armazenamento)
+     */
+    ColumnBlock copy() {
+        ColumnBlock copy = new ColumnBlock(size);
+        System.arraycopy(times, 0, copy.times, 0, size);
+        System.arraycopy(macIds, 0, copy.macIds, 0, size);
+        for (int c = 0; c < COLUMNS; c++) {
+            System.arraycopy(columns[c], 0, copy.columns[c], 0, size);
+        }
+        copy.size = size;
+        copy.minTime = minTime;
+        copy.maxTime = maxTime;
+        return copy;
+    }
+
+    void encode(ByteArrayOutputStream out) {
+        if (size == 0) {
+            return;
+        }
+        long previousTime = times[0];
+        long previousDelta = 0;
+        VarInts.write(out, VarInts.zigzag(previousTime));
+        for (int i = 1; i < size; i++) {
+            long delta = times[i] - previousTime;
+            VarInts.write(out, VarInts.zigzag(delta - previousDelta));
+            previousDelta = delta;
+            previousTime = times[i];
+        }
+
+        for (int i = 0; i < size; i++) {
+            VarInts.write(out, macIds[i]);
+        }
+
+        int[] previousRow = previousRows(macIds, size);
+        for (int c = 0; c < COLUMNS; c++) {
+            int[] column = columns[c];
+            for (int i = 0; i < size; i++) {
+                // 0 = ausente; demais valores deslocados em 1
+                VarInts.write(out, column[i] == NULL ? 0 : VarInts.zigzag((long) column[i] - base(column, previousRow[i])) + 1);
+            }
+        }
+    }
+
+    static ColumnBlock decode(ByteBuffer in, int rows) {
+        ColumnBlock block = new ColumnBlock(rows);
+        if (rows == 0) {
+            return block;
+        }
+        long[] times = block.times;
+        times[0] = VarInts.unzigzag(VarInts.read(in));
+        long previousDelta = 0;
+        for (int i = 1; i < rows; i++) {
+            long delta = previousDelta + VarInts.unzigzag(VarInts.read(in));
+            times[i] = times[i - 1] + delta;
+            previousDelta = delta;
+        }
+
+        for (int i = 0; i < rows; i++) {
+            block.macIds[i] = (int) VarInts.read(in);
+        }
+
+        int[] previousRow = previousRows(block.macIds, rows);
+        for (int c = 0; c < COLUMNS; c++) {
+            int[] column = block.columns[c];
+            for (int i = 0; i < rows; i++) {
+                long encoded = VarInts.read(in);
+                column[i] = encoded == 0 ? NULL : (int) (base(column, previousRow[i]) + VarInts.unzigzag(encoded - 1));
+            }
+        }
+
+        block.size = rows;
+        for (int i = 0; i < rows; i++) {
+            block.minTime = Math.min(block.minTime, times[i]);
+            block.maxTime = Math.max(block.maxTime, times[i]);
+        }
+        return block;
+    }
+
+    /**
+     * Para cada linha, a linha anterior do mesmo Access Point no bloco (-1 se não houver)
+     */
+    private static int[] previousRows(int[] macIds, int size) {
+        int[] previous = new int[size];
+        Map<Integer, Integer> lastRow = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Integer last = lastRow.put(macIds[i], i);
+            previous[i] = last != null ? last : -1;
+        }
+        return previous;
+    }
+
+    private static long base(int[] column, int previousRow) {
+        return previousRow >= 0 && column[previousRow] != NULL ? column[previousRow] : 0;
+    }
+
+    private void grow(int capacity) {
+        times = Arrays.copyOf(times, capacity);
+        macIds = Arrays.copyOf(macIds, capacity);
+        for (int c = 0; c < COLUMNS; c++) {
+            columns[c] = Arrays.copyOf(columns[c], capacity);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package br.unitins.timeseries;
+
+import br.unitins.model.StringTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Arquivo de um dia do armazenamento embarcado, somente-acréscimo
+ * Formato: cabeçalho [magic][versão] seguido de quadros [tamanho][CRC32C][bloco]. Cada bloco traz
+ * [linhas][menor horário][maior horário], as entradas novas dos dicionários de MAC e de strings
+ * (SSID, segurança, interface) e as colunas ({@link ColumnBlock}). Na abertura os quadros são
+ * percorridos uma vez para reconstruir os dicionários e o índice esparso de horários (um par
+ * menor/maior horário por bloco); um quadro incompleto ou com CRC inválido no fim do arquivo
+ * (escrita interrompida) é descartado.
+ */
+final class DayFile {
+
+    private static final Logger logger = LoggerFactory.getLogger(DayFile.class);
+    private static final int MAGIC = 0x41505453; // "APTS"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER = 8;
+    private static final int FRAME_HEADER = 8;
+    private static final int BLOCK_HEADER = 4 + 8 + 8;
+
+    /**
+     * Entrada do índice esparso: posição das colunas de um bloco e seu intervalo de horários
+     */
+    record BlockRef(long offset, int length, int rows, long minTime, long maxTime) {}
+
+    private final Path path;
+    private final StringTable strings = new StringTable();
+    private final Map<Long, Integer> macIds = new HashMap<>();
+    private long[] macs = new long[64];
+    private int macCount;
+    private int flushedMacs;
+    private int flushedStrings;
+    private final List<BlockRef> blocks = new ArrayList<>();
+    private long size;
+
+    private DayFile(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Abre o arquivo do dia, criando-o se ainda não existir
+     */
+    static DayFile open(Path path) throws IOException {
+        DayFile file = new DayFile(path);
+        file.load();
+        return file;
+    }
+
+    private void load() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            if (channel.size() < FILE_HEADER) {
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER).putInt(MAGIC).putInt(VERSION).flip();
+                channel.truncate(0);
+                channel.write(header, 0);
+                channel.force(true);
+                size = FILE_HEADER;
+                return;
+            }
+
+            // Lido para a heap (arquivos de um dia são pequenos): um arquivo mapeado não pode ser truncado no Windows
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+                // lê até o fim
+            }
+            buffer.flip();
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Arquivo de série temporal inválido: " + path);
+            }
+
+            CRC32C crc = new CRC32C();
+            while (buffer.remaining() >= FRAME_HEADER) {
+                int frameStart = buffer.position();
+                int length = buffer.getInt();
+                int expectedCrc = buffer.getInt();
+                if (length < BLOCK_HEADER || length > buffer.remaining()) {
+                    buffer.position(frameStart);
+                    break;
+                }
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != expectedCrc) {
+                    buffer.position(frameStart);
+                    break;
+                }
+                readFrame(payload, frameStart + FRAME_HEADER);
+                buffer.position(buffer.position() + length);
+            }
+
+            size = buffer.position();
+            if (size < channel.size()) {
+                logger.warn("Descartando {} bytes incompletos no fim de {}", channel.size() - size, path.getFileName());
+                channel.truncate(size);
+            }
+        }
+        flushedMacs = macCount;
+        flushedStrings = strings.size();
+    }
+
+    private void readFrame(ByteBuffer payload, long payloadOffset) {
+        int rows = payload.getInt();
+        long minTime = payload.getLong();
+        long maxTime = payload.getLong();
+
+        long newMacs = VarInts.read(payload);
+        for (long i = 0; i < newMacs; i++) {
+            macId(VarInts.read(payload));
+        }
+        long newStrings = VarInts.read(payload);
+        for (long i = 0; i < newStrings; i++) {
+            byte[] bytes = new byte[(int) VarInts.read(payload)];
+            payload.get(bytes);
+            strings.id(new String(bytes, StandardCharsets.UTF_8));
+        }
+
+        int columnsStart = payload.position();
+        blocks.add(new BlockRef(payloadOffset + columnsStart, payload.limit() - columnsStart, rows, minTime, maxTime));
+    }
+
+    /**
+     * Grava um bloco no fim do arquivo, com as entradas dos dicionários criadas desde o último bloco
+     */
+    synchronized void append(ColumnBlock block) throws IOException {
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+        VarInts.write(dictionary, macCount - flushedMacs);
+        for (int id = flushedMacs; id < macCount; id++) {
+            VarInts.write(dictionary, macs[id]);
+        }
+        int stringCount = strings.size();
+        VarInts.write(dictionary, stringCount - flushedStrings);
+        for (int id = flushedStrings + 1; id <= stringCount; id++) {
+            byte[] bytes = strings.value(id).getBytes(StandardCharsets.UTF_8);
+            VarInts.write(dictionary, bytes.length);
+            dictionary.writeBytes(bytes);
+        }
+
+        ByteArrayOutputStream columns = new ByteArrayOutputStream(block.size() * 12);
+        block.encode(columns);
+
+        int length = BLOCK_HEADER + dictionary.size() + columns.size();
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER + length);
+        frame.position(FRAME_HEADER);
+        frame.putInt(block.size()).putLong(block.minTime()).putLong(block.maxTime());
+        frame.put(dictionary.toByteArray());
+        int columnsStart = frame.position() - FRAME_HEADER;
+        frame.put(columns.toByteArray());
+
+        CRC32C crc = new CRC32C();
+        crc.update(frame.array(), FRAME_HEADER, length);
+        frame.putInt(0, length).putInt(4, (int) crc.getValue());
+        frame.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            // Descarta restos de uma escrita anterior que falhou no meio
+            channel.truncate(size);
+            long position = size;
+            while (frame.hasRemaining()) {
+                position += channel.write(frame, position);
+            }
+            channel.force(false);
+        }
+
+        blocks.add(new BlockRef(size + FRAME_HEADER + columnsStart, length - columnsStart, block.size(),
+                block.minTime(), block.maxTime()));
+        size += FRAME_HEADER + length;
+        flushedMacs = macCount;
+        flushedStrings = stringCount;
+    }
+
+    /**
+     * Lê as colunas de um bloco
+     */
+    ColumnBlock read(BlockRef ref) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(ref.length());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long position = ref.offset();
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("Bloco truncado em " + path.getFileName());
+                }
+                position += read;
+            }
+        }
+        return ColumnBlock.decode(buffer.flip(), ref.rows());
+    }
+
+    /**
+     * Id do MAC no dicionário do arquivo, registrando-o se necessário
+     */
+    synchronized int macId(long mac) {
+        Integer id = macIds.get(mac);
+        if (id != null) {
+            return id;
+        }
+        if (macCount == macs.length) {
+            macs = Arrays.copyOf(macs, macCount * 2);
+        }
+        macs[macCount] = mac;
+        macIds.put(mac, macCount);
+        return macCount++;
+    }
+
+    synchronized long mac(int id) {
+        return macs[id];
+    }
+
+    int stringId(String value) {
+        return strings.id(value);
+    }
+
+    String string(int id) {
+        return strings.value(id);
+    }
+
+    /**
+     * Índice esparso: cópia da lista de blocos gravados
+     */
+    synchronized List<BlockRef> blocks() {
+        return new ArrayList<>(blocks);
+    }
+
+    synchronized long size() {
+        return size;
+    }
+
+    Path path() {
+        return path;
+    }
+}
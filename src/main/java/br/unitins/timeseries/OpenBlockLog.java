@@ -0,0 +1,114 @@
+package br.unitins.timeseries;
+
+import br.unitins.model.AccessPointEntity;
+import br.unitins.persistence.AccessPointRecordCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Log de escrita antecipada das observações que ainda estão no bloco aberto (em memória)
+ * Registros [tamanho][CRC32C][registro] no formato do spool; o log é esvaziado sempre que os
+ * blocos abertos são gravados nos arquivos dos dias e reaplicado na abertura do armazenamento.
+ */
+final class OpenBlockLog implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenBlockLog.class);
+    private static final int RECORD_HEADER = 8;
+
+    private final Path path;
+    private final FileChannel channel;
+
+    OpenBlockLog(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Lê as observações registradas; um registro incompleto ou corrompido encerra o log
+     */
+    List<AccessPointEntity> read() throws IOException {
+        List<AccessPointEntity> entities = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+            // lê até o fim
+        }
+        buffer.flip();
+
+        CRC32C crc = new CRC32C();
+        while (buffer.remaining() >= RECORD_HEADER) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int expectedCrc = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                buffer.position(start);
+                break;
+            }
+            ByteBuffer record = buffer.slice(buffer.position(), length);
+            crc.reset();
+            crc.update(record.duplicate());
+            if ((int) crc.getValue() != expectedCrc) {
+                buffer.position(start);
+                break;
+            }
+            entities.add(AccessPointRecordCodec.decode(record));
+            buffer.position(buffer.position() + length);
+        }
+
+        if (buffer.position() < channel.size()) {
+            logger.warn("Descartando registro incompleto no fim de {}", path.getFileName());
+            channel.truncate(buffer.position());
+        }
+        channel.position(buffer.position());
+        return entities;
+    }
+
+    /**
+     * Acrescenta as observações e força a gravação em disco
+     */
+    void append(List<AccessPointEntity> entities) throws IOException {
+        List<byte[]> records = new ArrayList<>(entities.size());
+        int total = 0;
+        for (AccessPointEntity entity : entities) {
+            byte[] record = AccessPointRecordCodec.encode(entity);
+            records.add(record);
+            total += RECORD_HEADER + record.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        CRC32C crc = new CRC32C();
+        for (byte[] record : records) {
+            crc.reset();
+            crc.update(record);
+            buffer.putInt(record.length).putInt((int) crc.getValue()).put(record);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Esvazia o log (blocos abertos já gravados nos arquivos dos dias)
+     */
+    void clear() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
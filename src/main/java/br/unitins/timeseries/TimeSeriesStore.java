@@ -0,0 +1,432 @@
+package br.unitins.timeseries;
+
+import br.unitins.metrics.Metrics;
+import br.unitins.model.AccessPointEntity;
+import br.unitins.model.MacAddressCodec;
+import br.unitins.model.PackedObservations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Armazenamento embarcado de séries temporais de observações (dispensa o MariaDB)
+ * Um arquivo somente-acréscimo por dia ({@link DayFile}) com blocos em colunas ({@link ColumnBlock}).
+ * As observações recebidas entram em um bloco aberto por dia, mantido em memória e protegido
+ * por um log de escrita antecipada; os blocos são gravados quando somam block-rows linhas ou
+ * quando o mais antigo passa de block-max-age-ms. As leituras combinam os blocos gravados e o
+ * bloco aberto, do mais recente para o mais antigo, descartando repetições do mesmo Access Point
+ * no mesmo horário (como a chave primária das observações no banco). A retenção remove arquivos de dias inteiros.
+ */
+public class TimeSeriesStore implements TimeSeriesStoreMXBean, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeSeriesStore.class);
+    private static final String METRICS_TYPE = "TimeSeriesStore";
+    private static final String SUFFIX = ".apts";
+    private static final String LOG_FILE = "open-block.wal";
+
+    private final Path directory;
+    private final int blockRows;
+    private final long blockMaxAgeMs;
+    private final int retentionDays;
+    private final OpenBlockLog log;
+
+    // Dias com arquivo em disco e arquivos já abertos (dicionários e índice esparso em memória)
+    private final TreeSet<LocalDate> knownDays = new TreeSet<>();
+    private final Map<LocalDate, DayFile> days = new HashMap<>();
+
+    // Blocos abertos por dia (normalmente só o dia atual; reenvios do spool podem trazer outros)
+    private final TreeMap<LocalDate, ColumnBlock> openBlocks = new TreeMap<>();
+    private int openRows;
+    private long openSince;
+    private LocalDate lastRetention;
+
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong flushedBlocks = new AtomicLong();
+
+    /**
+     * @param directory Diretório dos arquivos
+     * @param blockRows Linhas por bloco gravado
+     * @param blockMaxAgeMs Tempo máximo de uma observação no bloco aberto
+     * @param retentionDays Dias mantidos (0 = manter tudo)
+     * @throws IOException se o diretório ou o log não puderem ser abertos
+     */
+    public TimeSeriesStore(String directory, int blockRows, long blockMaxAgeMs, int retentionDays) throws IOException {
+        this.directory = Paths.get(directory);
+        this.blockRows = Math.max(blockRows, 1);
+        this.blockMaxAgeMs = blockMaxAgeMs;
+        this.retentionDays = retentionDays;
+        Files.createDirectories(this.directory);
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    knownDays.add(LocalDate.parse(name.substring(0, name.length() - SUFFIX.length())));
+                } catch (DateTimeParseException e) {
+                    logger.warn("Arquivo ignorado no armazenamento embarcado: {}", name);
+                }
+            }
+        }
+
+        this.log = new OpenBlockLog(this.directory.resolve(LOG_FILE));
+        List<AccessPointEntity> pending = log.read();
+        if (!pending.isEmpty()) {
+            addToOpenBlocks(pending);
+            logger.info("{} observações do bloco aberto recuperadas do log", pending.size());
+        }
+        applyRetention();
+
+        logger.info("Armazenamento embarcado em {} ({} dia(s))", this.directory, knownDays.size());
+        Metrics.register(METRICS_TYPE, this);
+    }
+
+    /**
+     * Registra observações (MAC válido e horário preenchido); o retorno garante que estão no log em disco
+     * @param entities Observações
+     * @throws IOException se o log não puder ser gravado
+     */
+    public synchronized void append(List<AccessPointEntity> entities) throws IOException {
+        if (entities.isEmpty()) {
+            return;
+        }
+        log.append(entities);
+        addToOpenBlocks(entities);
+        appended.addAndGet(entities.size());
+
+        if (openRows >= blockRows || System.currentTimeMillis() - openSince >= blockMaxAgeMs) {
+            try {
+                flush();
+            } catch (IOException e) {
+                // As observações continuam no log; a gravação é tentada de novo no próximo acréscimo
+                logger.warn("Falha ao gravar bloco do armazenamento embarcado: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void addToOpenBlocks(List<AccessPointEntity> entities) throws IOException {
+        if (openRows == 0) {
+            openSince = System.currentTimeMillis();
+        }
+        for (AccessPointEntity entity : entities) {
+            long mac = MacAddressCodec.pack(entity.getMacAddress());
+            if (mac == MacAddressCodec.INVALID || entity.getScanTime() == null) {
+                continue;
+            }
+            LocalDate day = entity.getScanTime().toLocalDate();
+            DayFile file = dayFile(day, true);
+            ColumnBlock block = openBlocks.computeIfAbsent(day, d -> new ColumnBlock(blockRows));
+
+            int row = block.add(PackedObservations.toEpochMillis(entity.getScanTime()), file.macId(mac));
+            setInt(block, row, ColumnBlock.SIGNAL, entity.getSignalLevel());
+            setInt(block, row, ColumnBlock.QUALITY,
+                    entity.getLinkQuality() != null ? (int) Math.round(entity.getLinkQuality()) : null);
+            setInt(block, row, ColumnBlock.CHANNEL, entity.getChannel());
+            setInt(block, row, ColumnBlock.FREQUENCY_MHZ,
+                    entity.getFrequency() != null ? (int) Math.round(entity.getFrequency() * 1000) : null);
+            setInt(block, row, ColumnBlock.BEACON_INTERVAL, entity.getBeaconInterval());
+            block.set(row, ColumnBlock.SSID, file.stringId(entity.getSsid()));
+            block.set(row, ColumnBlock.SECURITY, file.stringId(entity.getWpsWpaVersion()));
+            block.set(row, ColumnBlock.INTERFACE, file.stringId(entity.getInterfaceName()));
+            openRows++;
+        }
+    }
+
+    private static void setInt(ColumnBlock block, int row, int column, Integer value) {
+        if (value != null) {
+            block.set(row, column, value);
+        }
+    }
+
+    /**
+     * Grava os blocos abertos nos arquivos dos dias e esvazia o log
+     */
+    public synchronized void flush() throws IOException {
+        Iterator<Map.Entry<LocalDate, ColumnBlock>> iterator = openBlocks.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<LocalDate, ColumnBlock> entry = iterator.next();
+            if (entry.getValue().size() > 0) {
+                dayFile(entry.getKey(), true).append(entry.getValue());
+                flushedBlocks.incrementAndGet();
+            }
+            openRows -= entry.getValue().size();
+            iterator.remove();
+        }
+        log.clear();
+        applyRetention();
+    }
+
+    /**
+     * Observações de um período, da mais recente para a mais antiga (empates pelo MAC, decrescente)
+     * Apenas os blocos cujo intervalo de horários cruza o período são lidos, sob demanda
+     * @param from Início (inclusivo)
+     * @param to Fim (exclusivo)
+     * @return Stream de observações
+     */
+    public Stream<AccessPointEntity> stream(LocalDateTime from, LocalDateTime to) {
+        long fromMs = PackedObservations.toEpochMillis(from);
+        long toMs = PackedObservations.toEpochMillis(to);
+        List<Source> sources = new ArrayList<>();
+
+        synchronized (this) {
+            for (LocalDate day : knownDays.subSet(from.toLocalDate(), true, to.toLocalDate(), true).descendingSet()) {
+                DayFile file;
+                try {
+                    file = dayFile(day, false);
+                } catch (IOException e) {
+                    throw new RuntimeException("Falha ao abrir arquivo do armazenamento embarcado", e);
+                }
+                for (DayFile.BlockRef ref : file.blocks()) {
+                    if (ref.maxTime() >= fromMs && ref.minTime() < toMs) {
+                        sources.add(new Source(file, ref, null, ref.maxTime()));
+                    }
+                }
+                ColumnBlock open = openBlocks.get(day);
+                if (open != null && open.size() > 0 && open.maxTime() >= fromMs && open.minTime() < toMs) {
+                    sources.add(new Source(file, null, open.copy(), open.maxTime()));
+                }
+            }
+        }
+
+        sources.sort(Comparator.comparingLong(Source::maxTime).reversed());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new MergeIterator(sources, fromMs, toMs),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private DayFile dayFile(LocalDate day, boolean create) throws IOException {
+        DayFile file = days.get(day);
+        if (file == null && (create || knownDays.contains(day))) {
+            file = DayFile.open(directory.resolve(day + SUFFIX));
+            days.put(day, file);
+            knownDays.add(day);
+        }
+        return file;
+    }
+
+    /**
+     * Remove os arquivos dos dias fora da retenção (uma vez por dia)
+     */
+    private void applyRetention() {
+        LocalDate today = LocalDate.now();
+        if (retentionDays <= 0 || today.equals(lastRetention)) {
+            return;
+        }
+        lastRetention = today;
+        LocalDate oldest = today.minusDays(retentionDays);
+        for (LocalDate day : new ArrayList<>(knownDays.headSet(oldest))) {
+            if (openBlocks.containsKey(day)) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(directory.resolve(day + SUFFIX));
+                knownDays.remove(day);
+                days.remove(day);
+                logger.info("Retenção: arquivo do dia {} removido", day);
+            } catch (IOException e) {
+                logger.warn("Não foi possível remover o arquivo do dia {}: {}", day, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        log.close();
+        Metrics.unregister(METRICS_TYPE);
+    }
+
+    @Override
+    public synchronized int getDayFiles() {
+        return knownDays.size();
+    }
+
+    @Override
+    public long getDiskBytes() {
+        long total = 0;
+        List<LocalDate> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(knownDays);
+        }
+        for (LocalDate day : snapshot) {
+            try {
+                total += Files.size(directory.resolve(day + SUFFIX));
+            } catch (IOException e) {
+                // Arquivo removido pela retenção durante a soma
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public synchronized int getOpenBlockRows() {
+        return openRows;
+    }
+
+    @Override
+    public long getAppendedCount() {
+        return appended.get();
+    }
+
+    @Override
+    public long getFlushedBlockCount() {
+        return flushedBlocks.get();
+    }
+
+    /**
+     * Bloco candidato a uma leitura: gravado (ref) ou cópia do bloco aberto (block)
+     */
+    private record Source(DayFile file, DayFile.BlockRef ref, ColumnBlock block, long maxTime) {}
+
+    /**
+     * Linhas de um bloco dentro do período, ordenadas por (horário, MAC) decrescente
+     */
+    private static final class BlockCursor {
+        private final DayFile file;
+        private final ColumnBlock block;
+        private final int[] rows;
+        private final long[] macs;
+        private int position;
+
+        BlockCursor(DayFile file, ColumnBlock block, long fromMs, long toMs) {
+            this.file = file;
+            this.block = block;
+            List<Integer> selected = new ArrayList<>(block.size());
+            for (int row = 0; row < block.size(); row++) {
+                if (block.time(row) >= fromMs && block.time(row) < toMs) {
+                    selected.add(row);
+                }
+            }
+            this.macs = new long[block.size()];
+            for (int row : selected) {
+                macs[row] = file.mac(block.macId(row));
+            }
+            selected.sort(Comparator.<Integer>comparingLong(block::time).thenComparingLong(row -> macs[row]).reversed());
+            this.rows = selected.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        boolean hasCurrent() {
+            return position < rows.length;
+        }
+
+        long time() {
+            return block.time(rows[position]);
+        }
+
+        long mac() {
+            return macs[rows[position]];
+        }
+
+        AccessPointEntity next() {
+            int row = rows[position++];
+            return new AccessPointEntity(macs[row],
+                    file.string(block.get(row, ColumnBlock.SSID)),
+                    file.string(block.get(row, ColumnBlock.SECURITY)),
+                    value(row, ColumnBlock.FREQUENCY_MHZ) != null ? value(row, ColumnBlock.FREQUENCY_MHZ) / 1000.0 : null,
+                    value(row, ColumnBlock.BEACON_INTERVAL),
+                    file.string(block.get(row, ColumnBlock.INTERFACE)),
+                    PackedObservations.toLocalDateTime(block.time(row)),
+                    value(row, ColumnBlock.SIGNAL) != null ? (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, value(row, ColumnBlock.SIGNAL))) : null,
+                    value(row, ColumnBlock.QUALITY) != null ? (byte) Math.max(0, Math.min(100, value(row, ColumnBlock.QUALITY))) : null,
+                    value(row, ColumnBlock.CHANNEL) != null ? (short) Math.max(0, Math.min(Short.MAX_VALUE, value(row, ColumnBlock.CHANNEL))) : null);
+        }
+
+        private Integer value(int row, int column) {
+            int value = block.get(row, column);
+            return value == ColumnBlock.NULL ? null : value;
+        }
+    }
+
+    /**
+     * Intercalação preguiçosa dos blocos: um bloco só é lido quando seu maior horário alcança
+     * a próxima linha a ser entregue, de modo que apenas blocos com horários sobrepostos ficam
+     * em memória ao mesmo tempo
+     */
+    private static final class MergeIterator implements Iterator<AccessPointEntity> {
+        private final List<Source> pending;
+        private final long fromMs;
+        private final long toMs;
+        private final PriorityQueue<BlockCursor> heap = new PriorityQueue<>(
+                Comparator.comparingLong(BlockCursor::time).thenComparingLong(BlockCursor::mac).reversed());
+        private int nextSource;
+        private long lastTime = Long.MIN_VALUE;
+        private long lastMac = MacAddressCodec.INVALID;
+        private AccessPointEntity next;
+
+        MergeIterator(List<Source> pending, long fromMs, long toMs) {
+            this.pending = pending;
+            this.fromMs = fromMs;
+            this.toMs = toMs;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                while (nextSource < pending.size()
+                        && (heap.isEmpty() || pending.get(nextSource).maxTime() >= heap.peek().time())) {
+                    open(pending.get(nextSource++));
+                }
+                if (heap.isEmpty()) {
+                    return false;
+                }
+                BlockCursor cursor = heap.poll();
+                long time = cursor.time();
+                long mac = cursor.mac();
+                AccessPointEntity entity = cursor.next();
+                if (cursor.hasCurrent()) {
+                    heap.add(cursor);
+                }
+                // Repetição do mesmo Access Point no mesmo horário (reenvio): mantém a primeira
+                if (time != lastTime || mac != lastMac) {
+                    lastTime = time;
+                    lastMac = mac;
+                    next = entity;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public AccessPointEntity next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            AccessPointEntity result = next;
+            next = null;
+            return result;
+        }
+
+        private void open(Source source) {
+            try {
+                ColumnBlock block = source.block() != null ? source.block() : source.file().read(source.ref());
+                BlockCursor cursor = new BlockCursor(source.file(), block, fromMs, toMs);
+                if (cursor.hasCurrent()) {
+                    heap.add(cursor);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("Falha na leitura do armazenamento embarcado", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package br.unitins.timeseries;
+
+/**
+ * Métricas do armazenamento embarcado de séries temporais expostas via JMX
+ */
+public interface TimeSeriesStoreMXBean {
+    
+    /** Arquivos de dia existentes */
+    int getDayFiles();
+    
+    /** Tamanho total dos arquivos de dia em bytes */
+    long getDiskBytes();
+    
+    /** Observações no bloco aberto (em memória e no log), ainda não gravadas nos arquivos */
+    int getOpenBlockRows();
+    
+    /** Total de observações recebidas desde a inicialização */
+    long getAppendedCount();
+    
+    /** Total de blocos gravados desde a inicialização */
+    long getFlushedBlockCount();
+}
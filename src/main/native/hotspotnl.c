@@ -0,0 +1,117 @@
+/*
+ * Shim JNI mínimo para sockets netlink usado por
+ * br.unitins.service.impl.netlink.NetlinkSocket
+ *
+ * Apenas abre, configura (grupo multicast e prazo de leitura), envia, recebe
+ * e fecha o socket; a montagem e a decodificação das mensagens nl80211 ficam
+ * no lado Java.
+ *
+ * Compilação:
+ *   gcc -shared -fPIC -O2 -I"$JAVA_HOME/include" -I"$JAVA_HOME/include/linux" \
+ *       -o libhotspotnl.so src/main/native/hotspotnl.c
+ */
+#include <jni.h>
+#include <errno.h>
+#include <string.h>
+#include <unistd.h>
+#include <sys/socket.h>
+#include <sys/time.h>
+#include <linux/netlink.h>
+
+#ifndef SOL_NETLINK
+#define SOL_NETLINK 270
+#endif
+
+JNIEXPORT jint JNICALL
+Java_br_unitins_service_impl_netlink_NetlinkSocket_nativeOpen(JNIEnv *env, jclass cls, jint protocol)
+{
+    struct sockaddr_nl addr;
+    int fd = socket(AF_NETLINK, SOCK_RAW | SOCK_CLOEXEC, protocol);
+    if (fd < 0) {
+        return -errno;
+    }
+
+    memset(&addr, 0, sizeof(addr));
+    addr.nl_family = AF_NETLINK;
+    if (bind(fd, (struct sockaddr *) &addr, sizeof(addr)) < 0) {
+        int err = errno;
+        close(fd);
+        return -err;
+    }
+    return fd;
+}
+
+JNIEXPORT jint JNICALL
+Java_br_unitins_service_impl_netlink_NetlinkSocket_nativeSend(JNIEnv *env, jclass cls,
+                                                              jint fd, jbyteArray buffer, jint length)
+{
+    struct sockaddr_nl kernel;
+    jbyte *data;
+    ssize_t sent;
+
+    memset(&kernel, 0, sizeof(kernel));
+    kernel.nl_family = AF_NETLINK;
+
+    data = (*env)->GetByteArrayElements(env, buffer, NULL);
+    if (data == NULL) {
+        return -ENOMEM;
+    }
+    sent = sendto(fd, data, (size_t) length, 0, (struct sockaddr *) &kernel, sizeof(kernel));
+    (*env)->ReleaseByteArrayElements(env, buffer, data, JNI_ABORT);
+
+    return sent < 0 ? -errno : (jint) sent;
+}
+
+JNIEXPORT jint JNICALL
+Java_br_unitins_service_impl_netlink_NetlinkSocket_nativeReceive(JNIEnv *env, jclass cls,
+                                                                 jint fd, jbyteArray buffer)
+{
+    jsize capacity = (*env)->GetArrayLength(env, buffer);
+    jbyte *data = (*env)->GetByteArrayElements(env, buffer, NULL);
+    ssize_t received;
+
+    if (data == NULL) {
+        return -ENOMEM;
+    }
+    do {
+        received = recv(fd, data, (size_t) capacity, 0);
+    } while (received < 0 && errno == EINTR);
+
+    if (received < 0) {
+        int err = errno;
+        (*env)->ReleaseByteArrayElements(env, buffer, data, JNI_ABORT);
+        return -err;
+    }
+    (*env)->ReleaseByteArrayElements(env, buffer, data, 0);
+    return (jint) received;
+}
+
+JNIEXPORT jint JNICALL
+Java_br_unitins_service_impl_netlink_NetlinkSocket_nativeAddMembership(JNIEnv *env, jclass cls,
+                                                                       jint fd, jint group)
+{
+    int value = group;
+    if (setsockopt(fd, SOL_NETLINK, NETLINK_ADD_MEMBERSHIP, &value, sizeof(value)) < 0) {
+        return -errno;
+    }
+    return 0;
+}
+
+JNIEXPORT jint JNICALL
+Java_br_unitins_service_impl_netlink_NetlinkSocket_nativeSetReceiveTimeout(JNIEnv *env, jclass cls,
+                                                                           jint fd, jint millis)
+{
+    struct timeval timeout;
+    timeout.tv_sec = millis / 1000;
+    timeout.tv_usec = (millis % 1000) * 1000;
+    if (setsockopt(fd, SOL_SOCKET, SO_RCVTIMEO, &timeout, sizeof(timeout)) < 0) {
+        return -errno;
+    }
+    return 0;
+}
+
+JNIEXPORT void JNICALL
+Java_br_unitins_service_impl_netlink_NetlinkSocket_nativeClose(JNIEnv *env, jclass cls, jint fd)
+{
+    close(fd);
+}
@@ -0,0 +1,52 @@
+package br.unitins.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    @Test
+    void joinerDeadlineKillsSubprocessOfTheFlightOwner() throws Exception {
+        SingleFlight<Integer> flight = new SingleFlight<>();
+        Subprocesses.Group owner = Subprocesses.newGroup("owner");
+        Subprocesses.Group joiner = Subprocesses.newGroup("joiner");
+        CountDownLatch started = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> ownerResult = executor.submit(owner.bind(() -> flight.execute(() -> {
+                Process process = Subprocesses.start(new ProcessBuilder("sleep", "30"));
+                started.countDown();
+                return process.waitFor();
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<Integer> joinerResult = executor.submit(joiner.bind(() -> flight.execute(() -> -1)));
+
+            // Prazo do ciclo que aguarda: o grupo dele alcança o subprocesso do dono da execução
+            int killed = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (killed == 0 && System.nanoTime() < deadline) {
+                killed = joiner.destroyAll();
+                Thread.sleep(10);
+            }
+
+            assertEquals(1, killed);
+            int exitCode = ownerResult.get(5, TimeUnit.SECONDS);
+            assertNotEquals(0, exitCode);
+            assertEquals(exitCode, joinerResult.get(5, TimeUnit.SECONDS));
+            assertEquals(1, flight.getJoinedCount());
+            assertEquals(0, joiner.destroyAll());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package br.unitins.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class MacAddressCodecTest {
+
+    @Test
+    void packsAndUnpacksMac() {
+        long value = MacAddressCodec.pack("aa:bb:cc:dd:ee:0f");
+
+        assertEquals(0xAABBCCDDEE0FL, value);
+        assertEquals("AA:BB:CC:DD:EE:0F", MacAddressCodec.unpack(value));
+        assertEquals(MacAddressCodec.INVALID, MacAddressCodec.pack("N/A"));
+    }
+
+    @Test
+    void surrogateIsStableLocallyAdministeredUnicast() {
+        long key = MacAddressCodec.surrogate("CasaNet", "Wi-Fi");
+
+        assertEquals(key, MacAddressCodec.surrogate("CasaNet", "Wi-Fi"));
+        assertEquals(0x02L, (key >>> 40) & 0x03);
+        assertEquals(key, MacAddressCodec.pack(MacAddressCodec.unpack(key)));
+        assertNotEquals(key, MacAddressCodec.surrogate("CasaNet", "Wi-Fi 2"));
+        assertNotEquals(key, MacAddressCodec.surrogate("Cafe", "Wi-Fi"));
+    }
+
+    @Test
+    void keyOfFallsBackToSurrogateOnlyWithSsid() {
+        assertEquals(0xAABBCCDDEE0FL, MacAddressCodec.keyOf("CasaNet", "AA-BB-CC-DD-EE-0F", "Wi-Fi"));
+        assertEquals(MacAddressCodec.surrogate("CasaNet", "Wi-Fi"), MacAddressCodec.keyOf("CasaNet", "N/A", "Wi-Fi"));
+        assertEquals(MacAddressCodec.surrogate("CasaNet", null), MacAddressCodec.keyOf("CasaNet", null, null));
+        assertEquals(MacAddressCodec.INVALID, MacAddressCodec.keyOf("", "N/A", "Wi-Fi"));
+        assertEquals(MacAddressCodec.INVALID, MacAddressCodec.keyOf(null, null, "Wi-Fi"));
+    }
+}
@@ -0,0 +1,99 @@
+package br.unitins.persistence;
+
+import br.unitins.model.AccessPointEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DeltaFilterTest {
+
+    private static final long HOUR_MS = 3_600_000;
+
+    private static AccessPointEntity observation(String mac, int signal, double quality, int channel, String security) {
+        AccessPointEntity entity = new AccessPointEntity();
+        entity.setMacAddress(mac);
+        entity.setSsid("CasaNet");
+        entity.setSignalLevel(signal);
+        entity.setLinkQuality(quality);
+        entity.setChannel(channel);
+        entity.setWpsWpaVersion(security);
+        entity.setScanTime(LocalDateTime.now());
+        return entity;
+    }
+
+    private static AccessPointEntity observation(String mac, int signal) {
+        return observation(mac, signal, 70.0, 6, "WPA2");
+    }
+
+    @Test
+    void writesFirstSightingAndSuppressesRepeats() {
+        DeltaFilter filter = new DeltaFilter(5, 10.0, HOUR_MS);
+
+        assertEquals(2, filter.filter(List.of(observation("A", -40), observation("B", -60))).size());
+        assertEquals(0, filter.filter(List.of(observation("A", -44), observation("B", -56))).size());
+        assertEquals(0, filter.filter(List.of(observation("A", -36))).size());
+
+        assertEquals(2, filter.getLastState("A").getSuppressedSinceWrite());
+        assertEquals(5, filter.getObservedCount());
+        assertEquals(2, filter.getWrittenCount());
+        assertEquals(3, filter.getSuppressedCount());
+    }
+
+    @Test
+    void writesWhenSignalQualityChannelOrSecurityChange() {
+        DeltaFilter filter = new DeltaFilter(5, 10.0, HOUR_MS);
+        filter.filter(List.of(observation("A", -40)));
+
+        // Limite de sinal atingido; a referência passa a ser a última gravação
+        assertEquals(1, filter.filter(List.of(observation("A", -45))).size());
+        assertEquals(0, filter.filter(List.of(observation("A", -41))).size());
+        assertEquals(1, filter.getLastState("A").getSuppressedSinceWrite());
+
+        assertEquals(1, filter.filter(List.of(observation("A", -45, 80.0, 6, "WPA2"))).size());
+        assertEquals(1, filter.filter(List.of(observation("A", -45, 80.0, 11, "WPA2"))).size());
+        assertEquals(1, filter.filter(List.of(observation("A", -45, 80.0, 11, "WPA3"))).size());
+        assertEquals(0, filter.filter(List.of(observation("A", -45, 80.0, 11, "WPA3"))).size());
+    }
+
+    @Test
+    void writesAgainWhenTheHeartbeatExpires() throws InterruptedException {
+        DeltaFilter filter = new DeltaFilter(5, 10.0, 200);
+        filter.filter(List.of(observation("A", -40)));
+        assertEquals(0, filter.filter(List.of(observation("A", -40))).size());
+
+        Thread.sleep(250);
+
+        assertEquals(1, filter.filter(List.of(observation("A", -40))).size());
+        assertEquals(0, filter.getLastState("A").getSuppressedSinceWrite());
+    }
+
+    @Test
+    void invalidatedObservationsAreWrittenAgain() {
+        DeltaFilter filter = new DeltaFilter(5, 10.0, HOUR_MS);
+        List<AccessPointEntity> written = filter.filter(List.of(observation("A", -40), observation("B", -60)));
+
+        // Gravação falhou: o próximo escaneamento deve gravar de novo
+        filter.invalidate(written.subList(0, 1));
+
+        assertNull(filter.getLastState("A"));
+        List<AccessPointEntity> retried = filter.filter(List.of(observation("A", -40), observation("B", -60)));
+        assertEquals(1, retried.size());
+        assertEquals("A", retried.get(0).getMacAddress());
+    }
+
+    @Test
+    void forgetsAccessPointsNotSeenForTwoHeartbeats() throws InterruptedException {
+        DeltaFilter filter = new DeltaFilter(5, 10.0, 100);
+        filter.filter(List.of(observation("A", -40), observation("B", -60)));
+
+        Thread.sleep(250);
+        filter.filter(List.of(observation("B", -60)));
+
+        assertNull(filter.getLastState("A"));
+        assertEquals(1, filter.getTrackedAccessPoints());
+    }
+}
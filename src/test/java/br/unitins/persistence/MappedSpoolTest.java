@@ -0,0 +1,168 @@
+package br.unitins.persistence;
+
+import br.unitins.model.AccessPointEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedSpoolTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+    private static final int RECORD_HEADER = 8;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void skipsCorruptedRecordAndKeepsLaterRecords() throws IOException {
+        MappedSpool spool = open(SEGMENT_SIZE);
+        List<AccessPointEntity> entities = observations(0, 3);
+        spool.append(entities);
+        // Sela o segmento ativo
+        spool.peekOldest();
+
+        // Último byte do segundo registro
+        int first = RECORD_HEADER + AccessPointRecordCodec.encode(entities.get(0)).length;
+        int second = RECORD_HEADER + AccessPointRecordCodec.encode(entities.get(1)).length;
+        flipByte(onlySegment(), first + second - 1);
+
+        assertEquals(List.of("ap-0", "ap-2"), ssids(spool.peekOldest()));
+    }
+
+    @Test
+    void dropsTornTailAndKeepsEarlierRecords() throws IOException {
+        MappedSpool spool = open(SEGMENT_SIZE);
+        spool.append(observations(0, 2));
+        spool.peekOldest();
+        Path segment = onlySegment();
+
+        // Registro final incompleto: o tamanho aponta além do fim do segmento
+        truncate(segment, Files.size(segment) - 3);
+        assertEquals(List.of("ap-0"), ssids(spool.peekOldest()));
+
+        // Cabeçalho incompleto
+        int first = RECORD_HEADER + AccessPointRecordCodec.encode(observations(0, 1).get(0)).length;
+        truncate(segment, first + 4);
+        assertEquals(List.of("ap-0"), ssids(spool.peekOldest()));
+    }
+
+    @Test
+    void dropsCorruptedLastRecordOfUnsealedSegment() throws IOException {
+        MappedSpool crashed = open(SEGMENT_SIZE);
+        List<AccessPointEntity> entities = observations(0, 2);
+        crashed.append(entities);
+        // Sem selar: o segmento mantém o tamanho cheio, com zeros depois dos dados
+        int first = RECORD_HEADER + AccessPointRecordCodec.encode(entities.get(0)).length;
+        int second = RECORD_HEADER + AccessPointRecordCodec.encode(entities.get(1)).length;
+        flipByte(onlySegment(), first + second - 1);
+
+        assertEquals(List.of("ap-0"), ssids(open(SEGMENT_SIZE).peekOldest()));
+    }
+
+    @Test
+    void rollsOverFullSegmentsAndDeliversThemInOrder() throws IOException {
+        int recordSize = RECORD_HEADER + AccessPointRecordCodec.encode(observations(0, 1).get(0)).length;
+        // Dois registros por segmento (mais o marcador de fim)
+        MappedSpool spool = open(2 * recordSize + 4);
+        spool.append(observations(0, 5));
+
+        assertEquals(3, spool.getPendingSegments());
+        assertEquals(3, segments().size());
+
+        List<String> delivered = new ArrayList<>();
+        SpillStore.Batch batch;
+        while ((batch = spool.peekOldest()) != null) {
+            delivered.addAll(ssids(batch));
+            spool.commit(batch);
+        }
+        assertEquals(List.of("ap-0", "ap-1", "ap-2", "ap-3", "ap-4"), delivered);
+        assertTrue(spool.isEmpty());
+        assertTrue(segments().isEmpty());
+    }
+
+    @Test
+    void replaysSegmentsLeftByPreviousRunAndRemovesThemOnCommit() throws IOException {
+        MappedSpool crashed = open(SEGMENT_SIZE);
+        crashed.append(observations(0, 2));
+        crashed.append(observations(2, 1));
+
+        MappedSpool spool = open(SEGMENT_SIZE);
+        assertEquals(1, spool.getPendingSegments());
+        SpillStore.Batch batch = spool.peekOldest();
+        assertEquals(List.of("ap-0", "ap-1", "ap-2"), ssids(batch));
+
+        // Novas escritas vão para um segmento novo, sem sobrescrever o recuperado
+        spool.append(observations(3, 1));
+        spool.commit(batch);
+        assertEquals(1, segments().size());
+
+        batch = spool.peekOldest();
+        assertEquals(List.of("ap-3"), ssids(batch));
+        spool.commit(batch);
+        assertNull(spool.peekOldest());
+        assertTrue(spool.isEmpty());
+        assertTrue(segments().isEmpty());
+    }
+
+    private MappedSpool open(int segmentSize) throws IOException {
+        return new MappedSpool(directory.toString(), segmentSize);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> segments = segments();
+        assertEquals(1, segments.size());
+        return segments.get(0);
+    }
+
+    private static List<AccessPointEntity> observations(int first, int count) {
+        List<AccessPointEntity> entities = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            AccessPointEntity entity = new AccessPointEntity();
+            entity.setMacAddress(String.format("AA:00:00:00:00:%02X", i));
+            entity.setSsid("ap-" + i);
+            entity.setSignalLevel(-40 - i);
+            entity.setInterfaceName("wlan0");
+            entities.add(entity);
+        }
+        return entities;
+    }
+
+    private static List<String> ssids(SpillStore.Batch batch) {
+        return batch.getEntities().stream().map(AccessPointEntity::getSsid).collect(Collectors.toList());
+    }
+
+    private static void flipByte(Path file, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer value = ByteBuffer.allocate(1);
+            channel.read(value, position);
+            value.put(0, (byte) ~value.get(0)).rewind();
+            channel.write(value, position);
+        }
+    }
+
+    private static void truncate(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+}
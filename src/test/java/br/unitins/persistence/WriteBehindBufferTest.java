@@ -0,0 +1,234 @@
+package br.unitins.persistence;
+
+import br.unitins.config.PersistenceConfig.OverflowPolicy;
+import br.unitins.model.AccessPointEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindBufferTest {
+
+    private static final long HOUR_MS = 3_600_000;
+
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private static List<AccessPointEntity> observations(int first, int count) {
+        List<AccessPointEntity> entities = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            AccessPointEntity entity = new AccessPointEntity();
+            entity.setMacAddress(String.format("AA:00:00:00:00:%02X", i));
+            entity.setSsid("ap-" + i);
+            entities.add(entity);
+        }
+        return entities;
+    }
+
+    private static List<String> ssids(int first, int count) {
+        return observations(first, count).stream().map(AccessPointEntity::getSsid).collect(Collectors.toList());
+    }
+
+    private WriteBehindBuffer.BatchWriter recording() {
+        return batch -> batches.add(batch.stream().map(AccessPointEntity::getSsid).collect(Collectors.toList()));
+    }
+
+    private List<String> written() {
+        synchronized (batches) {
+            return batches.stream().flatMap(List::stream).collect(Collectors.toList());
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    void writesWhenTheBatchIsFull() throws InterruptedException {
+        WriteBehindBuffer buffer = new WriteBehindBuffer(recording(), 100, 5, HOUR_MS, 0, OverflowPolicy.BLOCK, null);
+        buffer.start();
+        try {
+            buffer.publish(observations(0, 4));
+            Thread.sleep(50);
+            assertEquals(0, buffer.getFlushCount());
+
+            buffer.publish(observations(4, 1));
+            awaitUntil(() -> buffer.getFlushCount() == 1);
+            assertEquals(List.of(ssids(0, 5)), batches);
+        } finally {
+            buffer.close(1000);
+        }
+    }
+
+    @Test
+    void writesPartialBatchWhenTheIntervalExpires() throws InterruptedException {
+        WriteBehindBuffer buffer = new WriteBehindBuffer(recording(), 100, 50, 50, 0, OverflowPolicy.BLOCK, null);
+        buffer.start();
+        try {
+            buffer.publish(observations(0, 3));
+            awaitUntil(() -> buffer.getWrittenCount() == 3);
+            assertEquals(ssids(0, 3), written());
+        } finally {
+            buffer.close(1000);
+        }
+    }
+
+    @Test
+    void flushDrainsEverythingInOrder() throws InterruptedException {
+        WriteBehindBuffer buffer = new WriteBehindBuffer(recording(), 100, 4, HOUR_MS, 0, OverflowPolicy.BLOCK, null);
+        buffer.start();
+        try {
+            buffer.publish(observations(0, 10));
+
+            assertTrue(buffer.flush(5000));
+            awaitUntil(() -> buffer.getWrittenCount() == 10);
+            assertEquals(ssids(0, 10), written());
+            assertEquals(0, buffer.getQueueDepth());
+            assertEquals(10, buffer.getEnqueuedCount());
+        } finally {
+            buffer.close(1000);
+        }
+    }
+
+    @Test
+    void blockWaitsForSpaceAndDropsAfterTheTimeout() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehindBuffer.BatchWriter slow = batch -> {
+            writing.countDown();
+            release.await();
+            recording().write(batch);
+        };
+        WriteBehindBuffer buffer = new WriteBehindBuffer(slow, 4, 4, HOUR_MS, 100, OverflowPolicy.BLOCK, null);
+        buffer.start();
+        try {
+            buffer.publish(observations(0, 4));
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+            // Banco lento: o buffer enche e o produtor espera até o prazo
+            long start = System.nanoTime();
+            assertEquals(4, buffer.publish(observations(4, 5)));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 100);
+            assertEquals(4, buffer.getQueueDepth());
+            assertEquals(1, buffer.getDroppedCount());
+
+            release.countDown();
+            assertTrue(buffer.flush(5000));
+            awaitUntil(() -> buffer.getWrittenCount() == 8);
+            assertEquals(ssids(0, 8), written());
+        } finally {
+            release.countDown();
+            buffer.close(1000);
+        }
+    }
+
+    @Test
+    void dropOldestKeepsTheNewestObservations() throws InterruptedException {
+        WriteBehindBuffer buffer = new WriteBehindBuffer(recording(), 3, 3, HOUR_MS, 0, OverflowPolicy.DROP_OLDEST, null);
+
+        // Sem a thread de gravação o buffer só acumula
+        assertEquals(5, buffer.publish(observations(0, 5)));
+        assertEquals(3, buffer.getQueueDepth());
+        assertEquals(2, buffer.getDroppedCount());
+
+        buffer.start();
+        try {
+            assertTrue(buffer.flush(5000));
+            awaitUntil(() -> buffer.getWrittenCount() == 3);
+            assertEquals(ssids(2, 3), written());
+        } finally {
+            buffer.close(1000);
+        }
+    }
+
+    @Test
+    void spillSendsOverflowAndFailedBatchesToDisk() throws InterruptedException {
+        RecordingSpillStore spool = new RecordingSpillStore();
+        AtomicInteger attempts = new AtomicInteger();
+        WriteBehindBuffer.BatchWriter failing = batch -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("banco indisponível");
+        };
+        WriteBehindBuffer buffer = new WriteBehindBuffer(failing, 2, 2, HOUR_MS, 0, OverflowPolicy.SPILL, spool);
+
+        assertEquals(2, buffer.publish(observations(0, 3)));
+        assertEquals(ssids(2, 1), spool.ssids());
+
+        buffer.start();
+        try {
+            // Gravação falhou: o lote vai para o spool em vez de voltar à memória
+            assertTrue(buffer.flush(5000));
+            awaitUntil(() -> buffer.getSpilledCount() == 3);
+            assertEquals(1, attempts.get());
+            assertEquals(1, buffer.getFailedFlushCount());
+            assertEquals(List.of("ap-2", "ap-0", "ap-1"), spool.ssids());
+        } finally {
+            buffer.close(1000);
+        }
+    }
+
+    @Test
+    void requeuesFailedBatchWithoutSpoolAndRetries() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        WriteBehindBuffer.BatchWriter flaky = batch -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("banco indisponível");
+            }
+            recording().write(batch);
+        };
+        WriteBehindBuffer buffer = new WriteBehindBuffer(flaky, 10, 10, 50, 0, OverflowPolicy.BLOCK, null);
+        buffer.start();
+        try {
+            buffer.publish(observations(0, 3));
+
+            // O lote que falhou volta ao início da fila e é gravado no intervalo seguinte
+            awaitUntil(() -> buffer.getWrittenCount() == 3);
+            assertEquals(ssids(0, 3), written());
+            assertEquals(1, buffer.getFailedFlushCount());
+            assertEquals(1, buffer.getFlushCount());
+        } finally {
+            buffer.close(1000);
+        }
+    }
+
+    private static final class RecordingSpillStore implements SpillStore {
+        private final List<AccessPointEntity> entities = Collections.synchronizedList(new ArrayList<>());
+
+        List<String> ssids() {
+            synchronized (entities) {
+                return entities.stream().map(AccessPointEntity::getSsid).collect(Collectors.toList());
+            }
+        }
+
+        @Override
+        public void append(List<AccessPointEntity> batch) {
+            entities.addAll(batch);
+        }
+
+        @Override
+        public Batch peekOldest() {
+            return null;
+        }
+
+        @Override
+        public void commit(Batch batch) {
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return entities.isEmpty();
+        }
+    }
+}
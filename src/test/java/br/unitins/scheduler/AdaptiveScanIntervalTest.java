@@ -0,0 +1,98 @@
+package br.unitins.scheduler;
+
+import br.unitins.model.AccessPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdaptiveScanIntervalTest {
+
+    private static AdaptiveScanInterval interval(long initialMs) {
+        // Mínimo 10 s, máximo 60 s, recuo 1.5x, mudança a partir de 20%, sinal a partir de 10 dBm
+        return new AdaptiveScanInterval(initialMs, 10_000, 60_000, 1.5, 0.2, 10);
+    }
+
+    private static List<AccessPoint> scan(int... signals) {
+        List<AccessPoint> accessPoints = new ArrayList<>();
+        for (int i = 0; i < signals.length; i++) {
+            AccessPoint ap = new AccessPoint();
+            ap.setMacAddress(String.format("AA:00:00:00:00:%02X", i));
+            ap.setSignalLevel(signals[i]);
+            accessPoints.add(ap);
+        }
+        return accessPoints;
+    }
+
+    @Test
+    void clampsInitialIntervalToLimits() {
+        assertEquals(10_000, interval(1_000).getIntervalMs());
+        assertEquals(60_000, interval(600_000).getIntervalMs());
+        assertEquals(20_000, interval(20_000).getIntervalMs());
+    }
+
+    @Test
+    void firstScanOnlySetsTheBaseline() {
+        AdaptiveScanInterval interval = interval(20_000);
+
+        interval.onScan(scan(-40, -50, -60));
+
+        assertEquals(20_000, interval.getIntervalMs());
+        assertEquals(0, interval.getStableScanCount() + interval.getChurnScanCount());
+    }
+
+    @Test
+    void backsOffWhileStableUpToTheMaximum() {
+        AdaptiveScanInterval interval = interval(20_000);
+        interval.onScan(scan(-40, -50, -60));
+
+        // Variações abaixo de 10 dBm não contam como mudança
+        interval.onScan(scan(-45, -41, -60));
+        assertEquals(30_000, interval.getIntervalMs());
+        interval.onScan(scan(-45, -49, -60));
+        assertEquals(45_000, interval.getIntervalMs());
+        interval.onScan(scan(-45, -49, -60));
+        assertEquals(60_000, interval.getIntervalMs());
+        interval.onScan(scan(-45, -49, -60));
+        assertEquals(60_000, interval.getIntervalMs());
+
+        assertEquals(4, interval.getStableScanCount());
+        assertEquals(0.0, interval.getLastChurn());
+        assertEquals(1.0, interval.getScansPerMinute(), 1e-9);
+    }
+
+    @Test
+    void dropsToTheMinimumOnChurn() {
+        AdaptiveScanInterval interval = interval(60_000);
+        interval.onScan(scan(-40, -50, -60, -70, -80));
+
+        // Um AP sumiu e outro mudou 10 dBm: 2 de 5
+        interval.onScan(scan(-40, -60, -60, -70));
+        assertEquals(0.4, interval.getLastChurn(), 1e-9);
+        assertEquals(10_000, interval.getIntervalMs());
+        assertEquals(1, interval.getChurnScanCount());
+
+        // Um AP novo em 5: no limite ainda é mudança
+        interval.onScan(scan(-40, -60, -60, -70, -90));
+        assertEquals(0.2, interval.getLastChurn(), 1e-9);
+        assertEquals(10_000, interval.getIntervalMs());
+        assertEquals(2, interval.getChurnScanCount());
+
+        // Ambiente estável: volta a recuar a partir do mínimo
+        interval.onScan(scan(-40, -60, -60, -70, -90));
+        assertEquals(15_000, interval.getIntervalMs());
+    }
+
+    @Test
+    void emptyScansAreStable() {
+        AdaptiveScanInterval interval = interval(10_000);
+        interval.onScan(scan());
+
+        interval.onScan(scan());
+
+        assertEquals(0.0, interval.getLastChurn());
+        assertEquals(15_000, interval.getIntervalMs());
+    }
+}
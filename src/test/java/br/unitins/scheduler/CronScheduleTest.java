@@ -0,0 +1,94 @@
+package br.unitins.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CronScheduleTest {
+
+    private static final ZoneId UTC = ZoneOffset.UTC;
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    private static long at(String localTime, ZoneId zone) {
+        return LocalDateTime.parse(localTime).atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private static String next(String expression, String after) {
+        long fire = new CronSchedule(expression, UTC).nextFireTime(at(after, UTC), at(after, UTC));
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(fire), UTC).toString();
+    }
+
+    private static OffsetDateTime next(CronSchedule schedule, long after) {
+        return Instant.ofEpochMilli(schedule.nextFireTime(after, after)).atZone(BERLIN).toOffsetDateTime();
+    }
+
+    @Test
+    void rejectsInvalidExpressions() {
+        for (String expression : new String[] {"* * * *", "* * * * * * *", "60 * * * *", "* 24 * * *",
+                "* * 0 * *", "* * * 13 *", "* * * * 8", "10-5 * * * *", "*/0 * * * *", "a * * * *"}) {
+            assertThrows(IllegalArgumentException.class, () -> new CronSchedule(expression, UTC), expression);
+        }
+    }
+
+    @Test
+    void firesStrictlyAfterThePreviousFireTime() {
+        assertEquals("2026-03-10T10:15", next("*/15 * * * *", "2026-03-10T10:07:30"));
+        assertEquals("2026-03-10T10:30", next("*/15 * * * *", "2026-03-10T10:15:00"));
+        assertEquals("2026-03-11T00:00", next("*/15 * * * *", "2026-03-10T23:45:00"));
+        // Campo de segundos opcional
+        assertEquals("2026-03-10T10:00:10", next("*/10 * * * * *", "2026-03-10T10:00:05"));
+        assertEquals("2026-03-10T10:01", next("0 * * * * *", "2026-03-10T10:00:00.500"));
+    }
+
+    @Test
+    void expandsListsRangesAndSteps() {
+        assertEquals("2026-03-10T10:35", next("5,35 * * * *", "2026-03-10T10:05:00"));
+        assertEquals("2026-03-10T13:00", next("0 9-17/4 * * *", "2026-03-10T09:00:00"));
+        assertEquals("2026-03-10T17:00", next("0 9-17/4 * * *", "2026-03-10T13:00:00"));
+        assertEquals("2026-03-11T09:00", next("0 9-17/4 * * *", "2026-03-10T17:00:00"));
+        // Valor com passo: do valor até o fim do campo
+        assertEquals("2026-03-10T10:50", next("50/5 * * * *", "2026-03-10T10:07:00"));
+        assertEquals("2026-03-10T11:50", next("50/5 * * * *", "2026-03-10T10:55:00"));
+        // Meses e 29 de fevereiro (2026 e 2027 não são bissextos)
+        assertEquals("2026-06-01T00:00", next("0 0 1 6,12 *", "2026-03-10T10:00:00"));
+        assertEquals("2028-02-29T00:00", next("0 0 29 2 *", "2026-03-10T10:00:00"));
+    }
+
+    @Test
+    void matchesEitherDayFieldWhenBothAreRestricted() {
+        // 2026-03-10 é terça; 2026-03-13 é sexta
+        assertEquals("2026-03-13T12:00", next("0 12 13 * *", "2026-03-10T00:00:00"));
+        assertEquals("2026-03-13T12:00", next("0 12 * * 5", "2026-03-10T00:00:00"));
+        assertEquals("2026-03-20T12:00", next("0 12 * * 5", "2026-03-13T12:00:00"));
+        // Dia 13 ou sexta-feira
+        assertEquals("2026-03-11T12:00", next("0 12 11 * 5", "2026-03-10T00:00:00"));
+        assertEquals("2026-03-13T12:00", next("0 12 11 * 5", "2026-03-11T12:00:00"));
+        // 0 e 7 são domingo
+        assertEquals("2026-03-15T12:00", next("0 12 * * 0", "2026-03-10T00:00:00"));
+        assertEquals("2026-03-15T12:00", next("0 12 * * 7", "2026-03-10T00:00:00"));
+    }
+
+    @Test
+    void handlesDaylightSavingTransitions() {
+        CronSchedule daily = new CronSchedule("30 2 * * *", BERLIN);
+
+        // 2026-03-29: 02:00 vira 03:00; o horário inexistente é adiado pela duração do salto
+        assertEquals(OffsetDateTime.parse("2026-03-29T03:30+02:00"),
+                next(daily, at("2026-03-28T03:00", BERLIN)));
+        assertEquals(OffsetDateTime.parse("2026-03-30T02:30+02:00"),
+                next(daily, at("2026-03-29T03:30", BERLIN)));
+
+        // 2026-10-25: 03:00 volta a 02:00; o horário repetido dispara uma única vez
+        long first = daily.nextFireTime(at("2026-10-24T12:00", BERLIN), 0);
+        assertEquals(OffsetDateTime.parse("2026-10-25T02:30+02:00"),
+                Instant.ofEpochMilli(first).atZone(BERLIN).toOffsetDateTime());
+        assertEquals(OffsetDateTime.parse("2026-10-26T02:30+01:00"), next(daily, first));
+    }
+}
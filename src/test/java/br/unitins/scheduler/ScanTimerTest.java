@@ -0,0 +1,70 @@
+package br.unitins.scheduler;
+
+import br.unitins.config.SchedulerConfig.MisfirePolicy;
+import br.unitins.service.ScanCycleStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScanTimerTest {
+
+    private static final long INTERVAL_MS = 300;
+    private static final long SLOW_CYCLE_MS = 700;
+
+    /**
+     * Dois disparos a cada INTERVAL_MS; o primeiro ciclo dura SLOW_CYCLE_MS e perde dois horários
+     * @return Intervalo entre o início dos dois ciclos
+     */
+    private static long secondStartAfter(MisfirePolicy policy, ScanCycleStats stats) throws InterruptedException {
+        List<Long> starts = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch cycles = new CountDownLatch(2);
+        Runnable job = () -> {
+            starts.add(System.nanoTime());
+            if (starts.size() == 1) {
+                try {
+                    Thread.sleep(SLOW_CYCLE_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            cycles.countDown();
+        };
+
+        ScanTimer timer = new ScanTimer(job, ScanSchedule.fixedRate(INTERVAL_MS), Runnable::run, policy, 50, stats);
+        timer.start();
+        try {
+            assertTrue(cycles.await(5, TimeUnit.SECONDS));
+        } finally {
+            timer.shutdown();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(starts.get(1) - starts.get(0));
+    }
+
+    @Test
+    void skipWaitsForTheNextSlotOfTheSchedule() throws InterruptedException {
+        ScanCycleStats stats = new ScanCycleStats();
+
+        long elapsed = secondStartAfter(MisfirePolicy.SKIP, stats);
+
+        // Horários de 300 e 600 ms perdidos: o próximo é o de 900 ms
+        assertTrue(elapsed >= 3 * INTERVAL_MS - 20, "segundo ciclo após " + elapsed + " ms");
+        assertEquals(1, stats.getMisfireCount());
+    }
+
+    @Test
+    void coalesceFiresOnceRightAfterTheSlowCycle() throws InterruptedException {
+        ScanCycleStats stats = new ScanCycleStats();
+
+        long elapsed = secondStartAfter(MisfirePolicy.COALESCE, stats);
+
+        assertTrue(elapsed >= SLOW_CYCLE_MS && elapsed < 3 * INTERVAL_MS - 20, "segundo ciclo após " + elapsed + " ms");
+        assertEquals(1, stats.getMisfireCount());
+    }
+}
@@ -0,0 +1,84 @@
+package br.unitins.service.impl;
+
+import br.unitins.model.AccessPoint;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IwScanDumpParserTest {
+
+    private static List<AccessPoint> parseFixture() throws Exception {
+        try (InputStream input = IwScanDumpParserTest.class.getResourceAsStream("/fixtures/iw-scan-dump.txt")) {
+            return new IwScanDumpParser().parse(input);
+        }
+    }
+
+    @Test
+    void parsesEveryBss() throws Exception {
+        List<AccessPoint> accessPoints = parseFixture();
+
+        assertEquals(3, accessPoints.size());
+        assertEquals("00:11:22:33:44:55", accessPoints.get(0).getMacAddress());
+        assertEquals("AA:BB:CC:DD:EE:01", accessPoints.get(1).getMacAddress());
+        assertEquals("AA:BB:CC:DD:EE:02", accessPoints.get(2).getMacAddress());
+    }
+
+    @Test
+    void parsesBssFields() throws Exception {
+        AccessPoint ap = parseFixture().get(0);
+
+        assertEquals("CasaNet", ap.getSsid());
+        assertEquals(2.437, ap.getFrequency(), 1e-9);
+        assertEquals(6, ap.getChannel());
+        assertEquals(-45, ap.getSignalLevel());
+        assertEquals(100, ap.getBeaconInterval());
+        long ageMs = Duration.between(ap.getLastBeaconTime(), LocalDateTime.now()).toMillis();
+        assertTrue(ageMs >= 1200 && ageMs < 60_000, "idade do beacon: " + ageMs);
+    }
+
+    @Test
+    void parsesSecurityAndPrimaryChannel() throws Exception {
+        List<AccessPoint> accessPoints = parseFixture();
+
+        assertEquals("WPA2", accessPoints.get(0).getSecurityVersion());
+        assertEquals("WPA3", accessPoints.get(1).getSecurityVersion());
+        assertEquals(5, accessPoints.get(1).getChannel());
+        assertEquals("Open", accessPoints.get(2).getSecurityVersion());
+        assertEquals(36, accessPoints.get(2).getChannel());
+        assertEquals(102, accessPoints.get(2).getBeaconInterval());
+    }
+
+    @Test
+    void skipsMalformedFieldsInsteadOfTheWholeDump() throws Exception {
+        String dump = "BSS 00:11:22:33:44:66(on wlan0)\n"
+                + "\tfreq: 2412\n"
+                + "\tbeacon interval: n/a\n"
+                + "\tsignal: -51.00 dBm\n"
+                + "\tlast seen: ? ms ago\n"
+                + "\tSSID: Loja\n"
+                + "\tDS Parameter set: channel (vendor)\n"
+                + "\tHT operation:\n"
+                + "\t\t * primary channel: unknown\n"
+                + "BSS 00:11:22:33:44:77(on wlan0)\n"
+                + "\tfreq: 5180\n"
+                + "\tsignal: -60.00 dBm\n";
+        List<AccessPoint> accessPoints = new IwScanDumpParser()
+                .parse(new ByteArrayInputStream(dump.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, accessPoints.size());
+        AccessPoint ap = accessPoints.get(0);
+        assertEquals("Loja", ap.getSsid());
+        assertEquals(1, ap.getChannel());
+        assertEquals(-51, ap.getSignalLevel());
+        assertEquals(100, ap.getBeaconInterval());
+        assertEquals(36, accessPoints.get(1).getChannel());
+    }
+}
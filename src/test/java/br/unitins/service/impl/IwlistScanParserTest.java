@@ -0,0 +1,79 @@
+package br.unitins.service.impl;
+
+import br.unitins.model.AccessPoint;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IwlistScanParserTest {
+
+    private static List<AccessPoint> parseFixture(IwlistScanParser parser) throws Exception {
+        try (InputStream input = IwlistScanParserTest.class.getResourceAsStream("/fixtures/iwlist-scan.txt")) {
+            return parser.parse(input);
+        }
+    }
+
+    @Test
+    void parsesEveryCell() throws Exception {
+        List<AccessPoint> accessPoints = parseFixture(new IwlistScanParser());
+
+        assertEquals(3, accessPoints.size());
+        assertEquals("00:11:22:33:44:55", accessPoints.get(0).getMacAddress());
+        assertEquals("AA:BB:CC:DD:EE:01", accessPoints.get(1).getMacAddress());
+        assertEquals("AA:BB:CC:DD:EE:02", accessPoints.get(2).getMacAddress());
+    }
+
+    @Test
+    void parsesCellFields() throws Exception {
+        AccessPoint ap = parseFixture(new IwlistScanParser()).get(0);
+
+        assertEquals("CasaNet", ap.getSsid());
+        assertEquals(6, ap.getChannel());
+        assertEquals(2.437, ap.getFrequency(), 1e-9);
+        assertEquals(100.0, ap.getLinkQuality(), 1e-9);
+        assertEquals(-40, ap.getSignalLevel());
+        assertEquals(100, ap.getBeaconInterval());
+    }
+
+    @Test
+    void parsesSecurityAndUtf8Essid() throws Exception {
+        List<AccessPoint> accessPoints = parseFixture(new IwlistScanParser());
+
+        assertEquals("WPA2", accessPoints.get(0).getSecurityVersion());
+        assertEquals("Café Wi-Fi", accessPoints.get(1).getSsid());
+        assertEquals("WPA", accessPoints.get(1).getSecurityVersion());
+        assertEquals(50.0, accessPoints.get(1).getLinkQuality(), 1e-9);
+        assertNull(accessPoints.get(2).getSsid());
+        assertEquals("Open", accessPoints.get(2).getSecurityVersion());
+    }
+
+    @Test
+    void reusesInstanceBetweenScans() throws Exception {
+        IwlistScanParser parser = new IwlistScanParser();
+        parseFixture(parser);
+
+        assertEquals(3, parseFixture(parser).size());
+    }
+
+    @Test
+    void handlesLastLineWithoutNewlineAndUnknownKeys() throws Exception {
+        String output = "wlan0     Scan completed :\n"
+                + "          Cell 01 - Address: 00:11:22:33:44:66\n"
+                + "                    Vendor: something unexpected\n"
+                + "                    Quality=abc  Signal level=-61 dBm";
+        List<AccessPoint> accessPoints = new IwlistScanParser()
+                .parse(new ByteArrayInputStream(output.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(1, accessPoints.size());
+        assertEquals(-61, accessPoints.get(0).getSignalLevel());
+        assertTrue(accessPoints.get(0).getLinkQuality() > 0);
+        assertEquals("Unknown", accessPoints.get(0).getSecurityVersion());
+    }
+}
@@ -0,0 +1,31 @@
+package br.unitins.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WirelessSignalsTest {
+
+    @Test
+    void convertsFrequencyToChannelInEveryBand() {
+        assertEquals(1, WirelessSignals.channelFromFrequency(2412));
+        assertEquals(14, WirelessSignals.channelFromFrequency(2484));
+        assertEquals(36, WirelessSignals.channelFromFrequency(5180));
+        assertEquals(1, WirelessSignals.channelFromFrequency(5955));
+        assertEquals(0, WirelessSignals.channelFromFrequency(900));
+    }
+
+    @Test
+    void convertsChannelToFrequency() {
+        assertEquals(2.437, WirelessSignals.frequencyFromChannel(6), 1e-9);
+        assertEquals(5.18, WirelessSignals.frequencyFromChannel(36), 1e-9);
+        assertEquals(0.0, WirelessSignals.frequencyFromChannel(200), 1e-9);
+    }
+
+    @Test
+    void mapsSignalToLinkQuality() {
+        assertEquals(100.0, WirelessSignals.linkQuality(-20), 1e-9);
+        assertEquals(50.0, WirelessSignals.linkQuality(-70), 1e-9);
+        assertEquals(0.0, WirelessSignals.linkQuality(-95), 1e-9);
+    }
+}
@@ -0,0 +1,44 @@
+package br.unitins.service.impl.netlink;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NetlinkMessagesTest {
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] group(int index, String name, int id) {
+        byte[] nested = concat(NetlinkMessages.stringAttribute(NetlinkMessages.CTRL_ATTR_MCAST_GRP_NAME, name),
+                NetlinkMessages.u32Attribute(NetlinkMessages.CTRL_ATTR_MCAST_GRP_ID, id));
+        return NetlinkMessages.attribute(index, nested, nested.length);
+    }
+
+    @Test
+    void findsMulticastGroupOfGetFamilyResponse() {
+        ByteBuffer groups = ByteBuffer.wrap(concat(group(1, "config", 4), group(2, "scan", 5),
+                group(3, "regulatory", 6), group(4, "mlme", 7)));
+
+        assertEquals(5, NetlinkMessages.multicastGroupId(groups, "scan"));
+        assertEquals(7, NetlinkMessages.multicastGroupId(groups, "mlme"));
+        assertEquals(0, NetlinkMessages.multicastGroupId(groups, "vendor"));
+    }
+
+    @Test
+    void readsNullTerminatedString() {
+        byte[] attribute = NetlinkMessages.stringAttribute(NetlinkMessages.CTRL_ATTR_FAMILY_NAME, "nl80211");
+        ByteBuffer value = NetlinkMessages.parseAttributes(ByteBuffer.wrap(attribute))
+                .get(NetlinkMessages.CTRL_ATTR_FAMILY_NAME);
+
+        assertEquals("nl80211", NetlinkMessages.getString(value));
+    }
+}
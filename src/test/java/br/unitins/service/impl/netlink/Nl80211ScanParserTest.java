@@ -0,0 +1,76 @@
+package br.unitins.service.impl.netlink;
+
+import br.unitins.model.AccessPoint;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Nl80211ScanParserTest {
+
+    private static List<AccessPoint> parseFixture() throws Exception {
+        try (InputStream input = Nl80211ScanParserTest.class.getResourceAsStream("/fixtures/nl80211-get-scan.bin")) {
+            return Nl80211ScanParser.parse(NetlinkMessages.parseMessages(input.readAllBytes()));
+        }
+    }
+
+    @Test
+    void decodesEveryBssOfTheDump() throws Exception {
+        List<AccessPoint> accessPoints = parseFixture();
+
+        assertEquals(3, accessPoints.size());
+        assertEquals("00:11:22:33:44:55", accessPoints.get(0).getMacAddress());
+        assertEquals("AA:BB:CC:DD:EE:01", accessPoints.get(1).getMacAddress());
+        assertEquals("AA:BB:CC:DD:EE:02", accessPoints.get(2).getMacAddress());
+    }
+
+    @Test
+    void decodesFrequencySignalAndChannel() throws Exception {
+        AccessPoint ap = parseFixture().get(0);
+
+        assertEquals("CasaNet", ap.getSsid());
+        assertEquals(2.437, ap.getFrequency(), 1e-9);
+        assertEquals(6, ap.getChannel());
+        assertEquals(-45, ap.getSignalLevel());
+        assertEquals(100, ap.getBeaconInterval());
+        long ageMs = Duration.between(ap.getLastBeaconTime(), LocalDateTime.now()).toMillis();
+        assertTrue(ageMs >= 1200 && ageMs < 60_000, "idade do beacon: " + ageMs);
+    }
+
+    @Test
+    void derivesSecurityFromInformationElements() throws Exception {
+        List<AccessPoint> accessPoints = parseFixture();
+
+        assertEquals("WPA2", accessPoints.get(0).getSecurityVersion());
+        assertEquals("WPA3", accessPoints.get(1).getSecurityVersion());
+        assertEquals("Open", accessPoints.get(2).getSecurityVersion());
+    }
+
+    @Test
+    void derivesSixGigahertzChannelAndDefaults() throws Exception {
+        List<AccessPoint> accessPoints = parseFixture();
+
+        assertEquals(5, accessPoints.get(1).getChannel());
+        AccessPoint hidden = accessPoints.get(2);
+        assertNull(hidden.getSsid());
+        assertEquals(36, hidden.getChannel());
+        assertEquals(100, hidden.getBeaconInterval());
+    }
+
+    @Test
+    void ignoresTruncatedDatagram() throws Exception {
+        byte[] dump;
+        try (InputStream input = Nl80211ScanParserTest.class.getResourceAsStream("/fixtures/nl80211-get-scan.bin")) {
+            dump = input.readAllBytes();
+        }
+        byte[] truncated = java.util.Arrays.copyOf(dump, 150);
+
+        assertEquals(1, Nl80211ScanParser.parse(NetlinkMessages.parseMessages(truncated)).size());
+    }
+}
@@ -0,0 +1,75 @@
+package br.unitins.timeseries;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ColumnBlockTest {
+
+    @Test
+    void roundTripsTimesWithNegativeDeltasAndGaps() {
+        // Escaneamentos periódicos, uma linha fora de ordem (reenvio) e um intervalo de horas
+        long[] times = {1_700_000_000_000L, 1_700_000_000_003L, 1_700_000_060_000L, 1_699_999_999_000L,
+                1_700_000_120_000L, 1_700_007_200_000L, 1_700_007_200_001L};
+        ColumnBlock block = new ColumnBlock(2);
+        for (int i = 0; i < times.length; i++) {
+            block.add(times[i], i % 3);
+        }
+
+        ColumnBlock decoded = roundTrip(block);
+
+        assertEquals(times.length, decoded.size());
+        for (int i = 0; i < times.length; i++) {
+            assertEquals(times[i], decoded.time(i));
+            assertEquals(i % 3, decoded.macId(i));
+        }
+        assertEquals(1_699_999_999_000L, decoded.minTime());
+        assertEquals(1_700_007_200_001L, decoded.maxTime());
+    }
+
+    @Test
+    void roundTripsColumnsWithPerAccessPointDeltasAndNulls() {
+        ColumnBlock block = new ColumnBlock(4);
+        int[][] rows = {
+                // macId, sinal, canal
+                {0, -40, 6},
+                {1, -80, 36},
+                {0, -42, 6},
+                {1, ColumnBlock.NULL, 40},
+                {0, -95, ColumnBlock.NULL},
+                {1, -30, 40},
+        };
+        for (int i = 0; i < rows.length; i++) {
+            int row = block.add(1_000L * i, rows[i][0]);
+            if (rows[i][1] != ColumnBlock.NULL) {
+                block.set(row, ColumnBlock.SIGNAL, rows[i][1]);
+            }
+            if (rows[i][2] != ColumnBlock.NULL) {
+                block.set(row, ColumnBlock.CHANNEL, rows[i][2]);
+            }
+            block.set(row, ColumnBlock.FREQUENCY_MHZ, Integer.MAX_VALUE - i);
+        }
+
+        ColumnBlock decoded = roundTrip(block);
+
+        for (int i = 0; i < rows.length; i++) {
+            assertEquals(rows[i][1], decoded.get(i, ColumnBlock.SIGNAL));
+            assertEquals(rows[i][2], decoded.get(i, ColumnBlock.CHANNEL));
+            assertEquals(Integer.MAX_VALUE - i, decoded.get(i, ColumnBlock.FREQUENCY_MHZ));
+            assertEquals(ColumnBlock.NULL, decoded.get(i, ColumnBlock.QUALITY));
+        }
+    }
+
+    private static ColumnBlock roundTrip(ColumnBlock block) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        block.encode(out);
+        ByteBuffer in = ByteBuffer.wrap(out.toByteArray());
+        ColumnBlock decoded = ColumnBlock.decode(in, block.size());
+        assertFalse(in.hasRemaining());
+        return decoded;
+    }
+}
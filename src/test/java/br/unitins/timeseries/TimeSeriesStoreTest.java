@@ -0,0 +1,221 @@
+package br.unitins.timeseries;
+
+import br.unitins.model.AccessPointEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimeSeriesStoreTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 10, 12, 0);
+    private static final String MAC_A = "AA:00:00:00:00:01";
+    private static final String MAC_B = "AA:00:00:00:00:02";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysWriteAheadLogAfterUncleanStop() throws IOException {
+        TimeSeriesStore crashed = open();
+        crashed.append(List.of(observation(MAC_A, "CasaNet", T0, -40), observation(MAC_B, "Cafe", T0, -70)));
+        crashed.append(List.of(observation(MAC_A, "CasaNet", T0.plusMinutes(1), -41)));
+        // Sem close: o bloco aberto só existe no log
+
+        try (TimeSeriesStore store = open()) {
+            List<AccessPointEntity> rows = readDay(store);
+
+            assertEquals(3, rows.size());
+            assertEquals(T0.plusMinutes(1), rows.get(0).getScanTime());
+            assertEquals(-41, rows.get(0).getSignalLevel());
+            assertEquals("Cafe", rows.get(1).getSsid());
+            assertEquals(3, store.getOpenBlockRows());
+        }
+    }
+
+    @Test
+    void dropsCorruptedLogTailAndKeepsEarlierRecords() throws IOException {
+        TimeSeriesStore crashed = open();
+        crashed.append(List.of(observation(MAC_A, "CasaNet", T0, -40)));
+        crashed.append(List.of(observation(MAC_B, "Cafe", T0.plusMinutes(1), -70)));
+        flipLastByte(directory.resolve("open-block.wal"));
+
+        try (TimeSeriesStore store = open()) {
+            List<AccessPointEntity> rows = readDay(store);
+
+            assertEquals(1, rows.size());
+            assertEquals(MAC_A, rows.get(0).getMacAddress());
+        }
+    }
+
+    @Test
+    void dropsTornLogRecordAndKeepsEarlierRecords() throws IOException {
+        TimeSeriesStore crashed = open();
+        crashed.append(List.of(observation(MAC_A, "CasaNet", T0, -40)));
+        Path wal = directory.resolve("open-block.wal");
+        long complete = Files.size(wal);
+        crashed.append(List.of(observation(MAC_B, "Cafe", T0.plusMinutes(1), -70)));
+        truncate(wal, Files.size(wal) - 3);
+
+        try (TimeSeriesStore store = open()) {
+            assertEquals(1, readDay(store).size());
+            // O registro incompleto foi removido do log
+            assertEquals(complete, Files.size(wal));
+        }
+    }
+
+    @Test
+    void dropsTruncatedOrCorruptedDayFileTailAndKeepsEarlierBlocks() throws IOException {
+        try (TimeSeriesStore store = open()) {
+            store.append(List.of(observation(MAC_A, "CasaNet", T0, -40)));
+            store.flush();
+            store.append(List.of(observation(MAC_B, "Cafe", T0.plusMinutes(1), -70)));
+            store.flush();
+        }
+        Path day = directory.resolve(T0.toLocalDate() + ".apts");
+        truncate(day, Files.size(day) - 2);
+
+        try (TimeSeriesStore store = open()) {
+            List<AccessPointEntity> rows = readDay(store);
+            assertEquals(1, rows.size());
+            assertEquals(MAC_A, rows.get(0).getMacAddress());
+
+            store.append(List.of(observation(MAC_B, "Cafe", T0.plusMinutes(2), -71)));
+            store.flush();
+        }
+        flipLastByte(day);
+
+        try (TimeSeriesStore store = open()) {
+            List<AccessPointEntity> rows = readDay(store);
+            assertEquals(1, rows.size());
+            assertEquals(MAC_A, rows.get(0).getMacAddress());
+        }
+    }
+
+    @Test
+    void keepsDictionariesPerDayFileAcrossBlocksAndReopen() throws IOException {
+        LocalDateTime nextDay = T0.plusDays(1);
+        try (TimeSeriesStore store = open()) {
+            store.append(List.of(observation(MAC_A, "CasaNet", T0, -40),
+                    observation(MAC_A, "CasaNet", nextDay, -45)));
+            store.flush();
+            // Segundo bloco do primeiro dia: entradas novas no dicionário; o segundo dia só conhece MAC_A
+            store.append(List.of(observation(MAC_B, "Cafe", T0.plusMinutes(1), -70),
+                    observation(MAC_B, "Biblioteca", nextDay.plusMinutes(1), -60)));
+            store.flush();
+        }
+
+        try (TimeSeriesStore store = open()) {
+            assertEquals(2, store.getDayFiles());
+            List<AccessPointEntity> rows;
+            try (Stream<AccessPointEntity> stream = store.stream(T0, nextDay.plusHours(1))) {
+                rows = stream.collect(Collectors.toList());
+            }
+
+            assertEquals(4, rows.size());
+            assertEquals("Biblioteca", rows.get(0).getSsid());
+            assertEquals(MAC_B, rows.get(0).getMacAddress());
+            assertEquals("CasaNet", rows.get(1).getSsid());
+            assertEquals("Cafe", rows.get(2).getSsid());
+            assertEquals("CasaNet", rows.get(3).getSsid());
+            assertEquals("WPA2", rows.get(3).getWpsWpaVersion());
+            assertEquals("wlan0", rows.get(3).getInterfaceName());
+            assertEquals(2.437, rows.get(3).getFrequency(), 1e-9);
+        }
+    }
+
+    @Test
+    void mergesBlocksInDescendingOrderAndDropsRepeatedObservations() throws IOException {
+        try (TimeSeriesStore store = open()) {
+            store.append(List.of(observation(MAC_A, "CasaNet", T0, -40),
+                    observation(MAC_B, "Cafe", T0.plusMinutes(2), -70)));
+            store.flush();
+            // Bloco sobreposto: reenvio de MAC_B em T0+2 e uma linha intermediária
+            store.append(List.of(observation(MAC_B, "Cafe", T0.plusMinutes(2), -99),
+                    observation(MAC_A, "CasaNet", T0.plusMinutes(1), -41)));
+            store.flush();
+            // Bloco aberto: empate de horário entre MACs diferentes e outra repetição
+            store.append(List.of(observation(MAC_A, "CasaNet", T0.plusMinutes(2), -42),
+                    observation(MAC_A, "CasaNet", T0, -40)));
+
+            List<AccessPointEntity> rows = readDay(store);
+
+            assertEquals(List.of(T0.plusMinutes(2), T0.plusMinutes(2), T0.plusMinutes(1), T0),
+                    rows.stream().map(AccessPointEntity::getScanTime).collect(Collectors.toList()));
+            // Empate de horário: MAC decrescente
+            assertEquals(List.of(MAC_B, MAC_A, MAC_A, MAC_A),
+                    rows.stream().map(AccessPointEntity::getMacAddress).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void restrictsStreamToPeriod() throws IOException {
+        try (TimeSeriesStore store = open()) {
+            store.append(List.of(observation(MAC_A, "CasaNet", T0, -40),
+                    observation(MAC_A, "CasaNet", T0.plusMinutes(1), -41),
+                    observation(MAC_A, "CasaNet", T0.plusMinutes(5), -45)));
+            store.flush();
+
+            List<AccessPointEntity> rows;
+            // Início inclusivo, fim exclusivo
+            try (Stream<AccessPointEntity> stream = store.stream(T0.plusMinutes(1), T0.plusMinutes(5))) {
+                rows = stream.collect(Collectors.toList());
+            }
+            assertEquals(1, rows.size());
+            assertEquals(-41, rows.get(0).getSignalLevel());
+        }
+    }
+
+    private TimeSeriesStore open() throws IOException {
+        // Blocos só gravados por flush explícito; sem retenção
+        return new TimeSeriesStore(directory.toString(), 10_000, Long.MAX_VALUE, 0);
+    }
+
+    private static List<AccessPointEntity> readDay(TimeSeriesStore store) {
+        try (Stream<AccessPointEntity> stream = store.stream(T0.toLocalDate().atStartOfDay(),
+                T0.toLocalDate().plusDays(1).atStartOfDay())) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    private static AccessPointEntity observation(String mac, String ssid, LocalDateTime time, int signal) {
+        AccessPointEntity entity = new AccessPointEntity();
+        entity.setMacAddress(mac);
+        entity.setSsid(ssid);
+        entity.setWpsWpaVersion("WPA2");
+        entity.setFrequency(2.437);
+        entity.setChannel(6);
+        entity.setBeaconInterval(100);
+        entity.setSignalLevel(signal);
+        entity.setLinkQuality(70.0);
+        entity.setInterfaceName("wlan0");
+        entity.setScanTime(time);
+        return entity;
+    }
+
+    private static void flipLastByte(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, channel.size() - 1);
+            last.put(0, (byte) ~last.get(0)).rewind();
+            channel.write(last, channel.size() - 1);
+        }
+    }
+
+    private static void truncate(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package br.unitins.timeseries;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class VarIntsTest {
+
+    private static final long[] VALUES = {0, 1, -1, 63, -64, 64, -65, 300, -300, Integer.MAX_VALUE,
+            Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+
+    @Test
+    void zigzagMapsSmallSignedValuesToSmallUnsignedValues() {
+        assertEquals(0, VarInts.zigzag(0));
+        assertEquals(1, VarInts.zigzag(-1));
+        assertEquals(2, VarInts.zigzag(1));
+        assertEquals(3, VarInts.zigzag(-2));
+        for (long value : VALUES) {
+            assertEquals(value, VarInts.unzigzag(VarInts.zigzag(value)));
+        }
+    }
+
+    @Test
+    void writesAndReadsBackSignedValues() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (long value : VALUES) {
+            VarInts.write(out, VarInts.zigzag(value));
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(out.toByteArray());
+        for (long value : VALUES) {
+            assertEquals(value, VarInts.unzigzag(VarInts.read(in)));
+        }
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test
+    void smallDeltasTakeOneByte() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        VarInts.write(out, VarInts.zigzag(-64));
+        VarInts.write(out, VarInts.zigzag(63));
+
+        assertEquals(2, out.size());
+    }
+}